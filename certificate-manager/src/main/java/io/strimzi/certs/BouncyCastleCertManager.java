@@ -0,0 +1,419 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.certs;
+
+import org.bouncycastle.asn1.pkcs.PKCSObjectIdentifiers;
+import org.bouncycastle.asn1.pkcs.PrivateKeyInfo;
+import org.bouncycastle.asn1.x500.X500Name;
+import org.bouncycastle.asn1.x500.X500NameBuilder;
+import org.bouncycastle.asn1.x500.style.BCStyle;
+import org.bouncycastle.asn1.x509.BasicConstraints;
+import org.bouncycastle.asn1.x509.Extension;
+import org.bouncycastle.asn1.x509.ExtensionsGenerator;
+import org.bouncycastle.asn1.x509.GeneralName;
+import org.bouncycastle.asn1.x509.GeneralNames;
+import org.bouncycastle.asn1.x509.SubjectPublicKeyInfo;
+import org.bouncycastle.cert.X509CertificateHolder;
+import org.bouncycastle.cert.X509v1CertificateBuilder;
+import org.bouncycastle.cert.X509v3CertificateBuilder;
+import org.bouncycastle.cert.jcajce.JcaX509CertificateConverter;
+import org.bouncycastle.cert.jcajce.JcaX509ExtensionUtils;
+import org.bouncycastle.openssl.PEMKeyPair;
+import org.bouncycastle.openssl.PEMParser;
+import org.bouncycastle.openssl.jcajce.JcaPEMKeyConverter;
+import org.bouncycastle.openssl.jcajce.JcaPEMWriter;
+import org.bouncycastle.openssl.jcajce.JcaPKCS8Generator;
+import org.bouncycastle.operator.ContentSigner;
+import org.bouncycastle.operator.OperatorCreationException;
+import org.bouncycastle.operator.jcajce.JcaContentSignerBuilder;
+import org.bouncycastle.pkcs.PKCS10CertificationRequest;
+import org.bouncycastle.pkcs.jcajce.JcaPKCS10CertificationRequestBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.KeyStore;
+import java.security.KeyStoreException;
+import java.security.NoSuchAlgorithmException;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.SecureRandom;
+import java.security.cert.Certificate;
+import java.security.cert.CertificateException;
+import java.security.cert.X509Certificate;
+import java.security.interfaces.RSAPrivateCrtKey;
+import java.security.spec.RSAPublicKeySpec;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>A certificates manager which does all the work in-process, using the JCA and Bouncy Castle,
+ * instead of running the {@code openssl} binary.
+ * Its in-memory methods use no files at all, and its file based methods only read their inputs and write their outputs.</p>
+ *
+ * <p>The certificates it issues have the same content as the ones issued by {@link OpenSslCertManager}:</p>
+ * <ul>
+ *     <li>2048 bit RSA keys, written as unencrypted PKCS#8 PEM files,</li>
+ *     <li>{@code SHA256withRSA} signatures and random 159 bit serial numbers,</li>
+ *     <li>self-signed certificates with a subject key identifier, together with an authority key identifier and
+ *         the {@code CA:true} basic constraint, or with the subject alternative names when there are some,</li>
+ *     <li>signed certificates with the subject of the CSR and the subject alternative names of the given {@link Subject}, if any,</li>
+ *     <li>renewed self-signed certificates and signed certificates without subject alternative names are version 1 certificates.</li>
+ * </ul>
+ */
+@SuppressWarnings({"checkstyle:ClassDataAbstractionCoupling", "checkstyle:ClassFanOutComplexity"})
+public class BouncyCastleCertManager implements CertManager {
+
+    private static final String KEY_ALGORITHM = "RSA";
+    private static final int KEY_SIZE = 2048;
+    private static final String SIGNATURE_ALGORITHM = "SHA256withRSA";
+    private static final int SERIAL_NUMBER_BITS = 159;
+
+    private final SecureRandom random = new SecureRandom();
+    private final JcaX509CertificateConverter certConverter = new JcaX509CertificateConverter();
+    private final JcaPEMKeyConverter keyConverter = new JcaPEMKeyConverter();
+
+    public BouncyCastleCertManager() {}
+
+    @Override
+    public void generateSelfSignedCert(File keyFile, File certFile, int days) throws IOException {
+        generateSelfSignedCert(keyFile, certFile, null, days);
+    }
+
+    @Override
+    public void generateSelfSignedCert(File keyFile, File certFile, Subject sbj, int days) throws IOException {
+        CertAndKey certAndKey = generateSelfSignedCert(sbj, days);
+        Files.write(keyFile.toPath(), certAndKey.key());
+        Files.write(certFile.toPath(), certAndKey.cert());
+    }
+
+    @Override
+    public CertAndKey generateSelfSignedCert(Subject sbj, int days) throws IOException {
+        try {
+            KeyPair keyPair = generateKeyPair();
+            X500Name name = x500Name(sbj);
+            X509v3CertificateBuilder builder = v3Builder(name, name, keyPair.getPublic(), days);
+            JcaX509ExtensionUtils extensionUtils = new JcaX509ExtensionUtils();
+            if (hasSubjectAltNames(sbj)) {
+                builder.addExtension(Extension.subjectAlternativeName, false, generalNames(sbj.subjectAltNames()));
+                builder.addExtension(Extension.subjectKeyIdentifier, false, extensionUtils.createSubjectKeyIdentifier(keyPair.getPublic()));
+            } else {
+                builder.addExtension(Extension.subjectKeyIdentifier, false, extensionUtils.createSubjectKeyIdentifier(keyPair.getPublic()));
+                builder.addExtension(Extension.authorityKeyIdentifier, false, extensionUtils.createAuthorityKeyIdentifier(keyPair.getPublic()));
+                builder.addExtension(Extension.basicConstraints, true, new BasicConstraints(true));
+            }
+            return new CertAndKey(pem(keyPair.getPrivate()), pem(builder.build(signer(keyPair.getPrivate()))));
+        } catch (GeneralSecurityException | OperatorCreationException e) {
+            throw new IOException("Failed to generate self-signed certificate", e);
+        }
+    }
+
+    @Override
+    public void renewSelfSignedCert(File keyFile, File certFile, Subject sbj, int days) throws IOException {
+        Files.write(certFile.toPath(), renewSelfSignedCert(Files.readAllBytes(keyFile.toPath()), sbj, days));
+    }
+
+    @Override
+    public byte[] renewSelfSignedCert(byte[] key, Subject sbj, int days) throws IOException {
+        try {
+            PrivateKey privateKey = readPrivateKey(key);
+            X500Name name = x500Name(sbj);
+            X509v1CertificateBuilder builder = new X509v1CertificateBuilder(name, serialNumber(), notBefore(), notAfter(days),
+                    name, SubjectPublicKeyInfo.getInstance(publicKey(privateKey).getEncoded()));
+            return pem(builder.build(signer(privateKey)));
+        } catch (GeneralSecurityException | OperatorCreationException e) {
+            throw new IOException("Failed to renew self-signed certificate", e);
+        }
+    }
+
+    @Override
+    public void addCertToTrustStore(File certFile, String certAlias, File trustStoreFile, String trustStorePassword)
+            throws IOException, CertificateException, KeyStoreException, NoSuchAlgorithmException {
+        byte[] trustStore = trustStoreFile.length() > 0 ? Files.readAllBytes(trustStoreFile.toPath()) : null;
+        Files.write(trustStoreFile.toPath(),
+                addCertToTrustStore(Files.readAllBytes(certFile.toPath()), certAlias, trustStore, trustStorePassword));
+    }
+
+    @Override
+    public byte[] addCertToTrustStore(byte[] cert, String certAlias, byte[] trustStore, String trustStorePassword)
+            throws IOException, CertificateException, KeyStoreException, NoSuchAlgorithmException {
+        X509Certificate certificate = certConverter.getCertificate(readCertificate(cert));
+        // the KeyStore class is able to create an empty store if the input stream is null
+        KeyStore store = loadKeyStore(trustStore, trustStorePassword);
+        store.setEntry(certAlias, new KeyStore.TrustedCertificateEntry(certificate), null);
+        return storeKeyStore(store, trustStorePassword);
+    }
+
+    @Override
+    public void addKeyAndCertToKeyStore(File keyFile, File certFile, String alias, File keyStoreFile, String keyStorePassword) throws IOException {
+        Files.write(keyStoreFile.toPath(), addKeyAndCertToKeyStore(Files.readAllBytes(keyFile.toPath()),
+                Files.readAllBytes(certFile.toPath()), alias, keyStorePassword));
+    }
+
+    @Override
+    public byte[] addKeyAndCertToKeyStore(byte[] key, byte[] cert, String alias, String keyStorePassword) throws IOException {
+        try {
+            PrivateKey privateKey = readPrivateKey(key);
+            X509Certificate certificate = certConverter.getCertificate(readCertificate(cert));
+            // like "openssl pkcs12 -export", this replaces any existing keystore
+            KeyStore keyStore = loadKeyStore(null, keyStorePassword);
+            keyStore.setKeyEntry(alias, privateKey, keyStorePassword.toCharArray(), new Certificate[] {certificate});
+            return storeKeyStore(keyStore, keyStorePassword);
+        } catch (GeneralSecurityException e) {
+            throw new IOException("Failed to add key and certificate to keystore", e);
+        }
+    }
+
+    @Override
+    public void deleteFromTrustStore(List<String> aliases, File trustStoreFile, String trustStorePassword)
+            throws IOException, CertificateException, KeyStoreException, NoSuchAlgorithmException {
+        Files.write(trustStoreFile.toPath(),
+                deleteFromTrustStore(aliases, Files.readAllBytes(trustStoreFile.toPath()), trustStorePassword));
+    }
+
+    @Override
+    public byte[] deleteFromTrustStore(List<String> aliases, byte[] trustStore, String trustStorePassword)
+            throws IOException, CertificateException, KeyStoreException, NoSuchAlgorithmException {
+        KeyStore store = loadKeyStore(trustStore, trustStorePassword);
+        for (String alias : aliases) {
+            store.deleteEntry(alias);
+        }
+        return storeKeyStore(store, trustStorePassword);
+    }
+
+    @Override
+    public void generateCsr(File keyFile, File csrFile, Subject sbj) throws IOException {
+        try {
+            KeyPair keyPair = generateKeyPair();
+            Files.write(keyFile.toPath(), pem(keyPair.getPrivate()));
+            Files.write(csrFile.toPath(), pem(csr(keyPair, sbj)));
+        } catch (GeneralSecurityException | OperatorCreationException e) {
+            throw new IOException("Failed to generate certificate signing request", e);
+        }
+    }
+
+    @Override
+    public void generateCert(File csrFile, File caKey, File caCert, File crtFile, int days) throws IOException {
+        generateCert(csrFile, caKey, caCert, crtFile, null, days);
+    }
+
+    @Override
+    public void generateCert(File csrFile, File caKey, File caCert, File crtFile, Subject sbj, int days) throws IOException {
+        generateCert(csrFile, Files.readAllBytes(caKey.toPath()), Files.readAllBytes(caCert.toPath()), crtFile, sbj, days);
+    }
+
+    @Override
+    public void generateCert(File csrFile, byte[] caKey, byte[] caCert, File crtFile, int days) throws IOException {
+        generateCert(csrFile, caKey, caCert, crtFile, null, days);
+    }
+
+    @Override
+    public void generateCert(File csrFile, byte[] caKey, byte[] caCert, File crtFile, Subject sbj, int days) throws IOException {
+        PKCS10CertificationRequest csr = readPem(Files.readAllBytes(csrFile.toPath()), PKCS10CertificationRequest.class);
+        Files.write(crtFile.toPath(), pem(signedCert(csr, caKey, caCert, sbj, days)));
+    }
+
+    @Override
+    public CertAndKey generateSignedCert(Subject sbj, byte[] caKey, byte[] caCert, int days) throws IOException {
+        try {
+            KeyPair keyPair = generateKeyPair();
+            return new CertAndKey(pem(keyPair.getPrivate()), pem(signedCert(csr(keyPair, sbj), caKey, caCert, sbj, days)));
+        } catch (GeneralSecurityException | OperatorCreationException e) {
+            throw new IOException("Failed to generate certificate signing request", e);
+        }
+    }
+
+    private PKCS10CertificationRequest csr(KeyPair keyPair, Subject sbj) throws IOException, OperatorCreationException {
+        JcaPKCS10CertificationRequestBuilder builder = new JcaPKCS10CertificationRequestBuilder(x500Name(sbj), keyPair.getPublic());
+        if (hasSubjectAltNames(sbj)) {
+            ExtensionsGenerator extensions = new ExtensionsGenerator();
+            extensions.addExtension(Extension.subjectAlternativeName, false, generalNames(sbj.subjectAltNames()));
+            builder.addAttribute(PKCSObjectIdentifiers.pkcs_9_at_extensionRequest, extensions.generate());
+        }
+        return builder.build(signer(keyPair.getPrivate()));
+    }
+
+    private X509CertificateHolder signedCert(PKCS10CertificationRequest csr, byte[] caKey, byte[] caCert, Subject sbj, int days) throws IOException {
+        try {
+            X509CertificateHolder issuer = readCertificate(caCert);
+            PrivateKey issuerKey = readPrivateKey(caKey);
+
+            if (hasSubjectAltNames(sbj)) {
+                PublicKey publicKey = keyConverter.getPublicKey(csr.getSubjectPublicKeyInfo());
+                X509v3CertificateBuilder builder = v3Builder(issuer.getSubject(), csr.getSubject(), publicKey, days);
+                JcaX509ExtensionUtils extensionUtils = new JcaX509ExtensionUtils();
+                builder.addExtension(Extension.subjectAlternativeName, false, generalNames(sbj.subjectAltNames()));
+                builder.addExtension(Extension.subjectKeyIdentifier, false, extensionUtils.createSubjectKeyIdentifier(publicKey));
+                builder.addExtension(Extension.authorityKeyIdentifier, false, extensionUtils.createAuthorityKeyIdentifier(issuer.getSubjectPublicKeyInfo()));
+                return builder.build(signer(issuerKey));
+            } else {
+                return new X509v1CertificateBuilder(issuer.getSubject(), serialNumber(), notBefore(), notAfter(days),
+                        csr.getSubject(), csr.getSubjectPublicKeyInfo()).build(signer(issuerKey));
+            }
+        } catch (GeneralSecurityException | OperatorCreationException e) {
+            throw new IOException("Failed to generate certificate", e);
+        }
+    }
+
+    private KeyPair generateKeyPair() throws NoSuchAlgorithmException {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance(KEY_ALGORITHM);
+        generator.initialize(KEY_SIZE, random);
+        return generator.generateKeyPair();
+    }
+
+    private ContentSigner signer(PrivateKey privateKey) throws OperatorCreationException {
+        return new JcaContentSignerBuilder(SIGNATURE_ALGORITHM).setSecureRandom(random).build(privateKey);
+    }
+
+    private X509v3CertificateBuilder v3Builder(X500Name issuer, X500Name subject, PublicKey publicKey, int days) {
+        return new X509v3CertificateBuilder(issuer, serialNumber(), notBefore(), notAfter(days), subject,
+                SubjectPublicKeyInfo.getInstance(publicKey.getEncoded()));
+    }
+
+    private BigInteger serialNumber() {
+        return new BigInteger(SERIAL_NUMBER_BITS, random);
+    }
+
+    private static Date notBefore() {
+        return new Date();
+    }
+
+    private static Date notAfter(int days) {
+        return new Date(System.currentTimeMillis() + TimeUnit.DAYS.toMillis(days));
+    }
+
+    private static boolean hasSubjectAltNames(Subject sbj) {
+        return sbj != null && sbj.subjectAltNames() != null && sbj.subjectAltNames().size() > 0;
+    }
+
+    /**
+     * @param sbj The subject, or null.
+     * @return The X.500 name for the subject, with its RDNs in the same order as {@link Subject#toString()}.
+     */
+    private static X500Name x500Name(Subject sbj) {
+        X500NameBuilder builder = new X500NameBuilder(BCStyle.INSTANCE);
+        if (sbj != null) {
+            if (sbj.organizationName() != null) {
+                builder.addRDN(BCStyle.O, sbj.organizationName());
+            }
+            if (sbj.commonName() != null) {
+                builder.addRDN(BCStyle.CN, sbj.commonName());
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * @param subjectAltNames The subject alternative names, keyed using the OpenSSL configuration file syntax (e.g. {@code DNS.1}).
+     * @return The general names.
+     */
+    private static GeneralNames generalNames(Map<String, String> subjectAltNames) {
+        List<GeneralName> names = new ArrayList<>(subjectAltNames.size());
+        for (Map.Entry<String, String> entry : subjectAltNames.entrySet()) {
+            String key = entry.getKey();
+            int dot = key.indexOf('.');
+            String type = dot >= 0 ? key.substring(0, dot) : key;
+            switch (type) {
+                case "DNS":
+                    names.add(new GeneralName(GeneralName.dNSName, entry.getValue()));
+                    break;
+                case "IP":
+                    names.add(new GeneralName(GeneralName.iPAddress, entry.getValue()));
+                    break;
+                case "email":
+                    names.add(new GeneralName(GeneralName.rfc822Name, entry.getValue()));
+                    break;
+                case "URI":
+                    names.add(new GeneralName(GeneralName.uniformResourceIdentifier, entry.getValue()));
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unsupported subject alternative name " + key);
+            }
+        }
+        return new GeneralNames(names.toArray(new GeneralName[0]));
+    }
+
+    private <T> T readPem(byte[] pem, Class<T> type) throws IOException {
+        try (Reader reader = new InputStreamReader(new ByteArrayInputStream(pem), StandardCharsets.US_ASCII);
+             PEMParser parser = new PEMParser(reader)) {
+            Object object = parser.readObject();
+            if (!type.isInstance(object)) {
+                throw new IOException("Expected a PEM encoded " + type.getSimpleName() + " but found " + (object != null ? object.getClass().getSimpleName() : "nothing"));
+            }
+            return type.cast(object);
+        }
+    }
+
+    private X509CertificateHolder readCertificate(byte[] pem) throws IOException {
+        return readPem(pem, X509CertificateHolder.class);
+    }
+
+    /**
+     * Reads a private key in either the PKCS#8 or the traditional (PKCS#1) format.
+     */
+    private PrivateKey readPrivateKey(byte[] pem) throws IOException {
+        Object key = readPem(pem, Object.class);
+        if (key instanceof PEMKeyPair) {
+            return keyConverter.getKeyPair((PEMKeyPair) key).getPrivate();
+        } else if (key instanceof PrivateKeyInfo) {
+            return keyConverter.getPrivateKey((PrivateKeyInfo) key);
+        }
+        throw new IOException("Expected a PEM encoded private key");
+    }
+
+    /**
+     * Derives the public key from an RSA private key.
+     */
+    private static PublicKey publicKey(PrivateKey privateKey) throws IOException, GeneralSecurityException {
+        if (!(privateKey instanceof RSAPrivateCrtKey)) {
+            throw new IOException("Expected an RSA private key");
+        }
+        RSAPrivateCrtKey rsaKey = (RSAPrivateCrtKey) privateKey;
+        return KeyFactory.getInstance(KEY_ALGORITHM).generatePublic(new RSAPublicKeySpec(rsaKey.getModulus(), rsaKey.getPublicExponent()));
+    }
+
+    private static byte[] pem(Object object) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (Writer writer = new OutputStreamWriter(bytes, StandardCharsets.US_ASCII);
+             JcaPEMWriter pemWriter = new JcaPEMWriter(writer)) {
+            if (object instanceof PrivateKey) {
+                // PKCS#8, like openssl, rather than the traditional format JcaPEMWriter would use
+                pemWriter.writeObject(new JcaPKCS8Generator((PrivateKey) object, null));
+            } else {
+                pemWriter.writeObject(object);
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    private static KeyStore loadKeyStore(byte[] store, String password)
+            throws IOException, CertificateException, KeyStoreException, NoSuchAlgorithmException {
+        KeyStore keyStore = KeyStore.getInstance("PKCS12");
+        keyStore.load(store != null ? new ByteArrayInputStream(store) : null, password.toCharArray());
+        return keyStore;
+    }
+
+    private static byte[] storeKeyStore(KeyStore keyStore, String password)
+            throws IOException, CertificateException, KeyStoreException, NoSuchAlgorithmException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        keyStore.store(bytes, password.toCharArray());
+        return bytes.toByteArray();
+    }
+}
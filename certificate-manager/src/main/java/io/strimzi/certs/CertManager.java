@@ -11,6 +11,12 @@ import java.security.NoSuchAlgorithmException;
 import java.security.cert.CertificateException;
 import java.util.List;
 
+/**
+ * Generates keys and certificates, and manages stores.
+ * The methods taking files read their inputs from and write their outputs to the given files.
+ * The methods taking and returning byte arrays work in memory, unless an implementation does not override them,
+ * in which case they use temporary files with the file based methods.
+ */
 public interface CertManager {
     /**
      * Generate a self-signed certificate
@@ -143,4 +149,144 @@ public interface CertManager {
      * @throws IOException If an input or output file could not be read/written.
      */
     void generateCert(File csrFile, byte[] caKey, byte[] caCert, File crtFile, Subject sbj, int days) throws IOException;
+
+    /**
+     * Generate a self-signed certificate, in memory.
+     *
+     * @param sbj subject information
+     * @param days certificate duration
+     * @return the PEM encoded private key and self signed certificate
+     * @throws IOException If the certificate could not be generated.
+     */
+    default CertAndKey generateSelfSignedCert(Subject sbj, int days) throws IOException {
+        File keyFile = TempFiles.create("-key", null);
+        File certFile = null;
+        try {
+            certFile = TempFiles.create("-cert", null);
+            generateSelfSignedCert(keyFile, certFile, sbj, days);
+            return new CertAndKey(TempFiles.read(keyFile), TempFiles.read(certFile));
+        } finally {
+            TempFiles.delete(keyFile, certFile);
+        }
+    }
+
+    /**
+     * Renew a self-signed certificate, keeping the existing private key, in memory.
+     *
+     * @param key the PEM encoded existing private key
+     * @param sbj subject information
+     * @param days certificate duration
+     * @return the PEM encoded new self signed certificate
+     * @throws IOException If the certificate could not be generated.
+     */
+    default byte[] renewSelfSignedCert(byte[] key, Subject sbj, int days) throws IOException {
+        File keyFile = TempFiles.create("-key", key);
+        File certFile = null;
+        try {
+            certFile = TempFiles.create("-cert", null);
+            renewSelfSignedCert(keyFile, certFile, sbj, days);
+            return TempFiles.read(certFile);
+        } finally {
+            TempFiles.delete(keyFile, certFile);
+        }
+    }
+
+    /**
+     * Add the provided certificate to the given truststore, in memory.
+     *
+     * @param cert the PEM encoded certificate to store
+     * @param certAlias certificate alias in the store
+     * @param trustStore the PKCS12 truststore, or null to create a new one
+     * @param trustStorePassword password for protecting the truststore
+     * @return the updated PKCS12 truststore
+     * @throws IOException If the certificate or the truststore could not be read.
+     * @throws CertificateException if any problems reading the certificate in X509 format
+     * @throws KeyStoreException if any problems with reading/writing the truststore
+     * @throws NoSuchAlgorithmException if specified algorithm for truststore is not supported
+     */
+    default byte[] addCertToTrustStore(byte[] cert, String certAlias, byte[] trustStore, String trustStorePassword)
+            throws IOException, CertificateException, KeyStoreException, NoSuchAlgorithmException {
+        File certFile = TempFiles.create("-cert", cert);
+        File trustStoreFile = null;
+        try {
+            trustStoreFile = TempFiles.create("-truststore", trustStore);
+            addCertToTrustStore(certFile, certAlias, trustStoreFile, trustStorePassword);
+            return TempFiles.read(trustStoreFile);
+        } finally {
+            TempFiles.delete(certFile, trustStoreFile);
+        }
+    }
+
+    /**
+     * Create a keystore containing the provided key and certificate, in memory.
+     *
+     * @param key the PEM encoded private key
+     * @param cert the PEM encoded certificate
+     * @param alias key and certificate alias in the keystore
+     * @param keyStorePassword password for protecting the keystore
+     * @return the PKCS12 keystore
+     * @throws IOException If the key or the certificate could not be read.
+     */
+    default byte[] addKeyAndCertToKeyStore(byte[] key, byte[] cert, String alias, String keyStorePassword) throws IOException {
+        File keyFile = TempFiles.create("-key", key);
+        File certFile = null;
+        File keyStoreFile = null;
+        try {
+            certFile = TempFiles.create("-cert", cert);
+            keyStoreFile = TempFiles.create("-keystore", null);
+            addKeyAndCertToKeyStore(keyFile, certFile, alias, keyStoreFile, keyStorePassword);
+            return TempFiles.read(keyStoreFile);
+        } finally {
+            TempFiles.delete(keyFile, certFile, keyStoreFile);
+        }
+    }
+
+    /**
+     * Remove entries with provided aliases from the given truststore, in memory.
+     *
+     * @param aliases aliases to remove
+     * @param trustStore the PKCS12 truststore
+     * @param trustStorePassword password for protecting the truststore
+     * @return the updated PKCS12 truststore
+     * @throws IOException If the truststore could not be read.
+     * @throws CertificateException if any problems reading the certificates in the truststore
+     * @throws KeyStoreException if any problems with reading/writing the truststore
+     * @throws NoSuchAlgorithmException if specified algorithm for truststore is not supported
+     */
+    default byte[] deleteFromTrustStore(List<String> aliases, byte[] trustStore, String trustStorePassword)
+            throws IOException, CertificateException, KeyStoreException, NoSuchAlgorithmException {
+        File trustStoreFile = TempFiles.create("-truststore", trustStore);
+        try {
+            deleteFromTrustStore(aliases, trustStoreFile, trustStorePassword);
+            return TempFiles.read(trustStoreFile);
+        } finally {
+            TempFiles.delete(trustStoreFile);
+        }
+    }
+
+    /**
+     * Generate a private key and a certificate signed by a Certificate Authority, in memory,
+     * like {@link #generateCsr(File, File, Subject)} followed by {@link #generateCert(File, byte[], byte[], File, Subject, int)}.
+     *
+     * @param sbj subject information
+     * @param caKey CA private key bytes
+     * @param caCert CA certificate bytes
+     * @param days certificate duration
+     * @return the PEM encoded private key and signed certificate
+     * @throws IOException If the certificate could not be generated.
+     */
+    default CertAndKey generateSignedCert(Subject sbj, byte[] caKey, byte[] caCert, int days) throws IOException {
+        File keyFile = TempFiles.create("-key", null);
+        File csrFile = null;
+        File certFile = null;
+        try {
+            csrFile = TempFiles.create("-csr", null);
+            certFile = TempFiles.create("-cert", null);
+            generateCsr(keyFile, csrFile, sbj);
+            generateCert(csrFile, caKey, caCert, certFile, sbj, days);
+            return new CertAndKey(TempFiles.read(keyFile), TempFiles.read(certFile));
+        } finally {
+            TempFiles.delete(keyFile, csrFile, certFile);
+        }
+    }
 }
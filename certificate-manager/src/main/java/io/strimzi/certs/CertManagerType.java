@@ -0,0 +1,45 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.certs;
+
+import java.util.Locale;
+
+/**
+ * The available {@link CertManager} implementations
+ */
+public enum CertManagerType {
+    /**
+     * Runs the {@code openssl} binary
+     */
+    OPENSSL {
+        @Override
+        public CertManager create() {
+            return new OpenSslCertManager();
+        }
+    },
+    /**
+     * Works in-process, using Bouncy Castle
+     */
+    BOUNCYCASTLE {
+        @Override
+        public CertManager create() {
+            return new BouncyCastleCertManager();
+        }
+    };
+
+    /**
+     * @return A new certificates manager of this type
+     */
+    public abstract CertManager create();
+
+    /**
+     * @param value The name of the type, case insensitive
+     * @return The type
+     * @throws IllegalArgumentException If there is no type with the given name
+     */
+    public static CertManagerType forValue(String value) {
+        return valueOf(value.trim().toUpperCase(Locale.ENGLISH));
+    }
+}
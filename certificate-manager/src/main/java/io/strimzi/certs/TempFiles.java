@@ -0,0 +1,58 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.certs;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+/**
+ * The temporary files used by the in-memory methods of {@link CertManager} which
+ * the file based implementations do not override.
+ */
+final class TempFiles {
+
+    private static final Logger log = LogManager.getLogger(TempFiles.class);
+
+    private TempFiles() { }
+
+    /**
+     * @param suffix The suffix of the file name.
+     * @param content The content of the file, or null for an empty file.
+     * @return A new temporary file with the given content.
+     * @throws IOException If the file could not be created or written.
+     */
+    static File create(String suffix, byte[] content) throws IOException {
+        File file = File.createTempFile("tls", suffix);
+        if (content != null) {
+            Files.write(file.toPath(), content);
+        }
+        return file;
+    }
+
+    /**
+     * @param file The file.
+     * @return The content of the file.
+     * @throws IOException If the file could not be read.
+     */
+    static byte[] read(File file) throws IOException {
+        return Files.readAllBytes(file.toPath());
+    }
+
+    /**
+     * Deletes the given files, ignoring the ones which are null.
+     * @param files The files.
+     */
+    static void delete(File... files) {
+        for (File file : files) {
+            if (file != null && !file.delete()) {
+                log.warn("{} cannot be deleted", file.getName());
+            }
+        }
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.certs;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks {@link OpenSslCertManager} against {@link BouncyCastleCertManager}, generating a CA and the keys,
+ * certificates and keystores of {@value #BROKERS} brokers in memory, as {@code Ca.maybeCopyOrGenerateCerts} does.
+ * The {@code openssl} binary has to be on the path.
+ *
+ * Run it with
+ * {@code mvn test-compile exec:java -pl certificate-manager -Dexec.classpathScope=test -Dexec.mainClass=io.strimzi.certs.CertManagerBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class CertManagerBenchmark {
+
+    private static final int BROKERS = 10;
+
+    @Param({"openssl", "bouncycastle"})
+    String manager;
+
+    CertManager certManager;
+
+    @Setup
+    public void setup() {
+        certManager = "openssl".equals(manager) ? new OpenSslCertManager() : new BouncyCastleCertManager();
+    }
+
+    @Benchmark
+    public byte[][] generateBrokerCerts() throws IOException {
+        Subject caSbj = new Subject();
+        caSbj.setOrganizationName("io.strimzi");
+        caSbj.setCommonName("cluster-ca");
+        CertAndKey ca = certManager.generateSelfSignedCert(caSbj, 365);
+
+        byte[][] keyStores = new byte[BROKERS][];
+        for (int i = 0; i < BROKERS; i++) {
+            Subject sbj = new Subject();
+            sbj.setOrganizationName("io.strimzi");
+            sbj.setCommonName("my-cluster-kafka");
+            Map<String, String> subjectAltNames = new LinkedHashMap<>();
+            subjectAltNames.put("DNS.1", "my-cluster-kafka-" + i + ".my-cluster-kafka-brokers");
+            subjectAltNames.put("DNS.2", "my-cluster-kafka-bootstrap");
+            sbj.setSubjectAltNames(subjectAltNames);
+
+            CertAndKey broker = certManager.generateSignedCert(sbj, ca.key(), ca.cert(), 365);
+            keyStores[i] = certManager.addKeyAndCertToKeyStore(broker.key(), broker.cert(), "my-cluster-kafka", "123456");
+        }
+        return keyStores;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(CertManagerBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -6,11 +6,14 @@ package io.strimzi.operator.cluster;
 
 import io.fabric8.kubernetes.api.model.LocalObjectReference;
 import io.fabric8.kubernetes.api.model.LocalObjectReferenceBuilder;
+import io.strimzi.certs.CertManagerType;
 import io.strimzi.operator.cluster.model.ImagePullPolicy;
 import io.strimzi.operator.cluster.model.KafkaVersion;
 import io.strimzi.operator.cluster.model.NoImageException;
 import io.strimzi.operator.common.InvalidConfigurationException;
+import io.strimzi.operator.common.ReconciliationQueueConfig;
 import io.strimzi.operator.common.Util;
+import io.strimzi.operator.common.model.Labels;
 import io.strimzi.operator.common.operator.resource.AbstractWatchableResourceOperator;
 
 import java.util.Arrays;
@@ -35,6 +38,13 @@ public class ClusterOperatorConfig {
     public static final String STRIMZI_CREATE_CLUSTER_ROLES = "STRIMZI_CREATE_CLUSTER_ROLES";
     public static final String STRIMZI_IMAGE_PULL_POLICY = "STRIMZI_IMAGE_PULL_POLICY";
     public static final String STRIMZI_IMAGE_PULL_SECRETS = "STRIMZI_IMAGE_PULL_SECRETS";
+    public static final String STRIMZI_RESOURCE_CACHE_ENABLED = "STRIMZI_RESOURCE_CACHE_ENABLED";
+    public static final String STRIMZI_RESOURCE_CACHE_RESYNC_INTERVAL_MS = "STRIMZI_RESOURCE_CACHE_RESYNC_INTERVAL_MS";
+    public static final String STRIMZI_RESOURCE_CACHE_LABELS = "STRIMZI_RESOURCE_CACHE_LABELS";
+    public static final String STRIMZI_SKIP_UNCHANGED_PATCHES = "STRIMZI_SKIP_UNCHANGED_PATCHES";
+    public static final String STRIMZI_CERT_MANAGER = "STRIMZI_CERT_MANAGER";
+    public static final String STRIMZI_KAFKA_ROLLING_MAX_BATCH_SIZE = "STRIMZI_KAFKA_ROLLING_MAX_BATCH_SIZE";
+    public static final String STRIMZI_DESIRED_RESOURCE_CACHE_SIZE = "STRIMZI_DESIRED_RESOURCE_CACHE_SIZE";
 
     // Env vars for configuring images
     public static final String STRIMZI_KAFKA_IMAGES = "STRIMZI_KAFKA_IMAGES";
@@ -53,6 +63,12 @@ public class ClusterOperatorConfig {
     public static final long DEFAULT_FULL_RECONCILIATION_INTERVAL_MS = 120_000;
     public static final long DEFAULT_OPERATION_TIMEOUT_MS = 300_000;
     public static final boolean DEFAULT_CREATE_CLUSTER_ROLES = false;
+    public static final boolean DEFAULT_RESOURCE_CACHE_ENABLED = false;
+    public static final long DEFAULT_RESOURCE_CACHE_RESYNC_INTERVAL_MS = 600_000;
+    public static final boolean DEFAULT_SKIP_UNCHANGED_PATCHES = false;
+    public static final CertManagerType DEFAULT_CERT_MANAGER = CertManagerType.OPENSSL;
+    public static final int DEFAULT_KAFKA_ROLLING_MAX_BATCH_SIZE = 1;
+    public static final int DEFAULT_DESIRED_RESOURCE_CACHE_SIZE = 0;
 
     private final Set<String> namespaces;
     private final long reconciliationIntervalMs;
@@ -61,6 +77,14 @@ public class ClusterOperatorConfig {
     private final KafkaVersion.Lookup versions;
     private final ImagePullPolicy imagePullPolicy;
     private final List<LocalObjectReference> imagePullSecrets;
+    private final boolean resourceCacheEnabled;
+    private final long resourceCacheResyncIntervalMs;
+    private final Labels resourceCacheLabels;
+    private final boolean skipUnchangedPatches;
+    private final CertManagerType certManagerType;
+    private final ReconciliationQueueConfig reconciliationQueueConfig;
+    private final int kafkaRollingMaxBatchSize;
+    private final int desiredResourceCacheSize;
 
     /**
      * Constructor
@@ -74,6 +98,35 @@ public class ClusterOperatorConfig {
      * @param imagePullSecrets Set of secrets for pulling container images from secured repositories
      */
     public ClusterOperatorConfig(Set<String> namespaces, long reconciliationIntervalMs, long operationTimeoutMs, boolean createClusterRoles, KafkaVersion.Lookup versions, ImagePullPolicy imagePullPolicy, List<LocalObjectReference> imagePullSecrets) {
+        this(namespaces, reconciliationIntervalMs, operationTimeoutMs, createClusterRoles, versions, imagePullPolicy, imagePullSecrets,
+                DEFAULT_RESOURCE_CACHE_ENABLED, DEFAULT_RESOURCE_CACHE_RESYNC_INTERVAL_MS, null, DEFAULT_SKIP_UNCHANGED_PATCHES, DEFAULT_CERT_MANAGER,
+                ReconciliationQueueConfig.DEFAULT, DEFAULT_KAFKA_ROLLING_MAX_BATCH_SIZE, DEFAULT_DESIRED_RESOURCE_CACHE_SIZE);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param namespaces namespace in which the operator will run and create resources
+     * @param reconciliationIntervalMs    specify every how many milliseconds the reconciliation runs
+     * @param operationTimeoutMs    timeout for internal operations specified in milliseconds
+     * @param createClusterRoles true to create the cluster roles
+     * @param versions The configured Kafka versions
+     * @param imagePullPolicy Image pull policy configured by the user
+     * @param imagePullSecrets Set of secrets for pulling container images from secured repositories
+     * @param resourceCacheEnabled true to serve reads of the operands' resources from watch-fed caches
+     * @param resourceCacheResyncIntervalMs how many milliseconds between full re-lists of the resource caches
+     * @param resourceCacheLabels labels selecting the Secrets, Services, ConfigMaps and StatefulSets to cache, or null for all of them
+     * @param skipUnchangedPatches true to skip patching resources whose desired state has not changed since it was last applied
+     * @param certManagerType the implementation used for generating keys and certificates
+     * @param reconciliationQueueConfig the limits on the reconciliations of a full reconciliation
+     * @param kafkaRollingMaxBatchSize the maximum number of Kafka brokers restarted at the same time by a rolling update
+     * @param desiredResourceCacheSize the maximum number of Kafka clusters whose generated resources are cached between reconciliations
+     */
+    @SuppressWarnings("checkstyle:ParameterNumber")
+    public ClusterOperatorConfig(Set<String> namespaces, long reconciliationIntervalMs, long operationTimeoutMs, boolean createClusterRoles, KafkaVersion.Lookup versions, ImagePullPolicy imagePullPolicy, List<LocalObjectReference> imagePullSecrets,
+                                 boolean resourceCacheEnabled, long resourceCacheResyncIntervalMs, Labels resourceCacheLabels,
+                                 boolean skipUnchangedPatches, CertManagerType certManagerType,
+                                 ReconciliationQueueConfig reconciliationQueueConfig, int kafkaRollingMaxBatchSize, int desiredResourceCacheSize) {
         this.namespaces = unmodifiableSet(new HashSet<>(namespaces));
         this.reconciliationIntervalMs = reconciliationIntervalMs;
         this.operationTimeoutMs = operationTimeoutMs;
@@ -81,6 +134,14 @@ public class ClusterOperatorConfig {
         this.versions = versions;
         this.imagePullPolicy = imagePullPolicy;
         this.imagePullSecrets = imagePullSecrets;
+        this.resourceCacheEnabled = resourceCacheEnabled;
+        this.resourceCacheResyncIntervalMs = resourceCacheResyncIntervalMs;
+        this.resourceCacheLabels = resourceCacheLabels;
+        this.skipUnchangedPatches = skipUnchangedPatches;
+        this.certManagerType = certManagerType;
+        this.reconciliationQueueConfig = reconciliationQueueConfig;
+        this.kafkaRollingMaxBatchSize = kafkaRollingMaxBatchSize;
+        this.desiredResourceCacheSize = desiredResourceCacheSize;
     }
 
     /**
@@ -109,7 +170,17 @@ public class ClusterOperatorConfig {
         boolean createClusterRoles = parseCreateClusterRoles(map.get(ClusterOperatorConfig.STRIMZI_CREATE_CLUSTER_ROLES));
         ImagePullPolicy imagePullPolicy = parseImagePullPolicy(map.get(ClusterOperatorConfig.STRIMZI_IMAGE_PULL_POLICY));
         List<LocalObjectReference> imagePullSecrets = parseImagePullSecrets(map.get(ClusterOperatorConfig.STRIMZI_IMAGE_PULL_SECRETS));
-        return new ClusterOperatorConfig(namespaces, reconciliationInterval, operationTimeout, createClusterRoles, lookup, imagePullPolicy, imagePullSecrets);
+        boolean resourceCacheEnabled = parseResourceCacheEnabled(map.get(ClusterOperatorConfig.STRIMZI_RESOURCE_CACHE_ENABLED));
+        long resourceCacheResyncInterval = parseResourceCacheResyncInterval(map.get(ClusterOperatorConfig.STRIMZI_RESOURCE_CACHE_RESYNC_INTERVAL_MS));
+        Labels resourceCacheLabels = parseResourceCacheLabels(map.get(ClusterOperatorConfig.STRIMZI_RESOURCE_CACHE_LABELS));
+        boolean skipUnchangedPatches = parseSkipUnchangedPatches(map.get(ClusterOperatorConfig.STRIMZI_SKIP_UNCHANGED_PATCHES));
+        CertManagerType certManagerType = parseCertManagerType(map.get(ClusterOperatorConfig.STRIMZI_CERT_MANAGER));
+        ReconciliationQueueConfig reconciliationQueueConfig = ReconciliationQueueConfig.fromMap(map);
+        int kafkaRollingMaxBatchSize = parseKafkaRollingMaxBatchSize(map.get(ClusterOperatorConfig.STRIMZI_KAFKA_ROLLING_MAX_BATCH_SIZE));
+        int desiredResourceCacheSize = parseDesiredResourceCacheSize(map.get(ClusterOperatorConfig.STRIMZI_DESIRED_RESOURCE_CACHE_SIZE));
+        return new ClusterOperatorConfig(namespaces, reconciliationInterval, operationTimeout, createClusterRoles, lookup, imagePullPolicy, imagePullSecrets,
+                resourceCacheEnabled, resourceCacheResyncInterval, resourceCacheLabels, skipUnchangedPatches, certManagerType,
+                reconciliationQueueConfig, kafkaRollingMaxBatchSize, desiredResourceCacheSize);
 
     }
 
@@ -162,6 +233,105 @@ public class ClusterOperatorConfig {
         return createClusterRoles;
     }
 
+    private static boolean parseResourceCacheEnabled(String resourceCacheEnabledEnvVar) {
+        boolean resourceCacheEnabled = DEFAULT_RESOURCE_CACHE_ENABLED;
+
+        if (resourceCacheEnabledEnvVar != null) {
+            resourceCacheEnabled = Boolean.parseBoolean(resourceCacheEnabledEnvVar);
+        }
+
+        return resourceCacheEnabled;
+    }
+
+    private static long parseResourceCacheResyncInterval(String resourceCacheResyncIntervalEnvVar) {
+        long resourceCacheResyncInterval = DEFAULT_RESOURCE_CACHE_RESYNC_INTERVAL_MS;
+
+        if (resourceCacheResyncIntervalEnvVar != null) {
+            resourceCacheResyncInterval = Long.parseLong(resourceCacheResyncIntervalEnvVar);
+        }
+
+        return resourceCacheResyncInterval;
+    }
+
+    private static Labels parseResourceCacheLabels(String resourceCacheLabelsEnvVar) {
+        Labels resourceCacheLabels = null;
+
+        if (resourceCacheLabelsEnvVar != null && !resourceCacheLabelsEnvVar.isEmpty()) {
+            try {
+                resourceCacheLabels = Labels.fromString(resourceCacheLabelsEnvVar);
+            } catch (IllegalArgumentException e) {
+                throw new InvalidConfigurationException(ClusterOperatorConfig.STRIMZI_RESOURCE_CACHE_LABELS
+                        + " is not a valid label selector", e);
+            }
+        }
+
+        return resourceCacheLabels;
+    }
+
+    private static boolean parseSkipUnchangedPatches(String skipUnchangedPatchesEnvVar) {
+        boolean skipUnchangedPatches = DEFAULT_SKIP_UNCHANGED_PATCHES;
+
+        if (skipUnchangedPatchesEnvVar != null) {
+            skipUnchangedPatches = Boolean.parseBoolean(skipUnchangedPatchesEnvVar);
+        }
+
+        return skipUnchangedPatches;
+    }
+
+    private static CertManagerType parseCertManagerType(String certManagerEnvVar) {
+        CertManagerType certManagerType = DEFAULT_CERT_MANAGER;
+
+        if (certManagerEnvVar != null) {
+            try {
+                certManagerType = CertManagerType.forValue(certManagerEnvVar);
+            } catch (IllegalArgumentException e) {
+                throw new InvalidConfigurationException(certManagerEnvVar
+                        + " is not a valid " + ClusterOperatorConfig.STRIMZI_CERT_MANAGER + " value. " +
+                        ClusterOperatorConfig.STRIMZI_CERT_MANAGER + " can have one of the following values: openssl, bouncycastle.");
+            }
+        }
+
+        return certManagerType;
+    }
+
+    private static int parseKafkaRollingMaxBatchSize(String kafkaRollingMaxBatchSizeEnvVar) {
+        int kafkaRollingMaxBatchSize = DEFAULT_KAFKA_ROLLING_MAX_BATCH_SIZE;
+
+        if (kafkaRollingMaxBatchSizeEnvVar != null) {
+            try {
+                kafkaRollingMaxBatchSize = Integer.parseInt(kafkaRollingMaxBatchSizeEnvVar.trim());
+            } catch (NumberFormatException e) {
+                kafkaRollingMaxBatchSize = 0;
+            }
+            if (kafkaRollingMaxBatchSize < 1) {
+                throw new InvalidConfigurationException(kafkaRollingMaxBatchSizeEnvVar
+                        + " is not a valid " + ClusterOperatorConfig.STRIMZI_KAFKA_ROLLING_MAX_BATCH_SIZE + " value. "
+                        + ClusterOperatorConfig.STRIMZI_KAFKA_ROLLING_MAX_BATCH_SIZE + " must be a positive integer.");
+            }
+        }
+
+        return kafkaRollingMaxBatchSize;
+    }
+
+    private static int parseDesiredResourceCacheSize(String desiredResourceCacheSizeEnvVar) {
+        int desiredResourceCacheSize = DEFAULT_DESIRED_RESOURCE_CACHE_SIZE;
+
+        if (desiredResourceCacheSizeEnvVar != null) {
+            try {
+                desiredResourceCacheSize = Integer.parseInt(desiredResourceCacheSizeEnvVar.trim());
+            } catch (NumberFormatException e) {
+                desiredResourceCacheSize = -1;
+            }
+            if (desiredResourceCacheSize < 0) {
+                throw new InvalidConfigurationException(desiredResourceCacheSizeEnvVar
+                        + " is not a valid " + ClusterOperatorConfig.STRIMZI_DESIRED_RESOURCE_CACHE_SIZE + " value. "
+                        + ClusterOperatorConfig.STRIMZI_DESIRED_RESOURCE_CACHE_SIZE + " must be zero or a positive integer.");
+            }
+        }
+
+        return desiredResourceCacheSize;
+    }
+
     private static ImagePullPolicy parseImagePullPolicy(String imagePullPolicyEnvVar) {
         ImagePullPolicy imagePullPolicy = null;
 
@@ -264,6 +434,62 @@ public class ClusterOperatorConfig {
         return imagePullSecrets;
     }
 
+    /**
+     * @return  Indicates whether reads of the operands' resources should be served from watch-fed caches
+     */
+    public boolean isResourceCacheEnabled() {
+        return resourceCacheEnabled;
+    }
+
+    /**
+     * @return  how many milliseconds between full re-lists of the resource caches
+     */
+    public long getResourceCacheResyncIntervalMs() {
+        return resourceCacheResyncIntervalMs;
+    }
+
+    /**
+     * @return  The labels selecting the cached Secrets, Services, ConfigMaps and StatefulSets. Null if all of them are cached.
+     */
+    public Labels getResourceCacheLabels() {
+        return resourceCacheLabels;
+    }
+
+    /**
+     * @return  Indicates whether patches of resources whose desired state has not changed should be skipped
+     */
+    public boolean isSkipUnchangedPatches() {
+        return skipUnchangedPatches;
+    }
+
+    /**
+     * @return  The implementation used for generating keys and certificates
+     */
+    public CertManagerType getCertManagerType() {
+        return certManagerType;
+    }
+
+    /**
+     * @return  The limits on the reconciliations of a full reconciliation
+     */
+    public ReconciliationQueueConfig getReconciliationQueueConfig() {
+        return reconciliationQueueConfig;
+    }
+
+    /**
+     * @return  The maximum number of Kafka brokers restarted at the same time by a rolling update
+     */
+    public int getKafkaRollingMaxBatchSize() {
+        return kafkaRollingMaxBatchSize;
+    }
+
+    /**
+     * @return  The maximum number of Kafka clusters whose generated resources are cached between reconciliations
+     */
+    public int getDesiredResourceCacheSize() {
+        return desiredResourceCacheSize;
+    }
+
     @Override
     public String toString() {
         return "ClusterOperatorConfig(" +
@@ -274,6 +500,14 @@ public class ClusterOperatorConfig {
                 ",versions=" + versions +
                 ",imagePullPolicy=" + imagePullPolicy +
                 ",imagePullSecrets=" + imagePullSecrets +
+                ",resourceCacheEnabled=" + resourceCacheEnabled +
+                ",resourceCacheResyncIntervalMs=" + resourceCacheResyncIntervalMs +
+                ",resourceCacheLabels=" + resourceCacheLabels +
+                ",skipUnchangedPatches=" + skipUnchangedPatches +
+                ",certManagerType=" + certManagerType +
+                ",reconciliationQueueConfig=" + reconciliationQueueConfig +
+                ",kafkaRollingMaxBatchSize=" + kafkaRollingMaxBatchSize +
+                ",desiredResourceCacheSize=" + desiredResourceCacheSize +
                 ")";
     }
 }
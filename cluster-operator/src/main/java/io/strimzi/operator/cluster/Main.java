@@ -9,15 +9,20 @@ import io.fabric8.kubernetes.api.model.rbac.ClusterRole;
 import io.fabric8.kubernetes.client.DefaultKubernetesClient;
 import io.fabric8.kubernetes.client.KubernetesClient;
 import io.strimzi.api.kafka.Crds;
-import io.strimzi.certs.OpenSslCertManager;
+import io.strimzi.certs.CertManager;
 import io.strimzi.operator.PlatformFeaturesAvailability;
+import io.strimzi.operator.cluster.model.Ca;
 import io.strimzi.operator.cluster.operator.assembly.KafkaAssemblyOperator;
 import io.strimzi.operator.cluster.operator.assembly.KafkaBridgeAssemblyOperator;
 import io.strimzi.operator.cluster.operator.assembly.KafkaConnectAssemblyOperator;
 import io.strimzi.operator.cluster.operator.assembly.KafkaConnectS2IAssemblyOperator;
 import io.strimzi.operator.cluster.operator.assembly.KafkaMirrorMakerAssemblyOperator;
 import io.strimzi.operator.cluster.operator.resource.ResourceOperatorSupplier;
+import io.strimzi.operator.common.MetricsProvider;
+import io.strimzi.operator.common.MicrometerMetricsProvider;
 import io.strimzi.operator.common.PasswordGenerator;
+import io.strimzi.operator.common.WorkerPools;
+import io.strimzi.operator.common.WorkerPoolsConfig;
 import io.strimzi.operator.common.operator.resource.ClusterRoleOperator;
 import io.vertx.core.CompositeFuture;
 import io.vertx.core.Future;
@@ -62,6 +67,8 @@ public class Main {
                         .setPrometheusOptions(new VertxPrometheusOptions().setEnabled(true))
                         .setEnabled(true));
         Vertx vertx = Vertx.vertx(options);
+        WorkerPools.configure(vertx, WorkerPoolsConfig.fromMap(System.getenv()), new MicrometerMetricsProvider());
+        Ca.useCertGenerationPool(WorkerPools.crypto(vertx));
         KubernetesClient client = new DefaultKubernetesClient();
 
         maybeCreateClusterRoles(vertx, config, client).setHandler(crs -> {
@@ -91,9 +98,17 @@ public class Main {
     static CompositeFuture run(Vertx vertx, KubernetesClient client, PlatformFeaturesAvailability pfa, ClusterOperatorConfig config) {
         printEnvInfo();
 
-        ResourceOperatorSupplier resourceOperatorSupplier = new ResourceOperatorSupplier(vertx, client, pfa, config.getOperationTimeoutMs());
+        MetricsProvider metricsProvider = new MicrometerMetricsProvider();
+        ResourceOperatorSupplier resourceOperatorSupplier = new ResourceOperatorSupplier(vertx, client, pfa, config.getOperationTimeoutMs(), metricsProvider);
+        resourceOperatorSupplier.enableMetrics(metricsProvider);
+        if (config.isSkipUnchangedPatches()) {
+            resourceOperatorSupplier.enableSkipUnchangedPatches(metricsProvider);
+        }
+        if (config.getKafkaRollingMaxBatchSize() > 1) {
+            resourceOperatorSupplier.kafkaSetOperations.enableBatchedRolling(config.getKafkaRollingMaxBatchSize());
+        }
 
-        OpenSslCertManager certManager = new OpenSslCertManager();
+        CertManager certManager = config.getCertManagerType().create();
         PasswordGenerator passwordGenerator = new PasswordGenerator(12,
                 "abcdefghijklmnopqrstuvwxyz" +
                         "ABCDEFGHIJKLMNOPQRSTUVWXYZ",
@@ -130,16 +145,26 @@ public class Main {
                     kafkaConnectS2IClusterOperations,
                     kafkaMirrorMakerAssemblyOperator,
                     kafkaBridgeAssemblyOperator);
-            vertx.deployVerticle(operator,
-                res -> {
-                    if (res.succeeded()) {
-                        log.info("Cluster Operator verticle started in namespace {}", namespace);
-                    } else {
-                        log.error("Cluster Operator verticle in namespace {} failed to start", namespace, res.cause());
-                        System.exit(1);
-                    }
-                    prom.handle(res);
-                });
+            Future<Void> caches = config.isResourceCacheEnabled()
+                    ? resourceOperatorSupplier.enableResourceCaches(namespace, config.getResourceCacheLabels(),
+                        config.getResourceCacheResyncIntervalMs(), metricsProvider)
+                    : Future.succeededFuture();
+            caches.setHandler(cachesResult -> {
+                if (cachesResult.failed()) {
+                    log.error("Resource caches in namespace {} failed to start", namespace, cachesResult.cause());
+                    System.exit(1);
+                }
+                vertx.deployVerticle(operator,
+                    res -> {
+                        if (res.succeeded()) {
+                            log.info("Cluster Operator verticle started in namespace {}", namespace);
+                        } else {
+                            log.error("Cluster Operator verticle in namespace {} failed to start", namespace, res.cause());
+                            System.exit(1);
+                        }
+                        prom.handle(res);
+                    });
+            });
         }
         return CompositeFuture.join(futures);
     }
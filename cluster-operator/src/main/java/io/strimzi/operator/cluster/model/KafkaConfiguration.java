@@ -5,21 +5,16 @@
 
 package io.strimzi.operator.cluster.model;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import io.strimzi.api.kafka.model.KafkaClusterSpec;
-import io.strimzi.kafka.config.model.ConfigModel;
-import io.strimzi.kafka.config.model.ConfigModels;
+import io.strimzi.kafka.config.model.ConfigModelRegistry;
 import io.strimzi.kafka.config.model.Scope;
 
-import java.io.IOException;
-import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 import static java.util.Arrays.asList;
 import static java.util.Collections.emptyList;
@@ -70,33 +65,17 @@ public class KafkaConfiguration extends AbstractConfiguration {
      */
     public List<String> validate(KafkaVersion kafkaVersion) {
         List<String> errors = new ArrayList<>();
-        Map<String, ConfigModel> models = readConfigModel(kafkaVersion);
+        ConfigModelRegistry models = configModel(kafkaVersion);
         for (Map.Entry<String, String> entry: asOrderedProperties().asMap().entrySet()) {
-            String key = entry.getKey();
-            String value = entry.getValue();
-            ConfigModel config = models.get(key);
-            if (config != null) {
-                // It's not an error if config _is_ null because extra configs
-                // might be intended for plugins
-                errors.addAll(config.validate(key, value));
-            }
+            // Configs unknown to the model are not validated because they
+            // might be intended for plugins
+            errors.addAll(models.validate(entry.getKey(), entry.getValue()));
         }
         return errors;
     }
 
-    private Map<String, ConfigModel> readConfigModel(KafkaVersion kafkaVersion) {
-        String name = "/kafka-" + kafkaVersion.version() + "-config-model.json";
-        try {
-            try (InputStream in = KafkaConfiguration.class.getResourceAsStream(name)) {
-                ConfigModels configModels = new ObjectMapper().readValue(in, ConfigModels.class);
-                if (!kafkaVersion.version().equals(configModels.getVersion())) {
-                    throw new RuntimeException("Incorrect version");
-                }
-                return configModels.getConfigs();
-            }
-        } catch (IOException e) {
-            throw new RuntimeException("Error reading from classpath resource " + name, e);
-        }
+    private ConfigModelRegistry configModel(KafkaVersion kafkaVersion) {
+        return ConfigModelRegistry.forVersion(kafkaVersion.version());
     }
 
     /**
@@ -137,13 +116,8 @@ public class KafkaConfiguration extends AbstractConfiguration {
     }
 
     private Set<String> withScope(KafkaVersion kafkaVersion, Scope scope) {
-        Map<String, ConfigModel> c = readConfigModel(kafkaVersion);
-        List<String> configsOfScope = c.entrySet().stream()
-                .filter(config -> scope.equals(config.getValue().getScope()))
-                .map(config -> config.getKey())
-                .collect(Collectors.toList());
         Set<String> result = new HashSet<>(asOrderedProperties().asMap().keySet());
-        result.retainAll(configsOfScope);
+        result.retainAll(configModel(kafkaVersion).configNames(scope));
         return Collections.unmodifiableSet(result);
     }
 
@@ -154,9 +128,8 @@ public class KafkaConfiguration extends AbstractConfiguration {
      * @return The unknown configs.
      */
     public Set<String> unknownConfigs(KafkaVersion kafkaVersion) {
-        Map<String, ConfigModel> c = readConfigModel(kafkaVersion);
         Set<String> result = new HashSet<>(asOrderedProperties().asMap().keySet());
-        result.removeAll(c.keySet());
+        result.removeAll(configModel(kafkaVersion).configNames());
         return result;
     }
 
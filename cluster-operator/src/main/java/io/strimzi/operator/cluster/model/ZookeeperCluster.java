@@ -651,4 +651,8 @@ public class ZookeeperCluster extends AbstractModel {
     public void disableSnapshotChecks() {
         this.isSnapshotCheckEnabled = false;
     }
+
+    public boolean isSnapshotCheckEnabled() {
+        return isSnapshotCheckEnabled;
+    }
 }
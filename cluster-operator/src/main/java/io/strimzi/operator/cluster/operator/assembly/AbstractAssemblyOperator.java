@@ -19,6 +19,7 @@ import io.strimzi.operator.cluster.operator.resource.ResourceOperatorSupplier;
 import io.strimzi.operator.common.AbstractOperator;
 import io.strimzi.operator.common.PasswordGenerator;
 import io.strimzi.operator.common.Reconciliation;
+import io.strimzi.operator.common.ReconciliationQueue;
 import io.strimzi.operator.common.operator.resource.AbstractWatchableResourceOperator;
 import io.strimzi.operator.common.operator.resource.ClusterRoleBindingOperator;
 import io.strimzi.operator.common.operator.resource.ConfigMapOperator;
@@ -75,7 +76,8 @@ public abstract class AbstractAssemblyOperator<C extends KubernetesClient, T ext
                                        AbstractWatchableResourceOperator<C, T, L, D, R> resourceOperator,
                                        ResourceOperatorSupplier supplier,
                                        ClusterOperatorConfig config) {
-        super(vertx, kind, resourceOperator);
+        super(vertx, kind, resourceOperator, supplier.metricsProvider, new ReconciliationQueue(vertx, kind, config.getReconciliationQueueConfig(),
+                config.getReconciliationIntervalMs(), supplier.metricsProvider));
         this.pfa = pfa;
         this.certManager = certManager;
         this.passwordGenerator = passwordGenerator;
@@ -11,10 +11,11 @@ import io.fabric8.kubernetes.api.model.LocalObjectReference;
 import io.fabric8.kubernetes.client.CustomResource;
 import io.fabric8.kubernetes.client.CustomResourceList;
 import io.fabric8.kubernetes.client.KubernetesClient;
-import io.fabric8.kubernetes.client.KubernetesClientException;
 import io.fabric8.kubernetes.client.Watcher;
 import io.fabric8.kubernetes.client.dsl.Resource;
 import io.fabric8.openshift.client.OpenShiftClient;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Tags;
 import io.strimzi.api.kafka.KafkaConnectList;
 import io.strimzi.api.kafka.KafkaConnectS2IList;
 import io.strimzi.api.kafka.KafkaConnectorList;
@@ -40,7 +41,9 @@ import io.strimzi.operator.cluster.model.StatusDiff;
 import io.strimzi.operator.cluster.operator.resource.ResourceOperatorSupplier;
 import io.strimzi.operator.common.AbstractOperator;
 import io.strimzi.operator.common.Annotations;
+import io.strimzi.operator.common.MetricsProvider;
 import io.strimzi.operator.common.Reconciliation;
+import io.strimzi.operator.common.ReconciliationQueue;
 import io.strimzi.operator.common.Util;
 import io.strimzi.operator.common.model.Labels;
 import io.strimzi.operator.common.operator.resource.ConfigMapOperator;
@@ -58,11 +61,13 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.Callable;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -87,12 +92,16 @@ public abstract class AbstractConnectOperator<C extends KubernetesClient, T exte
     protected final long operationTimeoutMs;
     protected final PlatformFeaturesAvailability pfa;
     protected final ServiceAccountOperator serviceAccountOperations;
+    private final Counter connectorsCreated;
+    private final Counter connectorsUpdated;
+    private final Counter connectorUpdatesSkipped;
 
     public AbstractConnectOperator(Vertx vertx, PlatformFeaturesAvailability pfa, String kind,
                                    CrdOperator<C, T, L, D> resourceOperator,
                                    ResourceOperatorSupplier supplier, ClusterOperatorConfig config,
                                    Function<Vertx, KafkaConnectApi> connectClientProvider) {
-        super(vertx, kind, resourceOperator);
+        super(vertx, kind, resourceOperator, supplier.metricsProvider, new ReconciliationQueue(vertx, kind, config.getReconciliationQueueConfig(),
+                config.getReconciliationIntervalMs(), supplier.metricsProvider));
         this.connectorOperator = supplier.kafkaConnectorOperator;
         this.connectClientProvider = connectClientProvider;
         this.configMapOperations = supplier.configMapOperations;
@@ -103,6 +112,26 @@ public abstract class AbstractConnectOperator<C extends KubernetesClient, T exte
         this.imagePullSecrets = config.getImagePullSecrets();
         this.operationTimeoutMs = config.getOperationTimeoutMs();
         this.pfa = pfa;
+        this.connectorsCreated = connectorConfigUpdates(supplier.metricsProvider, kind, "created");
+        this.connectorsUpdated = connectorConfigUpdates(supplier.metricsProvider, kind, "updated");
+        this.connectorUpdatesSkipped = connectorConfigUpdates(supplier.metricsProvider, kind, "skipped");
+    }
+
+    /**
+     * The {@code strimzi_connector_config_updates} counter. Both {@code created} and {@code updated} connector configs
+     * make the Connect cluster rebalance, while {@code skipped} ones were not sent because they were unchanged.
+     */
+    private static Counter connectorConfigUpdates(MetricsProvider metrics, String kind, String result) {
+        return metrics.counter("connector.config.updates", "Number of connector configs sent to, or skipped because they were unchanged in, Kafka Connect",
+                Tags.of("kind", kind, "result", result));
+    }
+
+    /**
+     * @param apiClient The client.
+     * @return A provider which always returns the given client, so that all the reconciliations share its connections.
+     */
+    protected static Function<Vertx, KafkaConnectApi> sharedConnectClient(KafkaConnectApi apiClient) {
+        return ignored -> apiClient;
     }
 
     @Override
@@ -120,14 +149,20 @@ public abstract class AbstractConnectOperator<C extends KubernetesClient, T exte
 
     /**
      * Create a watch on {@code KafkaConnector} in the given {@code namespace}.
-     * The watcher will:
+     * The watcher will, for each event:
      * <ul>
-     * <li>{@link #reconcileConnectors(Reconciliation, CustomResource)} on the KafkaConnect or KafkaConnectS2I
-     * identified by {@code KafkaConnector.metadata.labels[strimzi.io/cluster]}.</li>
+     * <li>Reconcile just the connector of the event, in the KafkaConnect or KafkaConnectS2I
+     * identified by {@code KafkaConnector.metadata.labels[strimzi.io/cluster]},
+     * holding the lock of the connector rather than the lock of the whole Connect cluster.</li>
      * <li>If there is a Connect and ConnectS2I cluster with the given name then the plain Connect one is used
      * (and an error is logged about the ambiguity).</li>
      * <li>The {@code KafkaConnector} status is updated with the result.</li>
      * </ul>
+     * The events of a connector are handled one at a time, and those received while one is being handled
+     * are coalesced into the latest one (see {@link CoalescingWatcher}).
+     * If the watch is closed with an exception, it is created again.
+     * All the connectors of a Connect cluster are only reconciled by {@link #reconcileConnectors(Reconciliation, CustomResource)},
+     * when the Connect cluster is reconciled.
      * @param connectOperator The operator for {@code KafkaConnect}.
      * @param connectS2IOperator The operator for {@code KafkaConnectS2I}.
      * @param watchNamespaceOrWildcard The namespace to watch.
@@ -137,73 +172,86 @@ public abstract class AbstractConnectOperator<C extends KubernetesClient, T exte
             AbstractConnectOperator<OpenShiftClient, KafkaConnectS2I, KafkaConnectS2IList, DoneableKafkaConnectS2I, Resource<KafkaConnectS2I, DoneableKafkaConnectS2I>> connectS2IOperator,
             String watchNamespaceOrWildcard) {
         return Util.async(connectOperator.vertx, () -> {
-            connectOperator.connectorOperator.watch(watchNamespaceOrWildcard, new Watcher<KafkaConnector>() {
-                @Override
-                public void eventReceived(Action action, KafkaConnector kafkaConnector) {
-                    String connectName = kafkaConnector.getMetadata().getLabels() == null ? null : kafkaConnector.getMetadata().getLabels().get(Labels.STRIMZI_CLUSTER_LABEL);
-                    String connectorNamespace = kafkaConnector.getMetadata().getNamespace();
-                    String connectNamespace = connectorNamespace;
-                    Future<Void> f;
-                    if (connectName != null) {
-                        // Check whether a KafkaConnect/S2I exists
-                        CompositeFuture.join(connectOperator.resourceOperator.getAsync(connectNamespace, connectName),
-                                             connectOperator.pfa.supportsS2I() ?
-                                                     connectS2IOperator.resourceOperator.getAsync(connectNamespace, connectName) :
-                                                     Future.succeededFuture())
-                                .compose(cf -> {
-                                    KafkaConnect connect = cf.resultAt(0);
-                                    KafkaConnectS2I connectS2i = cf.resultAt(1);
-                                    KafkaConnectApi apiClient = connectOperator.connectClientProvider.apply(connectOperator.vertx);
-                                    if (connect == null && connectS2i == null) {
-                                        updateStatus(noConnectCluster(connectNamespace, connectName), kafkaConnector, connectOperator.connectorOperator);
-                                        return Future.succeededFuture();
-                                    } else if (connect != null) {
-                                        // grab the lock and call reconcileConnectors()
-                                        // (i.e. short circuit doing a whole KafkaConnect reconciliation).
-                                        Reconciliation reconciliation = new Reconciliation("connector-watch", connectOperator.kind(),
-                                                kafkaConnector.getMetadata().getNamespace(), connectName);
-                                        if (connectS2i != null) {
-                                            log.warn("{}: There is both a KafkaConnect resource and a KafkaConnectS2I resource named {}. " +
-                                                            "The KafkaConnect takes precedence for the connector {}",
-                                                    reconciliation, connectName, connect.getMetadata().getName());
-                                        }
-                                        return connectOperator.withLock(reconciliation, LOCK_TIMEOUT_MS,
-                                            () -> connectOperator.reconcileConnector(reconciliation,
-                                                    KafkaConnectResources.serviceName(connectName), apiClient,
-                                                    isUseResources(connect),
-                                                    kafkaConnector.getMetadata().getName(), action == Action.DELETED ? null : kafkaConnector));
-                                    } else {
-                                        // grab the lock and call reconcileConnectors()
-                                        // (i.e. short circuit doing a whole KafkaConnect reconciliation).
-                                        Reconciliation r = new Reconciliation("connector-watch", connectS2IOperator.kind(),
-                                                kafkaConnector.getMetadata().getNamespace(), connectName);
-                                        return connectS2IOperator.withLock(r, LOCK_TIMEOUT_MS,
-                                            () -> connectS2IOperator.reconcileConnector(r,
-                                                    KafkaConnectResources.serviceName(connectName), apiClient,
-                                                    isUseResources(connectS2i),
-                                                    kafkaConnector.getMetadata().getName(), action == Action.DELETED ? null : kafkaConnector));
-                                    }
-                                }
-                            );
-                    } else {
-                        updateStatus(new InvalidResourceException("Resource lacks label '"
-                                        + Labels.STRIMZI_CLUSTER_LABEL
-                                        + "': No connect cluster in which to create this connector."),
-                                kafkaConnector, connectOperator.connectorOperator);
-                    }
-                }
-
-                @Override
-                public void onClose(KubernetesClientException e) {
+            connectOperator.connectorOperator.watch(watchNamespaceOrWildcard, new CoalescingWatcher<>(
+                (action, kafkaConnector) -> reconcileConnectorEvent(connectOperator, connectS2IOperator, action, kafkaConnector),
+                e -> {
                     if (e != null) {
-                        throw e;
+                        log.error("KafkaConnector watcher closed with exception in namespace {}", watchNamespaceOrWildcard, e);
+                        createConnectorWatch(connectOperator, connectS2IOperator, watchNamespaceOrWildcard);
+                    } else {
+                        log.info("KafkaConnector watcher closed in namespace {}", watchNamespaceOrWildcard);
                     }
-                }
-            });
+                }));
             return null;
         });
     }
 
+    private static Future<Void> reconcileConnectorEvent(AbstractConnectOperator<KubernetesClient, KafkaConnect, KafkaConnectList, DoneableKafkaConnect, Resource<KafkaConnect, DoneableKafkaConnect>> connectOperator,
+            AbstractConnectOperator<OpenShiftClient, KafkaConnectS2I, KafkaConnectS2IList, DoneableKafkaConnectS2I, Resource<KafkaConnectS2I, DoneableKafkaConnectS2I>> connectS2IOperator,
+            Watcher.Action action, KafkaConnector kafkaConnector) {
+        String connectName = kafkaConnector.getMetadata().getLabels() == null ? null : kafkaConnector.getMetadata().getLabels().get(Labels.STRIMZI_CLUSTER_LABEL);
+        String connectorNamespace = kafkaConnector.getMetadata().getNamespace();
+        String connectNamespace = connectorNamespace;
+        String connectorName = kafkaConnector.getMetadata().getName();
+        if (connectName != null) {
+            // Check whether a KafkaConnect/S2I exists
+            return CompositeFuture.join(connectOperator.resourceOperator.getAsync(connectNamespace, connectName),
+                                 connectOperator.pfa.supportsS2I() ?
+                                         connectS2IOperator.resourceOperator.getAsync(connectNamespace, connectName) :
+                                         Future.succeededFuture())
+                    .compose(cf -> {
+                        KafkaConnect connect = cf.resultAt(0);
+                        KafkaConnectS2I connectS2i = cf.resultAt(1);
+                        KafkaConnectApi apiClient = connectOperator.connectClientProvider.apply(connectOperator.vertx);
+                        if (connect == null && connectS2i == null) {
+                            updateStatus(noConnectCluster(connectNamespace, connectName), kafkaConnector, connectOperator.connectorOperator);
+                            return Future.succeededFuture();
+                        } else if (connect != null) {
+                            // grab the connector's lock and call reconcileConnector()
+                            // (i.e. short circuit doing a whole KafkaConnect reconciliation).
+                            Reconciliation reconciliation = new Reconciliation("connector-watch", connectOperator.kind(),
+                                    connectorNamespace, connectName);
+                            if (connectS2i != null) {
+                                log.warn("{}: There is both a KafkaConnect resource and a KafkaConnectS2I resource named {}. " +
+                                                "The KafkaConnect takes precedence for the connector {}",
+                                        reconciliation, connectName, connect.getMetadata().getName());
+                            }
+                            return connectOperator.withConnectorLock(reconciliation, connectorName,
+                                () -> connectOperator.reconcileConnector(reconciliation,
+                                        KafkaConnectResources.serviceName(connectName), apiClient,
+                                        isUseResources(connect),
+                                        connectorName, action == Watcher.Action.DELETED ? null : kafkaConnector));
+                        } else {
+                            // grab the connector's lock and call reconcileConnector()
+                            // (i.e. short circuit doing a whole KafkaConnect reconciliation).
+                            Reconciliation r = new Reconciliation("connector-watch", connectS2IOperator.kind(),
+                                    connectorNamespace, connectName);
+                            return connectS2IOperator.withConnectorLock(r, connectorName,
+                                () -> connectS2IOperator.reconcileConnector(r,
+                                        KafkaConnectResources.serviceName(connectName), apiClient,
+                                        isUseResources(connectS2i),
+                                        connectorName, action == Watcher.Action.DELETED ? null : kafkaConnector));
+                        }
+                    });
+        } else {
+            updateStatus(new InvalidResourceException("Resource lacks label '"
+                            + Labels.STRIMZI_CLUSTER_LABEL
+                            + "': No connect cluster in which to create this connector."),
+                    kafkaConnector, connectOperator.connectorOperator);
+            return Future.succeededFuture();
+        }
+    }
+
+    /**
+     * Acquire the lock for the connector with the given name, which is in the namespace of the {@code reconciliation},
+     * and call the given {@code callable} with the lock held.
+     * The lock does not depend on the Connect cluster, so it is also held while a connector moves between clusters.
+     */
+    private <T> Future<T> withConnectorLock(Reconciliation reconciliation, String connectorName, Callable<Future<T>> callable) {
+        return withLock(reconciliation, "lock::" + reconciliation.namespace() + "::" + KafkaConnector.RESOURCE_KIND + "::" + connectorName,
+                LOCK_TIMEOUT_MS, callable);
+    }
+
     public static boolean isUseResources(HasMetadata connect) {
         return Annotations.booleanAnnotation(connect, STRIMZI_IO_USE_CONNECTOR_RESOURCES, false);
     }
@@ -225,26 +273,94 @@ public abstract class AbstractConnectOperator<C extends KubernetesClient, T exte
         String host = KafkaConnectResources.serviceName(connectName);
         KafkaConnectApi apiClient = connectClientProvider.apply(vertx);
         boolean useResources = isUseResources(connect);
-        return CompositeFuture.join(apiClient.list(host, KafkaConnectCluster.REST_API_PORT),
+        return CompositeFuture.join(apiClient.listConfigs(host, KafkaConnectCluster.REST_API_PORT),
                 connectorOperator.listAsync(namespace,
                         Optional.of(new LabelSelectorBuilder().addToMatchLabels(Labels.STRIMZI_CLUSTER_LABEL, connectName).build()))
         ).compose(cf -> {
-            List<String> runningConnectorNames = cf.resultAt(0);
+            Map<String, Map<String, String>> runningConnectorConfigs = cf.resultAt(0);
             List<KafkaConnector> desiredConnectors = cf.resultAt(1);
             log.debug("{}: {}} cluster: required connectors: {}", reconciliation, kind(), desiredConnectors);
-            Set<String> deleteConnectorNames = new HashSet<>(runningConnectorNames);
+            Set<String> deleteConnectorNames = new HashSet<>(runningConnectorConfigs.keySet());
             deleteConnectorNames.removeAll(desiredConnectors.stream().map(c -> c.getMetadata().getName()).collect(Collectors.toSet()));
             log.debug("{}: {}} cluster: delete connectors: {}", reconciliation, kind(), deleteConnectorNames);
             Stream<Future<Void>> deletionFutures = deleteConnectorNames.stream().map(connectorName ->
-                reconcileConnector(reconciliation, host, apiClient, useResources, connectorName, null)
+                reconcileConnectorWithLock(reconciliation, host, apiClient, useResources, connectorName, null, runningConnectorConfigs)
             );
             Stream<Future<Void>> createUpdateFutures = desiredConnectors.stream()
-                    .map(connector -> reconcileConnector(reconciliation, host, apiClient, useResources, connector.getMetadata().getName(), connector));
+                    .map(connector -> reconcileConnectorWithLock(reconciliation, host, apiClient, useResources,
+                        connector.getMetadata().getName(), connector, runningConnectorConfigs));
             return CompositeFuture.join(Stream.concat(deletionFutures, createUpdateFutures).collect(Collectors.toList())).map((Void) null);
         });
     }
 
+    /**
+     * Reconcile a connector of the Connect cluster being reconciled, holding the lock of the connector.
+     * An event of the connector may have been reconciled since the connectors were listed, so the {@code KafkaConnector}
+     * is read again once the lock is held, and so is the connector config in Kafka Connect, unless the
+     * {@code KafkaConnector} has the same resourceVersion as when it was listed (any config applied since then
+     * would be the one which is desired anyway).
+     * If the lock is held by the reconciliation of an event of the connector for longer than the lock timeout,
+     * the connector is left to that reconciliation.
+     */
+    private Future<Void> reconcileConnectorWithLock(Reconciliation reconciliation, String host, KafkaConnectApi apiClient, boolean useResources,
+                                                    String connectorName, KafkaConnector listedConnector,
+                                                    Map<String, Map<String, String>> listedConfigs) {
+        return withConnectorLock(reconciliation, connectorName,
+            () -> connectorOperator.getAsync(reconciliation.namespace(), connectorName).compose(current -> {
+                KafkaConnector connector = isConnectorOf(current, reconciliation.name()) ? current : null;
+                if (connector == null) {
+                    if (!useResources || !listedConfigs.containsKey(connectorName)) {
+                        return Future.succeededFuture();
+                    }
+                    // Only delete the connector if an event has not already done so
+                    return apiClient.getConnectorConfig(host, KafkaConnectCluster.REST_API_PORT, connectorName)
+                        .compose(currentConfig -> currentConfig == null ? Future.succeededFuture()
+                                : reconcileConnector(reconciliation, host, apiClient, true, connectorName, null, null));
+                } else if (listedConnector != null
+                        && connector.getMetadata().getResourceVersion() != null
+                        && connector.getMetadata().getResourceVersion().equals(listedConnector.getMetadata().getResourceVersion())) {
+                    return reconcileConnector(reconciliation, host, apiClient, useResources, connectorName, connector,
+                            listedConfigs.get(connectorName));
+                } else {
+                    return reconcileConnector(reconciliation, host, apiClient, useResources, connectorName, connector);
+                }
+            }))
+            .recover(error -> {
+                if (error instanceof UnableToAcquireLockException) {
+                    log.debug("{}: {}} cluster: connector {} is being reconciled, skipping it", reconciliation, kind(), connectorName);
+                    return Future.succeededFuture();
+                }
+                return Future.failedFuture(error);
+            });
+    }
+
+    private static boolean isConnectorOf(KafkaConnector connector, String connectName) {
+        return connector != null
+                && connector.getMetadata().getLabels() != null
+                && connectName.equals(connector.getMetadata().getLabels().get(Labels.STRIMZI_CLUSTER_LABEL));
+    }
+
+    /**
+     * Reconcile a single connector, first getting its current config from Kafka Connect.
+     */
     private Future<Void> reconcileConnector(Reconciliation reconciliation, String host, KafkaConnectApi apiClient, boolean useResources, String connectorName, KafkaConnector connector) {
+        if (connector == null || connector.getSpec() == null || !useResources) {
+            return reconcileConnector(reconciliation, host, apiClient, useResources, connectorName, connector, null);
+        }
+        return apiClient.getConnectorConfig(host, KafkaConnectCluster.REST_API_PORT, connectorName)
+            .compose(
+                currentConfig -> reconcileConnector(reconciliation, host, apiClient, useResources, connectorName, connector, currentConfig),
+                error -> maybeUpdateConnectorStatus(reconciliation, connector, null, error));
+    }
+
+    /**
+     * Reconcile a single connector, given its current config.
+     * The connector config is only sent to Kafka Connect when it differs from the current config,
+     * because every update makes the Connect cluster rebalance.
+     * @param currentConfig The current config of the connector, or null if the connector does not exist in Kafka Connect.
+     */
+    private Future<Void> reconcileConnector(Reconciliation reconciliation, String host, KafkaConnectApi apiClient, boolean useResources,
+                                            String connectorName, KafkaConnector connector, Map<String, String> currentConfig) {
         if (connector == null) {
             if (useResources) {
                 log.debug("{}: {}} cluster: deleting connector: {}", reconciliation, kind(), connectorName);
@@ -263,9 +379,22 @@ public abstract class AbstractConnectOperator<C extends KubernetesClient, T exte
                         new NoSuchResourceException(reconciliation.kind() + " " + reconciliation.name() + " is not configured with annotation " + STRIMZI_IO_USE_CONNECTOR_RESOURCES));
             } else {
                 Promise<Void> promise = Promise.promise();
-                apiClient.createOrUpdatePutRequest(host, KafkaConnectCluster.REST_API_PORT,
-                        connectorName, asJson(connector.getSpec()))
-                        .compose(ignored -> apiClient.status(host, KafkaConnectCluster.REST_API_PORT,
+                JsonObject desiredConfig = asJson(connector.getSpec());
+                Future<Void> update;
+                if (currentConfig != null && currentConfig.equals(asConfig(connectorName, desiredConfig))) {
+                    log.debug("{}: {}} cluster: connector {} config is unchanged", reconciliation, kind(), connectorName);
+                    connectorUpdatesSkipped.increment();
+                    update = Future.succeededFuture();
+                } else {
+                    Counter updates = currentConfig == null ? connectorsCreated : connectorsUpdated;
+                    update = apiClient.createOrUpdatePutRequest(host, KafkaConnectCluster.REST_API_PORT,
+                            connectorName, desiredConfig)
+                            .map(ignored -> {
+                                updates.increment();
+                                return null;
+                            });
+                }
+                update.compose(ignored -> apiClient.status(host, KafkaConnectCluster.REST_API_PORT,
                                 connectorName))
                         .compose(status -> {
                             Object path = ((Map) status.getOrDefault("connector", emptyMap())).get("state");
@@ -332,6 +461,18 @@ public abstract class AbstractConnectOperator<C extends KubernetesClient, T exte
             });
     }
 
+    /**
+     * @return The given desired connector config, as Kafka Connect returns it: with the connector name and string values.
+     */
+    private static Map<String, String> asConfig(String connectorName, JsonObject desiredConfig) {
+        Map<String, String> config = new HashMap<>();
+        for (Map.Entry<String, Object> entry : desiredConfig) {
+            config.put(entry.getKey(), entry.getValue() == null ? null : String.valueOf(entry.getValue()));
+        }
+        config.put("name", connectorName);
+        return config;
+    }
+
     private JsonObject asJson(KafkaConnectorSpec spec) {
         JsonObject connectorConfigJson = new JsonObject();
         if (spec.getConfig() != null) {
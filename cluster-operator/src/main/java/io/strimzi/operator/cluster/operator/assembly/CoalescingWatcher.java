@@ -0,0 +1,106 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.operator.cluster.operator.assembly;
+
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.fabric8.kubernetes.client.KubernetesClientException;
+import io.fabric8.kubernetes.client.Watcher;
+import io.vertx.core.Future;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+
+/**
+ * A watcher which handles the events of each resource one at a time, coalescing the events received
+ * while an event of the same resource is being handled.
+ * <p>
+ * Events of different resources are handled concurrently. When an event arrives while an event of the same resource
+ * (identified by its namespace and name) is being handled, it is kept until the handling completes, replacing
+ * any event already kept for that resource. So a burst of events for a resource results in at most two handlings:
+ * the one in progress, and one for the latest event.
+ *
+ * @param <T> The resource type.
+ */
+class CoalescingWatcher<T extends HasMetadata> implements Watcher<T> {
+
+    private static final Logger log = LogManager.getLogger(CoalescingWatcher.class);
+
+    private final BiFunction<Action, T, Future<Void>> handler;
+    private final Consumer<KubernetesClientException> onClose;
+    // Guarded by this
+    private final Set<String> handling = new HashSet<>();
+    // Guarded by this
+    private final Map<String, Event<T>> next = new HashMap<>();
+
+    private static class Event<T> {
+        private final Action action;
+        private final T resource;
+
+        Event(Action action, T resource) {
+            this.action = action;
+            this.resource = resource;
+        }
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param handler Handles an event, returning a future which completes once it has been handled.
+     * @param onClose Called when the watch is closed, with the exception it was closed with, if any.
+     */
+    CoalescingWatcher(BiFunction<Action, T, Future<Void>> handler, Consumer<KubernetesClientException> onClose) {
+        this.handler = handler;
+        this.onClose = onClose;
+    }
+
+    @Override
+    public void eventReceived(Action action, T resource) {
+        String key = resource.getMetadata().getNamespace() + "/" + resource.getMetadata().getName();
+        Event<T> event = new Event<>(action, resource);
+        synchronized (this) {
+            if (!handling.add(key)) {
+                log.debug("Coalescing {} event for {} with the events still to be handled", action, key);
+                next.put(key, event);
+                return;
+            }
+        }
+        handle(key, event);
+    }
+
+    private void handle(String key, Event<T> event) {
+        Future<Void> result;
+        try {
+            result = handler.apply(event.action, event.resource);
+        } catch (RuntimeException e) {
+            result = Future.failedFuture(e);
+        }
+        result.setHandler(ar -> {
+            if (ar.failed()) {
+                log.warn("Failed to handle {} event for {}", event.action, key, ar.cause());
+            }
+            Event<T> nextEvent;
+            synchronized (this) {
+                nextEvent = next.remove(key);
+                if (nextEvent == null) {
+                    handling.remove(key);
+                }
+            }
+            if (nextEvent != null) {
+                handle(key, nextEvent);
+            }
+        });
+    }
+
+    @Override
+    public void onClose(KubernetesClientException e) {
+        onClose.accept(e);
+    }
+}
@@ -0,0 +1,223 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.operator.cluster.operator.assembly;
+
+import io.fabric8.kubernetes.api.model.ConfigMap;
+import io.fabric8.kubernetes.api.model.ConfigMapBuilder;
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.fabric8.kubernetes.api.model.ObjectMeta;
+import io.fabric8.kubernetes.api.model.Service;
+import io.fabric8.kubernetes.api.model.ServiceBuilder;
+import io.fabric8.kubernetes.api.model.apps.StatefulSet;
+import io.fabric8.kubernetes.api.model.apps.StatefulSetBuilder;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Tags;
+import io.strimzi.operator.common.MetricsProvider;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * A bounded cache of the desired resources generated for custom resources, so that reconciliations of an unchanged
+ * custom resource reuse the resources generated by the previous reconciliation rather than rebuilding them.
+ * <p>
+ * The resources generated for a custom resource are cached while its uid, generation, labels and annotations
+ * stay the same. Each resource is also keyed by the other inputs it was generated from (such as the storage of
+ * the current StatefulSet), which are compared with {@code equals()}.
+ * The operator configuration is not part of the key, since a cache belongs to a single operator.
+ * Custom resources without a uid or a generation are never cached.
+ * <p>
+ * Callers are free to modify the resources they get, since the cache only hands out copies.
+ * When the cache is full, the custom resource used least recently is evicted.
+ */
+class DesiredResourceCache {
+
+    private static final Logger log = LogManager.getLogger(DesiredResourceCache.class);
+
+    private final int maxSize;
+    // Guarded by this
+    private final LeastRecentlyUsed entries;
+    private final Counter hits;
+    private final Counter misses;
+
+    /**
+     * The resources generated for one generation of a custom resource.
+     */
+    private static class Entry {
+        private final String uid;
+        private final Long generation;
+        private final Map<String, String> labels;
+        private final Map<String, String> annotations;
+        // Guarded by the cache
+        private final Map<String, Memo> memos = new HashMap<>();
+
+        Entry(ObjectMeta metadata) {
+            this.uid = metadata.getUid();
+            this.generation = metadata.getGeneration();
+            this.labels = metadata.getLabels() == null ? null : new HashMap<>(metadata.getLabels());
+            this.annotations = metadata.getAnnotations() == null ? null : new HashMap<>(metadata.getAnnotations());
+        }
+
+        boolean isFor(ObjectMeta metadata) {
+            return uid.equals(metadata.getUid())
+                    && generation.equals(metadata.getGeneration())
+                    && Objects.equals(labels, metadata.getLabels())
+                    && Objects.equals(annotations, metadata.getAnnotations());
+        }
+    }
+
+    private static class Memo {
+        private final List<?> inputs;
+        private final Object resource;
+
+        Memo(List<?> inputs, Object resource) {
+            this.inputs = inputs;
+            this.resource = resource;
+        }
+    }
+
+    private static class LeastRecentlyUsed extends LinkedHashMap<String, Entry> {
+        private static final long serialVersionUID = 1L;
+
+        private final int maxSize;
+
+        LeastRecentlyUsed(int maxSize) {
+            super(16, 0.75f, true);
+            this.maxSize = maxSize;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+            return size() > maxSize;
+        }
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param kind The kind of the custom resources (used for metrics).
+     * @param maxSize The maximum number of custom resources whose resources are cached, or 0 to disable the cache.
+     * @param metrics The metrics provider.
+     */
+    DesiredResourceCache(String kind, int maxSize, MetricsProvider metrics) {
+        this.maxSize = maxSize;
+        this.entries = new LeastRecentlyUsed(maxSize);
+        Tags tags = Tags.of("kind", kind);
+        this.hits = metrics.counter("desired.resources.cache.hits", "Number of desired resources reused from a previous reconciliation", tags);
+        this.misses = metrics.counter("desired.resources.cache.misses", "Number of desired resources which had to be generated", tags);
+    }
+
+    /**
+     * Gets a copy of the cached resource of the given custom resource, generating and caching it if it is absent
+     * or was generated from another generation of the custom resource or from other inputs.
+     *
+     * @param owner The custom resource.
+     * @param resource The name of the generated resource, unique among the resources generated for the custom resource.
+     * @param inputs The inputs, other than the custom resource, from which the resource is generated.
+     *               They must not be modified afterwards.
+     * @param generator Generates the resource.
+     * @param copier Deep copies the resource.
+     * @param <T> The type of the resource.
+     * @return The resource.
+     */
+    <T> T computeIfAbsent(HasMetadata owner, String resource, List<?> inputs, Supplier<T> generator, UnaryOperator<T> copier) {
+        ObjectMeta metadata = owner.getMetadata();
+        if (maxSize <= 0 || metadata.getUid() == null || metadata.getGeneration() == null) {
+            return generator.get();
+        }
+        String key = metadata.getNamespace() + "/" + metadata.getName();
+        Entry entry;
+        Memo memo;
+        synchronized (this) {
+            entry = entries.get(key);
+            if (entry == null || !entry.isFor(metadata)) {
+                entry = new Entry(metadata);
+                entries.put(key, entry);
+            }
+            memo = entry.memos.get(resource);
+        }
+        // The cached resources are never handed out, so they can be copied without holding the lock
+        if (memo != null && memo.inputs.equals(inputs)) {
+            hits.increment();
+            @SuppressWarnings("unchecked")
+            T cached = (T) memo.resource;
+            return copier.apply(cached);
+        }
+        misses.increment();
+        log.debug("Generating {} of {}", resource, key);
+        T generated = generator.get();
+        Memo generatedMemo = new Memo(inputs, copier.apply(generated));
+        synchronized (this) {
+            entry.memos.put(resource, generatedMemo);
+        }
+        return generated;
+    }
+
+    /**
+     * Gets a copy of the cached Service of the given custom resource, generating and caching it if needed.
+     *
+     * @param owner The custom resource.
+     * @param resource The name of the generated resource, unique among the resources generated for the custom resource.
+     * @param inputs The inputs, other than the custom resource, from which the resource is generated.
+     * @param generator Generates the resource.
+     * @return The resource.
+     * @see #computeIfAbsent(HasMetadata, String, List, Supplier, UnaryOperator)
+     */
+    Service service(HasMetadata owner, String resource, List<?> inputs, Supplier<Service> generator) {
+        return computeIfAbsent(owner, resource, inputs, generator, service -> new ServiceBuilder(service).build());
+    }
+
+    /**
+     * Gets a copy of the cached StatefulSet of the given custom resource, generating and caching it if needed.
+     *
+     * @param owner The custom resource.
+     * @param resource The name of the generated resource, unique among the resources generated for the custom resource.
+     * @param inputs The inputs, other than the custom resource, from which the resource is generated.
+     * @param generator Generates the resource.
+     * @return The resource.
+     * @see #computeIfAbsent(HasMetadata, String, List, Supplier, UnaryOperator)
+     */
+    StatefulSet statefulSet(HasMetadata owner, String resource, List<?> inputs, Supplier<StatefulSet> generator) {
+        return computeIfAbsent(owner, resource, inputs, generator, sts -> new StatefulSetBuilder(sts).build());
+    }
+
+    /**
+     * Gets a copy of the cached ConfigMap of the given custom resource, generating and caching it if needed.
+     *
+     * @param owner The custom resource.
+     * @param resource The name of the generated resource, unique among the resources generated for the custom resource.
+     * @param inputs The inputs, other than the custom resource, from which the resource is generated.
+     * @param generator Generates the resource.
+     * @return The resource.
+     * @see #computeIfAbsent(HasMetadata, String, List, Supplier, UnaryOperator)
+     */
+    ConfigMap configMap(HasMetadata owner, String resource, List<?> inputs, Supplier<ConfigMap> generator) {
+        return computeIfAbsent(owner, resource, inputs, generator, cm -> new ConfigMapBuilder(cm).build());
+    }
+
+    /**
+     * Evicts the resources of the given custom resource, for example because it has been deleted.
+     *
+     * @param namespace The namespace of the custom resource.
+     * @param name The name of the custom resource.
+     */
+    synchronized void remove(String namespace, String name) {
+        entries.remove(namespace + "/" + name);
+    }
+
+    /**
+     * @return The number of custom resources whose resources are cached.
+     */
+    synchronized int size() {
+        return entries.size();
+    }
+}
@@ -29,6 +29,8 @@ import io.fabric8.kubernetes.client.dsl.Resource;
 import io.fabric8.openshift.api.model.Route;
 import io.fabric8.openshift.api.model.RouteIngress;
 import io.fabric8.zjsonpatch.JsonDiff;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
 import io.strimzi.api.kafka.KafkaList;
 import io.strimzi.api.kafka.model.CertAndKeySecretSource;
 import io.strimzi.api.kafka.model.CertificateAuthority;
@@ -75,8 +77,11 @@ import io.strimzi.operator.cluster.operator.resource.StatefulSetOperator;
 import io.strimzi.operator.cluster.operator.resource.ZookeeperSetOperator;
 import io.strimzi.operator.common.Annotations;
 import io.strimzi.operator.common.InvalidConfigurationException;
+import io.strimzi.operator.common.MetricsProvider;
 import io.strimzi.operator.common.PasswordGenerator;
 import io.strimzi.operator.common.Reconciliation;
+import io.strimzi.operator.common.StepGraph;
+import io.strimzi.operator.common.WorkerPools;
 import io.strimzi.operator.common.model.Labels;
 import io.strimzi.operator.common.operator.resource.AbstractScalableResourceOperator;
 import io.strimzi.operator.common.operator.resource.CrdOperator;
@@ -116,6 +121,7 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
 import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
 import java.util.function.BiFunction;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
@@ -129,6 +135,9 @@ import static io.strimzi.operator.cluster.model.KafkaCluster.ANNO_STRIMZI_IO_TO_
 import static io.strimzi.operator.cluster.model.KafkaConfiguration.INTERBROKER_PROTOCOL_VERSION;
 import static io.strimzi.operator.cluster.model.KafkaConfiguration.LOG_MESSAGE_FORMAT_VERSION;
 import static io.strimzi.operator.cluster.model.KafkaVersion.compareDottedVersions;
+import static io.strimzi.operator.common.StepGraph.after;
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
 
 /**
  * <p>Assembly operator for a "Kafka" assembly, which manages:</p>
@@ -159,6 +168,10 @@ public class KafkaAssemblyOperator extends AbstractAssemblyOperator<KubernetesCl
     private final StorageClassOperator storageClassOperator;
     private final NodeOperator nodeOperator;
     private final CrdOperator<KubernetesClient, Kafka, KafkaList, DoneableKafka> crdOperator;
+    private final StepGraph<ReconciliationState> reconcileSteps;
+    private final Timer zkCertificatesTimer;
+    private final Timer kafkaCertificatesTimer;
+    private final DesiredResourceCache desiredResources;
 
     /**
      * @param vertx The Vertx instance
@@ -186,6 +199,21 @@ public class KafkaAssemblyOperator extends AbstractAssemblyOperator<KubernetesCl
         this.storageClassOperator = supplier.storageClassOperations;
         this.crdOperator = supplier.kafkaOperator;
         this.nodeOperator = supplier.nodeOperator;
+        this.reconcileSteps = reconcileSteps(supplier.metricsProvider);
+        this.zkCertificatesTimer = certificatesTimer(supplier.metricsProvider, "zookeeper");
+        this.kafkaCertificatesTimer = certificatesTimer(supplier.metricsProvider, "kafka");
+        this.desiredResources = new DesiredResourceCache(Kafka.RESOURCE_KIND, config.getDesiredResourceCacheSize(), supplier.metricsProvider);
+    }
+
+    private static Timer certificatesTimer(MetricsProvider metrics, String component) {
+        return metrics.timer("certificates.generation.duration", "Time spent copying or generating the certificates of a component in a reconciliation",
+                Tags.of("kind", Kafka.RESOURCE_KIND, "component", component));
+    }
+
+    @Override
+    protected Future<Boolean> delete(Reconciliation reconciliation) {
+        desiredResources.remove(reconciliation.namespace(), reconciliation.name());
+        return super.delete(reconciliation);
     }
 
     @Override
@@ -246,100 +274,111 @@ public class KafkaAssemblyOperator extends AbstractAssemblyOperator<KubernetesCl
     }
 
     Future<Void> reconcile(ReconciliationState reconcileState)  {
-        Promise<Void> chainPromise = Promise.promise();
+        return reconcileSteps.execute(reconcileState).map((Void) null);
+    }
 
-        reconcileState.initialStatus()
-                .compose(state -> state.reconcileCas(this::dateSupplier))
-                .compose(state -> state.clusterOperatorSecret(this::dateSupplier))
+    /**
+     * Builds the graph of the reconciliation steps. Steps which touch independent resources and do not depend on
+     * each other's results run concurrently, while the rolling updates and the readiness checks keep their order.
+     *
+     * @param metrics The metrics provider used to record the duration of each step.
+     * @return The graph of the reconciliation steps.
+     */
+    private StepGraph<ReconciliationState> reconcileSteps(MetricsProvider metrics) {
+        return new StepGraph<ReconciliationState>(Kafka.RESOURCE_KIND, metrics)
+                .step("initialStatus", state -> state.initialStatus())
+                .step("reconcileCas", state -> state.reconcileCas(this::dateSupplier))
+                .step("clusterOperatorSecret", state -> state.clusterOperatorSecret(this::dateSupplier))
                 // Roll everything if a new CA is added to the trust store.
-                .compose(state -> state.rollingUpdateForNewCaKey())
-                .compose(state -> state.getZookeeperDescription())
-                .compose(state -> state.zkManualPodCleaning())
-                .compose(state -> state.zkNetPolicy())
-                .compose(state -> state.zkManualRollingUpdate())
-                .compose(state -> state.zkVersionChange())
-                .compose(state -> state.zookeeperServiceAccount())
-                .compose(state -> state.zkPvcs())
-                .compose(state -> state.zkScaleUpInSmallSteps())
-                .compose(state -> state.zkScaleDown())
-                .compose(state -> state.zkService())
-                .compose(state -> state.zkHeadlessService())
-                .compose(state -> state.zkAncillaryCm())
-                .compose(state -> state.zkNodesSecret(this::dateSupplier))
-                .compose(state -> state.zkPodDisruptionBudget())
-                .compose(state -> state.zkStatefulSet())
-                .compose(state -> state.zkScaleUp())
-                .compose(state -> state.zkRollingUpdate())
-                .compose(state -> state.zkPodsReady())
-                .compose(state -> state.zkServiceEndpointReadiness())
-                .compose(state -> state.zkHeadlessServiceEndpointReadiness())
-                .compose(state -> state.zkPersistentClaimDeletion())
-
-                .compose(state -> state.getKafkaClusterDescription())
-                .compose(state -> state.kafkaManualPodCleaning())
-                .compose(state -> state.kafkaNetPolicy())
-                .compose(state -> state.kafkaManualRollingUpdate())
-                .compose(state -> state.kafkaVersionChange())
-                .compose(state -> state.kafkaPvcs())
-                .compose(state -> state.kafkaInitServiceAccount())
-                .compose(state -> state.kafkaInitClusterRoleBinding())
-                .compose(state -> state.kafkaScaleDown())
-                .compose(state -> state.kafkaService())
-                .compose(state -> state.kafkaHeadlessService())
-                .compose(state -> state.kafkaExternalBootstrapService())
-                .compose(state -> state.kafkaReplicaServices())
-                .compose(state -> state.kafkaBootstrapRoute())
-                .compose(state -> state.kafkaReplicaRoutes())
-                .compose(state -> state.kafkaBootstrapIngress())
-                .compose(state -> state.kafkaReplicaIngress())
-                .compose(state -> state.kafkaExternalBootstrapServiceReady())
-                .compose(state -> state.kafkaReplicaServicesReady())
-                .compose(state -> state.kafkaBootstrapRouteReady())
-                .compose(state -> state.kafkaReplicaRoutesReady())
-                .compose(state -> state.kafkaGenerateCertificates(this::dateSupplier))
-                .compose(state -> state.getCustomTlsListenerThumbprint())
-                .compose(state -> state.getCustomExternalListenerThumbprint())
-                .compose(state -> state.kafkaAncillaryCm())
-                .compose(state -> state.kafkaBrokersSecret())
-                .compose(state -> state.kafkaJmxSecret())
-                .compose(state -> state.kafkaPodDisruptionBudget())
-                .compose(state -> state.kafkaStatefulSet())
-                .compose(state -> state.kafkaRollingUpdate())
-                .compose(state -> state.kafkaScaleUp())
-                .compose(state -> state.kafkaPodsReady())
-                .compose(state -> state.kafkaServiceEndpointReady())
-                .compose(state -> state.kafkaHeadlessServiceEndpointReady())
-                .compose(state -> state.kafkaNodePortExternalListenerStatus())
-                .compose(state -> state.kafkaPersistentClaimDeletion())
-
-                .compose(state -> state.getTopicOperatorDescription())
-                .compose(state -> state.topicOperatorServiceAccount())
-                .compose(state -> state.topicOperatorRoleBinding())
-                .compose(state -> state.topicOperatorAncillaryCm())
-                .compose(state -> state.topicOperatorSecret(this::dateSupplier))
-                .compose(state -> state.topicOperatorDeployment())
-
-                .compose(state -> state.getEntityOperatorDescription())
-                .compose(state -> state.entityOperatorServiceAccount())
-                .compose(state -> state.entityOperatorTopicOpRoleBinding())
-                .compose(state -> state.entityOperatorUserOpRoleBinding())
-                .compose(state -> state.entityOperatorTopicOpAncillaryCm())
-                .compose(state -> state.entityOperatorUserOpAncillaryCm())
-                .compose(state -> state.entityOperatorSecret(this::dateSupplier))
-                .compose(state -> state.entityOperatorDeployment())
-                .compose(state -> state.entityOperatorReady())
-
-                .compose(state -> state.getKafkaExporterDescription())
-                .compose(state -> state.kafkaExporterServiceAccount())
-                .compose(state -> state.kafkaExporterSecret(this::dateSupplier))
-                .compose(state -> state.kafkaExporterService())
-                .compose(state -> state.kafkaExporterDeployment())
-                .compose(state -> state.kafkaExporterReady())
-
-                .map((Void) null)
-                .setHandler(chainPromise);
-
-        return chainPromise.future();
+                .step("rollingUpdateForNewCaKey", state -> state.rollingUpdateForNewCaKey())
+                .step("getZookeeperDescription", state -> state.getZookeeperDescription())
+                .step("zkManualPodCleaning", state -> state.zkManualPodCleaning())
+                .step("zkNetPolicy", state -> state.zkNetPolicy())
+                .step("zkManualRollingUpdate", state -> state.zkManualRollingUpdate())
+                .step("zkVersionChange", state -> state.zkVersionChange())
+                .step("zookeeperServiceAccount", state -> state.zookeeperServiceAccount())
+                .step("zkPvcs", state -> state.zkPvcs())
+                .step("zkScaleUpInSmallSteps", state -> state.zkScaleUpInSmallSteps())
+                .step("zkScaleDown", state -> state.zkScaleDown())
+                .step("zkService", after("zkScaleDown"), state -> state.zkService())
+                .step("zkHeadlessService", after("zkScaleDown"), state -> state.zkHeadlessService())
+                .step("zkAncillaryCm", after("zkScaleDown"), state -> state.zkAncillaryCm())
+                .step("zkNodesSecret", after("zkScaleDown"), state -> state.zkNodesSecret(this::dateSupplier))
+                .step("zkPodDisruptionBudget", after("zkScaleDown"), state -> state.zkPodDisruptionBudget())
+                .step("zkStatefulSet", after("zkService", "zkHeadlessService", "zkAncillaryCm", "zkNodesSecret", "zkPodDisruptionBudget"),
+                    state -> state.zkStatefulSet())
+                .step("zkScaleUp", state -> state.zkScaleUp())
+                .step("zkRollingUpdate", state -> state.zkRollingUpdate())
+                .step("zkPodsReady", state -> state.zkPodsReady())
+                .step("zkServiceEndpointReadiness", state -> state.zkServiceEndpointReadiness())
+                .step("zkHeadlessServiceEndpointReadiness", state -> state.zkHeadlessServiceEndpointReadiness())
+                .step("zkPersistentClaimDeletion", state -> state.zkPersistentClaimDeletion())
+
+                .step("getKafkaClusterDescription", state -> state.getKafkaClusterDescription())
+                .step("kafkaManualPodCleaning", state -> state.kafkaManualPodCleaning())
+                .step("kafkaNetPolicy", state -> state.kafkaNetPolicy())
+                .step("kafkaManualRollingUpdate", state -> state.kafkaManualRollingUpdate())
+                .step("kafkaVersionChange", state -> state.kafkaVersionChange())
+                .step("kafkaPvcs", state -> state.kafkaPvcs())
+                .step("kafkaInitServiceAccount", state -> state.kafkaInitServiceAccount())
+                .step("kafkaInitClusterRoleBinding", state -> state.kafkaInitClusterRoleBinding())
+                .step("kafkaScaleDown", state -> state.kafkaScaleDown())
+                .step("kafkaService", after("kafkaScaleDown"), state -> state.kafkaService())
+                .step("kafkaHeadlessService", after("kafkaScaleDown"), state -> state.kafkaHeadlessService())
+                .step("kafkaExternalBootstrapService", after("kafkaScaleDown"), state -> state.kafkaExternalBootstrapService())
+                .step("kafkaReplicaServices", after("kafkaScaleDown"), state -> state.kafkaReplicaServices())
+                .step("kafkaBootstrapRoute", after("kafkaScaleDown"), state -> state.kafkaBootstrapRoute())
+                .step("kafkaReplicaRoutes", after("kafkaScaleDown"), state -> state.kafkaReplicaRoutes())
+                .step("kafkaBootstrapIngress", after("kafkaScaleDown"), state -> state.kafkaBootstrapIngress())
+                .step("kafkaReplicaIngress", after("kafkaScaleDown"), state -> state.kafkaReplicaIngress())
+                // The readiness steps collect the advertised addresses in order, so they run one after another
+                .step("kafkaExternalBootstrapServiceReady", after("kafkaService", "kafkaHeadlessService", "kafkaExternalBootstrapService",
+                        "kafkaReplicaServices", "kafkaBootstrapRoute", "kafkaReplicaRoutes", "kafkaBootstrapIngress", "kafkaReplicaIngress"),
+                    state -> state.kafkaExternalBootstrapServiceReady())
+                .step("kafkaReplicaServicesReady", state -> state.kafkaReplicaServicesReady())
+                .step("kafkaBootstrapRouteReady", state -> state.kafkaBootstrapRouteReady())
+                .step("kafkaReplicaRoutesReady", state -> state.kafkaReplicaRoutesReady())
+                .step("kafkaGenerateCertificates", state -> state.kafkaGenerateCertificates(this::dateSupplier))
+                .step("getCustomTlsListenerThumbprint", state -> state.getCustomTlsListenerThumbprint())
+                .step("getCustomExternalListenerThumbprint", state -> state.getCustomExternalListenerThumbprint())
+                .step("kafkaAncillaryCm", after("getCustomExternalListenerThumbprint"), state -> state.kafkaAncillaryCm())
+                .step("kafkaBrokersSecret", after("getCustomExternalListenerThumbprint"), state -> state.kafkaBrokersSecret())
+                .step("kafkaJmxSecret", after("getCustomExternalListenerThumbprint"), state -> state.kafkaJmxSecret())
+                .step("kafkaPodDisruptionBudget", after("getCustomExternalListenerThumbprint"), state -> state.kafkaPodDisruptionBudget())
+                .step("kafkaStatefulSet", after("kafkaAncillaryCm", "kafkaBrokersSecret", "kafkaJmxSecret", "kafkaPodDisruptionBudget"),
+                    state -> state.kafkaStatefulSet())
+                .step("kafkaRollingUpdate", state -> state.kafkaRollingUpdate())
+                .step("kafkaScaleUp", state -> state.kafkaScaleUp())
+                .step("kafkaPodsReady", state -> state.kafkaPodsReady())
+                .step("kafkaServiceEndpointReady", state -> state.kafkaServiceEndpointReady())
+                .step("kafkaHeadlessServiceEndpointReady", state -> state.kafkaHeadlessServiceEndpointReady())
+                .step("kafkaNodePortExternalListenerStatus", state -> state.kafkaNodePortExternalListenerStatus())
+                .step("kafkaPersistentClaimDeletion", state -> state.kafkaPersistentClaimDeletion())
+
+                // The Topic Operator, Entity Operator and Kafka Exporter are independent of each other
+                .step("getTopicOperatorDescription", after("kafkaPersistentClaimDeletion"), state -> state.getTopicOperatorDescription())
+                .step("topicOperatorServiceAccount", state -> state.topicOperatorServiceAccount())
+                .step("topicOperatorRoleBinding", state -> state.topicOperatorRoleBinding())
+                .step("topicOperatorAncillaryCm", state -> state.topicOperatorAncillaryCm())
+                .step("topicOperatorSecret", state -> state.topicOperatorSecret(this::dateSupplier))
+                .step("topicOperatorDeployment", state -> state.topicOperatorDeployment())
+
+                .step("getEntityOperatorDescription", after("kafkaPersistentClaimDeletion"), state -> state.getEntityOperatorDescription())
+                .step("entityOperatorServiceAccount", state -> state.entityOperatorServiceAccount())
+                .step("entityOperatorTopicOpRoleBinding", state -> state.entityOperatorTopicOpRoleBinding())
+                .step("entityOperatorUserOpRoleBinding", state -> state.entityOperatorUserOpRoleBinding())
+                .step("entityOperatorTopicOpAncillaryCm", state -> state.entityOperatorTopicOpAncillaryCm())
+                .step("entityOperatorUserOpAncillaryCm", state -> state.entityOperatorUserOpAncillaryCm())
+                .step("entityOperatorSecret", state -> state.entityOperatorSecret(this::dateSupplier))
+                .step("entityOperatorDeployment", state -> state.entityOperatorDeployment())
+                .step("entityOperatorReady", state -> state.entityOperatorReady())
+
+                .step("getKafkaExporterDescription", after("kafkaPersistentClaimDeletion"), state -> state.getKafkaExporterDescription())
+                .step("kafkaExporterServiceAccount", state -> state.kafkaExporterServiceAccount())
+                .step("kafkaExporterSecret", state -> state.kafkaExporterSecret(this::dateSupplier))
+                .step("kafkaExporterService", state -> state.kafkaExporterService())
+                .step("kafkaExporterDeployment", state -> state.kafkaExporterDeployment())
+                .step("kafkaExporterReady", state -> state.kafkaExporterReady());
     }
 
     ReconciliationState createReconciliationState(Reconciliation reconciliation, Kafka kafkaAssembly) {
@@ -366,12 +405,14 @@ public class KafkaAssemblyOperator extends AbstractAssemblyOperator<KubernetesCl
         /* test */ ReconcileResult<StatefulSet> zkDiffs;
         private boolean zkAncillaryCmChange;
         private boolean zkScalingUp = false;
+        private String zkStorageAnnotation;
 
         private KafkaCluster kafkaCluster = null;
         /* test */ KafkaStatus kafkaStatus = new KafkaStatus();
 
         private Service kafkaService;
         private Service kafkaHeadlessService;
+        private String kafkaStorageAnnotation;
         /* test */ ReconcileResult<StatefulSet> kafkaDiffs;
         private Set<String> kafkaExternalBootstrapDnsName = new HashSet<>();
         private Set<String> kafkaExternalAdvertisedHostnames = new LinkedHashSet<>();
@@ -526,7 +567,7 @@ public class KafkaAssemblyOperator extends AbstractAssemblyOperator<KubernetesCl
                     .withKubernetesInstance(reconciliation.name())
                     .withKubernetesManagedBy(AbstractModel.STRIMZI_CLUSTER_OPERATOR_NAME);
             Promise<ReconciliationState> resultPromise = Promise.promise();
-            vertx.createSharedWorkerExecutor("kubernetes-ops-pool").<ReconciliationState>executeBlocking(
+            WorkerPools.kubernetes(vertx).<ReconciliationState>executeBlocking(
                 future -> {
                     try {
                         String clusterCaCertName = AbstractModel.clusterCaCertSecretName(name);
@@ -1223,20 +1264,21 @@ public class KafkaAssemblyOperator extends AbstractAssemblyOperator<KubernetesCl
         Future<ReconciliationState> getZookeeperDescription() {
             Promise<ReconciliationState> promise = Promise.promise();
 
-            vertx.createSharedWorkerExecutor("kubernetes-ops-pool").executeBlocking(
+            WorkerPools.kubernetes(vertx).executeBlocking(
                 future -> {
                     try {
                         StatefulSet sts = zkSetOperations.get(namespace, ZookeeperCluster.zookeeperClusterName(name));
                         Storage oldStorage = getOldStorage(sts);
 
                         this.zkCluster = ZookeeperCluster.fromCrd(kafkaAssembly, versions, oldStorage);
+                        this.zkStorageAnnotation = getStorageAnnotation(sts);
 
                         ConfigMap logAndMetricsConfigMap = zkCluster.generateMetricsAndLogConfigMap(zkCluster.getLogging() instanceof ExternalLogging ?
                                 configMapOperations.get(kafkaAssembly.getMetadata().getNamespace(), ((ExternalLogging) zkCluster.getLogging()).getName()) :
                                 null);
 
-                        this.zkService = zkCluster.generateService();
-                        this.zkHeadlessService = zkCluster.generateHeadlessService();
+                        this.zkService = desiredResources.service(kafkaAssembly, "zookeeper-service", emptyList(), zkCluster::generateService);
+                        this.zkHeadlessService = desiredResources.service(kafkaAssembly, "zookeeper-headless-service", emptyList(), zkCluster::generateHeadlessService);
                         this.zkMetricsAndLogsConfigMap = zkCluster.generateMetricsAndLogConfigMap(logAndMetricsConfigMap);
 
                         future.complete(this);
@@ -1288,7 +1330,7 @@ public class KafkaAssemblyOperator extends AbstractAssemblyOperator<KubernetesCl
         Future<ReconciliationState> getReconciliationStateOfConfigMap(AbstractModel cluster, ConfigMap configMap, BiFunction<Boolean, Future<ReconcileResult<ConfigMap>>, Future<ReconciliationState>> function) {
             Promise<ReconciliationState> resultPromise = Promise.promise();
 
-            vertx.createSharedWorkerExecutor("kubernetes-ops-pool").<Boolean>executeBlocking(
+            WorkerPools.kubernetes(vertx).<Boolean>executeBlocking(
                 future -> {
                     ConfigMap current = configMapOperations.get(namespace, cluster.getAncillaryConfigName());
                     boolean onlyMetricsSettingChanged = onlyMetricsSettingChanged(current, configMap);
@@ -1336,7 +1378,10 @@ public class KafkaAssemblyOperator extends AbstractAssemblyOperator<KubernetesCl
         }
 
         Future<ReconciliationState> zkNodesSecret(Supplier<Date> dateSupplier) {
-            return updateCertificateSecretWithDiff(ZookeeperCluster.nodesSecretName(name), zkCluster.generateNodesSecret(clusterCa, kafkaAssembly, isMaintenanceTimeWindowsSatisfied(dateSupplier)))
+            long start = System.nanoTime();
+            Secret nodesSecret = zkCluster.generateNodesSecret(clusterCa, kafkaAssembly, isMaintenanceTimeWindowsSatisfied(dateSupplier));
+            zkCertificatesTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return updateCertificateSecretWithDiff(ZookeeperCluster.nodesSecretName(name), nodesSecret)
                     .map(changed -> {
                         existingZookeeperCertsChanged = changed;
                         return this;
@@ -1352,7 +1397,10 @@ public class KafkaAssemblyOperator extends AbstractAssemblyOperator<KubernetesCl
         }
 
         Future<ReconciliationState> zkStatefulSet() {
-            StatefulSet zkSts = zkCluster.generateStatefulSet(pfa.isOpenshift(), imagePullPolicy, imagePullSecrets);
+            // The image, replicas and snapshot checks of the model can differ from the custom resource during upgrades and scale-ups
+            StatefulSet zkSts = desiredResources.statefulSet(kafkaAssembly, "zookeeper-statefulset",
+                    asList(zkStorageAnnotation, zkCluster.getImage(), zkCluster.getReplicas(), zkCluster.isSnapshotCheckEnabled()),
+                () -> zkCluster.generateStatefulSet(pfa.isOpenshift(), imagePullPolicy, imagePullSecrets));
             Annotations.annotations(zkSts.getSpec().getTemplate()).put(Ca.ANNO_STRIMZI_IO_CLUSTER_CA_CERT_GENERATION, String.valueOf(getCaCertGeneration(this.clusterCa)));
             return withZkDiff(zkSetOperations.reconcile(namespace, zkCluster.getName(), zkSts));
         }
@@ -1418,16 +1466,17 @@ public class KafkaAssemblyOperator extends AbstractAssemblyOperator<KubernetesCl
         /*test*/ Future<ReconciliationState> getKafkaClusterDescription() {
             Promise<ReconciliationState> promise = Promise.promise();
 
-            vertx.createSharedWorkerExecutor("kubernetes-ops-pool").<ReconciliationState>executeBlocking(
+            WorkerPools.kubernetes(vertx).<ReconciliationState>executeBlocking(
                 future -> {
                     try {
                         StatefulSet sts = kafkaSetOperations.get(namespace, KafkaCluster.kafkaClusterName(name));
                         Storage oldStorage = getOldStorage(sts);
 
                         this.kafkaCluster = KafkaCluster.fromCrd(kafkaAssembly, versions, oldStorage);
+                        this.kafkaStorageAnnotation = getStorageAnnotation(sts);
 
-                        this.kafkaService = kafkaCluster.generateService();
-                        this.kafkaHeadlessService = kafkaCluster.generateHeadlessService();
+                        this.kafkaService = desiredResources.service(kafkaAssembly, "kafka-service", emptyList(), kafkaCluster::generateService);
+                        this.kafkaHeadlessService = desiredResources.service(kafkaAssembly, "kafka-headless-service", emptyList(), kafkaCluster::generateHeadlessService);
 
                         future.complete(this);
                     } catch (Throwable e) {
@@ -1512,7 +1561,8 @@ public class KafkaAssemblyOperator extends AbstractAssemblyOperator<KubernetesCl
         }
 
         Future<ReconciliationState> kafkaExternalBootstrapService() {
-            return withVoid(serviceOperations.reconcile(namespace, KafkaCluster.externalBootstrapServiceName(name), kafkaCluster.generateExternalBootstrapService()));
+            return withVoid(serviceOperations.reconcile(namespace, KafkaCluster.externalBootstrapServiceName(name),
+                    desiredResources.service(kafkaAssembly, "kafka-external-bootstrap-service", emptyList(), kafkaCluster::generateExternalBootstrapService)));
         }
 
         Future<ReconciliationState> kafkaReplicaServices() {
@@ -1520,7 +1570,9 @@ public class KafkaAssemblyOperator extends AbstractAssemblyOperator<KubernetesCl
             List<Future> serviceFutures = new ArrayList<>(replicas);
 
             for (int i = 0; i < replicas; i++) {
-                serviceFutures.add(serviceOperations.reconcile(namespace, KafkaCluster.externalServiceName(name, i), kafkaCluster.generateExternalService(i)));
+                int pod = i;
+                serviceFutures.add(serviceOperations.reconcile(namespace, KafkaCluster.externalServiceName(name, pod),
+                        desiredResources.service(kafkaAssembly, "kafka-external-service-" + pod, emptyList(), () -> kafkaCluster.generateExternalService(pod))));
             }
 
             return withVoid(CompositeFuture.join(serviceFutures));
@@ -1617,7 +1669,7 @@ public class KafkaAssemblyOperator extends AbstractAssemblyOperator<KubernetesCl
 
             Promise blockingPromise = Promise.promise();
 
-            vertx.createSharedWorkerExecutor("kubernetes-ops-pool").executeBlocking(
+            WorkerPools.kubernetes(vertx).executeBlocking(
                 future -> {
                     String serviceName = KafkaCluster.externalBootstrapServiceName(name);
                     Future<Void> address = null;
@@ -1738,7 +1790,7 @@ public class KafkaAssemblyOperator extends AbstractAssemblyOperator<KubernetesCl
 
             Promise blockingPromise = Promise.promise();
 
-            vertx.createSharedWorkerExecutor("kubernetes-ops-pool").executeBlocking(
+            WorkerPools.kubernetes(vertx).executeBlocking(
                 future -> {
                     int replicas = kafkaCluster.getReplicas();
                     List<Future> serviceFutures = new ArrayList<>(replicas);
@@ -1855,7 +1907,7 @@ public class KafkaAssemblyOperator extends AbstractAssemblyOperator<KubernetesCl
 
             Promise blockingPromise = Promise.promise();
 
-            vertx.createSharedWorkerExecutor("kubernetes-ops-pool").executeBlocking(
+            WorkerPools.kubernetes(vertx).executeBlocking(
                 future -> {
                     String routeName = KafkaCluster.serviceName(name);
                     //Future future = Future.future();
@@ -1899,7 +1951,7 @@ public class KafkaAssemblyOperator extends AbstractAssemblyOperator<KubernetesCl
 
             Promise blockingPromise = Promise.promise();
 
-            vertx.createSharedWorkerExecutor("kubernetes-ops-pool").executeBlocking(
+            WorkerPools.kubernetes(vertx).executeBlocking(
                 future -> {
                     int replicas = kafkaCluster.getReplicas();
                     List<Future> routeFutures = new ArrayList<>(replicas);
@@ -1967,12 +2019,14 @@ public class KafkaAssemblyOperator extends AbstractAssemblyOperator<KubernetesCl
 
         Future<ReconciliationState> kafkaGenerateCertificates(Supplier<Date> dateSupplier) {
             Promise<ReconciliationState> resultPromise = Promise.promise();
-            vertx.createSharedWorkerExecutor("kubernetes-ops-pool").<ReconciliationState>executeBlocking(
+            WorkerPools.kubernetes(vertx).<ReconciliationState>executeBlocking(
                 future -> {
                     try {
+                        long start = System.nanoTime();
                         kafkaCluster.generateCertificates(kafkaAssembly,
                                 clusterCa, kafkaExternalBootstrapDnsName, kafkaExternalDnsNames,
                                 isMaintenanceTimeWindowsSatisfied(dateSupplier));
+                        kafkaCertificatesTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
                         future.complete(this);
                     } catch (Throwable e) {
                         future.fail(e);
@@ -2040,7 +2094,11 @@ public class KafkaAssemblyOperator extends AbstractAssemblyOperator<KubernetesCl
                 loggingCm = configMapOperations.get(kafkaAssembly.getMetadata().getNamespace(), ((ExternalLogging) kafkaCluster.getLogging()).getName());
             }
 
-            ConfigMap kafkaAncillaryCm = kafkaCluster.generateAncillaryConfigMap(loggingCm, kafkaExternalAdvertisedHostnames, kafkaExternalAdvertisedPorts);
+            ConfigMap externalLoggingCm = loggingCm;
+            ConfigMap kafkaAncillaryCm = desiredResources.configMap(kafkaAssembly, "kafka-ancillary-configmap",
+                    asList(kafkaStorageAnnotation, loggingCm == null ? null : loggingCm.getData(),
+                            new ArrayList<>(kafkaExternalAdvertisedHostnames), new ArrayList<>(kafkaExternalAdvertisedPorts)),
+                () -> kafkaCluster.generateAncillaryConfigMap(externalLoggingCm, kafkaExternalAdvertisedHostnames, kafkaExternalAdvertisedPorts));
 
             return getReconciliationStateOfConfigMap(kafkaCluster, kafkaAncillaryCm, this::withKafkaAncillaryCmChanged);
         }
@@ -2197,7 +2255,8 @@ public class KafkaAssemblyOperator extends AbstractAssemblyOperator<KubernetesCl
         }
 
         Future<ReconciliationState> kafkaStatefulSet() {
-            StatefulSet kafkaSts = kafkaCluster.generateStatefulSet(pfa.isOpenshift(), imagePullPolicy, imagePullSecrets);
+            StatefulSet kafkaSts = desiredResources.statefulSet(kafkaAssembly, "kafka-statefulset", asList(kafkaStorageAnnotation, kafkaCluster.getImage(), kafkaCluster.getReplicas()),
+                () -> kafkaCluster.generateStatefulSet(pfa.isOpenshift(), imagePullPolicy, imagePullSecrets));
             PodTemplateSpec template = kafkaSts.getSpec().getTemplate();
 
             // Annotations with CA generations to help with rolling updates when CA changes
@@ -2571,7 +2630,7 @@ public class KafkaAssemblyOperator extends AbstractAssemblyOperator<KubernetesCl
         private final Future<ReconciliationState> getTopicOperatorDescription() {
             Promise<ReconciliationState> promise = Promise.promise();
 
-            vertx.createSharedWorkerExecutor("kubernetes-ops-pool").<ReconciliationState>executeBlocking(
+            WorkerPools.kubernetes(vertx).<ReconciliationState>executeBlocking(
                 future -> {
                     try {
                         this.topicOperator = io.strimzi.operator.cluster.model.TopicOperator.fromCrd(kafkaAssembly, versions);
@@ -2662,7 +2721,7 @@ public class KafkaAssemblyOperator extends AbstractAssemblyOperator<KubernetesCl
         private final Future<ReconciliationState> getEntityOperatorDescription() {
             Future<ReconciliationState> fut = Future.future();
 
-            vertx.createSharedWorkerExecutor("kubernetes-ops-pool").<ReconciliationState>executeBlocking(
+            WorkerPools.kubernetes(vertx).<ReconciliationState>executeBlocking(
                 future -> {
                     try {
                         EntityOperator entityOperator = EntityOperator.fromCrd(kafkaAssembly, versions);
@@ -2996,18 +3055,14 @@ public class KafkaAssemblyOperator extends AbstractAssemblyOperator<KubernetesCl
                     secret));
         }
 
-        private Storage getOldStorage(StatefulSet sts)  {
-            Storage storage = null;
-
-            if (sts != null)    {
-                String jsonStorage = Annotations.stringAnnotation(sts, ANNO_STRIMZI_IO_STORAGE, null);
+        private String getStorageAnnotation(StatefulSet sts) {
+            return sts != null ? Annotations.stringAnnotation(sts, ANNO_STRIMZI_IO_STORAGE, null) : null;
+        }
 
-                if (jsonStorage != null)    {
-                    storage = ModelUtils.decodeStorageFromJson(jsonStorage);
-                }
-            }
+        private Storage getOldStorage(StatefulSet sts)  {
+            String jsonStorage = getStorageAnnotation(sts);
 
-            return storage;
+            return jsonStorage != null ? ModelUtils.decodeStorageFromJson(jsonStorage) : null;
         }
 
         void setExternalListenerStatus(ListenerAddress... addresses)   {
@@ -3078,7 +3133,7 @@ public class KafkaAssemblyOperator extends AbstractAssemblyOperator<KubernetesCl
         private final Future<ReconciliationState> getKafkaExporterDescription() {
             Promise<ReconciliationState> promise = Promise.promise();
 
-            vertx.createSharedWorkerExecutor("kubernetes-ops-pool").<ReconciliationState>executeBlocking(
+            WorkerPools.kubernetes(vertx).<ReconciliationState>executeBlocking(
                 future -> {
                     try {
                         this.kafkaExporter = KafkaExporter.fromCrd(kafkaAssembly, versions);
@@ -5,9 +5,14 @@
 package io.strimzi.operator.cluster.operator.assembly;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.strimzi.operator.common.MetricsProvider;
 import io.vertx.core.Future;
 import io.vertx.core.Vertx;
 import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpClient;
 import io.vertx.core.http.HttpClientOptions;
 import io.vertx.core.http.HttpClientResponse;
 import io.vertx.core.json.JsonArray;
@@ -17,8 +22,11 @@ import org.apache.logging.log4j.Logger;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 public interface KafkaConnectApi {
     Future<Map<String, Object>> createOrUpdatePutRequest(String host, int port, String connectorName, JsonObject configJson);
@@ -27,6 +35,21 @@ public interface KafkaConnectApi {
     Future<Void> pause(String host, int port, String connectorName);
     Future<Void> resume(String host, int port, String connectorName);
     Future<List<String>> list(String host, int port);
+
+    /**
+     * @param host The host.
+     * @param port The port.
+     * @return A future which completes with the config of each connector, by connector name.
+     */
+    Future<Map<String, Map<String, String>>> listConfigs(String host, int port);
+
+    /**
+     * @param host The host.
+     * @param port The port.
+     * @param connectorName The connector name.
+     * @return A future which completes with the config of the connector, or null if there is no such connector.
+     */
+    Future<Map<String, String>> getConnectorConfig(String host, int port, String connectorName);
 }
 
 class ConnectRestException extends RuntimeException {
@@ -38,13 +61,124 @@ class ConnectRestException extends RuntimeException {
     }
 }
 
+/**
+ * Calls the REST API of Kafka Connect using one pooled, keep-alive {@link HttpClient} per Connect service,
+ * which is shared by all the reconciliations of the service and closed once it has not been used for
+ * {@value #IDLE_CLIENT_CLOSE_MS}ms.
+ * The connections are reused by the requests which follow, rather than pipelined,
+ * so at most {@value #MAX_CONNECTIONS} requests to a Connect service are in flight at a time.
+ * When enabled with a {@link MetricsProvider}, the time taken by the requests is recorded by the
+ * {@code connect.api.requests} timer, and the requests which failed are counted by the
+ * {@code connect.api.errors} counter, both tagged by {@code operation}, in the same way as
+ * the {@code resource.api.requests} and {@code resource.api.errors} meters of the requests to the API server.
+ * With the {@link io.strimzi.operator.common.MicrometerMetricsProvider} they are exported to Prometheus as
+ * {@code strimzi_connect_api_requests_seconds} and {@code strimzi_connect_api_errors_total}.
+ */
 @SuppressWarnings({"deprecation"})
 class KafkaConnectApiImpl implements KafkaConnectApi {
     private static final Logger log = LogManager.getLogger(KafkaConnectApiImpl.class);
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    /**
+     * The maximum number of connections to each Connect service.
+     */
+    static final int MAX_CONNECTIONS = 4;
+    static final int CONNECT_TIMEOUT_MS = 10_000;
+    static final long REQUEST_TIMEOUT_MS = 60_000;
+    /**
+     * How long the connections to a Connect service are kept open without being used, in seconds.
+     */
+    static final int KEEP_ALIVE_TIMEOUT_S = 60;
+    static final long IDLE_CLIENT_CLOSE_MS = 300_000;
+
     private final Vertx vertx;
+    private final MetricsProvider metrics;
+    private final Map<String, PooledClient> clients = new ConcurrentHashMap<>();
+    private final Map<String, ApiCallMeters> meters = new ConcurrentHashMap<>();
+    private volatile long lastIdleCheck = System.currentTimeMillis();
+
+    private static class PooledClient {
+        private final HttpClient client;
+        private volatile long lastUsed = System.currentTimeMillis();
+
+        PooledClient(HttpClient client) {
+            this.client = client;
+        }
+    }
+
+    private static class ApiCallMeters {
+        private final Timer requests;
+        private final Counter errors;
+
+        ApiCallMeters(Timer requests, Counter errors) {
+            this.requests = requests;
+            this.errors = errors;
+        }
+    }
 
     public KafkaConnectApiImpl(Vertx vertx) {
+        this(vertx, null);
+    }
+
+    /**
+     * @param vertx The Vertx instance.
+     * @param metrics The metrics provider for the request metrics, or null.
+     */
+    public KafkaConnectApiImpl(Vertx vertx, MetricsProvider metrics) {
         this.vertx = vertx;
+        this.metrics = metrics;
+    }
+
+    /**
+     * @return The client for the Connect service at the given {@code host} and {@code port}.
+     */
+    private HttpClient client(String host, int port) {
+        long now = System.currentTimeMillis();
+        if (now - lastIdleCheck > IDLE_CLIENT_CLOSE_MS) {
+            lastIdleCheck = now;
+            clients.entrySet().removeIf(entry -> {
+                if (now - entry.getValue().lastUsed > IDLE_CLIENT_CLOSE_MS) {
+                    log.debug("Closing idle client for Connect service {}", entry.getKey());
+                    entry.getValue().client.close();
+                    return true;
+                }
+                return false;
+            });
+        }
+        PooledClient pooled = clients.computeIfAbsent(host + ":" + port, service -> {
+            log.debug("Creating client for Connect service {}", service);
+            return new PooledClient(vertx.createHttpClient(new HttpClientOptions()
+                    .setKeepAlive(true)
+                    .setKeepAliveTimeout(KEEP_ALIVE_TIMEOUT_S)
+                    .setMaxPoolSize(MAX_CONNECTIONS)
+                    .setConnectTimeout(CONNECT_TIMEOUT_MS)));
+        });
+        pooled.lastUsed = now;
+        return pooled.client;
+    }
+
+    /**
+     * Records the time taken by the request of the given {@code operation} which completes the given future.
+     */
+    private <T> Future<T> timed(String operation, Future<T> result) {
+        if (metrics == null) {
+            return result;
+        }
+        ApiCallMeters callMeters = meters.computeIfAbsent(operation, op -> {
+            Tags tags = Tags.of("operation", op);
+            return new ApiCallMeters(
+                    metrics.timer("connect.api.requests", "Time taken by requests to the Kafka Connect REST API", tags),
+                    metrics.counter("connect.api.errors", "Number of requests to the Kafka Connect REST API which failed", tags));
+        });
+        long start = System.nanoTime();
+        return result.map(r -> {
+            callMeters.requests.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return r;
+        }).recover(error -> {
+            callMeters.requests.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            callMeters.errors.increment();
+            return Future.failedFuture(error);
+        });
     }
 
     @Override
@@ -53,19 +187,17 @@ class KafkaConnectApiImpl implements KafkaConnectApi {
             String host, int port,
             String connectorName, JsonObject configJson) {
         Future<Map<String, Object>> result = Future.future();
-        HttpClientOptions options = new HttpClientOptions().setLogActivity(true);
         Buffer data = configJson.toBuffer();
         String path = "/connectors/" + connectorName + "/config";
-        vertx.createHttpClient(options)
+        client(host, port)
                 .put(port, host, path, response -> {
                     response.exceptionHandler(error -> {
                         result.fail(error);
                     });
                     if (response.statusCode() == 200 || response.statusCode() == 201) {
                         response.bodyHandler(buffer -> {
-                            ObjectMapper mapper = new ObjectMapper();
                             try {
-                                result.complete(mapper.readValue(buffer.getBytes(), Map.class));
+                                result.complete(MAPPER.readValue(buffer.getBytes(), Map.class));
                             } catch (IOException e) {
                                 result.fail(new ConnectRestException(response, "Could not deserialize response: " + e));
                             }
@@ -79,21 +211,21 @@ class KafkaConnectApiImpl implements KafkaConnectApi {
                     }
                 })
                 .exceptionHandler(result::fail)
+                .setTimeout(REQUEST_TIMEOUT_MS)
                 .setFollowRedirects(true)
                 .putHeader("Accept", "application/json")
                 .putHeader("Content-Type", "application/json")
                 .putHeader("Content-Length", String.valueOf(data.length()))
                 .write(data)
                 .end();
-        return result;
+        return timed("createOrUpdate", result);
     }
 
     @Override
     public Future<Void> delete(String host, int port, String connectorName) {
         Future<Void> result = Future.future();
-        HttpClientOptions options = new HttpClientOptions().setLogActivity(true);
         String path = "/connectors/" + connectorName;
-        vertx.createHttpClient(options)
+        client(host, port)
                 .delete(port, host, path, response -> {
                     if (response.statusCode() == 204) {
                         result.complete();
@@ -106,26 +238,25 @@ class KafkaConnectApiImpl implements KafkaConnectApi {
                     }
                 })
                 .exceptionHandler(result::fail)
+                .setTimeout(REQUEST_TIMEOUT_MS)
                 .setFollowRedirects(true)
                 .putHeader("Accept", "application/json")
                 .putHeader("Content-Type", "application/json")
                 .end();
-        return result;
+        return timed("delete", result);
     }
 
     @Override
     @SuppressWarnings("unchecked")
     public Future<Map<String, Object>> status(String host, int port, String connectorName) {
         Future<Map<String, Object>> result = Future.future();
-        HttpClientOptions options = new HttpClientOptions().setLogActivity(true);
         String path = "/connectors/" + connectorName + "/status";
-        vertx.createHttpClient(options)
+        client(host, port)
                 .get(port, host, path, response -> {
                     if (response.statusCode() == 200) {
                         response.bodyHandler(buffer -> {
-                            ObjectMapper mapper = new ObjectMapper();
                             try {
-                                result.complete(mapper.readValue(buffer.getBytes(), Map.class));
+                                result.complete(MAPPER.readValue(buffer.getBytes(), Map.class));
                             } catch (IOException e) {
                                 result.fail(new ConnectRestException(response, "Could not deserialize response: " + e));
                             }
@@ -139,27 +270,27 @@ class KafkaConnectApiImpl implements KafkaConnectApi {
                     }
                 })
                 .exceptionHandler(result::fail)
+                .setTimeout(REQUEST_TIMEOUT_MS)
                 .setFollowRedirects(true)
                 .putHeader("Accept", "application/json")
                 .putHeader("Content-Type", "application/json")
                 .end();
-        return result;
+        return timed("status", result);
     }
 
     @Override
     public Future<Void> pause(String host, int port, String connectorName) {
-        return pauseResume(host, port, "/connectors/" + connectorName + "/pause");
+        return timed("pause", pauseResume(host, port, "/connectors/" + connectorName + "/pause"));
     }
 
     @Override
     public Future<Void> resume(String host, int port, String connectorName) {
-        return pauseResume(host, port, "/connectors/" + connectorName + "/resume");
+        return timed("resume", pauseResume(host, port, "/connectors/" + connectorName + "/resume"));
     }
 
     private Future<Void> pauseResume(String host, int port, String path) {
         Future<Void> result = Future.future();
-        HttpClientOptions options = new HttpClientOptions().setLogActivity(true);
-        vertx.createHttpClient(options)
+        client(host, port)
                 .put(port, host, path, response -> {
                     response.exceptionHandler(error -> {
                         result.fail(error);
@@ -172,6 +303,7 @@ class KafkaConnectApiImpl implements KafkaConnectApi {
                     }
                 })
                 .exceptionHandler(result::fail)
+                .setTimeout(REQUEST_TIMEOUT_MS)
                 .setFollowRedirects(true)
                 .putHeader("Accept", "application/json")
                 .end();
@@ -181,9 +313,8 @@ class KafkaConnectApiImpl implements KafkaConnectApi {
     @Override
     public Future<List<String>> list(String host, int port) {
         Future<List<String>> result = Future.future();
-        HttpClientOptions options = new HttpClientOptions().setLogActivity(true);
         String path = "/connectors";
-        vertx.createHttpClient(options)
+        client(host, port)
                 .get(port, host, path, response -> {
                     response.exceptionHandler(error -> {
                         result.fail(error);
@@ -207,9 +338,80 @@ class KafkaConnectApiImpl implements KafkaConnectApi {
                     }
                 })
                 .exceptionHandler(result::fail)
+                .setTimeout(REQUEST_TIMEOUT_MS)
                 .setFollowRedirects(true)
                 .putHeader("Accept", "application/json")
                 .end();
-        return result;
+        return timed("list", result);
+    }
+
+    @Override
+    public Future<Map<String, Map<String, String>>> listConfigs(String host, int port) {
+        Future<Map<String, Map<String, String>>> result = Future.future();
+        String path = "/connectors?expand=info";
+        client(host, port)
+                .get(port, host, path, response -> {
+                    response.exceptionHandler(error -> {
+                        result.fail(error);
+                    });
+                    if (response.statusCode() == 200) {
+                        response.bodyHandler(buffer -> {
+                            JsonObject connectors = buffer.toJsonObject();
+                            Map<String, Map<String, String>> configs = new HashMap<>(connectors.size());
+                            for (String connectorName : connectors.fieldNames()) {
+                                JsonObject info = connectors.getJsonObject(connectorName).getJsonObject("info");
+                                configs.put(connectorName, asConfig(info != null ? info.getJsonObject("config") : null));
+                            }
+                            result.complete(configs);
+                        });
+                    } else {
+                        result.fail("Unexpected status code " + response.statusCode()
+                                + " for GET request to " + host + ":" + port + path);
+                    }
+                })
+                .exceptionHandler(result::fail)
+                .setTimeout(REQUEST_TIMEOUT_MS)
+                .setFollowRedirects(true)
+                .putHeader("Accept", "application/json")
+                .end();
+        return timed("listConfigs", result);
+    }
+
+    @Override
+    public Future<Map<String, String>> getConnectorConfig(String host, int port, String connectorName) {
+        Future<Map<String, String>> result = Future.future();
+        String path = "/connectors/" + connectorName + "/config";
+        client(host, port)
+                .get(port, host, path, response -> {
+                    response.exceptionHandler(error -> {
+                        result.fail(error);
+                    });
+                    if (response.statusCode() == 200) {
+                        response.bodyHandler(buffer -> result.complete(asConfig(buffer.toJsonObject())));
+                    } else if (response.statusCode() == 404) {
+                        result.complete(null);
+                    } else {
+                        response.bodyHandler(buffer -> {
+                            JsonObject x = buffer.toJsonObject();
+                            result.fail(new ConnectRestException(response, x.getString("message")));
+                        });
+                    }
+                })
+                .exceptionHandler(result::fail)
+                .setTimeout(REQUEST_TIMEOUT_MS)
+                .setFollowRedirects(true)
+                .putHeader("Accept", "application/json")
+                .end();
+        return timed("getConfig", result);
+    }
+
+    private static Map<String, String> asConfig(JsonObject json) {
+        Map<String, String> config = new HashMap<>();
+        if (json != null) {
+            for (Map.Entry<String, Object> entry : json) {
+                config.put(entry.getKey(), entry.getValue() == null ? null : String.valueOf(entry.getValue()));
+            }
+        }
+        return config;
     }
 }
@@ -58,7 +58,7 @@ public class KafkaConnectAssemblyOperator extends AbstractConnectOperator<Kubern
     public KafkaConnectAssemblyOperator(Vertx vertx, PlatformFeaturesAvailability pfa,
                                         ResourceOperatorSupplier supplier,
                                         ClusterOperatorConfig config) {
-        this(vertx, pfa, supplier, config, connect -> new KafkaConnectApiImpl(vertx));
+        this(vertx, pfa, supplier, config, sharedConnectClient(new KafkaConnectApiImpl(vertx, supplier.metricsProvider)));
     }
 
     public KafkaConnectAssemblyOperator(Vertx vertx, PlatformFeaturesAvailability pfa,
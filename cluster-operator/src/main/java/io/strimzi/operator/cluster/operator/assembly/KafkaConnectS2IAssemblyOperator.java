@@ -73,7 +73,7 @@ public class KafkaConnectS2IAssemblyOperator extends AbstractConnectOperator<Ope
 
                                            ResourceOperatorSupplier supplier,
                                            ClusterOperatorConfig config) {
-        this(vertx, pfa, supplier, config, connect -> new KafkaConnectApiImpl(vertx));
+        this(vertx, pfa, supplier, config, sharedConnectClient(new KafkaConnectApiImpl(vertx, supplier.metricsProvider)));
     }
 
     public KafkaConnectS2IAssemblyOperator(Vertx vertx, PlatformFeaturesAvailability pfa,
@@ -12,42 +12,52 @@ import org.apache.kafka.clients.admin.ConfigEntry;
 import org.apache.kafka.clients.admin.ListTopicsOptions;
 import org.apache.kafka.clients.admin.TopicDescription;
 import org.apache.kafka.common.Node;
-import org.apache.kafka.common.TopicPartitionInfo;
 import org.apache.kafka.common.config.ConfigResource;
 import org.apache.kafka.common.config.TopicConfig;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
 
 import static java.lang.Integer.parseInt;
+import static java.util.Collections.singleton;
 
 /**
- * Determines whether the given broker can be rolled without affecting
+ * Determines whether the given broker, or a batch of brokers, can be rolled without affecting
  * producers with acks=all publishing to topics with a {@code min.in.sync.replicas}.
+ * Each determination first refreshes the {@link PartitionIndex},
+ * so the same index can be shared by the instances created for the successive restarts of a rolling restart.
  */
 class KafkaAvailability {
 
     private static final Logger log = LogManager.getLogger(KafkaAvailability.class.getName());
 
+    /**
+     * The maximum number of topics described by a single request, which bounds the memory used by the descriptions
+     * while the index is refreshed.
+     */
+    static final int DESCRIBE_BATCH_SIZE = 1000;
+
     private final AdminClient ac;
-    private final Future<Collection<TopicDescription>> descriptions;
+    private final PartitionIndex index;
 
     KafkaAvailability(AdminClient ac) {
+        this(ac, new PartitionIndex());
+    }
+
+    KafkaAvailability(AdminClient ac, PartitionIndex index) {
         this.ac = ac;
-        // 1. Get all topic names
-        Future<Set<String>> topicNames = topicNames();
-        // 2. Get topic descriptions
-        descriptions = topicNames.compose(names -> {
-            log.debug("Got {} topic names", names.size());
-            log.trace("Topic names {}", names);
-            return describeTopics(names);
-        });
+        this.index = index;
     }
 
     /**
@@ -56,28 +66,9 @@ class KafkaAvailability {
      */
     Future<Boolean> canRoll(int podId) {
         log.debug("Determining whether broker {} can be rolled", podId);
-        return canRollBroker(descriptions, podId);
-    }
-
-    private Future<Boolean> canRollBroker(Future<Collection<TopicDescription>> descriptions, int podId) {
-        Future<Set<TopicDescription>> topicsOnGivenBroker = descriptions
-                .compose(topicDescriptions -> {
-                    log.debug("Got {} topic descriptions", topicDescriptions.size());
-                    return Future.succeededFuture(groupTopicsByBroker(topicDescriptions, podId));
-                }).recover(error -> {
-                    log.warn(error);
-                    return Future.failedFuture(error);
-                });
-
-        // 4. Get topic configs (for those on $broker)
-        Future<Map<String, Config>> topicConfigsOnGivenBroker = topicsOnGivenBroker
-                .compose(td -> topicConfigs(td.stream().map(t -> t.name()).collect(Collectors.toSet())));
-
-        // 5. join
-        return topicConfigsOnGivenBroker.map(topicNameToConfig -> {
-            Collection<TopicDescription> tds = topicsOnGivenBroker.result();
-            boolean canRoll = tds.stream().noneMatch(
-                td -> wouldAffectAvailability(podId, topicNameToConfig, td));
+        return refresh(singleton(podId)).map(topics -> {
+            boolean canRoll = topics.stream().noneMatch(
+                topic -> wouldAffectAvailability(singleton(podId), topic));
             if (!canRoll) {
                 log.debug("Restart pod {} would remove it from ISR, stalling producers with acks=all", podId);
             }
@@ -88,58 +79,165 @@ class KafkaAvailability {
         });
     }
 
-    private boolean wouldAffectAvailability(int broker, Map<String, Config> nameToConfig, TopicDescription td) {
-        Config config = nameToConfig.get(td.name());
+    /**
+     * Determine the largest batch of the given brokers, of at most {@code maxBatchSize} brokers, which can be rolled
+     * at the same time without affecting producers with acks=all publishing to topics with a {@code min.in.sync.replicas}.
+     * The brokers are considered in the given order, and the batch always contains the first broker which can be rolled
+     * on its own, if any.
+     * The batch only contains brokers of the same rack as its first broker (or only brokers without a rack, when that
+     * broker has none). Replicas are spread across racks, so the brokers of a rack rarely share a partition.
+     * In any case, the brokers of a batch, together, would not take any partition below its {@code min.in.sync.replicas},
+     * nor take all the in-sync replicas of any partition, whatever its replication factor.
+     *
+     * @param brokers The ids of the brokers to be rolled, in order of preference.
+     * @param maxBatchSize The maximum number of brokers in the batch.
+     * @return A future which completes with the ids of the brokers of the batch, which is empty if none can be rolled.
+     */
+    Future<Set<Integer>> rollableBatch(List<Integer> brokers, int maxBatchSize) {
+        log.debug("Determining which of brokers {} can be rolled together", brokers);
+        return refresh(brokers).compose(topics -> brokerRacks().map(racks -> {
+            Set<Integer> batch = new LinkedHashSet<>();
+            String batchRack = null;
+            for (Integer broker : brokers) {
+                if (batch.size() >= maxBatchSize) {
+                    break;
+                }
+                String rack = racks.get(broker);
+                if (!batch.isEmpty() && !Objects.equals(batchRack, rack)) {
+                    continue;
+                }
+                batch.add(broker);
+                if (topics.stream().anyMatch(topic -> wouldAffectAvailability(batch, topic))) {
+                    batch.remove(broker);
+                } else if (batch.size() == 1) {
+                    batchRack = rack;
+                }
+            }
+            log.debug("Brokers {} can be rolled together", batch);
+            return batch;
+        })).recover(error -> {
+            log.warn("Error determining which of brokers {} can be rolled together", brokers, error);
+            return Future.failedFuture(error);
+        });
+    }
+
+    /**
+     * Refresh the index with the current partitions of all the topics, and with the current {@code min.in.sync.replicas}
+     * of the topics on the given brokers.
+     * @param brokers The brokers.
+     * @return A future which completes with the topics on the given brokers.
+     */
+    private Future<List<PartitionIndex.Topic>> refresh(Collection<Integer> brokers) {
+        // 1. Get all topic names
+        return topicNames().compose(names -> {
+            log.debug("Got {} topic names", names.size());
+            log.trace("Topic names {}", names);
+            // 2. Describe all the topics, since any of them might have been reassigned to the brokers
+            index.retain(names);
+            return describeInBatches(new ArrayList<>(names));
+        }).compose(ignored -> {
+            // 3. Get the configs of the topics on the brokers, since their min.insync.replicas can change at any time
+            return configureInBatches(new ArrayList<>(index.topicNamesOn(brokers)));
+        }).map(ignored -> index.topicsOn(brokers));
+    }
+
+    private Future<Void> configureInBatches(List<String> names) {
+        Future<Void> result = Future.succeededFuture();
+        for (int from = 0; from < names.size(); from += DESCRIBE_BATCH_SIZE) {
+            List<String> batch = names.subList(from, Math.min(names.size(), from + DESCRIBE_BATCH_SIZE));
+            result = result.compose(ignored -> topicConfigs(batch)).map(topicNameToConfig -> {
+                for (Map.Entry<String, Config> entry : topicNameToConfig.entrySet()) {
+                    index.minIsr(entry.getKey(), minIsr(entry.getKey(), entry.getValue()));
+                }
+                return null;
+            });
+        }
+        return result;
+    }
+
+    private Future<Void> describeInBatches(List<String> names) {
+        Future<Void> result = Future.succeededFuture();
+        for (int from = 0; from < names.size(); from += DESCRIBE_BATCH_SIZE) {
+            Set<String> batch = new HashSet<>(names.subList(from, Math.min(names.size(), from + DESCRIBE_BATCH_SIZE)));
+            result = result.compose(ignored -> describeTopics(batch)).map(tds -> {
+                log.debug("Got {} topic descriptions", tds.size());
+                for (TopicDescription td : tds) {
+                    index.update(td);
+                }
+                return null;
+            });
+        }
+        return result;
+    }
+
+    private int minIsr(String topicName, Config config) {
         ConfigEntry minIsrConfig = config.get(TopicConfig.MIN_IN_SYNC_REPLICAS_CONFIG);
-        int minIsr;
         if (minIsrConfig != null && minIsrConfig.value() != null) {
-            minIsr = parseInt(minIsrConfig.value());
-            log.debug("{} has {}={}.", td.name(), TopicConfig.MIN_IN_SYNC_REPLICAS_CONFIG, minIsr);
+            int minIsr = parseInt(minIsrConfig.value());
+            log.debug("{} has {}={}.", topicName, TopicConfig.MIN_IN_SYNC_REPLICAS_CONFIG, minIsr);
+            return minIsr;
         } else {
-            minIsr = -1;
-            log.debug("{} lacks {}.", td.name(), TopicConfig.MIN_IN_SYNC_REPLICAS_CONFIG);
+            log.debug("{} lacks {}.", topicName, TopicConfig.MIN_IN_SYNC_REPLICAS_CONFIG);
+            return PartitionIndex.NO_MIN_ISR;
         }
+    }
 
-        for (TopicPartitionInfo pi : td.partitions()) {
-            List<Node> isr = pi.isr();
-            if (minIsr >= 0) {
-                if (isr.size() < minIsr
-                        && contains(pi.replicas(), broker)) {
-                    logIsrReplicas(td, pi, isr);
-                    log.info("{}/{} is already underreplicated (|ISR|={}, {}={}); broker {} has a replica, " +
-                                    "so should not be restarted right now (it might be first to catch up).",
-                            td.name(), pi.partition(), isr.size(), TopicConfig.MIN_IN_SYNC_REPLICAS_CONFIG, minIsr, broker);
+    private boolean wouldAffectAvailability(Set<Integer> brokers, PartitionIndex.Topic topic) {
+        int minIsr = topic.minIsr;
+        // Unlike a single broker, a batch is never allowed to take the last in-sync replicas of a partition
+        boolean isBatch = brokers.size() > 1;
+        if (minIsr < 0 && !isBatch) {
+            return false;
+        }
+        for (int i = 0; i < topic.partitions.length; i++) {
+            int[] isr = topic.isr[i];
+            int[] replicas = topic.replicas[i];
+            int restartedInIsr = count(isr, brokers);
+            if (isr.length < minIsr
+                    && count(replicas, brokers) > 0) {
+                logIsrReplicas(topic, i);
+                log.info("{}/{} is already underreplicated (|ISR|={}, {}={}); broker(s) {} have a replica, " +
+                                "so should not be restarted right now (it might be first to catch up).",
+                        topic.name, topic.partitions[i], isr.length, TopicConfig.MIN_IN_SYNC_REPLICAS_CONFIG, minIsr, brokers);
+                return true;
+            } else if (isBatch
+                    && restartedInIsr > 0
+                    && isr.length - restartedInIsr < Math.max(minIsr, 1)) {
+                logIsrReplicas(topic, i);
+                log.debug("{}/{} would be left with {} in-sync replicas (|ISR|={} and {}={}) if brokers {} are restarted together.",
+                        topic.name, topic.partitions[i], isr.length - restartedInIsr, isr.length, TopicConfig.MIN_IN_SYNC_REPLICAS_CONFIG, minIsr, brokers);
+                return true;
+            } else if (restartedInIsr > 0
+                    && isr.length - restartedInIsr < minIsr) {
+                if (minIsr < replicas.length) {
+                    logIsrReplicas(topic, i);
+                    log.info("{}/{} will be underreplicated (|ISR|={} and {}={}) if broker(s) {} are restarted.",
+                            topic.name, topic.partitions[i], isr.length, TopicConfig.MIN_IN_SYNC_REPLICAS_CONFIG, minIsr, brokers);
                     return true;
-                } else if (isr.size() == minIsr
-                        && contains(isr, broker)) {
-                    if (minIsr < pi.replicas().size()) {
-                        logIsrReplicas(td, pi, isr);
-                        log.info("{}/{} will be underreplicated (|ISR|={} and {}={}) if broker {} is restarted.",
-                                td.name(), pi.partition(), isr.size(), TopicConfig.MIN_IN_SYNC_REPLICAS_CONFIG, minIsr, broker);
-                        return true;
-                    } else {
-                        log.debug("{}/{} will be underreplicated (|ISR|={} and {}={}) if broker {} is restarted, but there are only {} relicas.",
-                                td.name(), pi.partition(), isr.size(), TopicConfig.MIN_IN_SYNC_REPLICAS_CONFIG, minIsr, broker,
-                                pi.replicas().size());
-                    }
+                } else {
+                    log.debug("{}/{} will be underreplicated (|ISR|={} and {}={}) if broker(s) {} are restarted, but there are only {} relicas.",
+                            topic.name, topic.partitions[i], isr.length, TopicConfig.MIN_IN_SYNC_REPLICAS_CONFIG, minIsr, brokers,
+                            replicas.length);
                 }
             }
         }
         return false;
     }
 
-    private void logIsrReplicas(TopicDescription td, TopicPartitionInfo pi, List<Node> isr) {
+    private void logIsrReplicas(PartitionIndex.Topic topic, int i) {
         if (log.isDebugEnabled()) {
-            log.debug("{}/{} has ISR={}, replicas={}", td.name(), pi.partition(), nodeList(isr), nodeList(pi.replicas()));
+            log.debug("{}/{} has ISR={}, replicas={}", topic.name, topic.partitions[i], Arrays.toString(topic.isr[i]), Arrays.toString(topic.replicas[i]));
         }
     }
 
-    String nodeList(List<Node> nodes) {
-        return nodes.stream().map(n -> String.valueOf(n.id())).collect(Collectors.joining(",", "[", "]"));
-    }
-
-    private boolean contains(List<Node> isr, int broker) {
-        return isr.stream().anyMatch(node -> node.id() == broker);
+    private static int count(int[] ids, Set<Integer> brokers) {
+        int count = 0;
+        for (int id : ids) {
+            if (brokers.contains(id)) {
+                count++;
+            }
+        }
+        return count;
     }
 
     private Future<Map<String, Config>> topicConfigs(Collection<String> topicNames) {
@@ -162,21 +260,6 @@ class KafkaAvailability {
         return promise.future();
     }
 
-    private Set<TopicDescription> groupTopicsByBroker(Collection<TopicDescription> tds, int podId) {
-        Set<TopicDescription> topicPartitionInfos = new HashSet<>();
-        for (TopicDescription td : tds) {
-            log.trace("{}", td);
-            for (TopicPartitionInfo pd : td.partitions()) {
-                for (Node broker : pd.replicas()) {
-                    if (podId == broker.id()) {
-                        topicPartitionInfos.add(td);
-                    }
-                }
-            }
-        }
-        return topicPartitionInfos;
-    }
-
     protected Future<Collection<TopicDescription>> describeTopics(Set<String> names) {
         Promise<Collection<TopicDescription>> descPromise = Promise.promise();
         ac.describeTopics(names).all()
@@ -191,6 +274,27 @@ class KafkaAvailability {
         return descPromise.future();
     }
 
+    /**
+     * @return A future which completes with the rack of each broker, which is null if the broker has no rack.
+     */
+    protected Future<Map<Integer, String>> brokerRacks() {
+        Promise<Map<Integer, String>> racksPromise = Promise.promise();
+        ac.describeCluster().nodes()
+                .whenComplete((nodes, error) -> {
+                    if (error != null) {
+                        racksPromise.fail(error);
+                    } else {
+                        Map<Integer, String> racks = new HashMap<>(nodes.size());
+                        for (Node node : nodes) {
+                            racks.put(node.id(), node.rack());
+                        }
+                        log.debug("Got racks {} of brokers", racks);
+                        racksPromise.complete(racks);
+                    }
+                });
+        return racksPromise.future();
+    }
+
     protected Future<Set<String>> topicNames() {
         Promise<Set<String>> namesPromise = Promise.promise();
         ac.listTopics(new ListTopicsOptions().listInternal(true)).names()
@@ -8,8 +8,12 @@ import io.fabric8.kubernetes.api.model.Pod;
 import io.fabric8.kubernetes.api.model.Secret;
 import io.fabric8.kubernetes.api.model.apps.StatefulSet;
 import io.fabric8.kubernetes.client.KubernetesClientException;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
 import io.strimzi.operator.cluster.model.KafkaCluster;
 import io.strimzi.operator.common.BackOff;
+import io.strimzi.operator.common.MetricsProvider;
 import io.strimzi.operator.common.model.Labels;
 import io.strimzi.operator.common.operator.resource.PodOperator;
 import io.vertx.core.CompositeFuture;
@@ -25,7 +29,11 @@ import org.apache.logging.log4j.Logger;
 
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
@@ -74,6 +82,22 @@ import java.util.function.Supplier;
  *     <li>even pods which aren't candidates for rolling are checked for readiness which partly avoids
  *     successive reconciliations each restarting a pod which never becomes ready</li>
  * </ul>
+ *
+ * <p>With a {@code maxBatchSize} greater than one, the pods are first rolled in batches:</p>
+ *
+ * <pre>
+ *   1. While there are at least two pods which need to be restarted:
+ *     2. Wait for the pods which do not need to be restarted to be ready, and forget them.
+ *     3. Determine the batch of pods, other than the controller, which can be restarted together
+ *        without "impacting availability", from a single description of the cluster
+ *        (see {@link KafkaAvailability#rollableBatch(List, int)}).
+ *        If no pod can be restarted, continue from 5.
+ *     4. Restart the pods of the batch, wait for them all to become ready, and continue from 1.
+ *   5. Roll the remaining pods, including the controller, one at a time with the algorithm above.
+ * </pre>
+ *
+ * <p>Any error while rolling in batches, other than a pod not becoming ready,
+ * also leaves the remaining pods to be rolled one at a time.</p>
  */
 public class KafkaRoller {
 
@@ -90,6 +114,11 @@ public class KafkaRoller {
     private final Supplier<BackOff> backoffSupplier;
     protected String namespace;
     private final AdminClientProvider adminClientProvider;
+    private final int maxBatchSize;
+    private final DistributionSummary batchSizes;
+    private final Timer rollDuration;
+    // Shared by the availability checks of the whole rolling restart, so that each check only refreshes what might have changed
+    private final PartitionIndex partitionIndex = new PartitionIndex();
 
     KafkaRoller(Vertx vertx, PodOperator podOperations,
                 long pollingIntervalMs, long operationTimeoutMs, Supplier<BackOff> backOffSupplier,
@@ -102,6 +131,20 @@ public class KafkaRoller {
                 long pollingIntervalMs, long operationTimeoutMs, Supplier<BackOff> backOffSupplier,
                 StatefulSet sts, Secret clusterCaCertSecret, Secret coKeySecret,
                 AdminClientProvider adminClientProvider) {
+        this(vertx, podOperations, pollingIntervalMs, operationTimeoutMs, backOffSupplier,
+                sts, clusterCaCertSecret, coKeySecret, adminClientProvider, 1, null);
+    }
+
+    /**
+     * @param maxBatchSize The maximum number of pods restarted at the same time. With 1 the pods are rolled one at a time.
+     * @param metrics The metrics provider for the {@code strimzi_kafka_rolling_batch_size} and
+     *                {@code strimzi_kafka_rolling_duration} metrics, or null.
+     */
+    @SuppressWarnings("checkstyle:ParameterNumber")
+    KafkaRoller(Vertx vertx, PodOperator podOperations,
+                long pollingIntervalMs, long operationTimeoutMs, Supplier<BackOff> backOffSupplier,
+                StatefulSet sts, Secret clusterCaCertSecret, Secret coKeySecret,
+                AdminClientProvider adminClientProvider, int maxBatchSize, MetricsProvider metrics) {
         this.namespace = sts.getMetadata().getNamespace();
         this.cluster = Labels.cluster(sts);
         this.numPods = sts.getSpec().getReplicas();
@@ -113,6 +156,15 @@ public class KafkaRoller {
         this.podOperations = podOperations;
         this.pollingIntervalMs = pollingIntervalMs;
         this.adminClientProvider = adminClientProvider;
+        this.maxBatchSize = maxBatchSize;
+        if (metrics != null) {
+            Tags tags = Tags.of("kind", "Kafka", "namespace", namespace);
+            this.batchSizes = metrics.summary("kafka.rolling.batch.size", "Number of Kafka pods restarted together by a rolling update", tags);
+            this.rollDuration = metrics.timer("kafka.rolling.duration", "Time taken by the rolling update of a Kafka cluster", tags);
+        } else {
+            this.batchSizes = null;
+            this.rollDuration = null;
+        }
     }
 
     /**
@@ -139,7 +191,7 @@ public class KafkaRoller {
      */
     Future<Void> rollingRestart(Predicate<Pod> podNeedsRestart) {
         this.podNeedsRestart = podNeedsRestart;
-        List<Future> futures = new ArrayList<>(numPods);
+        long start = System.nanoTime();
         List<Integer> podIds = new ArrayList<>(numPods);
         for (int podId = 0; podId < numPods; podId++) {
             // Order the podIds unready first otherwise repeated reconciliations might each restart a pod
@@ -147,17 +199,120 @@ public class KafkaRoller {
             podIds.add(podOperations.isReady(namespace, podName(podId)) ? podIds.size() : 0, podId);
         }
         log.debug("Initial order for rolling restart {}", podIds);
-        for (Integer podId: podIds) {
-            futures.add(schedule(podId, 0, TimeUnit.MILLISECONDS));
-        }
+        Future<List<Integer>> remainingPodIds = maxBatchSize > 1 ? rollInBatches(podIds) : Future.succeededFuture(podIds);
         Promise<Void> result = Promise.promise();
-        CompositeFuture.join(futures).setHandler(ar -> {
+        remainingPodIds.compose(remaining -> {
+            List<Future> futures = new ArrayList<>(remaining.size());
+            for (Integer podId: remaining) {
+                futures.add(schedule(podId, 0, TimeUnit.MILLISECONDS));
+            }
+            return CompositeFuture.join(futures);
+        }).setHandler(ar -> {
             singleExecutor.shutdown();
+            if (rollDuration != null) {
+                rollDuration.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
             vertx.runOnContext(ignored -> result.handle(ar.map((Void) null)));
         });
         return result.future();
     }
 
+    /**
+     * Asynchronously restart the pods which can be restarted together, in batches of at most {@link #maxBatchSize} pods,
+     * completing the returned future with the ids of the pods which are left to be rolled one at a time.
+     * @param podIds The ids of the pods, in the order they should be considered.
+     * @return A future which completes with the ids of the remaining pods, or fails if a restarted pod did not become ready.
+     */
+    private Future<List<Integer>> rollInBatches(List<Integer> podIds) {
+        Promise<List<Integer>> result = Promise.promise();
+        List<Integer> remaining = new ArrayList<>(podIds);
+        singleExecutor.execute(() -> {
+            try {
+                restartBatches(remaining);
+                result.complete(remaining);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                result.fail(e);
+            } catch (FatalProblem e) {
+                log.info("Could not roll pods in batches", e);
+                result.fail(e);
+            } catch (Exception e) {
+                log.info("Could not roll pods {} in batches, rolling them one at a time", remaining, e);
+                result.complete(remaining);
+            }
+        });
+        return result.future();
+    }
+
+    /**
+     * Restart batches of the given pods, removing each pod from {@code remaining} once it has been dealt with.
+     * This method blocks.
+     * @param remaining The ids of the pods which have not been dealt with yet.
+     */
+    private void restartBatches(List<Integer> remaining)
+            throws InterruptedException, ForceableProblem, UnforceableProblem, FatalProblem {
+        while (true) {
+            Map<Integer, Pod> needRestart = new LinkedHashMap<>();
+            for (Iterator<Integer> it = remaining.iterator(); it.hasNext(); ) {
+                int podId = it.next();
+                Pod pod;
+                try {
+                    pod = podOperations.get(namespace, KafkaCluster.kafkaPodName(cluster, podId));
+                } catch (KubernetesClientException e) {
+                    throw new UnforceableProblem("Error getting pod " + podName(podId), e);
+                }
+                if (podNeedsRestart.test(pod)) {
+                    needRestart.put(podId, pod);
+                } else {
+                    log.debug("Waiting for non-restarted pod {} to become ready", podId);
+                    await(isReady(pod), operationTimeoutMs, TimeUnit.MILLISECONDS, e -> new FatalProblem("Error while waiting for non-restarted pod " + podName(podId) + " to become ready", e));
+                    it.remove();
+                }
+            }
+            if (needRestart.size() < 2) {
+                return;
+            }
+
+            Set<Integer> batch;
+            int firstPodId = needRestart.keySet().iterator().next();
+            AdminClient adminClient = null;
+            try {
+                adminClient = adminClient(firstPodId);
+                Integer controller = controller(firstPodId, adminClient, operationTimeoutMs, TimeUnit.MILLISECONDS);
+                List<Integer> candidates = new ArrayList<>(needRestart.keySet());
+                candidates.remove(controller);
+                batch = await(availability(adminClient).rollableBatch(candidates, maxBatchSize), 60_000, TimeUnit.MILLISECONDS,
+                    t -> new ForceableProblem("An error while trying to determine rollability", t));
+            } finally {
+                closeLoggingAnyError(adminClient);
+            }
+            if (batch.isEmpty()) {
+                log.debug("None of pods {} can be rolled right now", needRestart.keySet());
+                return;
+            }
+
+            log.debug("Rolling pods {} together", batch);
+            List<Future> restarts = new ArrayList<>(batch.size());
+            for (Integer podId : batch) {
+                restarts.add(restart(needRestart.get(podId)));
+            }
+            await(CompositeFuture.join(restarts), operationTimeoutMs, TimeUnit.MILLISECONDS,
+                e -> new UnforceableProblem("Error while trying to restart pods " + batch, e));
+            log.debug("Waiting for restarted pods {} to become ready", batch);
+            List<Future> readiness = new ArrayList<>(batch.size());
+            for (Integer podId : batch) {
+                readiness.add(isReady(needRestart.get(podId)));
+            }
+            await(CompositeFuture.join(readiness), operationTimeoutMs, TimeUnit.MILLISECONDS,
+                e -> new FatalProblem("Error while waiting for restarted pods " + batch + " to become ready", e));
+            log.debug("Pods {} are now ready", batch);
+            if (batchSizes != null) {
+                batchSizes.record(batch.size());
+            }
+            remaining.removeAll(batch);
+        }
+    }
+
     private static class RestartContext {
         final Promise<Void> promise;
         final BackOff backOff;
@@ -341,6 +496,9 @@ public class KafkaRoller {
         log.debug("Waiting for restarted pod {} to become ready", podName);
         await(isReady(pod), timeout, unit, e -> new FatalProblem("Error while waiting for restarted pod " + podName + " to become ready", e));
         log.debug("Pod {} is now ready", podName);
+        if (batchSizes != null) {
+            batchSizes.record(1);
+        }
     }
 
     /**
@@ -400,7 +558,7 @@ public class KafkaRoller {
     }
 
     protected KafkaAvailability availability(AdminClient ac) {
-        return new KafkaAvailability(ac);
+        return new KafkaAvailability(ac, partitionIndex);
     }
 
     String podName(Integer podId) {
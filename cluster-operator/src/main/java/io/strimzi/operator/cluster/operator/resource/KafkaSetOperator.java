@@ -9,6 +9,7 @@ import io.fabric8.kubernetes.api.model.Secret;
 import io.fabric8.kubernetes.api.model.apps.StatefulSet;
 import io.fabric8.kubernetes.client.KubernetesClient;
 import io.strimzi.operator.common.BackOff;
+import io.strimzi.operator.common.MetricsProvider;
 import io.vertx.core.Future;
 import io.vertx.core.Vertx;
 import org.apache.logging.log4j.LogManager;
@@ -24,6 +25,8 @@ public class KafkaSetOperator extends StatefulSetOperator {
     private static final Logger log = LogManager.getLogger(KafkaSetOperator.class);
 
     private final AdminClientProvider adminClientProvider;
+    private int rollingMaxBatchSize = 1;
+    private MetricsProvider metrics;
 
     /**
      * Constructor
@@ -39,6 +42,26 @@ public class KafkaSetOperator extends StatefulSetOperator {
         this.adminClientProvider = adminClientProvider;
     }
 
+    /**
+     * Enables rolling updates which restart up to {@code maxBatchSize} brokers at the same time,
+     * when this does not affect the availability of any partition.
+     *
+     * @param maxBatchSize The maximum number of brokers restarted at the same time.
+     */
+    public void enableBatchedRolling(int maxBatchSize) {
+        this.rollingMaxBatchSize = maxBatchSize;
+    }
+
+    /**
+     * {@inheritDoc}
+     * Also enables the metrics of the rolling updates of the Kafka brokers.
+     */
+    @Override
+    public void enableMetrics(MetricsProvider metrics) {
+        super.enableMetrics(metrics);
+        this.metrics = metrics;
+    }
+
     @Override
     protected boolean shouldIncrementGeneration(StatefulSetDiff diff) {
         return !diff.isEmpty() && needsRollingUpdate(diff);
@@ -68,7 +91,8 @@ public class KafkaSetOperator extends StatefulSetOperator {
     public Future<Void> maybeRollingUpdate(StatefulSet sts, Predicate<Pod> podNeedsRestart,
                                            Secret clusterCaCertSecret, Secret coKeySecret) {
         return new KafkaRoller(vertx, podOperations, 1_000, operationTimeoutMs,
-            () -> new BackOff(250, 2, 10), sts, clusterCaCertSecret, coKeySecret, adminClientProvider)
+            () -> new BackOff(250, 2, 10), sts, clusterCaCertSecret, coKeySecret, adminClientProvider,
+            rollingMaxBatchSize, metrics)
                 .rollingRestart(podNeedsRestart);
     }
 
@@ -0,0 +1,166 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.operator.cluster.operator.resource;
+
+import org.apache.kafka.clients.admin.TopicDescription;
+import org.apache.kafka.common.Node;
+import org.apache.kafka.common.TopicPartitionInfo;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A compact index of the partitions of a Kafka cluster, used by {@link KafkaAvailability}.
+ * The replicas and in-sync replicas of each partition are kept as arrays of broker ids, rather than as
+ * {@link TopicDescription}s, together with the topics which have a replica on each broker and
+ * the {@code min.insync.replicas} of each topic.
+ * <p>
+ * A {@link KafkaRoller} keeps the same index for a whole rolling restart. All the topics are described again
+ * before each decision, since partitions can be reassigned and in-sync replicas can change at any time,
+ * and so are the configs of the topics on the brokers the decision is about, since their
+ * {@code min.insync.replicas} can change too.
+ */
+class PartitionIndex {
+
+    /**
+     * The {@code min.insync.replicas} of a topic which lacks that config.
+     */
+    static final int NO_MIN_ISR = -1;
+
+    /**
+     * The {@code min.insync.replicas} of a topic whose config has not been fetched yet.
+     */
+    static final int UNKNOWN_MIN_ISR = -2;
+
+    /**
+     * The partitions of a topic. Instances, and their arrays, are never modified.
+     */
+    static final class Topic {
+        final String name;
+        final int[] partitions;
+        final int[][] replicas;
+        final int[][] isr;
+        final int minIsr;
+
+        Topic(String name, int[] partitions, int[][] replicas, int[][] isr, int minIsr) {
+            this.name = name;
+            this.partitions = partitions;
+            this.replicas = replicas;
+            this.isr = isr;
+            this.minIsr = minIsr;
+        }
+    }
+
+    private final Map<String, Topic> topics = new HashMap<>();
+    private final Map<Integer, Set<String>> topicsByBroker = new HashMap<>();
+
+    /**
+     * Forgets the topics which are not in the given {@code topicNames}.
+     * @param topicNames The names of all the topics of the cluster.
+     */
+    synchronized void retain(Set<String> topicNames) {
+        for (Iterator<Topic> it = topics.values().iterator(); it.hasNext(); ) {
+            Topic topic = it.next();
+            if (!topicNames.contains(topic.name)) {
+                it.remove();
+                unindex(topic);
+            }
+        }
+    }
+
+    /**
+     * Replaces the partitions of the described topic, keeping its {@code min.insync.replicas} until it is refreshed.
+     * @param td The topic description.
+     */
+    synchronized void update(TopicDescription td) {
+        List<TopicPartitionInfo> infos = td.partitions();
+        int[] partitions = new int[infos.size()];
+        int[][] replicas = new int[infos.size()][];
+        int[][] isr = new int[infos.size()][];
+        for (int i = 0; i < infos.size(); i++) {
+            TopicPartitionInfo info = infos.get(i);
+            partitions[i] = info.partition();
+            replicas[i] = ids(info.replicas());
+            isr[i] = ids(info.isr());
+        }
+        Topic old = topics.get(td.name());
+        if (old != null) {
+            unindex(old);
+        }
+        Topic topic = new Topic(td.name(), partitions, replicas, isr, old != null ? old.minIsr : UNKNOWN_MIN_ISR);
+        topics.put(topic.name, topic);
+        for (int[] partitionReplicas : replicas) {
+            for (int broker : partitionReplicas) {
+                topicsByBroker.computeIfAbsent(broker, b -> new HashSet<>()).add(topic.name);
+            }
+        }
+    }
+
+    /**
+     * Sets the {@code min.insync.replicas} of the given topic.
+     * @param topicName The topic name.
+     * @param minIsr The {@code min.insync.replicas}, or {@link #NO_MIN_ISR}.
+     */
+    synchronized void minIsr(String topicName, int minIsr) {
+        Topic old = topics.get(topicName);
+        if (old != null) {
+            topics.put(topicName, new Topic(old.name, old.partitions, old.replicas, old.isr, minIsr));
+        }
+    }
+
+    /**
+     * @param brokers The brokers.
+     * @return The names of the topics having a replica on one of the given brokers.
+     */
+    synchronized Set<String> topicNamesOn(Collection<Integer> brokers) {
+        Set<String> result = new HashSet<>();
+        for (Integer broker : brokers) {
+            result.addAll(topicsByBroker.getOrDefault(broker, Collections.emptySet()));
+        }
+        return result;
+    }
+
+    /**
+     * @param brokers The brokers.
+     * @return The topics having a replica on one of the given brokers.
+     */
+    synchronized List<Topic> topicsOn(Collection<Integer> brokers) {
+        Set<String> names = topicNamesOn(brokers);
+        List<Topic> result = new ArrayList<>(names.size());
+        for (String name : names) {
+            result.add(topics.get(name));
+        }
+        return result;
+    }
+
+    private void unindex(Topic topic) {
+        for (int[] partitionReplicas : topic.replicas) {
+            for (int broker : partitionReplicas) {
+                Set<String> names = topicsByBroker.get(broker);
+                if (names != null) {
+                    names.remove(topic.name);
+                    if (names.isEmpty()) {
+                        topicsByBroker.remove(broker);
+                    }
+                }
+            }
+        }
+    }
+
+    private static int[] ids(List<Node> nodes) {
+        int[] ids = new int[nodes.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = nodes.get(i).id();
+        }
+        return ids;
+    }
+}
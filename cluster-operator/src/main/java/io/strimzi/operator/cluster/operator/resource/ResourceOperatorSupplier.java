@@ -25,6 +25,10 @@ import io.strimzi.api.kafka.model.KafkaConnector;
 import io.strimzi.api.kafka.model.KafkaMirrorMaker;
 import io.strimzi.operator.PlatformFeaturesAvailability;
 import io.strimzi.operator.common.BackOff;
+import io.strimzi.operator.common.MetricsProvider;
+import io.strimzi.operator.common.MicrometerMetricsProvider;
+import io.strimzi.operator.common.model.Labels;
+import io.strimzi.operator.common.operator.resource.AbstractResourceOperator;
 import io.strimzi.operator.common.operator.resource.BuildConfigOperator;
 import io.strimzi.operator.common.operator.resource.ClusterRoleBindingOperator;
 import io.strimzi.operator.common.operator.resource.ConfigMapOperator;
@@ -46,8 +50,15 @@ import io.strimzi.operator.common.operator.resource.ServiceOperator;
 
 import io.fabric8.openshift.client.OpenShiftClient;
 import io.strimzi.operator.common.operator.resource.StorageClassOperator;
+import io.vertx.core.CompositeFuture;
+import io.vertx.core.Future;
 import io.vertx.core.Vertx;
 
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.Arrays.asList;
+
 @SuppressWarnings("checkstyle:ClassDataAbstractionCoupling")
 public class ResourceOperatorSupplier {
     public final SecretOperator secretOperations;
@@ -76,19 +87,32 @@ public class ResourceOperatorSupplier {
     public final DeploymentConfigOperator deploymentConfigOperations;
     public final StorageClassOperator storageClassOperations;
     public final NodeOperator nodeOperator;
+    public final MetricsProvider metricsProvider;
 
     public ResourceOperatorSupplier(Vertx vertx, KubernetesClient client, PlatformFeaturesAvailability pfa, long operationTimeoutMs) {
+        this(vertx, client, pfa, operationTimeoutMs, new MicrometerMetricsProvider());
+    }
+
+    public ResourceOperatorSupplier(Vertx vertx, KubernetesClient client, PlatformFeaturesAvailability pfa, long operationTimeoutMs,
+                                    MetricsProvider metricsProvider) {
         this(vertx, client,
             new ZookeeperLeaderFinder(vertx, new SecretOperator(vertx, client),
             // Retry up to 3 times (4 attempts), with overall max delay of 35000ms
                 () -> new BackOff(5_000, 2, 4)),
                     new DefaultAdminClientProvider(),
-                    pfa, operationTimeoutMs);
+                    pfa, operationTimeoutMs, metricsProvider);
     }
 
     public ResourceOperatorSupplier(Vertx vertx, KubernetesClient client, ZookeeperLeaderFinder zlf,
                                     AdminClientProvider adminClientProvider,
                                     PlatformFeaturesAvailability pfa, long operationTimeoutMs) {
+        this(vertx, client, zlf, adminClientProvider, pfa, operationTimeoutMs, new MicrometerMetricsProvider());
+    }
+
+    public ResourceOperatorSupplier(Vertx vertx, KubernetesClient client, ZookeeperLeaderFinder zlf,
+                                    AdminClientProvider adminClientProvider,
+                                    PlatformFeaturesAvailability pfa, long operationTimeoutMs,
+                                    MetricsProvider metricsProvider) {
         this(new ServiceOperator(vertx, client),
                 pfa.hasRoutes() ? new RouteOperator(vertx, client.adapt(OpenShiftClient.class)) : null,
                 new ZookeeperSetOperator(vertx, client, zlf, operationTimeoutMs),
@@ -114,7 +138,8 @@ public class ResourceOperatorSupplier {
                 new CrdOperator<>(vertx, client, KafkaBridge.class, KafkaBridgeList.class, DoneableKafkaBridge.class),
                 new CrdOperator<>(vertx, client, KafkaConnector.class, KafkaConnectorList.class, DoneableKafkaConnector.class),
                 new StorageClassOperator(vertx, client, operationTimeoutMs),
-                new NodeOperator(vertx, client, operationTimeoutMs));
+                new NodeOperator(vertx, client, operationTimeoutMs),
+                metricsProvider);
     }
 
     public ResourceOperatorSupplier(ServiceOperator serviceOperations,
@@ -143,6 +168,41 @@ public class ResourceOperatorSupplier {
                                     CrdOperator<KubernetesClient, KafkaConnector, KafkaConnectorList, DoneableKafkaConnector> kafkaConnectorOperator,
                                     StorageClassOperator storageClassOperator,
                                     NodeOperator nodeOperator) {
+        this(serviceOperations, routeOperations, zkSetOperations, kafkaSetOperations, configMapOperations,
+                secretOperations, pvcOperations, deploymentOperations, serviceAccountOperations, roleBindingOperations,
+                clusterRoleBindingOperator, networkPolicyOperator, podDisruptionBudgetOperator, podOperations,
+                ingressOperations, imagesStreamOperations, buildConfigOperations, deploymentConfigOperations,
+                kafkaOperator, connectOperator, connectS2IOperator, mirrorMakerOperator, kafkaBridgeOperator,
+                kafkaConnectorOperator, storageClassOperator, nodeOperator, new MicrometerMetricsProvider());
+    }
+
+    public ResourceOperatorSupplier(ServiceOperator serviceOperations,
+                                    RouteOperator routeOperations,
+                                    ZookeeperSetOperator zkSetOperations,
+                                    KafkaSetOperator kafkaSetOperations,
+                                    ConfigMapOperator configMapOperations,
+                                    SecretOperator secretOperations,
+                                    PvcOperator pvcOperations,
+                                    DeploymentOperator deploymentOperations,
+                                    ServiceAccountOperator serviceAccountOperations,
+                                    RoleBindingOperator roleBindingOperations,
+                                    ClusterRoleBindingOperator clusterRoleBindingOperator,
+                                    NetworkPolicyOperator networkPolicyOperator,
+                                    PodDisruptionBudgetOperator podDisruptionBudgetOperator,
+                                    PodOperator podOperations,
+                                    IngressOperator ingressOperations,
+                                    ImageStreamOperator imagesStreamOperations,
+                                    BuildConfigOperator buildConfigOperations,
+                                    DeploymentConfigOperator deploymentConfigOperations,
+                                    CrdOperator<KubernetesClient, Kafka, KafkaList, DoneableKafka> kafkaOperator,
+                                    CrdOperator<KubernetesClient, KafkaConnect, KafkaConnectList, DoneableKafkaConnect> connectOperator,
+                                    CrdOperator<OpenShiftClient, KafkaConnectS2I, KafkaConnectS2IList, DoneableKafkaConnectS2I> connectS2IOperator,
+                                    CrdOperator<KubernetesClient, KafkaMirrorMaker, KafkaMirrorMakerList, DoneableKafkaMirrorMaker> mirrorMakerOperator,
+                                    CrdOperator<KubernetesClient, KafkaBridge, KafkaBridgeList, DoneableKafkaBridge> kafkaBridgeOperator,
+                                    CrdOperator<KubernetesClient, KafkaConnector, KafkaConnectorList, DoneableKafkaConnector> kafkaConnectorOperator,
+                                    StorageClassOperator storageClassOperator,
+                                    NodeOperator nodeOperator,
+                                    MetricsProvider metricsProvider) {
         this.serviceOperations = serviceOperations;
         this.routeOperations = routeOperations;
         this.zkSetOperations = zkSetOperations;
@@ -169,5 +229,67 @@ public class ResourceOperatorSupplier {
         this.storageClassOperations = storageClassOperator;
         this.kafkaConnectorOperator = kafkaConnectorOperator;
         this.nodeOperator = nodeOperator;
+        this.metricsProvider = metricsProvider;
+    }
+
+    /**
+     * Enables the watch-fed resource caches for the resources which are read on every reconciliation:
+     * the custom resources and the Secrets, Services, ConfigMaps and StatefulSets of the operands.
+     * The ZooKeeper and Kafka StatefulSet operators share a single cache.
+     *
+     * @param namespace The namespace, or {@code *} for all namespaces.
+     * @param selector The labels which the cached Secrets, Services, ConfigMaps and StatefulSets must have, or null for all of them.
+     * @param resyncIntervalMs The interval between full re-lists of the cached resources.
+     * @param metrics The metrics provider.
+     * @return A future which completes when all the caches have been populated.
+     */
+    public Future<Void> enableResourceCaches(String namespace, Labels selector, long resyncIntervalMs, MetricsProvider metrics) {
+        List<Future> futures = new ArrayList<>();
+        for (AbstractResourceOperator<?, ?, ?, ?, ?> op : asList(secretOperations, serviceOperations, configMapOperations,
+                zkSetOperations)) {
+            futures.add(op.enableCache(namespace, selector, resyncIntervalMs, metrics));
+        }
+        kafkaSetOperations.shareCache(namespace, zkSetOperations);
+        for (AbstractResourceOperator<?, ?, ?, ?, ?> op : asList(kafkaOperator, connectOperator, connectS2IOperator,
+                mirrorMakerOperator, kafkaBridgeOperator, kafkaConnectorOperator)) {
+            if (op != null) {
+                futures.add(op.enableCache(namespace, null, resyncIntervalMs, metrics));
+            }
+        }
+        return CompositeFuture.join(futures).map((Void) null);
+    }
+
+    /**
+     * Enables timing the requests to the API server made by the operators of namespaced resources.
+     *
+     * @param metrics The metrics provider.
+     */
+    public void enableMetrics(MetricsProvider metrics) {
+        for (AbstractResourceOperator<?, ?, ?, ?, ?> op : asList(secretOperations, serviceOperations, routeOperations,
+                zkSetOperations, kafkaSetOperations, configMapOperations, pvcOperations, deploymentOperations,
+                serviceAccountOperations, roleBindingOperations, networkPolicyOperator, podDisruptionBudgetOperator,
+                podOperations, ingressOperations, imagesStreamOperations, buildConfigOperations, deploymentConfigOperations,
+                kafkaOperator, connectOperator, connectS2IOperator, mirrorMakerOperator, kafkaBridgeOperator,
+                kafkaConnectorOperator)) {
+            if (op != null) {
+                op.enableMetrics(metrics);
+            }
+        }
+    }
+
+    /**
+     * Enables skipping of patches whose desired state is unchanged for the resources which the
+     * assembly operators patch on every reconciliation.
+     *
+     * @param metrics The metrics provider.
+     */
+    public void enableSkipUnchangedPatches(MetricsProvider metrics) {
+        for (AbstractResourceOperator<?, ?, ?, ?, ?> op : asList(secretOperations, serviceOperations, configMapOperations,
+                zkSetOperations, kafkaSetOperations, deploymentOperations, serviceAccountOperations, roleBindingOperations,
+                networkPolicyOperator, podDisruptionBudgetOperator, ingressOperations, routeOperations)) {
+            if (op != null) {
+                op.enableSkipUnchangedPatches(metrics);
+            }
+        }
     }
 }
@@ -4,16 +4,17 @@
  */
 package io.strimzi.operator.cluster.operator.resource;
 
-import com.fasterxml.jackson.databind.JsonNode;
 import io.fabric8.kubernetes.api.model.ObjectMeta;
+import io.fabric8.kubernetes.api.model.Quantity;
 import io.fabric8.kubernetes.api.model.apps.StatefulSet;
-import io.fabric8.zjsonpatch.JsonDiff;
 import io.strimzi.operator.common.operator.resource.AbstractResourceDiff;
+import io.strimzi.operator.common.operator.resource.StructuralDiff;
+import io.strimzi.operator.common.operator.resource.StructuralDiff.Path;
+import io.strimzi.operator.common.operator.resource.StructuralDiff.PathPattern;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.List;
 
 import static io.fabric8.kubernetes.client.internal.PatchUtils.patchMapper;
 
@@ -21,117 +22,103 @@ public class StatefulSetDiff extends AbstractResourceDiff {
 
     private static final Logger log = LogManager.getLogger(StatefulSetDiff.class.getName());
 
-    private static final Pattern IGNORABLE_PATHS = Pattern.compile(
-        "^(/spec/revisionHistoryLimit"
-        + "|/spec/template/metadata/annotations/strimzi.io~1generation"
-        + "|/spec/template/spec/initContainers/[0-9]+/resources"
-        + "|/spec/template/spec/initContainers/[0-9]+/terminationMessagePath"
-        + "|/spec/template/spec/initContainers/[0-9]+/terminationMessagePolicy"
-        + "|/spec/template/spec/initContainers/[0-9]+/env/[0-9]+/valueFrom/fieldRef/apiVersion"
-        + "|/spec/template/spec/containers/[0-9]+/resources"
-        + "|/spec/template/spec/containers/[0-9]+/env/[0-9]+/valueFrom/fieldRef/apiVersion"
-        + "|/spec/template/spec/containers/[0-9]+/livenessProbe/failureThreshold"
-        + "|/spec/template/spec/containers/[0-9]+/livenessProbe/periodSeconds"
-        + "|/spec/template/spec/containers/[0-9]+/livenessProbe/successThreshold"
-        + "|/spec/template/spec/containers/[0-9]+/readinessProbe/failureThreshold"
-        + "|/spec/template/spec/containers/[0-9]+/readinessProbe/periodSeconds"
-        + "|/spec/template/spec/containers/[0-9]+/readinessProbe/successThreshold"
-        + "|/spec/template/spec/containers/[0-9]+/terminationMessagePath"
-        + "|/spec/template/spec/containers/[0-9]+/terminationMessagePolicy"
-        + "|/spec/template/spec/dnsPolicy"
-        + "|/spec/template/spec/restartPolicy"
-        + "|/spec/template/spec/securityContext"
-        + "|/spec/template/spec/volumes/[0-9]+/configMap/defaultMode"
-        + "|/spec/template/spec/volumes/[0-9]+/secret/defaultMode"
-        + "|/spec/volumeClaimTemplates/[0-9]+/status"
-        + "|/spec/volumeClaimTemplates/[0-9]+/spec/volumeMode"
-        + "|/spec/volumeClaimTemplates/[0-9]+/spec/dataSource"
-        + "|/spec/template/spec/serviceAccount"
-        + "|/status)$");
-
-    private static final Pattern RESOURCE_PATH = Pattern.compile("^/spec/template/spec/(?:initContainers|containers)/[0-9]+/resources/(?:limits|requests)/(memory|cpu)$");
-    private static final Pattern VOLUME_SIZE = Pattern.compile("^/spec/volumeClaimTemplates/[0-9]+/spec/resources/.*$");
-
-    private static boolean equalsOrPrefix(String path, String pathValue) {
-        return pathValue.equals(path)
-                || pathValue.startsWith(path + "/");
-    }
-
-    private final boolean changesVolumeClaimTemplate;
-    private final boolean changesVolumeSize;
-    private final boolean isEmpty;
-    private final boolean changesSpecTemplate;
-    private final boolean changesLabels;
-    private final boolean changesSpecReplicas;
+    private static final StructuralDiff DIFF = new StructuralDiff(patchMapper());
+
+    private static final List<PathPattern> IGNORABLE_PATHS = PathPattern.compileAll(
+        "/spec/revisionHistoryLimit",
+        "/spec/template/metadata/annotations/strimzi.io~1generation",
+        "/spec/template/spec/initContainers/*/resources",
+        "/spec/template/spec/initContainers/*/terminationMessagePath",
+        "/spec/template/spec/initContainers/*/terminationMessagePolicy",
+        "/spec/template/spec/initContainers/*/env/*/valueFrom/fieldRef/apiVersion",
+        "/spec/template/spec/containers/*/resources",
+        "/spec/template/spec/containers/*/env/*/valueFrom/fieldRef/apiVersion",
+        "/spec/template/spec/containers/*/livenessProbe/failureThreshold",
+        "/spec/template/spec/containers/*/livenessProbe/periodSeconds",
+        "/spec/template/spec/containers/*/livenessProbe/successThreshold",
+        "/spec/template/spec/containers/*/readinessProbe/failureThreshold",
+        "/spec/template/spec/containers/*/readinessProbe/periodSeconds",
+        "/spec/template/spec/containers/*/readinessProbe/successThreshold",
+        "/spec/template/spec/containers/*/terminationMessagePath",
+        "/spec/template/spec/containers/*/terminationMessagePolicy",
+        "/spec/template/spec/dnsPolicy",
+        "/spec/template/spec/restartPolicy",
+        "/spec/template/spec/securityContext",
+        "/spec/template/spec/volumes/*/configMap/defaultMode",
+        "/spec/template/spec/volumes/*/secret/defaultMode",
+        "/spec/volumeClaimTemplates/*/status",
+        "/spec/volumeClaimTemplates/*/spec/volumeMode",
+        "/spec/volumeClaimTemplates/*/spec/dataSource",
+        "/spec/template/spec/serviceAccount",
+        "/status");
+
+    private static final List<PathPattern> RESOURCE_PATHS = PathPattern.compileAll(
+        "/spec/template/spec/initContainers/*/resources/limits/cpu",
+        "/spec/template/spec/initContainers/*/resources/limits/memory",
+        "/spec/template/spec/initContainers/*/resources/requests/cpu",
+        "/spec/template/spec/initContainers/*/resources/requests/memory",
+        "/spec/template/spec/containers/*/resources/limits/cpu",
+        "/spec/template/spec/containers/*/resources/limits/memory",
+        "/spec/template/spec/containers/*/resources/requests/cpu",
+        "/spec/template/spec/containers/*/resources/requests/memory");
+    private static final PathPattern VOLUME_CLAIM_TEMPLATES = PathPattern.compile("/spec/volumeClaimTemplates");
+    private static final PathPattern VOLUME_SIZE = PathPattern.compile("/spec/volumeClaimTemplates/*/spec/resources");
+    private static final PathPattern SPEC_TEMPLATE = PathPattern.compile("/spec/template");
+    private static final PathPattern LABELS = PathPattern.compile("/metadata/labels");
+    private static final PathPattern SPEC_REPLICAS = PathPattern.compile("/spec/replicas");
+
+    private boolean changesVolumeClaimTemplate;
+    private boolean changesVolumeSize;
+    private boolean isEmpty = true;
+    private boolean changesSpecTemplate;
+    private boolean changesLabels;
+    private boolean changesSpecReplicas;
 
     public StatefulSetDiff(StatefulSet current, StatefulSet desired) {
-        JsonNode source = patchMapper().valueToTree(current);
-        JsonNode target = patchMapper().valueToTree(desired);
-        JsonNode diff = JsonDiff.asJson(source, target);
-        int num = 0;
-        boolean changesVolumeClaimTemplate = false;
-        boolean changesVolumeSize = false;
-        boolean changesSpecTemplate = false;
-        boolean changesLabels = false;
-        boolean changesSpecReplicas = false;
-        for (JsonNode d : diff) {
-            String pathValue = d.get("path").asText();
-            if (IGNORABLE_PATHS.matcher(pathValue).matches()) {
-                ObjectMeta md = current.getMetadata();
-                log.debug("StatefulSet {}/{} ignoring diff {}", md.getNamespace(), md.getName(), d);
-                continue;
-            }
-            Matcher resourceMatchers = RESOURCE_PATH.matcher(pathValue);
-            if (resourceMatchers.matches()) {
-                if ("replace".equals(d.path("op").asText())) {
-                    boolean same = compareMemoryAndCpuResources(source, target, pathValue, resourceMatchers);
-                    if (same) {
-                        ObjectMeta md = current.getMetadata();
-                        log.debug("StatefulSet {}/{} ignoring diff {}", md.getNamespace(), md.getName(), d);
-                        continue;
-                    }
-                }
+        DIFF.diff(current, desired, (path, currentValue, desiredValue) -> {
+            ObjectMeta md = current.getMetadata();
+            if (PathPattern.anyMatches(IGNORABLE_PATHS, path)
+                    || PathPattern.anyMatches(RESOURCE_PATHS, path) && compareMemoryAndCpuResources(path, currentValue, desiredValue)) {
+                log.debug("StatefulSet {}/{} ignoring diff at {}", md.getNamespace(), md.getName(), path);
+                return true;
             }
             if (log.isDebugEnabled()) {
-                ObjectMeta md = current.getMetadata();
-                log.debug("StatefulSet {}/{} differs: {}", md.getNamespace(), md.getName(), d);
-                log.debug("Current StatefulSet path {} has value {}", pathValue, lookupPath(source, pathValue));
-                log.debug("Desired StatefulSet path {} has value {}", pathValue, lookupPath(target, pathValue));
+                log.debug("StatefulSet {}/{} differs at {}", md.getNamespace(), md.getName(), path);
+                log.debug("Current StatefulSet path {} has value {}", path, currentValue);
+                log.debug("Desired StatefulSet path {} has value {}", path, desiredValue);
             }
 
-            num++;
+            isEmpty = false;
             // Any volume claim template changes apart from size change should trigger rolling update
             // Size changes should not trigger rolling update. Therefore we need to separate these two in the diff.
-            changesVolumeClaimTemplate |= equalsOrPrefix("/spec/volumeClaimTemplates", pathValue) && !VOLUME_SIZE.matcher(pathValue).matches();
-            changesVolumeSize |= VOLUME_SIZE.matcher(pathValue).matches();
+            boolean volumeSize = VOLUME_SIZE.contains(path) && !VOLUME_SIZE.matches(path);
+            changesVolumeClaimTemplate |= VOLUME_CLAIM_TEMPLATES.contains(path) && !volumeSize;
+            changesVolumeSize |= volumeSize;
             // Change changes to /spec/template/spec, except to imagePullPolicy, which gets changed
             // by k8s
-            changesSpecTemplate |= equalsOrPrefix("/spec/template", pathValue);
-            changesLabels |= equalsOrPrefix("/metadata/labels", pathValue);
-            changesSpecReplicas |= equalsOrPrefix("/spec/replicas", pathValue);
-        }
-        this.isEmpty = num == 0;
-        this.changesLabels = changesLabels;
-        this.changesSpecReplicas = changesSpecReplicas;
-        this.changesSpecTemplate = changesSpecTemplate;
-        this.changesVolumeClaimTemplate = changesVolumeClaimTemplate;
-        this.changesVolumeSize = changesVolumeSize;
+            changesSpecTemplate |= SPEC_TEMPLATE.contains(path);
+            changesLabels |= LABELS.contains(path);
+            changesSpecReplicas |= SPEC_REPLICAS.contains(path);
+            return true;
+        });
     }
 
-    boolean compareMemoryAndCpuResources(JsonNode source, JsonNode target, String pathValue, Matcher resourceMatchers) {
-        JsonNode s = lookupPath(source, pathValue);
-        JsonNode t = lookupPath(target, pathValue);
-        String group = resourceMatchers.group(1);
-        if (!s.isMissingNode()
-            && !t.isMissingNode()) {
-            if ("cpu".equals(group)) {
+    /**
+     * @return True if the given cpu or memory quantities, which are both present, only differ by rounding.
+     */
+    boolean compareMemoryAndCpuResources(Path path, Object current, Object desired) {
+        if (current != null
+            && desired != null) {
+            String s = quantity(current);
+            String t = quantity(desired);
+            if ("cpu".equals(path.name(path.size() - 1))) {
                 // Ignore single millicpu differences as they could be due to rounding error
-                if (Math.abs(Quantities.parseCpuAsMilliCpus(s.asText()) - Quantities.parseCpuAsMilliCpus(t.asText())) < 1) {
+                if (Math.abs(Quantities.parseCpuAsMilliCpus(s) - Quantities.parseCpuAsMilliCpus(t)) < 1) {
                     return true;
                 }
             } else {
                 // Ignore single byte differences as they could be due to rounding error
-                if (Math.abs(Quantities.parseMemory(s.asText()) - Quantities.parseMemory(t.asText())) < 1) {
+                if (Math.abs(Quantities.parseMemory(s) - Quantities.parseMemory(t)) < 1) {
                     return true;
                 }
             }
@@ -139,6 +126,10 @@ public class StatefulSetDiff extends AbstractResourceDiff {
         return false;
     }
 
+    private static String quantity(Object value) {
+        return value instanceof Quantity ? ((Quantity) value).getAmount() : String.valueOf(value);
+    }
+
     /**
      * Returns whether the Diff is empty or not
      *
@@ -18,6 +18,7 @@ import io.strimzi.api.kafka.model.KafkaResources;
 import io.strimzi.operator.cluster.ClusterOperator;
 import io.strimzi.operator.cluster.model.KafkaCluster;
 import io.strimzi.operator.common.Annotations;
+import io.strimzi.operator.common.WorkerPools;
 import io.strimzi.operator.common.model.Labels;
 import io.strimzi.operator.common.operator.resource.AbstractScalableResourceOperator;
 import io.strimzi.operator.common.operator.resource.PodOperator;
@@ -326,7 +327,7 @@ public abstract class StatefulSetOperator extends AbstractScalableResourceOperat
             long pollingIntervalMs = 1_000;
             long timeoutMs = operationTimeoutMs;
 
-            operation().inNamespace(namespace).withName(name).cascading(cascading).withGracePeriod(-1L).delete();
+            apiCall("delete", () -> operation().inNamespace(namespace).withName(name).cascading(cascading).withGracePeriod(-1L).delete());
 
             Future<Void> deletedFut = waitFor(namespace, name, pollingIntervalMs, timeoutMs, (ignore1, ignore2) -> {
                 StatefulSet sts = get(namespace, name);
@@ -336,7 +337,7 @@ public abstract class StatefulSetOperator extends AbstractScalableResourceOperat
 
             deletedFut.setHandler(res -> {
                 if (res.succeeded())    {
-                    StatefulSet result = operation().inNamespace(namespace).withName(name).create(desired);
+                    StatefulSet result = apiCall("create", () -> operation().inNamespace(namespace).withName(name).create(desired));
                     log.debug("{} {} in namespace {} has been replaced", resourceKind, name, namespace);
                     promise.complete(wasChanged(current, result) ? ReconcileResult.patched(result) : ReconcileResult.noop(result));
                 } else {
@@ -362,10 +363,10 @@ public abstract class StatefulSetOperator extends AbstractScalableResourceOperat
      */
     public Future<Void> deleteAsync(String namespace, String name, boolean cascading) {
         Promise<Void> result = Promise.promise();
-        vertx.createSharedWorkerExecutor("kubernetes-ops-tool").executeBlocking(
+        WorkerPools.kubernetes(vertx).executeBlocking(
             future -> {
                 try {
-                    Boolean deleted = operation().inNamespace(namespace).withName(name).cascading(cascading).withGracePeriod(-1L).delete();
+                    Boolean deleted = apiCall("delete", () -> operation().inNamespace(namespace).withName(name).cascading(cascading).withGracePeriod(-1L).delete());
 
                     if (deleted) {
                         log.debug("{} {} in namespace {} has been deleted", resourceKind, name, namespace);
@@ -5,9 +5,11 @@
 package io.strimzi.operator.cluster;
 
 import io.fabric8.kubernetes.api.model.LocalObjectReferenceBuilder;
+import io.strimzi.certs.CertManagerType;
 import io.strimzi.operator.cluster.model.ImagePullPolicy;
 import io.strimzi.operator.cluster.model.KafkaVersion;
 import io.strimzi.operator.common.InvalidConfigurationException;
+import io.strimzi.operator.common.ReconciliationQueueConfig;
 import org.junit.jupiter.api.Test;
 
 import java.util.HashMap;
@@ -17,6 +19,7 @@ import java.util.Map;
 import static java.util.Arrays.asList;
 import static java.util.Collections.emptyMap;
 import static java.util.Collections.singleton;
+import static java.util.Collections.singletonMap;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.nullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -92,6 +95,94 @@ public class ClusterOperatorConfigTest {
         return envVars;
     }
 
+    @Test
+    public void testResourceCacheEnvVars() {
+        Map<String, String> envVars = new HashMap<>(ClusterOperatorConfigTest.envVars);
+        ClusterOperatorConfig config = ClusterOperatorConfig.fromMap(envVars, KafkaVersionTestUtils.getKafkaVersionLookup());
+        assertThat(config.isResourceCacheEnabled(), is(false));
+        assertThat(config.getResourceCacheResyncIntervalMs(), is(ClusterOperatorConfig.DEFAULT_RESOURCE_CACHE_RESYNC_INTERVAL_MS));
+
+        envVars.put(ClusterOperatorConfig.STRIMZI_RESOURCE_CACHE_ENABLED, "true");
+        envVars.put(ClusterOperatorConfig.STRIMZI_RESOURCE_CACHE_RESYNC_INTERVAL_MS, "60000");
+        envVars.put(ClusterOperatorConfig.STRIMZI_RESOURCE_CACHE_LABELS, "app.kubernetes.io/managed-by=strimzi-cluster-operator");
+        config = ClusterOperatorConfig.fromMap(envVars, KafkaVersionTestUtils.getKafkaVersionLookup());
+        assertThat(config.isResourceCacheEnabled(), is(true));
+        assertThat(config.getResourceCacheResyncIntervalMs(), is(60_000L));
+        assertThat(config.getResourceCacheLabels().toMap(), is(singletonMap("app.kubernetes.io/managed-by", "strimzi-cluster-operator")));
+    }
+
+    @Test
+    public void testCertManagerEnvVar() {
+        Map<String, String> envVars = new HashMap<>(ClusterOperatorConfigTest.envVars);
+        ClusterOperatorConfig config = ClusterOperatorConfig.fromMap(envVars, KafkaVersionTestUtils.getKafkaVersionLookup());
+        assertThat(config.getCertManagerType(), is(CertManagerType.OPENSSL));
+
+        envVars.put(ClusterOperatorConfig.STRIMZI_CERT_MANAGER, "BouncyCastle");
+        config = ClusterOperatorConfig.fromMap(envVars, KafkaVersionTestUtils.getKafkaVersionLookup());
+        assertThat(config.getCertManagerType(), is(CertManagerType.BOUNCYCASTLE));
+
+        envVars.put(ClusterOperatorConfig.STRIMZI_CERT_MANAGER, "libressl");
+        assertThrows(InvalidConfigurationException.class, () -> ClusterOperatorConfig.fromMap(envVars, KafkaVersionTestUtils.getKafkaVersionLookup()));
+    }
+
+    @Test
+    public void testKafkaRollingMaxBatchSizeEnvVar() {
+        Map<String, String> envVars = new HashMap<>(ClusterOperatorConfigTest.envVars);
+        ClusterOperatorConfig config = ClusterOperatorConfig.fromMap(envVars, KafkaVersionTestUtils.getKafkaVersionLookup());
+        assertThat(config.getKafkaRollingMaxBatchSize(), is(1));
+
+        envVars.put(ClusterOperatorConfig.STRIMZI_KAFKA_ROLLING_MAX_BATCH_SIZE, "3");
+        config = ClusterOperatorConfig.fromMap(envVars, KafkaVersionTestUtils.getKafkaVersionLookup());
+        assertThat(config.getKafkaRollingMaxBatchSize(), is(3));
+
+        envVars.put(ClusterOperatorConfig.STRIMZI_KAFKA_ROLLING_MAX_BATCH_SIZE, "0");
+        assertThrows(InvalidConfigurationException.class, () -> ClusterOperatorConfig.fromMap(envVars, KafkaVersionTestUtils.getKafkaVersionLookup()));
+
+        envVars.put(ClusterOperatorConfig.STRIMZI_KAFKA_ROLLING_MAX_BATCH_SIZE, "many");
+        assertThrows(InvalidConfigurationException.class, () -> ClusterOperatorConfig.fromMap(envVars, KafkaVersionTestUtils.getKafkaVersionLookup()));
+    }
+
+    @Test
+    public void testDesiredResourceCacheSizeEnvVar() {
+        Map<String, String> envVars = new HashMap<>(ClusterOperatorConfigTest.envVars);
+        ClusterOperatorConfig config = ClusterOperatorConfig.fromMap(envVars, KafkaVersionTestUtils.getKafkaVersionLookup());
+        assertThat(config.getDesiredResourceCacheSize(), is(0));
+
+        envVars.put(ClusterOperatorConfig.STRIMZI_DESIRED_RESOURCE_CACHE_SIZE, "100");
+        config = ClusterOperatorConfig.fromMap(envVars, KafkaVersionTestUtils.getKafkaVersionLookup());
+        assertThat(config.getDesiredResourceCacheSize(), is(100));
+
+        envVars.put(ClusterOperatorConfig.STRIMZI_DESIRED_RESOURCE_CACHE_SIZE, "-1");
+        assertThrows(InvalidConfigurationException.class, () -> ClusterOperatorConfig.fromMap(envVars, KafkaVersionTestUtils.getKafkaVersionLookup()));
+
+        envVars.put(ClusterOperatorConfig.STRIMZI_DESIRED_RESOURCE_CACHE_SIZE, "many");
+        assertThrows(InvalidConfigurationException.class, () -> ClusterOperatorConfig.fromMap(envVars, KafkaVersionTestUtils.getKafkaVersionLookup()));
+    }
+
+    @Test
+    public void testReconciliationQueueEnvVars() {
+        Map<String, String> envVars = new HashMap<>(ClusterOperatorConfigTest.envVars);
+        ClusterOperatorConfig config = ClusterOperatorConfig.fromMap(envVars, KafkaVersionTestUtils.getKafkaVersionLookup());
+        assertThat(config.getReconciliationQueueConfig().getMaxConcurrency(), is(0));
+        assertThat(config.getReconciliationQueueConfig().getRateLimit(), is(0.0));
+        assertThat(config.getReconciliationQueueConfig().getJitter(), is(0.0));
+
+        envVars.put(ReconciliationQueueConfig.STRIMZI_RECONCILIATION_MAX_CONCURRENCY, "10");
+        envVars.put(ReconciliationQueueConfig.STRIMZI_RECONCILIATION_RATE_LIMIT, "2.5");
+        envVars.put(ReconciliationQueueConfig.STRIMZI_FULL_RECONCILIATION_JITTER, "0.5");
+        config = ClusterOperatorConfig.fromMap(envVars, KafkaVersionTestUtils.getKafkaVersionLookup());
+        assertThat(config.getReconciliationQueueConfig().getMaxConcurrency(), is(10));
+        assertThat(config.getReconciliationQueueConfig().getRateLimit(), is(2.5));
+        assertThat(config.getReconciliationQueueConfig().getJitter(), is(0.5));
+
+        envVars.put(ReconciliationQueueConfig.STRIMZI_FULL_RECONCILIATION_JITTER, "2");
+        assertThrows(InvalidConfigurationException.class, () -> ClusterOperatorConfig.fromMap(envVars, KafkaVersionTestUtils.getKafkaVersionLookup()));
+
+        envVars.put(ReconciliationQueueConfig.STRIMZI_FULL_RECONCILIATION_JITTER, "0.5");
+        envVars.put(ReconciliationQueueConfig.STRIMZI_RECONCILIATION_MAX_CONCURRENCY, "many");
+        assertThrows(InvalidConfigurationException.class, () -> ClusterOperatorConfig.fromMap(envVars, KafkaVersionTestUtils.getKafkaVersionLookup()));
+    }
+
     @Test
     public void testListOfNamespaces() {
         Map<String, String> envVars = new HashMap<>(ClusterOperatorConfigTest.envVars);
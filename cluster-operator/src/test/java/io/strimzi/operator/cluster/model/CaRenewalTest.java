@@ -12,24 +12,35 @@ import io.vertx.junit5.VertxExtension;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 
-import java.io.File;
 import java.io.IOException;
 import java.security.cert.X509Certificate;
+import java.util.ArrayList;
 import java.util.Base64;
 import java.util.Map;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 
+import static java.util.Arrays.asList;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
 
 @ExtendWith(VertxExtension.class)
 public class CaRenewalTest {
+
+    /**
+     * @return A subject whose CN is the given index, so that the generated certificates
+     * can be told apart whatever the order they are generated in.
+     */
+    private static Subject subject(int index) {
+        Subject subject = new Subject();
+        subject.setCommonName(String.valueOf(index));
+        return subject;
+    }
+
     @Test
     public void renewalOfStatefulSetCertificatesWithNullSecret() throws IOException {
         Ca mockedCa = new Ca(null, null, null, null, null, null, null, 2, 1, true, null) {
-            private AtomicInteger invocationCount = new AtomicInteger(0);
-
             @Override
             public boolean certRenewed() {
                 return false;
@@ -41,9 +52,8 @@ public class CaRenewalTest {
             }
 
             @Override
-            protected CertAndKey generateSignedCert(Subject subject,
-                                                    File csrFile, File keyFile, File certFile, File keyStoreFile) throws IOException {
-                int index = invocationCount.getAndIncrement();
+            protected CertAndKey generateSignedCert(Subject subject) throws IOException {
+                String index = subject.commonName();
 
                 return new CertAndKey(
                         ("new-key" + index).getBytes(),
@@ -56,7 +66,7 @@ public class CaRenewalTest {
         };
 
         int replicas = 3;
-        Function<Integer, Subject> subjectFn = i -> new Subject();
+        Function<Integer, Subject> subjectFn = CaRenewalTest::subject;
         Function<Integer, String> podNameFn = i -> "pod" + i;
         boolean isMaintenanceTimeWindowsSatisfied = true;
 
@@ -85,8 +95,6 @@ public class CaRenewalTest {
     @Test
     public void renewalOfStatefulSetCertificatesWithCaRenewal() throws IOException {
         Ca mockedCa = new Ca(null, null, null, null, null, null, null, 2, 1, true, null) {
-            private AtomicInteger invocationCount = new AtomicInteger(0);
-
             @Override
             public boolean certRenewed() {
                 return true;
@@ -98,9 +106,8 @@ public class CaRenewalTest {
             }
 
             @Override
-            protected CertAndKey generateSignedCert(Subject subject,
-                                                    File csrFile, File keyFile, File certFile, File keyStoreFile) throws IOException {
-                int index = invocationCount.getAndIncrement();
+            protected CertAndKey generateSignedCert(Subject subject) throws IOException {
+                String index = subject.commonName();
 
                 return new CertAndKey(
                         ("new-key" + index).getBytes(),
@@ -131,7 +138,7 @@ public class CaRenewalTest {
                 .build();
 
         int replicas = 3;
-        Function<Integer, Subject> subjectFn = i -> new Subject();
+        Function<Integer, Subject> subjectFn = CaRenewalTest::subject;
         Function<Integer, String> podNameFn = i -> "pod" + i;
         boolean isMaintenanceTimeWindowsSatisfied = true;
 
@@ -160,8 +167,6 @@ public class CaRenewalTest {
     @Test
     public void renewalOfStatefulSetCertificatesDelayedRenewalInWindow() throws IOException {
         Ca mockedCa = new Ca(null, null, null, null, null, null, null, 2, 1, true, null) {
-            private AtomicInteger invocationCount = new AtomicInteger(0);
-
             @Override
             public boolean certRenewed() {
                 return false;
@@ -183,9 +188,8 @@ public class CaRenewalTest {
             }
 
             @Override
-            protected CertAndKey generateSignedCert(Subject subject,
-                                                    File csrFile, File keyFile, File certFile, File keyStoreFile) throws IOException {
-                int index = invocationCount.getAndIncrement();
+            protected CertAndKey generateSignedCert(Subject subject) throws IOException {
+                String index = subject.commonName();
 
                 return new CertAndKey(
                         ("new-key" + index).getBytes(),
@@ -216,7 +220,7 @@ public class CaRenewalTest {
                 .build();
 
         int replicas = 3;
-        Function<Integer, Subject> subjectFn = i -> new Subject();
+        Function<Integer, Subject> subjectFn = CaRenewalTest::subject;
         Function<Integer, String> podNameFn = i -> "pod" + i;
         boolean isMaintenanceTimeWindowsSatisfied = true;
 
@@ -245,8 +249,6 @@ public class CaRenewalTest {
     @Test
     public void renewalOfStatefulSetCertificatesDelayedRenewalOutsideWindow() throws IOException {
         Ca mockedCa = new Ca(null, null, null, null, null, null, null, 2, 1, true, null) {
-            private AtomicInteger invocationCount = new AtomicInteger(0);
-
             @Override
             public boolean certRenewed() {
                 return false;
@@ -268,9 +270,8 @@ public class CaRenewalTest {
             }
 
             @Override
-            protected CertAndKey generateSignedCert(Subject subject,
-                                                    File csrFile, File keyFile, File certFile, File keyStoreFile) throws IOException {
-                int index = invocationCount.getAndIncrement();
+            protected CertAndKey generateSignedCert(Subject subject) throws IOException {
+                String index = subject.commonName();
 
                 return new CertAndKey(
                         ("new-key" + index).getBytes(),
@@ -301,7 +302,7 @@ public class CaRenewalTest {
                 .build();
 
         int replicas = 3;
-        Function<Integer, Subject> subjectFn = i -> new Subject();
+        Function<Integer, Subject> subjectFn = CaRenewalTest::subject;
         Function<Integer, String> podNameFn = i -> "pod" + i;
         boolean isMaintenanceTimeWindowsSatisfied = false;
 
@@ -326,4 +327,37 @@ public class CaRenewalTest {
         assertThat(new String(newCerts.get("pod2").keyStore()), is("old-keystore"));
         assertThat(newCerts.get("pod2").storePassword(), is("old-password"));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void certificatesAreGeneratedConcurrentlyAndReturnedInReplicaOrder() throws IOException {
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        Ca mockedCa = new Ca(null, null, null, null, null, null, null, 2, 1, true, null) {
+            @Override
+            public boolean certRenewed() {
+                return false;
+            }
+
+            @Override
+            protected CertAndKey generateSignedCert(Subject subject) throws IOException {
+                threads.add(Thread.currentThread().getName());
+                try {
+                    // the last replicas complete first
+                    Thread.sleep(100 - 10 * Integer.parseInt(subject.commonName()));
+                } catch (InterruptedException e) {
+                    throw new IOException(e);
+                }
+                return new CertAndKey(("new-key" + subject.commonName()).getBytes(), ("new-cert" + subject.commonName()).getBytes(),
+                        null, null, null);
+            }
+        };
+
+        int replicas = 6;
+        Map<String, CertAndKey> newCerts = mockedCa.maybeCopyOrGenerateCerts(replicas, CaRenewalTest::subject, null, i -> "pod" + i, true);
+
+        assertThat(new ArrayList<>(newCerts.keySet()), is(asList("pod0", "pod1", "pod2", "pod3", "pod4", "pod5")));
+        for (int i = 0; i < replicas; i++) {
+            assertThat(new String(newCerts.get("pod" + i).cert()), is("new-cert" + i));
+        }
+        assertThat(threads.size(), is(Math.min(replicas, Runtime.getRuntime().availableProcessors())));
+    }
+}
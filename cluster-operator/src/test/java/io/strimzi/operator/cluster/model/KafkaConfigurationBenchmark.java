@@ -0,0 +1,125 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.operator.cluster.model;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.strimzi.kafka.config.model.ConfigModel;
+import io.strimzi.kafka.config.model.ConfigModels;
+import io.strimzi.operator.cluster.KafkaVersionTestUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the validation of a 200 key broker configuration against the config model of the default Kafka version.
+ * {@code validateReadingModel} repeats what {@link KafkaConfiguration#validate(KafkaVersion)} did before the config
+ * models were cached and precompiled, for comparison.
+ *
+ * Run it with
+ * {@code mvn test-compile exec:java -pl cluster-operator -Dexec.classpathScope=test -Dexec.mainClass=io.strimzi.operator.cluster.model.KafkaConfigurationBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class KafkaConfigurationBenchmark {
+
+    private static final int NUM_CONFIGS = 200;
+
+    private KafkaVersion kafkaVersion;
+    private KafkaConfiguration configuration;
+
+    @Setup
+    public void setup() throws IOException {
+        kafkaVersion = KafkaVersionTestUtils.getKafkaVersionLookup().defaultVersion();
+        // Use the configs in name order, so every run validates the same ones
+        Map<String, ConfigModel> models = new TreeMap<>(readConfigModel(kafkaVersion).getConfigs());
+        Map<String, Object> config = new LinkedHashMap<>();
+        for (Map.Entry<String, ConfigModel> entry : models.entrySet()) {
+            if (config.size() == NUM_CONFIGS) {
+                break;
+            }
+            config.put(entry.getKey(), sampleValue(entry.getValue()));
+        }
+        configuration = new KafkaConfiguration(config.entrySet());
+    }
+
+    private static ConfigModels readConfigModel(KafkaVersion kafkaVersion) throws IOException {
+        try (InputStream in = KafkaConfigurationBenchmark.class.getResourceAsStream("/kafka-" + kafkaVersion.version() + "-config-model.json")) {
+            return new ObjectMapper().readValue(in, ConfigModels.class);
+        }
+    }
+
+    private static Object sampleValue(ConfigModel model) {
+        switch (model.getType()) {
+            case BOOLEAN:
+                return true;
+            case SHORT:
+            case INT:
+            case LONG:
+            case DOUBLE:
+                return model.getMinimum() != null ? model.getMinimum() : 1;
+            case LIST:
+                return model.getItems() != null ? String.join(",", model.getItems()) : "a,b";
+            case STRING:
+                return model.getValues() != null ? model.getValues().get(0) : "value";
+            default:
+                return "value";
+        }
+    }
+
+    @Benchmark
+    public List<String> validate() {
+        return configuration.validate(kafkaVersion);
+    }
+
+    @Benchmark
+    public List<String> validateReadingModel() throws IOException {
+        Map<String, ConfigModel> models = readConfigModel(kafkaVersion).getConfigs();
+        List<String> errors = new ArrayList<>();
+        for (Map.Entry<String, String> entry : configuration.asOrderedProperties().asMap().entrySet()) {
+            ConfigModel model = models.get(entry.getKey());
+            if (model != null) {
+                errors.addAll(model.validate(entry.getKey(), entry.getValue()));
+            }
+        }
+        return errors;
+    }
+
+    @Benchmark
+    public void scopes(Blackhole blackhole) {
+        blackhole.consume(configuration.readOnlyConfigs(kafkaVersion));
+        blackhole.consume(configuration.clusterWideConfigs(kafkaVersion));
+        blackhole.consume(configuration.perBrokerConfigs(kafkaVersion));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(KafkaConfigurationBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
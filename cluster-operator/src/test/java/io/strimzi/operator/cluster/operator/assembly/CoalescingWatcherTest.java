@@ -0,0 +1,90 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.operator.cluster.operator.assembly;
+
+import io.fabric8.kubernetes.client.KubernetesClientException;
+import io.fabric8.kubernetes.client.Watcher;
+import io.strimzi.api.kafka.model.KafkaConnector;
+import io.strimzi.api.kafka.model.KafkaConnectorBuilder;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.Arrays.asList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+public class CoalescingWatcherTest {
+
+    private static KafkaConnector connector(String name, int tasksMax) {
+        return new KafkaConnectorBuilder()
+                .withNewMetadata()
+                    .withNamespace("ns")
+                    .withName(name)
+                .endMetadata()
+                .withNewSpec()
+                    .withTasksMax(tasksMax)
+                .endSpec()
+                .build();
+    }
+
+    @Test
+    public void testEventsOfAResourceAreCoalesced() {
+        List<String> handled = new ArrayList<>();
+        List<Promise<Void>> pending = new ArrayList<>();
+        CoalescingWatcher<KafkaConnector> watcher = new CoalescingWatcher<>((action, connector) -> {
+            handled.add(action + " " + connector.getMetadata().getName() + " " + connector.getSpec().getTasksMax());
+            Promise<Void> promise = Promise.promise();
+            pending.add(promise);
+            return promise.future();
+        }, e -> { });
+
+        watcher.eventReceived(Watcher.Action.ADDED, connector("a", 1));
+        watcher.eventReceived(Watcher.Action.MODIFIED, connector("a", 2));
+        watcher.eventReceived(Watcher.Action.MODIFIED, connector("a", 3));
+        // Events of other resources are not held back
+        watcher.eventReceived(Watcher.Action.ADDED, connector("b", 1));
+        assertThat(handled, is(asList("ADDED a 1", "ADDED b 1")));
+
+        // Only the latest of the held back events is handled
+        pending.get(0).fail("Failed");
+        assertThat(handled, is(asList("ADDED a 1", "ADDED b 1", "MODIFIED a 3")));
+
+        pending.get(2).complete();
+        pending.get(1).complete();
+        watcher.eventReceived(Watcher.Action.DELETED, connector("a", 3));
+        assertThat(handled, is(asList("ADDED a 1", "ADDED b 1", "MODIFIED a 3", "DELETED a 3")));
+    }
+
+    @Test
+    public void testHandlerExceptionDoesNotBlockLaterEvents() {
+        List<String> handled = new ArrayList<>();
+        CoalescingWatcher<KafkaConnector> watcher = new CoalescingWatcher<>((action, connector) -> {
+            handled.add(action.toString());
+            if (action == Watcher.Action.ADDED) {
+                throw new RuntimeException("Failed");
+            }
+            return Future.succeededFuture();
+        }, e -> { });
+
+        watcher.eventReceived(Watcher.Action.ADDED, connector("a", 1));
+        watcher.eventReceived(Watcher.Action.MODIFIED, connector("a", 2));
+        assertThat(handled, is(asList("ADDED", "MODIFIED")));
+    }
+
+    @Test
+    public void testCloseIsPassedOn() {
+        List<KubernetesClientException> closes = new ArrayList<>();
+        CoalescingWatcher<KafkaConnector> watcher = new CoalescingWatcher<>((action, connector) -> Future.succeededFuture(), closes::add);
+
+        KubernetesClientException exception = new KubernetesClientException("Gone");
+        watcher.onClose(exception);
+        watcher.onClose(null);
+        assertThat(closes, is(asList(exception, null)));
+    }
+}
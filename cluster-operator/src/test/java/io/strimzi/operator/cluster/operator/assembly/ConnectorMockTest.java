@@ -33,7 +33,9 @@ import io.strimzi.test.mockkube.MockKube;
 import io.vertx.core.AsyncResult;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
+import io.vertx.core.Promise;
 import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
 import io.vertx.junit5.VertxExtension;
 import io.vertx.junit5.VertxTestContext;
 import org.junit.jupiter.api.AfterEach;
@@ -49,6 +51,7 @@ import java.util.Objects;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Predicate;
 
 import static io.strimzi.test.TestUtils.map;
@@ -66,8 +69,10 @@ import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -80,6 +85,7 @@ public class ConnectorMockTest {
     private KubernetesClient client;
     private KafkaConnectApi api;
     private HashMap<String, Boolean> runningConnectors;
+    private HashMap<String, Map<String, Map<String, String>>> connectorConfigs;
     private KafkaConnectS2IAssemblyOperator kafkaConnectS2iOperator;
     private KafkaConnectAssemblyOperator kafkaConnectOperator;
 
@@ -100,16 +106,34 @@ public class ConnectorMockTest {
 
         api = mock(KafkaConnectApi.class);
         runningConnectors = new HashMap<>();
+        connectorConfigs = new HashMap<>();
         when(api.list(any(), anyInt())).thenAnswer(i -> {
             return Future.succeededFuture(new ArrayList<>(runningConnectors.keySet()));
         });
+        when(api.listConfigs(any(), anyInt())).thenAnswer(invocation -> {
+            String host = invocation.getArgument(0);
+            return Future.succeededFuture(new HashMap<>(connectorConfigs.getOrDefault(host, emptyMap())));
+        });
+        when(api.getConnectorConfig(any(), anyInt(), anyString())).thenAnswer(invocation -> {
+            String host = invocation.getArgument(0);
+            String connectorName = invocation.getArgument(2);
+            return Future.succeededFuture(connectorConfigs.getOrDefault(host, emptyMap()).get(connectorName));
+        });
         when(api.createOrUpdatePutRequest(any(), anyInt(), anyString(), any())).thenAnswer(invocation -> {
+            String host = invocation.getArgument(0);
             String connectorName = invocation.getArgument(2);
+            JsonObject config = invocation.getArgument(3);
+            Map<String, String> appliedConfig = new HashMap<>();
+            config.forEach(entry -> appliedConfig.put(entry.getKey(), entry.getValue() == null ? null : String.valueOf(entry.getValue())));
+            appliedConfig.put("name", connectorName);
+            connectorConfigs.computeIfAbsent(host, h -> new HashMap<>()).put(connectorName, appliedConfig);
             runningConnectors.putIfAbsent(connectorName, false);
             return Future.succeededFuture();
         });
         when(api.delete(any(), anyInt(), anyString())).thenAnswer(invocation -> {
+            String host = invocation.getArgument(0);
             String connectorName = invocation.getArgument(2);
+            connectorConfigs.getOrDefault(host, new HashMap<>()).remove(connectorName);
             Boolean remove = runningConnectors.remove(connectorName);
             return remove != null ? Future.succeededFuture() : Future.failedFuture("No such connector " + connectorName);
         });
@@ -428,7 +452,7 @@ public class ConnectorMockTest {
         waitForConnectReady(connectName);
 
         // triggered twice (creation+status update)
-        verify(api, atLeastOnce()).list(
+        verify(api, atLeastOnce()).listConfigs(
                 eq(KafkaConnectResources.serviceName(connectName)), eq(KafkaConnectCluster.REST_API_PORT));
         verify(api, never()).createOrUpdatePutRequest(
                 eq(KafkaConnectResources.serviceName(connectName)), eq(KafkaConnectCluster.REST_API_PORT),
@@ -445,7 +469,7 @@ public class ConnectorMockTest {
             .done();
         waitForConnectorReady(connectorName);
 
-        verify(api, atLeastOnce()).list(
+        verify(api, atLeastOnce()).listConfigs(
                 eq(KafkaConnectResources.serviceName(connectName)), eq(KafkaConnectCluster.REST_API_PORT));
         verify(api, atLeastOnce()).createOrUpdatePutRequest(
                 eq(KafkaConnectResources.serviceName(connectName)), eq(KafkaConnectCluster.REST_API_PORT),
@@ -483,7 +507,7 @@ public class ConnectorMockTest {
         waitForConnectorNotReady(connectorName, "NoSuchResourceException",
             "KafkaConnect resource 'cluster' identified by label 'strimzi.io/cluster' does not exist in namespace ns.");
 
-        verify(api, never()).list(
+        verify(api, never()).listConfigs(
                 eq(KafkaConnectResources.serviceName(connectName)), eq(KafkaConnectCluster.REST_API_PORT));
         verify(api, never()).createOrUpdatePutRequest(
                 eq(KafkaConnectResources.serviceName(connectName)), eq(KafkaConnectCluster.REST_API_PORT),
@@ -502,7 +526,7 @@ public class ConnectorMockTest {
                 .done();
         waitForConnectReady(connectName);
         // (connect crt, connector status, connect status)
-        verify(api, atLeastOnce()).list(
+        verify(api, atLeastOnce()).listConfigs(
                 eq(KafkaConnectResources.serviceName(connectName)), eq(KafkaConnectCluster.REST_API_PORT));
         verify(api, atLeastOnce()).createOrUpdatePutRequest(
                 eq(KafkaConnectResources.serviceName(connectName)), eq(KafkaConnectCluster.REST_API_PORT),
@@ -539,7 +563,7 @@ public class ConnectorMockTest {
                 .done();
         waitForConnectReady(connectName);
 
-        verify(api, atLeastOnce()).list(
+        verify(api, atLeastOnce()).listConfigs(
                 eq(KafkaConnectResources.serviceName(connectName)), eq(KafkaConnectCluster.REST_API_PORT));
         verify(api, never()).createOrUpdatePutRequest(
                 eq(KafkaConnectResources.serviceName(connectName)), eq(KafkaConnectCluster.REST_API_PORT),
@@ -557,7 +581,7 @@ public class ConnectorMockTest {
                 .done();
         waitForConnectorReady(connectorName);
 
-        verify(api, atLeastOnce()).list(
+        verify(api, atLeastOnce()).listConfigs(
                 eq(KafkaConnectResources.serviceName(connectName)), eq(KafkaConnectCluster.REST_API_PORT));
         verify(api, atLeastOnce()).createOrUpdatePutRequest(
                 eq(KafkaConnectResources.serviceName(connectName)), eq(KafkaConnectCluster.REST_API_PORT),
@@ -593,7 +617,7 @@ public class ConnectorMockTest {
         waitForConnectorNotReady(connectorName, "NoSuchResourceException",
                 "KafkaConnect resource 'cluster' identified by label 'strimzi.io/cluster' does not exist in namespace ns.");
 
-        verify(api, never()).list(
+        verify(api, never()).listConfigs(
                 eq(KafkaConnectResources.serviceName(connectName)), eq(KafkaConnectCluster.REST_API_PORT));
         verify(api, never()).createOrUpdatePutRequest(
                 eq(KafkaConnectResources.serviceName(connectName)), eq(KafkaConnectCluster.REST_API_PORT),
@@ -612,7 +636,7 @@ public class ConnectorMockTest {
                 .done();
         waitForConnectReady(connectName);
 
-        verify(api, atLeastOnce()).list(
+        verify(api, atLeastOnce()).listConfigs(
                 eq(KafkaConnectResources.serviceName(connectName)), eq(KafkaConnectCluster.REST_API_PORT));
         verify(api, atLeastOnce()).createOrUpdatePutRequest(
                 eq(KafkaConnectResources.serviceName(connectName)), eq(KafkaConnectCluster.REST_API_PORT),
@@ -707,9 +731,9 @@ public class ConnectorMockTest {
     /** Create connect, create connector, delete connector, delete connect */
     @Test
     public void testExceptionFromRestApi() {
-        when(api.createOrUpdatePutRequest(any(), anyInt(), anyString(), any())).thenAnswer(invocation -> {
+        doAnswer(invocation -> {
             return Future.failedFuture(new ConnectRestException("GET", "/foo", 500, "Internal server error", "Bad stuff happened"));
-        });
+        }).when(api).createOrUpdatePutRequest(any(), anyInt(), anyString(), any());
         String connectName = "cluster";
         String connectorName = "connector";
 
@@ -726,7 +750,7 @@ public class ConnectorMockTest {
         waitForConnectReady(connectName);
 
         // triggered twice (creation+status update)
-        verify(api, atLeastOnce()).list(
+        verify(api, atLeastOnce()).listConfigs(
                 eq(KafkaConnectResources.serviceName(connectName)), eq(KafkaConnectCluster.REST_API_PORT));
         verify(api, never()).createOrUpdatePutRequest(
                 eq(KafkaConnectResources.serviceName(connectName)), eq(KafkaConnectCluster.REST_API_PORT),
@@ -744,7 +768,7 @@ public class ConnectorMockTest {
         waitForConnectorNotReady(connectorName,
                 "ConnectRestException", "GET /foo returned 500 (Internal server error): Bad stuff happened");
 
-        verify(api, atLeastOnce()).list(
+        verify(api, atLeastOnce()).listConfigs(
                 eq(KafkaConnectResources.serviceName(connectName)), eq(KafkaConnectCluster.REST_API_PORT));
         verify(api, atLeastOnce()).createOrUpdatePutRequest(
                 eq(KafkaConnectResources.serviceName(connectName)), eq(KafkaConnectCluster.REST_API_PORT),
@@ -771,7 +795,7 @@ public class ConnectorMockTest {
         waitForConnectReady(connectName);
 
         // triggered twice (creation+status update)
-        verify(api, atLeastOnce()).list(
+        verify(api, atLeastOnce()).listConfigs(
                 eq(KafkaConnectResources.serviceName(connectName)), eq(KafkaConnectCluster.REST_API_PORT));
         verify(api, never()).createOrUpdatePutRequest(
                 eq(KafkaConnectResources.serviceName(connectName)), eq(KafkaConnectCluster.REST_API_PORT),
@@ -789,7 +813,7 @@ public class ConnectorMockTest {
         waitForConnectorReady(connectorName);
         waitForConnectorState(connectorName, "RUNNING");
 
-        verify(api, atLeastOnce()).list(
+        verify(api, atLeastOnce()).listConfigs(
                 eq(KafkaConnectResources.serviceName(connectName)), eq(KafkaConnectCluster.REST_API_PORT));
         verify(api, atLeastOnce()).createOrUpdatePutRequest(
                 eq(KafkaConnectResources.serviceName(connectName)), eq(KafkaConnectCluster.REST_API_PORT),
@@ -834,4 +858,140 @@ public class ConnectorMockTest {
                 eq(connectorName));
     }
 
+    /** Create connect, create connector, reconcile connect, change connector config */
+    @Test
+    public void testConnectorConfigOnlyPutWhenChanged() throws InterruptedException {
+        String connectName = "cluster";
+        String connectorName = "connector";
+
+        // Create KafkaConnect cluster and wait till it's ready
+        Crds.kafkaConnectOperation(client).inNamespace(NAMESPACE).createNew()
+                .withNewMetadata()
+                .withNamespace(NAMESPACE)
+                .withName(connectName)
+                .addToAnnotations("strimzi.io/use-connector-resources", "true")
+                .endMetadata()
+                .withNewSpec()
+                .endSpec()
+                .done();
+        waitForConnectReady(connectName);
+
+        // Create KafkaConnector and wait till it's ready
+        Crds.kafkaConnectorOperation(client).inNamespace(NAMESPACE).createNew()
+                .withNewMetadata()
+                .withName(connectorName)
+                .addToLabels(Labels.STRIMZI_CLUSTER_LABEL, connectName)
+                .endMetadata()
+                .withNewSpec()
+                .withClassName("io.strimzi.TestConnector")
+                .withTasksMax(1)
+                .endSpec()
+                .done();
+        waitForConnectorReady(connectorName);
+
+        verify(api, times(1)).createOrUpdatePutRequest(
+                eq(KafkaConnectResources.serviceName(connectName)), eq(KafkaConnectCluster.REST_API_PORT),
+                eq(connectorName), any());
+
+        // Reconciling the unchanged connector does not update its config
+        CountDownLatch async = new CountDownLatch(1);
+        kafkaConnectOperator.reconcile(new Reconciliation("test", "KafkaConnect", NAMESPACE, connectName)).setHandler(ar -> {
+            async.countDown();
+        });
+        async.await(30, TimeUnit.SECONDS);
+        verify(api, atLeastOnce()).listConfigs(
+                eq(KafkaConnectResources.serviceName(connectName)), eq(KafkaConnectCluster.REST_API_PORT));
+        verify(api, times(1)).createOrUpdatePutRequest(
+                eq(KafkaConnectResources.serviceName(connectName)), eq(KafkaConnectCluster.REST_API_PORT),
+                eq(connectorName), any());
+
+        // Changing the connector config updates it
+        Crds.kafkaConnectorOperation(client).inNamespace(NAMESPACE).withName(connectorName).edit()
+                .editSpec()
+                .withTasksMax(2)
+                .endSpec()
+                .done();
+        waitFor("connector config update", 1_000, 30_000, () -> {
+            return "2".equals(connectorConfigs.get(KafkaConnectResources.serviceName(connectName)).get(connectorName).get("tasks.max"));
+        });
+        verify(api, times(2)).createOrUpdatePutRequest(
+                eq(KafkaConnectResources.serviceName(connectName)), eq(KafkaConnectCluster.REST_API_PORT),
+                eq(connectorName), any());
+    }
+
+    /** Create connect, create connector, reconcile connect while connector events are being reconciled */
+    @Test
+    public void testConnectorEventsBetweenTheListingsOfAConnectReconciliation() throws InterruptedException {
+        String connectName = "cluster";
+        String host = KafkaConnectResources.serviceName(connectName);
+
+        Crds.kafkaConnectOperation(client).inNamespace(NAMESPACE).createNew()
+                .withNewMetadata()
+                .withNamespace(NAMESPACE)
+                .withName(connectName)
+                .addToAnnotations("strimzi.io/use-connector-resources", "true")
+                .endMetadata()
+                .withNewSpec()
+                .endSpec()
+                .done();
+        waitForConnectReady(connectName);
+
+        Crds.kafkaConnectorOperation(client).inNamespace(NAMESPACE).createNew()
+                .withNewMetadata()
+                .withName("changed")
+                .addToLabels(Labels.STRIMZI_CLUSTER_LABEL, connectName)
+                .endMetadata()
+                .withNewSpec()
+                .withClassName("io.strimzi.TestConnector")
+                .withTasksMax(1)
+                .endSpec()
+                .done();
+        waitForConnectorReady("changed");
+
+        // The KafkaConnectors are listed concurrently with the connectors of Kafka Connect.
+        // Delay the latter until events have changed one KafkaConnector and created another, and have been reconciled.
+        AtomicBoolean interleaved = new AtomicBoolean();
+        doAnswer(invocation -> {
+            Promise<Map<String, Map<String, String>>> listed = Promise.promise();
+            if (interleaved.getAndSet(true)) {
+                listed.complete(new HashMap<>(connectorConfigs.getOrDefault(host, emptyMap())));
+                return listed.future();
+            }
+            vertx.setTimer(500, timer -> vertx.executeBlocking(future -> {
+                Crds.kafkaConnectorOperation(client).inNamespace(NAMESPACE).withName("changed").edit()
+                        .editSpec()
+                        .withTasksMax(2)
+                        .endSpec()
+                        .done();
+                Crds.kafkaConnectorOperation(client).inNamespace(NAMESPACE).createNew()
+                        .withNewMetadata()
+                        .withName("created")
+                        .addToLabels(Labels.STRIMZI_CLUSTER_LABEL, connectName)
+                        .endMetadata()
+                        .withNewSpec()
+                        .withClassName("io.strimzi.TestConnector")
+                        .withTasksMax(1)
+                        .endSpec()
+                        .done();
+                waitFor("connector events", 100, 30_000, () -> {
+                    Map<String, Map<String, String>> configs = connectorConfigs.get(host);
+                    return configs.containsKey("created") && "2".equals(configs.get("changed").get("tasks.max"));
+                });
+                future.complete();
+            }, false, ar -> listed.complete(new HashMap<>(connectorConfigs.getOrDefault(host, emptyMap())))));
+            return listed.future();
+        }).when(api).listConfigs(any(), anyInt());
+
+        CountDownLatch async = new CountDownLatch(1);
+        kafkaConnectOperator.reconcile(new Reconciliation("test", "KafkaConnect", NAMESPACE, connectName)).setHandler(ar -> {
+            async.countDown();
+        });
+        async.await(60, TimeUnit.SECONDS);
+
+        // The reconciliation neither deleted the new connector nor reverted the changed one
+        assertEquals(set("changed", "created"), runningConnectors.keySet());
+        assertEquals("2", connectorConfigs.get(host).get("changed").get("tasks.max"));
+        verify(api, never()).delete(eq(host), eq(KafkaConnectCluster.REST_API_PORT), eq("created"));
+    }
+
 }
@@ -0,0 +1,167 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.operator.cluster.operator.assembly;
+
+import io.fabric8.kubernetes.api.model.apps.StatefulSet;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.strimzi.api.kafka.model.Kafka;
+import io.strimzi.api.kafka.model.KafkaBuilder;
+import io.strimzi.operator.cluster.KafkaVersionTestUtils;
+import io.strimzi.operator.cluster.ResourceUtils;
+import io.strimzi.operator.cluster.model.KafkaCluster;
+import io.strimzi.operator.common.MicrometerMetricsProvider;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class DesiredResourceCacheTest {
+
+    private MeterRegistry registry;
+    private AtomicInteger generated;
+
+    @BeforeEach
+    public void before() {
+        registry = new SimpleMeterRegistry();
+        generated = new AtomicInteger();
+    }
+
+    private DesiredResourceCache cache(int maxSize) {
+        return new DesiredResourceCache(Kafka.RESOURCE_KIND, maxSize, new MicrometerMetricsProvider(registry));
+    }
+
+    private static Kafka kafka(String name, Long generation) {
+        return new KafkaBuilder(ResourceUtils.createKafkaCluster("my-namespace", name, 3, "image", 120, 30))
+                .editMetadata()
+                    .withUid("uid-" + name)
+                    .withGeneration(generation)
+                .endMetadata()
+                .build();
+    }
+
+    private StatefulSet statefulSet(DesiredResourceCache cache, Kafka kafka, Object input) {
+        return cache.statefulSet(kafka, "kafka-statefulset", singletonList(input), () -> {
+            generated.incrementAndGet();
+            return KafkaCluster.fromCrd(kafka, KafkaVersionTestUtils.getKafkaVersionLookup()).generateStatefulSet(false, null, null);
+        });
+    }
+
+    private double counter(String name) {
+        return registry.find("strimzi." + name).tag("kind", Kafka.RESOURCE_KIND).counter().count();
+    }
+
+    @Test
+    public void testUnchangedResourceIsReusedAsACopy() {
+        DesiredResourceCache cache = cache(10);
+        Kafka kafka = kafka("my-cluster", 1L);
+
+        StatefulSet first = statefulSet(cache, kafka, "input");
+        first.getSpec().getTemplate().getMetadata().getAnnotations().put("modified", "true");
+        StatefulSet second = statefulSet(cache, kafka, "input");
+        StatefulSet third = statefulSet(cache, kafka, "input");
+
+        assertThat(generated.get(), is(1));
+        assertThat(second, is(not(sameInstance(third))));
+        assertThat(second, is(third));
+        assertThat(second.getSpec().getTemplate().getMetadata().getAnnotations().get("modified"), is(nullValue()));
+        assertThat(counter("desired.resources.cache.hits"), is(2.0));
+        assertThat(counter("desired.resources.cache.misses"), is(1.0));
+    }
+
+    @Test
+    public void testResourceIsRegeneratedWhenTheCustomResourceChanges() {
+        DesiredResourceCache cache = cache(10);
+
+        statefulSet(cache, kafka("my-cluster", 1L), "input");
+        StatefulSet scaled = statefulSet(cache, new KafkaBuilder(kafka("my-cluster", 2L))
+                .editSpec().editKafka().withReplicas(5).endKafka().endSpec().build(), "input");
+        assertThat(generated.get(), is(2));
+        assertThat(scaled.getSpec().getReplicas(), is(5));
+
+        Kafka relabelled = new KafkaBuilder(kafka("my-cluster", 2L))
+                .editMetadata().addToLabels("new-label", "value").endMetadata().build();
+        statefulSet(cache, relabelled, "input");
+        assertThat(generated.get(), is(3));
+    }
+
+    @Test
+    public void testResourceIsRegeneratedWhenTheInputsChange() {
+        DesiredResourceCache cache = cache(10);
+        Kafka kafka = kafka("my-cluster", 1L);
+
+        statefulSet(cache, kafka, "input");
+        statefulSet(cache, kafka, "other-input");
+        statefulSet(cache, kafka, "other-input");
+
+        assertThat(generated.get(), is(2));
+    }
+
+    @Test
+    public void testResourcesWithoutGenerationAreNotCached() {
+        DesiredResourceCache cache = cache(10);
+        Kafka kafka = kafka("my-cluster", null);
+
+        statefulSet(cache, kafka, "input");
+        statefulSet(cache, kafka, "input");
+
+        assertThat(generated.get(), is(2));
+        assertThat(cache.size(), is(0));
+    }
+
+    @Test
+    public void testDisabledCache() {
+        DesiredResourceCache cache = cache(0);
+        Kafka kafka = kafka("my-cluster", 1L);
+
+        statefulSet(cache, kafka, "input");
+        statefulSet(cache, kafka, "input");
+
+        assertThat(generated.get(), is(2));
+        assertThat(cache.size(), is(0));
+    }
+
+    @Test
+    public void testLeastRecentlyUsedIsEvicted() {
+        DesiredResourceCache cache = cache(2);
+        Kafka kafka1 = kafka("cluster-1", 1L);
+        Kafka kafka2 = kafka("cluster-2", 1L);
+        Kafka kafka3 = kafka("cluster-3", 1L);
+
+        statefulSet(cache, kafka1, "input");
+        statefulSet(cache, kafka2, "input");
+        statefulSet(cache, kafka1, "input");
+        statefulSet(cache, kafka3, "input");
+        assertThat(cache.size(), is(2));
+        assertThat(generated.get(), is(3));
+
+        // cluster-2 was used least recently
+        statefulSet(cache, kafka1, "input");
+        assertThat(generated.get(), is(3));
+        statefulSet(cache, kafka2, "input");
+        assertThat(generated.get(), is(4));
+    }
+
+    @Test
+    public void testRemove() {
+        DesiredResourceCache cache = cache(10);
+        Kafka kafka = kafka("my-cluster", 1L);
+
+        cache.service(kafka, "kafka-service", emptyList(),
+            () -> KafkaCluster.fromCrd(kafka, KafkaVersionTestUtils.getKafkaVersionLookup()).generateService());
+        assertThat(cache.size(), is(1));
+
+        cache.remove("my-namespace", "my-cluster");
+        assertThat(cache.size(), is(0));
+    }
+}
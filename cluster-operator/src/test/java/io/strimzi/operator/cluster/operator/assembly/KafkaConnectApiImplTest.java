@@ -0,0 +1,108 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.operator.cluster.operator.assembly;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.strimzi.operator.common.MicrometerMetricsProvider;
+import io.vertx.core.CompositeFuture;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpServer;
+import io.vertx.junit5.Checkpoint;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.Collections.emptyList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ExtendWith(VertxExtension.class)
+public class KafkaConnectApiImplTest {
+
+    private Vertx vertx;
+    private HttpServer server;
+    private final AtomicInteger connections = new AtomicInteger();
+
+    @BeforeEach
+    public void before() throws InterruptedException {
+        vertx = Vertx.vertx();
+        CountDownLatch listening = new CountDownLatch(1);
+        server = vertx.createHttpServer()
+            .connectionHandler(connection -> connections.incrementAndGet())
+            .requestHandler(request -> {
+                if ("/connectors".equals(request.path())) {
+                    request.response().putHeader("Content-Type", "application/json").end("[]");
+                } else {
+                    request.response().setStatusCode(404).putHeader("Content-Type", "application/json")
+                            .end("{\"error_code\":404,\"message\":\"Connector not found\"}");
+                }
+            })
+            .listen(0, ar -> listening.countDown());
+        listening.await(10, TimeUnit.SECONDS);
+    }
+
+    @AfterEach
+    public void after() {
+        vertx.close();
+    }
+
+    @Test
+    public void testRequestsShareConnectionsAndAreTimed(VertxTestContext context) {
+        MeterRegistry registry = new SimpleMeterRegistry();
+        KafkaConnectApi client = new KafkaConnectApiImpl(vertx, new MicrometerMetricsProvider(registry));
+        int port = server.actualPort();
+
+        Future<Void> requests = Future.succeededFuture();
+        for (int i = 0; i < 10; i++) {
+            requests = requests.compose(ignored -> client.list("localhost", port))
+                .map(connectors -> {
+                    assertEquals(emptyList(), connectors);
+                    return null;
+                });
+        }
+        Checkpoint async = context.checkpoint();
+        requests.compose(ignored -> {
+            Promise<Void> failed = Promise.promise();
+            client.status("localhost", port, "missing").setHandler(ar -> failed.handle(ar.failed() ? Future.succeededFuture() : Future.failedFuture("Should have failed")));
+            return failed.future();
+        }).setHandler(context.succeeding(v -> context.verify(() -> {
+            // All the requests used the same keep-alive connection
+            assertEquals(1, connections.get());
+            assertEquals(10, registry.find("strimzi.connect.api.requests").tag("operation", "list").timer().count());
+            assertEquals(0.0, registry.find("strimzi.connect.api.errors").tag("operation", "list").counter().count());
+            assertEquals(1.0, registry.find("strimzi.connect.api.errors").tag("operation", "status").counter().count());
+            async.flag();
+        })));
+    }
+
+    @Test
+    public void testConcurrentRequestsArePooled(VertxTestContext context) {
+        KafkaConnectApi client = new KafkaConnectApiImpl(vertx);
+        int port = server.actualPort();
+
+        List<Future> requests = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            requests.add(client.list("localhost", port));
+        }
+        Checkpoint async = context.checkpoint();
+        CompositeFuture.all(requests).setHandler(context.succeeding(v -> context.verify(() -> {
+            // Requests which find all the connections busy wait for one, rather than being pipelined or opening more
+            assertTrue(connections.get() <= KafkaConnectApiImpl.MAX_CONNECTIONS);
+            async.flag();
+        })));
+    }
+}
@@ -43,7 +43,7 @@ import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
-import static java.util.Collections.emptyList;
+import static java.util.Collections.emptyMap;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.notNullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -90,11 +90,14 @@ public class KafkaConnectAssemblyOperatorMockTest {
     }
 
     @AfterEach
-    public void after() {
+    public void after() throws InterruptedException {
+        // Closing Vert.x first closes the watches of the readiness waits
+        CountDownLatch closed = new CountDownLatch(1);
+        this.vertx.close(ar -> closed.countDown());
+        closed.await(30, TimeUnit.SECONDS);
         if (mockClient != null) {
             mockClient.close();
         }
-        this.vertx.close();
     }
 
 
@@ -139,7 +142,7 @@ public class KafkaConnectAssemblyOperatorMockTest {
                 .endSpec()
             .build());
         KafkaConnectApi mock = mock(KafkaConnectApi.class);
-        when(mock.list(anyString(), anyInt())).thenReturn(Future.succeededFuture(emptyList()));
+        when(mock.listConfigs(anyString(), anyInt())).thenReturn(Future.succeededFuture(emptyMap()));
         KafkaConnectAssemblyOperator kco = createConnectCluster(context,
                 mock);
         LOGGER.info("Reconciling again -> update");
@@ -10,6 +10,7 @@ import io.vertx.junit5.VertxTestContext;
 import org.apache.kafka.clients.admin.AdminClient;
 import org.apache.kafka.clients.admin.Config;
 import org.apache.kafka.clients.admin.ConfigEntry;
+import org.apache.kafka.clients.admin.DescribeClusterResult;
 import org.apache.kafka.clients.admin.DescribeConfigsResult;
 import org.apache.kafka.clients.admin.DescribeTopicsResult;
 import org.apache.kafka.clients.admin.ListTopicsResult;
@@ -32,14 +33,19 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
+import static java.util.Arrays.asList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(VertxExtension.class)
@@ -146,6 +152,14 @@ public class KafkaAvailabilityTest {
             return this;
         }
 
+        KSB rack(String rack, int... ids) {
+            for (int id : ids) {
+                addBroker(id);
+                nodes.put(id, new Node(id, "localhost", 1234 + id, rack));
+            }
+            return this;
+        }
+
         static <T> KafkaFuture<T> failedFuture(Throwable t) {
             KafkaFutureImpl kafkaFuture = new KafkaFutureImpl();
             kafkaFuture.completeExceptionally(t);
@@ -211,6 +225,7 @@ public class KafkaAvailabilityTest {
                                     }).collect(Collectors.toList()));
                         }
                     ));
+                    tds.keySet().retainAll(topicNames);
                     when(dtr.all()).thenReturn(KafkaFuture.completedFuture(tds));
                     when(dtr.values()).thenThrow(notImplemented());
                 }
@@ -264,6 +279,10 @@ public class KafkaAvailabilityTest {
 
             mockDescribeConfigs(ac);
 
+            DescribeClusterResult dcr = mock(DescribeClusterResult.class);
+            when(dcr.nodes()).thenAnswer(invocation -> KafkaFuture.completedFuture(new ArrayList<>(nodes.values())));
+            when(ac.describeCluster()).thenReturn(dcr);
+
             return ac;
         }
     }
@@ -616,4 +635,234 @@ public class KafkaAvailabilityTest {
             });
         }
     }
+
+    private static KSB twoTopicsOnSixBrokers() {
+        return new KSB().topic("A", false)
+                .addToConfig(TopicConfig.MIN_IN_SYNC_REPLICAS_CONFIG, "2")
+                .partition(0)
+                    .replicaOn(0, 1, 2)
+                    .leader(0)
+                    .isr(0, 1, 2)
+                .endPartition()
+            .endTopic()
+            .topic("B", false)
+                .addToConfig(TopicConfig.MIN_IN_SYNC_REPLICAS_CONFIG, "2")
+                .partition(0)
+                    .replicaOn(3, 4, 5)
+                    .leader(3)
+                    .isr(3, 4, 5)
+                .endPartition()
+            .endTopic();
+    }
+
+    @Test
+    public void batchOfBrokersSharingNoPartitionAtMinIsr(VertxTestContext context) {
+        KSB ksb = twoTopicsOnSixBrokers();
+
+        KafkaAvailability kafkaAvailability = new KafkaAvailability(ksb.ac());
+
+        Checkpoint checkpoint = context.checkpoint();
+        kafkaAvailability.rollableBatch(asList(0, 1, 2, 3, 4, 5), 6).setHandler(context.succeeding(batch -> context.verify(() -> {
+            // Restarting a second broker of either topic would take it below its min.insync.replicas
+            assertEquals(new HashSet<>(asList(0, 3)), batch);
+            checkpoint.flag();
+        })));
+    }
+
+    @Test
+    public void batchOfBrokersInTheSameRack(VertxTestContext context) {
+        KSB ksb = twoTopicsOnSixBrokers()
+                .rack("a", 0, 3)
+                .rack("b", 1, 4)
+                .rack("c", 2, 5);
+
+        KafkaAvailability kafkaAvailability = new KafkaAvailability(ksb.ac());
+
+        Checkpoint checkpoint = context.checkpoint();
+        kafkaAvailability.rollableBatch(asList(1, 0, 3, 4), 6).setHandler(context.succeeding(batch -> context.verify(() -> {
+            assertEquals(new HashSet<>(asList(1, 4)), batch);
+            checkpoint.flag();
+        })));
+    }
+
+    @Test
+    public void batchIsLimitedInSizeAndExcludesBrokersWhichCannotRoll(VertxTestContext context) {
+        KSB ksb = twoTopicsOnSixBrokers()
+            .topic("C", false)
+                .addToConfig(TopicConfig.MIN_IN_SYNC_REPLICAS_CONFIG, "2")
+                .partition(0)
+                    .replicaOn(6, 7, 8)
+                    .leader(7)
+                    .isr(7, 8)
+                .endPartition()
+            .endTopic()
+            .addBroker(9, 10);
+
+        KafkaAvailability kafkaAvailability = new KafkaAvailability(ksb.ac());
+
+        Checkpoint checkpoint = context.checkpoint();
+        kafkaAvailability.rollableBatch(asList(7, 6, 0, 9, 10), 3).setHandler(context.succeeding(batch -> context.verify(() -> {
+            // Broker 7 would take C below its min.insync.replicas, broker 6 is out of sync anyway
+            assertEquals(asList(6, 0, 9), new ArrayList<>(batch));
+            checkpoint.flag();
+        })));
+    }
+
+    @Test
+    public void batchOfBrokersWithoutRackOnlyContainsBrokersWithoutRack(VertxTestContext context) {
+        KSB ksb = twoTopicsOnSixBrokers()
+                .rack("a", 1, 4);
+
+        KafkaAvailability kafkaAvailability = new KafkaAvailability(ksb.ac());
+
+        Checkpoint checkpoint = context.checkpoint();
+        kafkaAvailability.rollableBatch(asList(0, 1, 4, 3), 6).setHandler(context.succeeding(batch -> context.verify(() -> {
+            assertEquals(asList(0, 3), new ArrayList<>(batch));
+            checkpoint.flag();
+        })));
+    }
+
+    @Test
+    public void batchNeverContainsAllTheInSyncReplicasOfTopicsWithoutMinIsr(VertxTestContext context) {
+        KSB ksb = new KSB()
+            .topic("A", false)
+                .partition(0)
+                    .replicaOn(0, 1)
+                    .leader(0)
+                    .isr(0, 1)
+                .endPartition()
+            .endTopic()
+            .addBroker(2);
+
+        KafkaAvailability kafkaAvailability = new KafkaAvailability(ksb.ac());
+
+        Checkpoint checkpoint = context.checkpoint();
+        kafkaAvailability.rollableBatch(asList(0, 1, 2), 3).setHandler(context.succeeding(batch -> context.verify(() -> {
+            assertEquals(asList(0, 2), new ArrayList<>(batch));
+            checkpoint.flag();
+        })));
+    }
+
+    @Test
+    public void batchNeverTakesPartitionsBelowMinIsrEqualToTheReplicationFactor(VertxTestContext context) {
+        KSB ksb = new KSB()
+            .topic("A", false)
+                .addToConfig(TopicConfig.MIN_IN_SYNC_REPLICAS_CONFIG, "2")
+                .partition(0)
+                    .replicaOn(0, 1)
+                    .leader(0)
+                    .isr(0, 1)
+                .endPartition()
+            .endTopic()
+            .topic("B", false)
+                .addToConfig(TopicConfig.MIN_IN_SYNC_REPLICAS_CONFIG, "3")
+                .partition(0)
+                    .replicaOn(2, 3, 4)
+                    .leader(2)
+                    .isr(2, 3, 4)
+                .endPartition()
+            .endTopic()
+            .addBroker(5);
+
+        KafkaAvailability kafkaAvailability = new KafkaAvailability(ksb.ac());
+
+        Checkpoint checkpoint = context.checkpoint(3);
+        kafkaAvailability.rollableBatch(asList(5, 0, 2), 3).setHandler(context.succeeding(batch -> context.verify(() -> {
+            assertEquals(asList(5), new ArrayList<>(batch));
+            checkpoint.flag();
+        })));
+        // On their own, the brokers can still be restarted, as ever
+        kafkaAvailability.canRoll(0).setHandler(context.succeeding(canRoll -> context.verify(() -> {
+            assertTrue(canRoll);
+            checkpoint.flag();
+        })));
+        kafkaAvailability.canRoll(2).setHandler(context.succeeding(canRoll -> context.verify(() -> {
+            assertTrue(canRoll);
+            checkpoint.flag();
+        })));
+    }
+
+    @Test
+    public void indexIsRefreshedBeforeEachDecision(VertxTestContext context) {
+        KSB ksb = new KSB()
+            .topic("A", false)
+                .addToConfig(TopicConfig.MIN_IN_SYNC_REPLICAS_CONFIG, "2")
+                .partition(0)
+                    .replicaOn(0, 1, 4)
+                    .leader(0)
+                    .isr(0, 1)
+                .endPartition()
+            .endTopic()
+            .topic("B", false)
+                .addToConfig(TopicConfig.MIN_IN_SYNC_REPLICAS_CONFIG, "2")
+                .partition(0)
+                    .replicaOn(2, 3, 4)
+                    .leader(2)
+                    .isr(2, 3, 4)
+                .endPartition()
+            .endTopic();
+        PartitionIndex index = new PartitionIndex();
+
+        AdminClient ac1 = ksb.ac();
+        AdminClient ac2 = ksb.ac();
+        AdminClient ac3 = ksb.ac();
+        Checkpoint checkpoint = context.checkpoint();
+        new KafkaAvailability(ac1, index).canRoll(0).compose(canRoll -> {
+            context.verify(() -> {
+                assertFalse(canRoll);
+                verify(ac1).describeTopics(new HashSet<>(asList("A", "B")));
+                verify(ac1).describeConfigs(argThat(resources -> topicNames(resources).equals(new HashSet<>(asList("A")))));
+            });
+
+            ksb.topic("B", false).partition(0).isr(2, 3);
+            ksb.topic("C", false)
+                    .addToConfig(TopicConfig.MIN_IN_SYNC_REPLICAS_CONFIG, "2")
+                    .partition(0)
+                        .replicaOn(2, 3, 4)
+                        .leader(3)
+                        .isr(2, 3, 4)
+                    .endPartition();
+            return new KafkaAvailability(ac2, index).canRoll(2);
+        }).compose(canRoll -> {
+            context.verify(() -> {
+                assertFalse(canRoll, "The ISR of B should have been refreshed");
+                verify(ac2).describeTopics(new HashSet<>(asList("A", "B", "C")));
+                verify(ac2).describeConfigs(argThat(resources -> topicNames(resources).equals(new HashSet<>(asList("B", "C")))));
+            });
+            return new KafkaAvailability(ac3, index).canRoll(4);
+        }).setHandler(context.succeeding(canRoll -> context.verify(() -> {
+            assertTrue(canRoll);
+            verify(ac3).describeTopics(new HashSet<>(asList("A", "B", "C")));
+            verify(ac3).describeConfigs(argThat(resources -> topicNames(resources).equals(new HashSet<>(asList("A", "B", "C")))));
+            checkpoint.flag();
+        })));
+    }
+
+    @Test
+    public void minIsrChangedBetweenDecisionsIsTakenIntoAccount(VertxTestContext context) {
+        KSB ksb = new KSB()
+            .topic("A", false)
+                .addToConfig(TopicConfig.MIN_IN_SYNC_REPLICAS_CONFIG, "1")
+                .partition(0)
+                    .replicaOn(0, 1, 2)
+                    .leader(0)
+                    .isr(0, 1)
+                .endPartition()
+            .endTopic();
+        PartitionIndex index = new PartitionIndex();
+
+        Checkpoint checkpoint = context.checkpoint();
+        new KafkaAvailability(ksb.ac(), index).canRoll(1).compose(canRoll -> {
+            context.verify(() -> assertTrue(canRoll));
+            ksb.topic("A", false).addToConfig(TopicConfig.MIN_IN_SYNC_REPLICAS_CONFIG, "2");
+            return new KafkaAvailability(ksb.ac(), index).canRoll(1);
+        }).setHandler(context.succeeding(canRoll -> context.verify(() -> {
+            assertFalse(canRoll, "The raised min.insync.replicas of A should have been fetched");
+            checkpoint.flag();
+        })));
+    }
+
+    private static Set<String> topicNames(Collection<ConfigResource> resources) {
+        return resources.stream().map(ConfigResource::name).collect(Collectors.toSet());
+    }
 }
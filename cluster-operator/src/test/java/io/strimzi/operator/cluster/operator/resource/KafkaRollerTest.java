@@ -9,7 +9,12 @@ import io.fabric8.kubernetes.api.model.PodBuilder;
 import io.fabric8.kubernetes.api.model.Secret;
 import io.fabric8.kubernetes.api.model.apps.StatefulSet;
 import io.fabric8.kubernetes.api.model.apps.StatefulSetBuilder;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import io.strimzi.operator.common.BackOff;
+import io.strimzi.operator.common.MetricsProvider;
+import io.strimzi.operator.common.MicrometerMetricsProvider;
 import io.strimzi.operator.common.model.Labels;
 import io.strimzi.operator.common.operator.resource.PodOperator;
 import io.strimzi.operator.common.operator.resource.TimeoutException;
@@ -21,6 +26,7 @@ import io.vertx.junit5.VertxExtension;
 import io.vertx.junit5.VertxTestContext;
 import org.apache.kafka.clients.admin.AdminClient;
 import org.apache.kafka.clients.admin.TopicDescription;
+import org.apache.kafka.common.config.TopicConfig;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.junit.jupiter.api.AfterAll;
@@ -33,12 +39,14 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -342,6 +350,127 @@ public class KafkaRollerTest {
                 emptyList());
     }
 
+    @Test
+    public void batchesOfNonControllers(VertxTestContext testContext) {
+        PodOperator podOps = mockPodOps(podId -> succeededFuture());
+        StatefulSet sts = buildStatefulSet();
+        MeterRegistry registry = new SimpleMeterRegistry();
+        TestingKafkaRoller kafkaRoller = new TestingKafkaRoller(sts, null, null, podOps,
+            null, null, null,
+            brokerId -> succeededFuture(true),
+            (brokers, maxBatchSize) -> succeededFuture(new LinkedHashSet<>(brokers.subList(0, Math.min(maxBatchSize, brokers.size())))),
+            2, new MicrometerMetricsProvider(registry),
+            2);
+        Checkpoint async = testContext.checkpoint();
+        kafkaRoller.rollingRestart(pod -> true).setHandler(testContext.succeeding(v -> testContext.verify(() -> {
+            // Two batches, then the controller on its own
+            assertEquals(asList(0, 1, 3, 4, 2), restarted());
+            DistributionSummary batchSizes = registry.find("strimzi.kafka.rolling.batch.size").summary();
+            assertEquals(3, batchSizes.count());
+            assertEquals(5.0, batchSizes.totalAmount());
+            assertEquals(1, registry.find("strimzi.kafka.rolling.duration").timer().count());
+            assertNoUnclosedAdminClient(testContext, kafkaRoller);
+            async.flag();
+        })));
+    }
+
+    @Test
+    public void batchesOnlyOfPodsWhichNeedRestart(VertxTestContext testContext) {
+        PodOperator podOps = mockPodOps(podId -> succeededFuture());
+        StatefulSet sts = buildStatefulSet();
+        List<List<Integer>> candidates = new ArrayList<>();
+        TestingKafkaRoller kafkaRoller = new TestingKafkaRoller(sts, null, null, podOps,
+            null, null, null,
+            brokerId -> succeededFuture(true),
+            (brokers, maxBatchSize) -> {
+                candidates.add(brokers);
+                return succeededFuture(new LinkedHashSet<>(brokers));
+            },
+            3, null,
+            2);
+        Checkpoint async = testContext.checkpoint();
+        kafkaRoller.rollingRestart(pod -> asList(1, 2, 4).contains(podName2Number(pod.getMetadata().getName())))
+            .setHandler(testContext.succeeding(v -> testContext.verify(() -> {
+                assertEquals(asList(1, 4, 2), restarted());
+                assertEquals(singletonList(asList(1, 4)), candidates);
+                async.flag();
+            })));
+    }
+
+    @Test
+    public void batchErrorFallsBackToRollingOneAtATime(VertxTestContext testContext) {
+        PodOperator podOps = mockPodOps(podId -> succeededFuture());
+        StatefulSet sts = buildStatefulSet();
+        TestingKafkaRoller kafkaRoller = new TestingKafkaRoller(sts, null, null, podOps,
+            null, null, null,
+            brokerId -> succeededFuture(true),
+            (brokers, maxBatchSize) -> failedFuture(new RuntimeException("Test")),
+            3, null,
+            2);
+        doSuccessfulRollingRestart(testContext, kafkaRoller,
+                asList(0, 1, 2, 3, 4),
+                asList(0, 1, 3, 4, 2));
+    }
+
+    @Test
+    public void batchPodNotReadyAfterRolling(VertxTestContext testContext) throws InterruptedException {
+        PodOperator podOps = mockPodOps(podId ->
+                podId == 0 ? failedFuture(new TimeoutException("Timeout")) : succeededFuture()
+        );
+        StatefulSet sts = buildStatefulSet();
+        TestingKafkaRoller kafkaRoller = new TestingKafkaRoller(sts, null, null, podOps,
+            null, null, null,
+            brokerId -> succeededFuture(true),
+            (brokers, maxBatchSize) -> succeededFuture(new LinkedHashSet<>(brokers.subList(0, Math.min(maxBatchSize, brokers.size())))),
+            2, null,
+            2);
+        doFailingRollingRestart(testContext, kafkaRoller,
+                asList(0, 1, 2, 3, 4),
+                KafkaRoller.FatalProblem.class, "Error while waiting for restarted pods [0, 1] to become ready",
+                asList(0, 1));
+    }
+
+    @Test
+    public void partitionReassignedDuringRollIsTakenIntoAccount(VertxTestContext testContext) throws InterruptedException {
+        KafkaAvailabilityTest.KSB ksb = new KafkaAvailabilityTest.KSB()
+            .topic("A", false)
+                .addToConfig(TopicConfig.MIN_IN_SYNC_REPLICAS_CONFIG, "2")
+                .partition(0)
+                    .replicaOn(0, 1, 2)
+                    .leader(0)
+                    .isr(0, 1, 2)
+                .endPartition()
+            .endTopic()
+            .addBroker(3, 4);
+        PodOperator podOps = mockPodOps(podId -> succeededFuture());
+        StatefulSet sts = buildStatefulSet();
+        TestingKafkaRoller kafkaRoller = new TestingKafkaRoller(sts, null, null, podOps,
+                null, null, null,
+                null,
+                -1) {
+            @Override
+            protected AdminClient adminClient(Integer podId) {
+                return ksb.ac();
+            }
+
+            @Override
+            protected Future<Void> restart(Pod pod) {
+                if (podName2Number(pod.getMetadata().getName()) == 2) {
+                    // Once broker 2 has been checked, A is reassigned to brokers 3 and 4, which are not all in sync yet
+                    ksb.topic("A", false).partition(0)
+                            .replicaOn(0, 3, 4)
+                            .isr(0, 3);
+                }
+                return super.restart(pod);
+            }
+        };
+        doFailingRollingRestart(testContext, kafkaRoller,
+                asList(0, 1, 2, 3, 4),
+                KafkaRoller.UnforceableProblem.class, "Pod c-kafka-3 is currently not rollable",
+                // Restarting broker 3 would take A below its min.insync.replicas
+                asList(0, 1, 2, 4));
+    }
+
     private TestingKafkaRoller rollerWithControllers(StatefulSet sts, PodOperator podOps, int... controllers) {
         return new TestingKafkaRoller(sts, null, null, podOps,
             null, null, null,
@@ -457,6 +586,7 @@ public class KafkaRollerTest {
         private final RuntimeException acOpenException;
         private final Throwable acCloseException;
         private final Function<Integer, Future<Boolean>> canRollFn;
+        private final BiFunction<List<Integer>, Integer, Future<Set<Integer>>> rollableBatchFn;
         private final Throwable controllerException;
         private final int[] controllers;
 
@@ -466,9 +596,23 @@ public class KafkaRollerTest {
                                   Throwable controllerException,
                                   Function<Integer, Future<Boolean>> canRollFn,
                                   int... controllers) {
+            this(sts, clusterCaCertSecret, coKeySecret, podOps, acOpenException, acCloseException, controllerException,
+                canRollFn, null, 1, null, controllers);
+        }
+
+        @SuppressWarnings("checkstyle:ParameterNumber")
+        private TestingKafkaRoller(StatefulSet sts, Secret clusterCaCertSecret, Secret coKeySecret,
+                                  PodOperator podOps,
+                                  RuntimeException acOpenException, Throwable acCloseException,
+                                  Throwable controllerException,
+                                  Function<Integer, Future<Boolean>> canRollFn,
+                                  BiFunction<List<Integer>, Integer, Future<Set<Integer>>> rollableBatchFn,
+                                  int maxBatchSize, MetricsProvider metrics,
+                                  int... controllers) {
             super(KafkaRollerTest.vertx, podOps, 500, 1000,
                 () -> new BackOff(10L, 2, 4),
-                sts, clusterCaCertSecret, coKeySecret);
+                sts, clusterCaCertSecret, coKeySecret, null, maxBatchSize, metrics);
+            this.rollableBatchFn = rollableBatchFn;
             this.controllers = controllers;
             this.controllerCall = 0;
             this.acOpenException = acOpenException;
@@ -500,6 +644,9 @@ public class KafkaRollerTest {
 
         @Override
         protected KafkaAvailability availability(AdminClient ac) {
+            if (canRollFn == null) {
+                return super.availability(ac);
+            }
             return new KafkaAvailability(null) {
                 @Override
                 protected Future<Set<String>> topicNames() {
@@ -515,6 +662,11 @@ public class KafkaRollerTest {
                 Future<Boolean> canRoll(int podId) {
                     return canRollFn.apply(podId);
                 }
+
+                @Override
+                Future<Set<Integer>> rollableBatch(List<Integer> brokers, int maxBatchSize) {
+                    return rollableBatchFn.apply(brokers, maxBatchSize);
+                }
             };
         }
 
@@ -0,0 +1,350 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.operator.cluster.operator.resource;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.fabric8.kubernetes.api.model.Container;
+import io.fabric8.kubernetes.api.model.PodSecurityContext;
+import io.fabric8.kubernetes.api.model.Volume;
+import io.fabric8.kubernetes.api.model.apps.StatefulSet;
+import io.fabric8.kubernetes.api.model.apps.StatefulSetBuilder;
+import io.fabric8.zjsonpatch.JsonDiff;
+import io.strimzi.api.kafka.model.Kafka;
+import io.strimzi.api.kafka.model.status.Condition;
+import io.strimzi.api.kafka.model.status.ConditionBuilder;
+import io.strimzi.api.kafka.model.status.KafkaStatus;
+import io.strimzi.api.kafka.model.status.KafkaStatusBuilder;
+import io.strimzi.api.kafka.model.status.ListenerAddressBuilder;
+import io.strimzi.api.kafka.model.status.ListenerStatus;
+import io.strimzi.api.kafka.model.status.ListenerStatusBuilder;
+import io.strimzi.api.kafka.model.status.Status;
+import io.strimzi.operator.cluster.KafkaVersionTestUtils;
+import io.strimzi.operator.cluster.ResourceUtils;
+import io.strimzi.operator.cluster.model.KafkaCluster;
+import io.strimzi.operator.cluster.model.StatusDiff;
+import io.strimzi.operator.cluster.model.ZookeeperCluster;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static io.fabric8.kubernetes.client.internal.PatchUtils.patchMapper;
+
+/**
+ * Benchmarks {@link StatefulSetDiff} and {@link StatusDiff} against the JSON tree based implementations they replaced,
+ * {@link JsonDiffStatefulSetDiff} and {@link JsonDiffStatusDiff}.
+ * The StatefulSets are those of a Kafka and a ZooKeeper cluster, compared with copies carrying the defaults
+ * which the API server adds, and with copies whose image changed.
+ *
+ * Run it with
+ * {@code mvn test-compile exec:java -pl cluster-operator -Dexec.classpathScope=test -Dexec.mainClass=io.strimzi.operator.cluster.operator.resource.ResourceDiffBenchmark}
+ * and add {@code -Dexec.args="-prof gc"} to compare the allocation rates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResourceDiffBenchmark {
+
+    StatefulSet kafkaDesired;
+    StatefulSet kafkaCurrent;
+    StatefulSet kafkaChanged;
+    StatefulSet zookeeperDesired;
+    StatefulSet zookeeperCurrent;
+    KafkaStatus currentStatus;
+    KafkaStatus desiredStatus;
+
+    @Setup
+    public void setup() {
+        Kafka kafka = ResourceUtils.createKafkaCluster("ns", "my-cluster", 3, "image", 120, 30);
+        kafkaDesired = KafkaCluster.fromCrd(kafka, KafkaVersionTestUtils.getKafkaVersionLookup()).generateStatefulSet(false, null, null);
+        kafkaCurrent = withServerDefaults(kafkaDesired);
+        kafkaChanged = new StatefulSetBuilder(kafkaCurrent).build();
+        kafkaChanged.getSpec().getTemplate().getSpec().getContainers().get(0).setImage("other-image");
+        zookeeperDesired = ZookeeperCluster.fromCrd(kafka, KafkaVersionTestUtils.getKafkaVersionLookup()).generateStatefulSet(false, null, null);
+        zookeeperCurrent = withServerDefaults(zookeeperDesired);
+
+        currentStatus = status("2020-01-01T00:00:00+0000");
+        desiredStatus = status("2020-01-02T00:00:00+0000");
+    }
+
+    /**
+     * @return A copy of the given StatefulSet with some of the defaults which the API server adds.
+     */
+    static StatefulSet withServerDefaults(StatefulSet desired) {
+        StatefulSet current = new StatefulSetBuilder(desired)
+                .editMetadata()
+                    .withUid("b1a2c3d4-0000-0000-0000-000000000000")
+                    .withResourceVersion("12345")
+                    .withCreationTimestamp("2020-01-01T00:00:00Z")
+                .endMetadata()
+                .editSpec()
+                    .withRevisionHistoryLimit(10)
+                .endSpec()
+                .withNewStatus()
+                    .withReplicas(desired.getSpec().getReplicas())
+                    .withReadyReplicas(desired.getSpec().getReplicas())
+                    .withCurrentRevision("my-cluster-kafka-1234")
+                .endStatus()
+                .build();
+        current.getSpec().getTemplate().getSpec().setDnsPolicy("ClusterFirst");
+        current.getSpec().getTemplate().getSpec().setRestartPolicy("Always");
+        current.getSpec().getTemplate().getSpec().setSecurityContext(new PodSecurityContext());
+        for (Container container : current.getSpec().getTemplate().getSpec().getContainers()) {
+            container.setTerminationMessagePath("/dev/termination-log");
+            container.setTerminationMessagePolicy("File");
+        }
+        for (Volume volume : current.getSpec().getTemplate().getSpec().getVolumes()) {
+            if (volume.getConfigMap() != null) {
+                volume.getConfigMap().setDefaultMode(420);
+            }
+            if (volume.getSecret() != null) {
+                volume.getSecret().setDefaultMode(420);
+            }
+        }
+        return current;
+    }
+
+    static KafkaStatus status(String lastTransitionTime) {
+        List<ListenerStatus> listeners = new ArrayList<>();
+        for (String type : new String[] {"plain", "tls", "external"}) {
+            listeners.add(new ListenerStatusBuilder()
+                    .withNewType(type)
+                    .withAddresses(new ListenerAddressBuilder()
+                            .withHost("my-cluster-kafka-bootstrap.ns.svc")
+                            .withPort(9092)
+                            .build())
+                    .build());
+        }
+        Condition condition = new ConditionBuilder()
+                .withNewLastTransitionTime(lastTransitionTime)
+                .withNewType("Ready")
+                .withNewStatus("True")
+                .build();
+        return new KafkaStatusBuilder()
+                .withConditions(condition)
+                .withListeners(listeners)
+                .withObservedGeneration(1L)
+                .build();
+    }
+
+    @Benchmark
+    public boolean kafkaUnchanged() {
+        return new StatefulSetDiff(kafkaCurrent, kafkaDesired).isEmpty();
+    }
+
+    @Benchmark
+    public boolean kafkaUnchangedJsonDiff() {
+        return new JsonDiffStatefulSetDiff(kafkaCurrent, kafkaDesired).isEmpty();
+    }
+
+    @Benchmark
+    public boolean kafkaChanged() {
+        return new StatefulSetDiff(kafkaCurrent, kafkaChanged).changesSpecTemplate();
+    }
+
+    @Benchmark
+    public boolean kafkaChangedJsonDiff() {
+        return new JsonDiffStatefulSetDiff(kafkaCurrent, kafkaChanged).changesSpecTemplate();
+    }
+
+    @Benchmark
+    public boolean zookeeperUnchanged() {
+        return new StatefulSetDiff(zookeeperCurrent, zookeeperDesired).isEmpty();
+    }
+
+    @Benchmark
+    public boolean zookeeperUnchangedJsonDiff() {
+        return new JsonDiffStatefulSetDiff(zookeeperCurrent, zookeeperDesired).isEmpty();
+    }
+
+    @Benchmark
+    public boolean status() {
+        return new StatusDiff(currentStatus, desiredStatus).isEmpty();
+    }
+
+    @Benchmark
+    public boolean statusJsonDiff() {
+        return new JsonDiffStatusDiff(currentStatus, desiredStatus).isEmpty();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ResourceDiffBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+
+    /**
+     * The JSON tree based {@code StatefulSetDiff}, for comparison.
+     */
+    static class JsonDiffStatefulSetDiff {
+        private static final Pattern IGNORABLE_PATHS = Pattern.compile(
+            "^(/spec/revisionHistoryLimit"
+            + "|/spec/template/metadata/annotations/strimzi.io~1generation"
+            + "|/spec/template/spec/initContainers/[0-9]+/resources"
+            + "|/spec/template/spec/initContainers/[0-9]+/terminationMessagePath"
+            + "|/spec/template/spec/initContainers/[0-9]+/terminationMessagePolicy"
+            + "|/spec/template/spec/initContainers/[0-9]+/env/[0-9]+/valueFrom/fieldRef/apiVersion"
+            + "|/spec/template/spec/containers/[0-9]+/resources"
+            + "|/spec/template/spec/containers/[0-9]+/env/[0-9]+/valueFrom/fieldRef/apiVersion"
+            + "|/spec/template/spec/containers/[0-9]+/livenessProbe/failureThreshold"
+            + "|/spec/template/spec/containers/[0-9]+/livenessProbe/periodSeconds"
+            + "|/spec/template/spec/containers/[0-9]+/livenessProbe/successThreshold"
+            + "|/spec/template/spec/containers/[0-9]+/readinessProbe/failureThreshold"
+            + "|/spec/template/spec/containers/[0-9]+/readinessProbe/periodSeconds"
+            + "|/spec/template/spec/containers/[0-9]+/readinessProbe/successThreshold"
+            + "|/spec/template/spec/containers/[0-9]+/terminationMessagePath"
+            + "|/spec/template/spec/containers/[0-9]+/terminationMessagePolicy"
+            + "|/spec/template/spec/dnsPolicy"
+            + "|/spec/template/spec/restartPolicy"
+            + "|/spec/template/spec/securityContext"
+            + "|/spec/template/spec/volumes/[0-9]+/configMap/defaultMode"
+            + "|/spec/template/spec/volumes/[0-9]+/secret/defaultMode"
+            + "|/spec/volumeClaimTemplates/[0-9]+/status"
+            + "|/spec/volumeClaimTemplates/[0-9]+/spec/volumeMode"
+            + "|/spec/volumeClaimTemplates/[0-9]+/spec/dataSource"
+            + "|/spec/template/spec/serviceAccount"
+            + "|/status)$");
+
+        private static final Pattern RESOURCE_PATH = Pattern.compile("^/spec/template/spec/(?:initContainers|containers)/[0-9]+/resources/(?:limits|requests)/(memory|cpu)$");
+        private static final Pattern VOLUME_SIZE = Pattern.compile("^/spec/volumeClaimTemplates/[0-9]+/spec/resources/.*$");
+
+        private final boolean changesVolumeClaimTemplate;
+        private final boolean changesVolumeSize;
+        private final boolean isEmpty;
+        private final boolean changesSpecTemplate;
+        private final boolean changesLabels;
+        private final boolean changesSpecReplicas;
+
+        JsonDiffStatefulSetDiff(StatefulSet current, StatefulSet desired) {
+            JsonNode source = patchMapper().valueToTree(current);
+            JsonNode target = patchMapper().valueToTree(desired);
+            JsonNode diff = JsonDiff.asJson(source, target);
+            int num = 0;
+            boolean changesVolumeClaimTemplate = false;
+            boolean changesVolumeSize = false;
+            boolean changesSpecTemplate = false;
+            boolean changesLabels = false;
+            boolean changesSpecReplicas = false;
+            for (JsonNode d : diff) {
+                String pathValue = d.get("path").asText();
+                if (IGNORABLE_PATHS.matcher(pathValue).matches()) {
+                    continue;
+                }
+                Matcher resourceMatchers = RESOURCE_PATH.matcher(pathValue);
+                if (resourceMatchers.matches()
+                        && "replace".equals(d.path("op").asText())
+                        && compareMemoryAndCpuResources(source, target, pathValue, resourceMatchers)) {
+                    continue;
+                }
+                num++;
+                changesVolumeClaimTemplate |= equalsOrPrefix("/spec/volumeClaimTemplates", pathValue) && !VOLUME_SIZE.matcher(pathValue).matches();
+                changesVolumeSize |= VOLUME_SIZE.matcher(pathValue).matches();
+                changesSpecTemplate |= equalsOrPrefix("/spec/template", pathValue);
+                changesLabels |= equalsOrPrefix("/metadata/labels", pathValue);
+                changesSpecReplicas |= equalsOrPrefix("/spec/replicas", pathValue);
+            }
+            this.isEmpty = num == 0;
+            this.changesLabels = changesLabels;
+            this.changesSpecReplicas = changesSpecReplicas;
+            this.changesSpecTemplate = changesSpecTemplate;
+            this.changesVolumeClaimTemplate = changesVolumeClaimTemplate;
+            this.changesVolumeSize = changesVolumeSize;
+        }
+
+        private static boolean equalsOrPrefix(String path, String pathValue) {
+            return pathValue.equals(path)
+                    || pathValue.startsWith(path + "/");
+        }
+
+        private static boolean compareMemoryAndCpuResources(JsonNode source, JsonNode target, String pathValue, Matcher resourceMatchers) {
+            JsonNode s = lookupPath(source, pathValue);
+            JsonNode t = lookupPath(target, pathValue);
+            if (!s.isMissingNode() && !t.isMissingNode()) {
+                if ("cpu".equals(resourceMatchers.group(1))) {
+                    return Math.abs(Quantities.parseCpuAsMilliCpus(s.asText()) - Quantities.parseCpuAsMilliCpus(t.asText())) < 1;
+                } else {
+                    return Math.abs(Quantities.parseMemory(s.asText()) - Quantities.parseMemory(t.asText())) < 1;
+                }
+            }
+            return false;
+        }
+
+        private static JsonNode lookupPath(JsonNode source, String path) {
+            JsonNode s = source;
+            for (String component : path.substring(1).split("/")) {
+                s = s.isArray() ? s.path(Integer.parseInt(component)) : s.path(component);
+            }
+            return s;
+        }
+
+        boolean isEmpty() {
+            return isEmpty;
+        }
+
+        boolean changesVolumeClaimTemplates() {
+            return changesVolumeClaimTemplate;
+        }
+
+        boolean changesVolumeSize() {
+            return changesVolumeSize;
+        }
+
+        boolean changesSpecTemplate() {
+            return changesSpecTemplate;
+        }
+
+        boolean changesLabels() {
+            return changesLabels;
+        }
+
+        boolean changesSpecReplicas() {
+            return changesSpecReplicas;
+        }
+    }
+
+    /**
+     * The JSON tree based {@code StatusDiff}, for comparison.
+     */
+    static class JsonDiffStatusDiff {
+        private static final Pattern IGNORABLE_PATHS = Pattern.compile(
+                "^(/conditions/[0-9]+/lastTransitionTime)$");
+
+        private final boolean isEmpty;
+
+        JsonDiffStatusDiff(Status current, Status desired) {
+            JsonNode source = patchMapper().valueToTree(current == null ? "{}" : current);
+            JsonNode target = patchMapper().valueToTree(desired == null ? "{}" : desired);
+            int num = 0;
+            for (JsonNode d : JsonDiff.asJson(source, target)) {
+                if (!IGNORABLE_PATHS.matcher(d.get("path").asText()).matches()) {
+                    num++;
+                }
+            }
+            this.isEmpty = num == 0;
+        }
+
+        boolean isEmpty() {
+            return isEmpty;
+        }
+    }
+}
@@ -22,6 +22,9 @@ import io.fabric8.kubernetes.client.dsl.MixedOperation;
 import io.fabric8.kubernetes.client.dsl.NonNamespaceOperation;
 import io.fabric8.kubernetes.client.dsl.Resource;
 import io.fabric8.kubernetes.client.dsl.RollableScalableResource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.strimzi.operator.cluster.operator.assembly.KafkaAssemblyOperator;
+import io.strimzi.operator.common.MicrometerMetricsProvider;
 import io.strimzi.operator.common.operator.resource.AbstractResourceOperatorTest;
 import io.strimzi.operator.common.operator.resource.PodOperator;
 import io.strimzi.operator.common.operator.resource.PvcOperator;
@@ -39,6 +42,7 @@ import org.mockito.exceptions.base.MockitoException;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.BiPredicate;
 import java.util.function.Predicate;
 
@@ -51,6 +55,7 @@ import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.matches;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -601,4 +606,67 @@ public class StatefulSetOperatorTest
             async.flag();
         });
     }
+
+    @Test
+    public void testManualRollingUpdateAnnotationIsPatchedAwayWhenSkippingUnchangedPatches(VertxTestContext context) {
+        AtomicInteger resourceVersion = new AtomicInteger(1);
+        AtomicReference<StatefulSet> live = new AtomicReference<>(new StatefulSetBuilder(resource())
+                .editMetadata().withUid("uid-1").withGeneration(1L).withResourceVersion("1").endMetadata()
+                .build());
+
+        RollableScalableResource mockResource = mock(resourceType());
+        when(mockResource.get()).thenAnswer(invocation -> live.get());
+        when(mockResource.cascading(false)).thenReturn(mockResource);
+        when(mockResource.patch(any())).thenAnswer(invocation -> {
+            StatefulSet patched = new StatefulSetBuilder(invocation.<StatefulSet>getArgument(0))
+                    .editMetadata()
+                        .withUid(live.get().getMetadata().getUid())
+                        .withGeneration(live.get().getMetadata().getGeneration())
+                        .withResourceVersion(String.valueOf(resourceVersion.incrementAndGet()))
+                    .endMetadata()
+                    .build();
+            live.set(patched);
+            return patched;
+        });
+
+        NonNamespaceOperation mockNameable = mock(NonNamespaceOperation.class);
+        when(mockNameable.withName(matches(RESOURCE_NAME))).thenReturn(mockResource);
+        MixedOperation mockSts = mock(MixedOperation.class);
+        when(mockSts.inNamespace(matches(NAMESPACE))).thenReturn(mockNameable);
+        KubernetesClient mockClient = mock(clientType());
+        mocker(mockClient, mockSts);
+
+        StatefulSetOperator op = new StatefulSetOperator(AbstractResourceOperatorTest.vertx, mockClient, 60_000L) {
+            @Override
+            public Future<Void> maybeRollingUpdate(StatefulSet sts, Predicate<Pod> podNeedsRestart, Secret clusterCaSecret, Secret coKeySecret) {
+                return Future.succeededFuture();
+            }
+
+            @Override
+            protected boolean shouldIncrementGeneration(StatefulSetDiff diff) {
+                return false;
+            }
+        };
+        op.enableSkipUnchangedPatches(new MicrometerMetricsProvider(new SimpleMeterRegistry()));
+
+        Checkpoint async = context.checkpoint();
+        op.reconcile(NAMESPACE, RESOURCE_NAME, resource())
+            .compose(first -> op.reconcile(NAMESPACE, RESOURCE_NAME, resource()))
+            .compose(second -> {
+                context.verify(() -> verify(mockResource, times(1)).patch(any()));
+                // The user asks for a manual rolling update, which does not change the generation
+                live.set(new StatefulSetBuilder(live.get())
+                        .editMetadata()
+                            .addToAnnotations(KafkaAssemblyOperator.ANNO_STRIMZI_IO_MANUAL_ROLLING_UPDATE, "true")
+                            .withResourceVersion(String.valueOf(resourceVersion.incrementAndGet()))
+                        .endMetadata()
+                        .build());
+                return op.reconcile(NAMESPACE, RESOURCE_NAME, resource());
+            })
+            .setHandler(context.succeeding(third -> context.verify(() -> {
+                verify(mockResource, times(2)).patch(any());
+                assertThat(live.get().getMetadata().getAnnotations().containsKey(KafkaAssemblyOperator.ANNO_STRIMZI_IO_MANUAL_ROLLING_UPDATE), is(false));
+                async.flag();
+            })));
+    }
 }
@@ -0,0 +1,178 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.kafka.config.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+
+/**
+ * An immutable snapshot of a {@link ConfigModel} with everything needed for validation prepared up front:
+ * the pattern is compiled, the allowed values and items are held in sets and the numeric bounds are unboxed.
+ */
+final class CompiledConfigModel {
+    private static final Pattern LIST_SEPARATOR = Pattern.compile(" *, *");
+
+    private final Scope scope;
+    private final Type type;
+    private final Number minimum;
+    private final Number maximum;
+    private final long minimumLong;
+    private final long maximumLong;
+    private final double minimumDouble;
+    private final double maximumDouble;
+    private final List<String> values;
+    private final Set<String> valueSet;
+    private final List<String> items;
+    private final Set<String> itemSet;
+    private final String pattern;
+    private final Pattern compiledPattern;
+
+    CompiledConfigModel(ConfigModel model) {
+        this.scope = model.getScope();
+        this.type = model.getType();
+        this.minimum = model.getMinimum();
+        this.maximum = model.getMaximum();
+        this.minimumLong = minimum != null ? minimum.longValue() : Long.MIN_VALUE;
+        this.maximumLong = maximum != null ? maximum.longValue() : Long.MAX_VALUE;
+        this.minimumDouble = minimum != null ? minimum.doubleValue() : Double.NEGATIVE_INFINITY;
+        this.maximumDouble = maximum != null ? maximum.doubleValue() : Double.POSITIVE_INFINITY;
+        this.values = model.getValues() != null ? Collections.unmodifiableList(new ArrayList<>(model.getValues())) : null;
+        this.valueSet = values != null ? new HashSet<>(values) : null;
+        this.items = model.getItems() != null ? Collections.unmodifiableList(new ArrayList<>(model.getItems())) : null;
+        this.itemSet = items != null ? new HashSet<>(items) : null;
+        this.pattern = model.getPattern();
+        this.compiledPattern = pattern != null ? Pattern.compile(pattern) : null;
+    }
+
+    Scope getScope() {
+        return scope;
+    }
+
+    List<String> validate(String configName, String value) {
+        switch (type) {
+            case BOOLEAN:
+                return validateBoolean(configName, value);
+            case STRING:
+                return validateString(configName, value);
+            case INT:
+                return validateInt(configName, value);
+            case LONG:
+                return validateLong(configName, value);
+            case DOUBLE:
+                return validateDouble(configName, value);
+            case SHORT:
+                return validateShort(configName, value);
+            case CLASS:
+                return emptyList();
+            case PASSWORD:
+                return emptyList();
+            case LIST:
+                return validateList(configName, value);
+            default:
+                throw new IllegalStateException("Unsupported type " + type);
+        }
+    }
+
+    private List<String> validateString(String configName, String value) {
+        List<String> errors = emptyList();
+        if (valueSet != null
+                && !valueSet.contains(value)) {
+            errors = new ArrayList<>(1);
+            errors.add(configName + " has value '" + value + "' which is not one of the allowed values: " + values);
+        }
+        if (compiledPattern != null
+                && !compiledPattern.matcher(value).matches()) {
+            if (errors.isEmpty()) {
+                errors = new ArrayList<>(1);
+            }
+            errors.add(configName + " has value '" + value + "' which does not match the required pattern: " + pattern);
+        }
+        return errors;
+    }
+
+    private List<String> validateBoolean(String configName, String value) {
+        if (!"true".equals(value) && !"false".equals(value)) {
+            return singletonList(configName + " has value '" + value + "' which is not a boolean");
+        }
+        return emptyList();
+    }
+
+    private List<String> validateList(String configName, String value) {
+        if (itemSet != null) {
+            HashSet<String> unknown = new HashSet<>(asList(LIST_SEPARATOR.split(value.trim(), -1)));
+            unknown.removeAll(itemSet);
+            if (!unknown.isEmpty()) {
+                return singletonList(configName + " contains values " + unknown + " which are not in the allowed items " + items);
+            }
+        }
+        return emptyList();
+    }
+
+    private List<String> validateDouble(String configName, String value) {
+        double d;
+        try {
+            d = Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            return singletonList(numFormatMsg(configName, value, "a double"));
+        }
+        return validateRange(configName, value, d < minimumDouble, d > maximumDouble);
+    }
+
+    private List<String> validateLong(String configName, String value) {
+        long l;
+        try {
+            l = Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            return singletonList(numFormatMsg(configName, value, "a long"));
+        }
+        return validateRange(configName, value, l < minimumLong, l > maximumLong);
+    }
+
+    private List<String> validateShort(String configName, String value) {
+        short s;
+        try {
+            s = Short.parseShort(value);
+        } catch (NumberFormatException e) {
+            return singletonList(numFormatMsg(configName, value, "a short"));
+        }
+        return validateRange(configName, value, s < minimumLong, s > maximumLong);
+    }
+
+    private List<String> validateInt(String configName, String value) {
+        int i;
+        try {
+            i = Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            return singletonList(numFormatMsg(configName, value, "an int"));
+        }
+        return validateRange(configName, value, i < minimumLong, i > maximumLong);
+    }
+
+    private List<String> validateRange(String configName, String value, boolean belowMinimum, boolean aboveMaximum) {
+        if (!belowMinimum && !aboveMaximum) {
+            return emptyList();
+        }
+        List<String> errors = new ArrayList<>(1);
+        if (belowMinimum) {
+            errors.add(configName + " has value " + value + " which less than the minimum value " + minimum);
+        }
+        if (aboveMaximum) {
+            errors.add(configName + " has value " + value + " which greater than the maximum value " + maximum);
+        }
+        return errors;
+    }
+
+    private String numFormatMsg(String configName, String value, String typeDescription) {
+        return configName + " has value '" + value + "' which is not " + typeDescription;
+    }
+}
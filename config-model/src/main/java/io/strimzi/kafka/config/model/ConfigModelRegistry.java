@@ -0,0 +1,127 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.kafka.config.model;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static java.util.Collections.emptyList;
+
+/**
+ * An immutable, precompiled view of the {@link ConfigModels} for a given version of the Kafka broker.
+ * The model of each version is read from the {@code /kafka-<version>-config-model.json} classpath resource
+ * the first time it is asked for, and then shared by all callers.
+ */
+public final class ConfigModelRegistry {
+
+    private static final ConcurrentMap<String, ConfigModelRegistry> REGISTRIES = new ConcurrentHashMap<>();
+
+    private final String version;
+    private final Map<String, CompiledConfigModel> configs;
+    private final Map<Scope, Set<String>> configsByScope;
+
+    private ConfigModelRegistry(String version, Map<String, ConfigModel> models) {
+        this.version = version;
+        Map<String, CompiledConfigModel> configs = new HashMap<>(models.size() * 2);
+        Map<Scope, Set<String>> configsByScope = new EnumMap<>(Scope.class);
+        for (Scope scope : Scope.values()) {
+            configsByScope.put(scope, new HashSet<>());
+        }
+        for (Map.Entry<String, ConfigModel> entry : models.entrySet()) {
+            CompiledConfigModel config = new CompiledConfigModel(entry.getValue());
+            configs.put(entry.getKey(), config);
+            if (config.getScope() != null) {
+                configsByScope.get(config.getScope()).add(entry.getKey());
+            }
+        }
+        for (Scope scope : Scope.values()) {
+            configsByScope.put(scope, Collections.unmodifiableSet(configsByScope.get(scope)));
+        }
+        this.configs = Collections.unmodifiableMap(configs);
+        this.configsByScope = configsByScope;
+    }
+
+    /**
+     * Returns the registry for the given broker version, reading its config model from the classpath
+     * if this is the first time it has been asked for.
+     * @param version The broker version, for example {@code 2.4.0}.
+     * @return The registry.
+     * @throws RuntimeException If the config model for the version could not be read.
+     */
+    public static ConfigModelRegistry forVersion(String version) {
+        return REGISTRIES.computeIfAbsent(version, ConfigModelRegistry::read);
+    }
+
+    /**
+     * Returns a registry for the given config models, without caching it.
+     * @param configModels The config models.
+     * @return The registry.
+     */
+    public static ConfigModelRegistry of(ConfigModels configModels) {
+        return new ConfigModelRegistry(configModels.getVersion(), configModels.getConfigs());
+    }
+
+    private static ConfigModelRegistry read(String version) {
+        String name = "/kafka-" + version + "-config-model.json";
+        try (InputStream in = ConfigModelRegistry.class.getResourceAsStream(name)) {
+            if (in == null) {
+                throw new RuntimeException("Missing classpath resource " + name);
+            }
+            ConfigModels configModels = new ObjectMapper().readValue(in, ConfigModels.class);
+            if (!version.equals(configModels.getVersion())) {
+                throw new RuntimeException("Incorrect version");
+            }
+            return of(configModels);
+        } catch (IOException e) {
+            throw new RuntimeException("Error reading from classpath resource " + name, e);
+        }
+    }
+
+    /**
+     * @return The version of the Kafka broker.
+     */
+    public String version() {
+        return version;
+    }
+
+    /**
+     * @return The names of all the configuration parameters known to this version of the broker.
+     */
+    public Set<String> configNames() {
+        return configs.keySet();
+    }
+
+    /**
+     * @param scope The scope.
+     * @return The names of the configuration parameters with the given scope.
+     */
+    public Set<String> configNames(Scope scope) {
+        return configsByScope.get(scope);
+    }
+
+    /**
+     * Validate the given value of a configuration parameter.
+     * Parameters which are not known to this version of the broker are not validated,
+     * because they might be intended for plugins.
+     * @param configName The name of the parameter.
+     * @param value The value of the parameter.
+     * @return A list of error messages, empty if the value is valid.
+     */
+    public List<String> validate(String configName, String value) {
+        CompiledConfigModel config = configs.get(configName);
+        return config != null ? config.validate(configName, value) : emptyList();
+    }
+}
@@ -4,11 +4,19 @@
  */
 
 import io.strimzi.kafka.config.model.ConfigModel;
+import io.strimzi.kafka.config.model.ConfigModelRegistry;
+import io.strimzi.kafka.config.model.ConfigModels;
+import io.strimzi.kafka.config.model.Scope;
 import io.strimzi.kafka.config.model.Type;
 import org.junit.jupiter.api.Test;
 
+import java.util.HashMap;
+import java.util.Map;
+
 import static java.util.Arrays.asList;
 import static java.util.Collections.emptyList;
+import static java.util.Collections.emptySet;
+import static java.util.Collections.singleton;
 import static java.util.Collections.singletonList;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -131,4 +139,38 @@ public class ConfigModelTest {
         cm.setType(Type.CLASS);
         assertThat(cm.validate("test", "org.example.Whatever"), is(emptyList()));
     }
+
+    @Test
+    public void testRegistry() {
+        ConfigModel bool = new ConfigModel();
+        bool.setType(Type.BOOLEAN);
+        bool.setScope(Scope.CLUSTER_WIDE);
+        ConfigModel string = new ConfigModel();
+        string.setType(Type.STRING);
+        string.setScope(Scope.READ_ONLY);
+        string.setPattern("foo|bar");
+        Map<String, ConfigModel> configs = new HashMap<>();
+        configs.put("bool", bool);
+        configs.put("string", string);
+        ConfigModels models = new ConfigModels();
+        models.setVersion("1.0.0");
+        models.setConfigs(configs);
+
+        ConfigModelRegistry registry = ConfigModelRegistry.of(models);
+        assertThat(registry.version(), is("1.0.0"));
+        assertThat(registry.configNames(), is(configs.keySet()));
+        assertThat(registry.configNames(Scope.CLUSTER_WIDE), is(singleton("bool")));
+        assertThat(registry.configNames(Scope.READ_ONLY), is(singleton("string")));
+        assertThat(registry.configNames(Scope.PER_BROKER), is(emptySet()));
+        assertThat(registry.validate("bool", "true"), is(emptyList()));
+        assertThat(registry.validate("bool", "dog"), is(singletonList("bool has value 'dog' which is not a boolean")));
+        assertThat(registry.validate("string", "baz"),
+                is(singletonList("string has value 'baz' which does not match the required pattern: foo|bar")));
+        assertThat(registry.validate("plugin.config", "anything"), is(emptyList()));
+
+        // The registry is a snapshot of the models it was created from
+        string.setPattern(null);
+        assertThat(registry.validate("string", "baz"),
+                is(singletonList("string has value 'baz' which does not match the required pattern: foo|bar")));
+    }
 }
@@ -14,15 +14,15 @@ import io.strimzi.certs.SecretCertProvider;
 import io.strimzi.certs.Subject;
 import io.strimzi.operator.common.Annotations;
 import io.strimzi.operator.common.PasswordGenerator;
+import io.strimzi.operator.common.WorkerPool;
 import org.apache.logging.log4j.Level;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.io.ByteArrayInputStream;
-import java.io.File;
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
 import java.security.KeyStoreException;
 import java.security.NoSuchAlgorithmException;
 import java.security.cert.Certificate;
@@ -41,8 +41,15 @@ import java.util.Collection;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -208,10 +215,19 @@ public abstract class Ca {
         this.renewalType = RenewalType.NOOP;
     }
 
-    private static void delete(File file) {
-        if (!file.delete()) {
-            log.warn("{} cannot be deleted", file.getName());
-        }
+    private static volatile WorkerPool certGenerationPool;
+
+    /**
+     * The daemon threads on which certificates are generated, created on first use,
+     * unless a worker pool is given with {@link #useCertGenerationPool(WorkerPool)}.
+     */
+    private static class CertGenerationPool {
+        private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+        private static final ExecutorService EXECUTOR = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), runnable -> {
+            Thread thread = new Thread(runnable, "cert-generation-" + THREAD_COUNTER.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
     }
 
     /**
@@ -249,47 +265,12 @@ public abstract class Ca {
     }
 
     public CertAndKey addKeyAndCertToKeyStore(String alias, byte[] key, byte[] cert) throws IOException {
-
-        File keyFile = File.createTempFile("tls", "key");
-        File certFile = File.createTempFile("tls", "cert");
-        File keyStoreFile = File.createTempFile("tls", "p12");
-
-        Files.write(keyFile.toPath(), key);
-        Files.write(certFile.toPath(), cert);
-
-        String keyStorePassword = passwordGenerator.generate();
-        certManager.addKeyAndCertToKeyStore(keyFile, certFile, alias, keyStoreFile, keyStorePassword);
-
-        CertAndKey result = new CertAndKey(
-                Files.readAllBytes(keyFile.toPath()),
-                Files.readAllBytes(certFile.toPath()),
-                null,
-                Files.readAllBytes(keyStoreFile.toPath()),
-                keyStorePassword);
-
-        delete(keyFile);
-        delete(certFile);
-        delete(keyStoreFile);
-
-        return result;
-    }
-
-    /*test*/ CertAndKey generateSignedCert(Subject subject,
-                                            File csrFile, File keyFile, File certFile, File keyStoreFile) throws IOException {
-        log.debug("Generating certificate {} with SAN {}, signed by CA {}", subject, subject.subjectAltNames(), this);
-
-        certManager.generateCsr(keyFile, csrFile, subject);
-        certManager.generateCert(csrFile, currentCaKey(), currentCaCertBytes(),
-                certFile, subject, validityDays);
-
         String keyStorePassword = passwordGenerator.generate();
-        certManager.addKeyAndCertToKeyStore(keyFile, certFile, subject.commonName(), keyStoreFile, keyStorePassword);
-
         return new CertAndKey(
-                Files.readAllBytes(keyFile.toPath()),
-                Files.readAllBytes(certFile.toPath()),
+                key,
+                cert,
                 null,
-                Files.readAllBytes(keyStoreFile.toPath()),
+                certManager.addKeyAndCertToKeyStore(key, cert, alias, keyStorePassword),
                 keyStorePassword);
     }
 
@@ -311,11 +292,6 @@ public abstract class Ca {
      * @throws IOException If the cert could not be generated.
      */
     public CertAndKey generateSignedCert(String commonName, String organization) throws IOException {
-        File csrFile = File.createTempFile("tls", "csr");
-        File keyFile = File.createTempFile("tls", "key");
-        File certFile = File.createTempFile("tls", "cert");
-        File keyStoreFile = File.createTempFile("tls", "p12");
-
         Subject subject = new Subject();
 
         if (organization != null) {
@@ -324,19 +300,78 @@ public abstract class Ca {
 
         subject.setCommonName(commonName);
 
-        CertAndKey result = generateSignedCert(subject,
-                csrFile, keyFile, certFile, keyStoreFile);
+        return generateSignedCert(subject);
+    }
 
-        delete(csrFile);
-        delete(keyFile);
-        delete(certFile);
-        delete(keyStoreFile);
-        return result;
+    /**
+     * Generates a certificate signed by this CA, in memory, so that it can be called concurrently.
+     * @param subject The subject of the certificate to be generated.
+     * @return The CertAndKey
+     * @throws IOException If the cert could not be generated.
+     */
+    /*test*/ CertAndKey generateSignedCert(Subject subject) throws IOException {
+        log.debug("Generating certificate {} with SAN {}, signed by CA {}", subject, subject.subjectAltNames(), this);
+
+        CertAndKey certAndKey = certManager.generateSignedCert(subject, currentCaKey(), currentCaCertBytes(), validityDays);
+        return addKeyAndCertToKeyStore(subject.commonName(), certAndKey.key(), certAndKey.cert());
+    }
+
+    /**
+     * Generate certificates on the given worker pool instead of on the daemon threads of this class.
+     *
+     * @param pool The worker pool, usually the {@link io.strimzi.operator.common.WorkerPools#crypto crypto} pool.
+     */
+    public static void useCertGenerationPool(WorkerPool pool) {
+        certGenerationPool = pool;
+    }
+
+    /**
+     * Generates a certificate signed by this CA on the pool of certificate generation threads.
+     */
+    private Future<CertAndKey> generateSignedCertAsync(Subject subject) {
+        WorkerPool pool = certGenerationPool;
+        if (pool != null) {
+            return pool.submit(() -> generateSignedCert(subject));
+        }
+        return CertGenerationPool.EXECUTOR.submit(() -> generateSignedCert(subject));
+    }
+
+    /**
+     * Waits for the certificates being generated for each of the given pods, and returns them keyed by pod name,
+     * in the order of the given pods. If any generation fails, the ones which have not started yet are cancelled.
+     */
+    private static Map<String, CertAndKey> awaitCerts(List<String> podNames, List<Future<CertAndKey>> results) throws IOException {
+        Map<String, CertAndKey> certs = new LinkedHashMap<>(podNames.size());
+        try {
+            for (int i = 0; i < podNames.size(); i++) {
+                certs.put(podNames.get(i), results.get(i).get());
+            }
+            return certs;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while generating certificates");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            } else if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IOException("Failed to generate certificates", e.getCause());
+        } finally {
+            if (certs.size() < podNames.size()) {
+                for (Future<CertAndKey> result : results) {
+                    result.cancel(false);
+                }
+            }
+        }
     }
 
     /**
      * Copy already existing certificates from provided Secret based on number of effective replicas
      * and maybe generate new ones for new replicas (i.e. scale-up).
+     * The certificates which need to be generated are generated concurrently, on a pool bounded
+     * by the number of available processors.
+     * The returned map iterates in the order of the replicas.
      */
     protected Map<String, CertAndKey> maybeCopyOrGenerateCerts(
            int replicas,
@@ -347,12 +382,8 @@ public abstract class Ca {
         int replicasInSecret = secret == null || this.certRenewed() ? 0 :
                 (int) secret.getData().keySet().stream().filter(k -> k.contains(".crt")).count();
 
-        File brokerCsrFile = File.createTempFile("tls", "broker-csr");
-        File brokerKeyFile = File.createTempFile("tls", "broker-key");
-        File brokerCertFile = File.createTempFile("tls", "broker-cert");
-        File brokerKeyStoreFile = File.createTempFile("tls", "broker-p12");
-
-        Map<String, CertAndKey> certs = new HashMap<>();
+        List<String> podNames = new ArrayList<>(replicas);
+        List<Future<CertAndKey>> results = new ArrayList<>(replicas);
         // copying the minimum number of certificates already existing in the secret
         // scale up -> it will copy all certificates
         // scale down -> it will copy just the requested number of replicas
@@ -390,11 +421,11 @@ public abstract class Ca {
             if (!reasons.isEmpty())  {
                 log.debug("Certificate for pod {} need to be regenerated because:", podName, String.join(", ", reasons));
 
-                CertAndKey newCertAndKey = generateSignedCert(subject, brokerCsrFile, brokerKeyFile, brokerCertFile, brokerKeyStoreFile);
-                certs.put(podName, newCertAndKey);
+                results.add(generateSignedCertAsync(subject));
             }   else {
-                certs.put(podName, certAndKey);
+                results.add(CompletableFuture.completedFuture(certAndKey));
             }
+            podNames.add(podName);
         }
 
         // generate the missing number of certificates
@@ -404,16 +435,11 @@ public abstract class Ca {
             String podName = podNameFn.apply(i);
 
             log.debug("Certificate for {} to generate", podName);
-            CertAndKey k = generateSignedCert(subjectFn.apply(i),
-                    brokerCsrFile, brokerKeyFile, brokerCertFile, brokerKeyStoreFile);
-            certs.put(podName, k);
+            results.add(generateSignedCertAsync(subjectFn.apply(i)));
+            podNames.add(podName);
         }
-        delete(brokerCsrFile);
-        delete(brokerKeyFile);
-        delete(brokerCertFile);
-        delete(brokerKeyStoreFile);
 
-        return certs;
+        return awaitCerts(podNames, results);
     }
 
     /**
@@ -773,15 +799,9 @@ public abstract class Ca {
         if (removed.size() > 0) {
             // the certificates removed from the Secret data has tobe removed from the store as well
             try {
-                File trustStoreFile = File.createTempFile("tls", "-truststore");
-                Files.write(trustStoreFile.toPath(), Base64.getDecoder().decode(newData.get(CA_STORE)));
-                try {
-                    String trustStorePassword = new String(Base64.getDecoder().decode(newData.get(CA_STORE_PASSWORD)), StandardCharsets.US_ASCII);
-                    certManager.deleteFromTrustStore(removed, trustStoreFile, trustStorePassword);
-                    newData.put(CA_STORE, Base64.getEncoder().encodeToString(Files.readAllBytes(trustStoreFile.toPath())));
-                } finally {
-                    delete(trustStoreFile);
-                }
+                String trustStorePassword = new String(Base64.getDecoder().decode(newData.get(CA_STORE_PASSWORD)), StandardCharsets.US_ASCII);
+                byte[] trustStore = certManager.deleteFromTrustStore(removed, Base64.getDecoder().decode(newData.get(CA_STORE)), trustStorePassword);
+                newData.put(CA_STORE, Base64.getEncoder().encodeToString(trustStore));
             } catch (IOException | CertificateException | KeyStoreException | NoSuchAlgorithmException e) {
                 throw new RuntimeException(e);
             }
@@ -847,27 +867,13 @@ public abstract class Ca {
 
     private void addCertCaToTrustStore(String alias, Map<String, String> certData) {
         try {
-            File certFile = File.createTempFile("tls", "-cert");
-            Files.write(certFile.toPath(), Base64.getDecoder().decode(certData.get(CA_CRT)));
-            try {
-                File trustStoreFile = File.createTempFile("tls", "-truststore");
-                if (certData.containsKey(CA_STORE)) {
-                    Files.write(trustStoreFile.toPath(), Base64.getDecoder().decode(certData.get(CA_STORE)));
-                }
-                try {
-                    String trustStorePassword = certData.containsKey(CA_STORE_PASSWORD) ?
-                            new String(Base64.getDecoder().decode(certData.get(CA_STORE_PASSWORD)), StandardCharsets.US_ASCII) :
-                            passwordGenerator.generate();
-                    certManager.addCertToTrustStore(certFile, alias, trustStoreFile, trustStorePassword);
-                    certData.put(CA_STORE, Base64.getEncoder().encodeToString(Files.readAllBytes(trustStoreFile.toPath())));
-                    certData.put(CA_STORE_PASSWORD, Base64.getEncoder().encodeToString(trustStorePassword.getBytes(StandardCharsets.US_ASCII)));
-                } finally {
-                    delete(trustStoreFile);
-                }
-            } finally {
-                delete(certFile);
-            }
-
+            byte[] trustStore = certData.containsKey(CA_STORE) ? Base64.getDecoder().decode(certData.get(CA_STORE)) : null;
+            String trustStorePassword = certData.containsKey(CA_STORE_PASSWORD) ?
+                    new String(Base64.getDecoder().decode(certData.get(CA_STORE_PASSWORD)), StandardCharsets.US_ASCII) :
+                    passwordGenerator.generate();
+            trustStore = certManager.addCertToTrustStore(Base64.getDecoder().decode(certData.get(CA_CRT)), alias, trustStore, trustStorePassword);
+            certData.put(CA_STORE, Base64.getEncoder().encodeToString(trustStore));
+            certData.put(CA_STORE_PASSWORD, Base64.getEncoder().encodeToString(trustStorePassword.getBytes(StandardCharsets.US_ASCII)));
         } catch (IOException | CertificateException | KeyStoreException | NoSuchAlgorithmException e) {
             throw new RuntimeException(e);
         }
@@ -876,41 +882,26 @@ public abstract class Ca {
     private void generateCaKeyAndCert(Subject subject, Map<String, String> keyData, Map<String, String> certData) {
         try {
             log.debug("Generating CA with subject={}", subject);
-            File keyFile = File.createTempFile("tls", subject.commonName() + "-key");
-            try {
-                File certFile = File.createTempFile("tls", subject.commonName() + "-cert");
-                try {
-                    File trustStoreFile = File.createTempFile("tls", subject.commonName() + "-truststore");
-                    String trustStorePassword;
-                    // if secret already contains the truststore, we have to reuse it without changing password
-                    if (certData.containsKey(CA_STORE)) {
-                        Files.write(trustStoreFile.toPath(), Base64.getDecoder().decode(certData.get(CA_STORE)));
-                        trustStorePassword = new String(Base64.getDecoder().decode(certData.get(CA_STORE_PASSWORD)), StandardCharsets.US_ASCII);
-                    } else {
-                        trustStorePassword = passwordGenerator.generate();
-                    }
-                    try {
-                        certManager.generateSelfSignedCert(keyFile, certFile, subject, validityDays);
-                        certManager.addCertToTrustStore(certFile, CA_CRT, trustStoreFile, trustStorePassword);
-                        CertAndKey ca = new CertAndKey(
-                                Files.readAllBytes(keyFile.toPath()),
-                                Files.readAllBytes(certFile.toPath()),
-                                Files.readAllBytes(trustStoreFile.toPath()),
-                                null,
-                                trustStorePassword);
-                        certData.put(CA_CRT, ca.certAsBase64String());
-                        keyData.put(CA_KEY, ca.keyAsBase64String());
-                        certData.put(CA_STORE, ca.trustStoreAsBase64String());
-                        certData.put(CA_STORE_PASSWORD, ca.storePasswordAsBase64String());
-                    } finally {
-                        delete(trustStoreFile);
-                    }
-                } finally {
-                    delete(certFile);
-                }
-            } finally {
-                delete(keyFile);
+            byte[] trustStore = null;
+            String trustStorePassword;
+            // if secret already contains the truststore, we have to reuse it without changing password
+            if (certData.containsKey(CA_STORE)) {
+                trustStore = Base64.getDecoder().decode(certData.get(CA_STORE));
+                trustStorePassword = new String(Base64.getDecoder().decode(certData.get(CA_STORE_PASSWORD)), StandardCharsets.US_ASCII);
+            } else {
+                trustStorePassword = passwordGenerator.generate();
             }
+            CertAndKey keyAndCert = certManager.generateSelfSignedCert(subject, validityDays);
+            CertAndKey ca = new CertAndKey(
+                    keyAndCert.key(),
+                    keyAndCert.cert(),
+                    certManager.addCertToTrustStore(keyAndCert.cert(), CA_CRT, trustStore, trustStorePassword),
+                    null,
+                    trustStorePassword);
+            certData.put(CA_CRT, ca.certAsBase64String());
+            keyData.put(CA_KEY, ca.keyAsBase64String());
+            certData.put(CA_STORE, ca.trustStoreAsBase64String());
+            certData.put(CA_STORE_PASSWORD, ca.storePasswordAsBase64String());
         } catch (IOException | CertificateException | KeyStoreException | NoSuchAlgorithmException e) {
             throw new RuntimeException(e);
         }
@@ -922,34 +913,17 @@ public abstract class Ca {
 
             Base64.Decoder decoder = Base64.getDecoder();
             byte[] bytes = decoder.decode(caKeySecret.getData().get(CA_KEY));
-            File keyFile = File.createTempFile("tls", subject.commonName() + "-key");
-            try {
-                Files.write(keyFile.toPath(), bytes);
-                File certFile = File.createTempFile("tls", subject.commonName() + "-cert");
-                try {
-                    File trustStoreFile = File.createTempFile("tls", subject.commonName() + "-truststore");
-                    try {
-                        String trustStorePassword = passwordGenerator.generate();
-                        certManager.renewSelfSignedCert(keyFile, certFile, subject, validityDays);
-                        certManager.addCertToTrustStore(certFile, CA_CRT, trustStoreFile, trustStorePassword);
-                        CertAndKey ca = new CertAndKey(
-                                bytes,
-                                Files.readAllBytes(certFile.toPath()),
-                                Files.readAllBytes(trustStoreFile.toPath()),
-                                null,
-                                trustStorePassword);
-                        certData.put(CA_CRT, ca.certAsBase64String());
-                        certData.put(CA_STORE, ca.trustStoreAsBase64String());
-                        certData.put(CA_STORE_PASSWORD, ca.storePasswordAsBase64String());
-                    } finally {
-                        delete(trustStoreFile);
-                    }
-                } finally {
-                    delete(certFile);
-                }
-            } finally {
-                delete(keyFile);
-            }
+            String trustStorePassword = passwordGenerator.generate();
+            byte[] cert = certManager.renewSelfSignedCert(bytes, subject, validityDays);
+            CertAndKey ca = new CertAndKey(
+                    bytes,
+                    cert,
+                    certManager.addCertToTrustStore(cert, CA_CRT, null, trustStorePassword),
+                    null,
+                    trustStorePassword);
+            certData.put(CA_CRT, ca.certAsBase64String());
+            certData.put(CA_STORE, ca.trustStoreAsBase64String());
+            certData.put(CA_STORE_PASSWORD, ca.storePasswordAsBase64String());
         } catch (IOException | CertificateException | KeyStoreException | NoSuchAlgorithmException e) {
             throw new RuntimeException(e);
         }
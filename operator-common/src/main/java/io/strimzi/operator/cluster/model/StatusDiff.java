@@ -4,50 +4,43 @@
  */
 package io.strimzi.operator.cluster.model;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import io.fabric8.zjsonpatch.JsonDiff;
 import io.strimzi.api.kafka.model.status.Status;
 import io.strimzi.operator.common.operator.resource.AbstractResourceDiff;
+import io.strimzi.operator.common.operator.resource.StructuralDiff;
+import io.strimzi.operator.common.operator.resource.StructuralDiff.PathPattern;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
-import java.util.regex.Pattern;
+import java.util.List;
 
 import static io.fabric8.kubernetes.client.internal.PatchUtils.patchMapper;
 
 public class StatusDiff extends AbstractResourceDiff {
     private static final Logger log = LogManager.getLogger(StatusDiff.class.getName());
 
-    private static final Pattern IGNORABLE_PATHS = Pattern.compile(
-            "^(/conditions/[0-9]+/lastTransitionTime)$");
+    private static final StructuralDiff DIFF = new StructuralDiff(patchMapper());
+
+    private static final List<PathPattern> IGNORABLE_PATHS = PathPattern.compileAll(
+            "/conditions/*/lastTransitionTime");
 
     private final boolean isEmpty;
 
     public StatusDiff(Status current, Status desired) {
-        JsonNode source = patchMapper().valueToTree(current == null ? "{}" : current);
-        JsonNode target = patchMapper().valueToTree(desired == null ? "{}" : desired);
-        JsonNode diff = JsonDiff.asJson(source, target);
-
-        int num = 0;
-
-        for (JsonNode d : diff) {
-            String pathValue = d.get("path").asText();
-
-            if (IGNORABLE_PATHS.matcher(pathValue).matches()) {
-                log.debug("Ignoring Status diff {}", d);
-                continue;
+        // Stop at the first difference which is not ignorable
+        this.isEmpty = DIFF.diff(current, desired, (path, currentValue, desiredValue) -> {
+            if (PathPattern.anyMatches(IGNORABLE_PATHS, path)) {
+                log.debug("Ignoring Status diff at {}", path);
+                return true;
             }
 
             if (log.isDebugEnabled()) {
-                log.debug("Status differs: {}", d);
-                log.debug("Current Status path {} has value {}", pathValue, lookupPath(source, pathValue));
-                log.debug("Desired Status path {} has value {}", pathValue, lookupPath(target, pathValue));
+                log.debug("Status differs at {}", path);
+                log.debug("Current Status path {} has value {}", path, currentValue);
+                log.debug("Desired Status path {} has value {}", path, desiredValue);
             }
 
-            num++;
-        }
-
-        this.isEmpty = num == 0;
+            return false;
+        });
     }
 
     /**
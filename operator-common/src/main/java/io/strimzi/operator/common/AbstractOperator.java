@@ -15,17 +15,22 @@ import io.strimzi.operator.common.model.ValidationVisitor;
 import io.strimzi.operator.common.operator.resource.AbstractWatchableResourceOperator;
 import io.strimzi.operator.common.operator.resource.TimeoutException;
 import io.vertx.core.AsyncResult;
+import io.vertx.core.CompositeFuture;
 import io.vertx.core.Future;
+import io.vertx.core.Handler;
 import io.vertx.core.Promise;
 import io.vertx.core.Vertx;
 import io.vertx.core.shareddata.Lock;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.Callable;
 import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import static io.strimzi.operator.common.Util.async;
@@ -58,11 +63,27 @@ public abstract class AbstractOperator<
     protected final Vertx vertx;
     protected final S resourceOperator;
     private final String kind;
+    private final ReconciliationQueue reconciliationQueue;
+    private final ReconciliationMetrics metrics;
 
     public AbstractOperator(Vertx vertx, String kind, S resourceOperator) {
+        this(vertx, kind, resourceOperator, new MicrometerMetricsProvider(), null);
+    }
+
+    /**
+     * @param vertx The Vertx instance.
+     * @param kind The kind of the resource consumed by this operator.
+     * @param resourceOperator For operating on the resource consumed by this operator.
+     * @param metricsProvider The metrics provider for the {@linkplain ReconciliationMetrics reconciliation metrics}.
+     * @param reconciliationQueue The queue through which {@link #reconcileThese(String, Set, Handler)}
+     *                            reconciles the resources, or null to reconcile them all at once.
+     */
+    public AbstractOperator(Vertx vertx, String kind, S resourceOperator, MetricsProvider metricsProvider, ReconciliationQueue reconciliationQueue) {
         this.vertx = vertx;
         this.kind = kind;
         this.resourceOperator = resourceOperator;
+        this.metrics = new ReconciliationMetrics(metricsProvider, kind);
+        this.reconciliationQueue = reconciliationQueue;
     }
 
     @Override
@@ -115,6 +136,7 @@ public abstract class AbstractOperator<
     public final Future<Void> reconcile(Reconciliation reconciliation) {
         String namespace = reconciliation.namespace();
         String name = reconciliation.name();
+        long startNanos = metrics.started(namespace);
         Future<Void> handler = withLock(reconciliation, LOCK_TIMEOUT_MS, () -> {
             T cr = resourceOperator.get(namespace, name);
             if (cr != null) {
@@ -141,17 +163,91 @@ public abstract class AbstractOperator<
         });
         Promise<Void> result = Promise.promise();
         handler.setHandler(reconcileResult -> {
+            if (reconcileResult.failed() && reconcileResult.cause() instanceof UnableToAcquireLockException) {
+                metrics.locked(namespace, startNanos);
+            } else {
+                metrics.completed(namespace, startNanos, reconcileResult);
+            }
             handleResult(reconciliation, reconcileResult);
             result.handle(reconcileResult);
         });
         return result.future();
     }
 
+    /**
+     * Reconcile all the resources in the given namespace, recording how many there are
+     * in the {@linkplain ReconciliationMetrics reconciliation metrics}.
+     * @param trigger The cause of this reconciliation (for logging).
+     * @param namespace The namespace to reconcile, or {@code *} to reconcile across all namespaces.
+     * @param handler Handler called on completion.
+     */
+    @Override
+    public void reconcileAll(String trigger, String namespace, Handler<AsyncResult<Void>> handler) {
+        reconcileAll(namespace, allResourceNames(namespace), reconciliations(trigger), handler);
+    }
+
+    /**
+     * Reconcile the resources with the given names, recording how many there are
+     * in the {@linkplain ReconciliationMetrics reconciliation metrics}.
+     * Subclasses can pass state loaded once for the whole full reconciliation to the reconciliations
+     * of the individual resources through the given {@code reconciliations} function.
+     * @param namespace The namespace to reconcile, or {@code *} to reconcile across all namespaces.
+     * @param names A future which completes with the resources to reconcile.
+     * @param reconciliations Creates the reconciliation of each of the resources.
+     * @param handler Handler called on completion.
+     */
+    protected void reconcileAll(String namespace, Future<Set<NamespaceAndName>> names,
+                                Function<NamespaceAndName, Reconciliation> reconciliations, Handler<AsyncResult<Void>> handler) {
+        names.setHandler(ar -> {
+            if (ar.succeeded()) {
+                metrics.resources(namespace, ar.result().size());
+                reconcileThese(ar.result(), reconciliations, handler);
+            } else {
+                handler.handle(ar.map((Void) null));
+            }
+        });
+    }
+
+    private Function<NamespaceAndName, Reconciliation> reconciliations(String trigger) {
+        return resourceRef -> new Reconciliation(trigger, kind(), resourceRef.getNamespace(), resourceRef.getName());
+    }
+
+    /**
+     * Reconcile the given resources through the {@linkplain ReconciliationQueue reconciliation queue},
+     * spreading them according to its jitter, or all at once if this operator has no queue.
+     * @param trigger The cause of this reconciliation (for logging).
+     * @param desiredNames The resources to reconcile.
+     * @param handler Handler called once all the resources have been reconciled.
+     */
+    @Override
+    public void reconcileThese(String trigger, Set<NamespaceAndName> desiredNames, Handler<AsyncResult<Void>> handler) {
+        reconcileThese(desiredNames, reconciliations(trigger), handler);
+    }
+
+    private void reconcileThese(Set<NamespaceAndName> desiredNames, Function<NamespaceAndName, Reconciliation> reconciliations,
+                                Handler<AsyncResult<Void>> handler) {
+        if (desiredNames.isEmpty()) {
+            handler.handle(Future.succeededFuture());
+            return;
+        }
+        List<Future> futures = new ArrayList<>(desiredNames.size());
+        for (NamespaceAndName resourceRef : desiredNames) {
+            Reconciliation reconciliation = reconciliations.apply(resourceRef);
+            if (reconciliationQueue == null) {
+                futures.add(reconcile(reconciliation));
+            } else {
+                futures.add(reconciliationQueue.submit(resourceRef.toString(), reconciliationQueue.jitterMs(),
+                    () -> reconcile(reconciliation)));
+            }
+        }
+        CompositeFuture.join(futures).map((Void) null).setHandler(handler);
+    }
+
     /**
      * The exception by which Futures returned by {@link #withLock(Reconciliation, long, Callable)} are failed when
      * the lock cannot be acquired within the timeout.
      */
-    static class UnableToAcquireLockException extends TimeoutException { }
+    protected static class UnableToAcquireLockException extends TimeoutException { }
 
     /**
      * Acquire the lock for the resource implied by the {@code reconciliation}
@@ -164,13 +260,27 @@ public abstract class AbstractOperator<
      * @return
      */
     protected final <T> Future<T> withLock(Reconciliation reconciliation, long lockTimeoutMs, Callable<Future<T>> callable) {
+        return withLock(reconciliation, getLockName(reconciliation.namespace(), reconciliation.name()), lockTimeoutMs, callable);
+    }
+
+    /**
+     * Like {@link #withLock(Reconciliation, long, Callable)}, but acquire the lock with the given {@code lockName}
+     * rather than the lock for the resource implied by the {@code reconciliation}.
+     * @param reconciliation The reconciliation
+     * @param lockName The name of the lock
+     * @param lockTimeoutMs The timeout for acquiring the lock
+     * @param callable The callable to call with the lock held
+     * @param <T> The type of the result
+     * @return A future for the result of the callable
+     */
+    protected final <T> Future<T> withLock(Reconciliation reconciliation, String lockName, long lockTimeoutMs, Callable<Future<T>> callable) {
         Promise<T> handler = Promise.promise();
         String namespace = reconciliation.namespace();
-        String name = reconciliation.name();
-        final String lockName = getLockName(namespace, name);
+        long waitStartNanos = System.nanoTime();
         vertx.sharedData().getLockWithTimeout(lockName, lockTimeoutMs, res -> {
             if (res.succeeded()) {
                 log.debug("{}: Lock {} acquired", reconciliation, lockName);
+                metrics.lockAcquired(namespace, waitStartNanos);
                 Lock lock = res.result();
                 try {
                     callable.call().setHandler(callableRes -> {
@@ -0,0 +1,70 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.operator.common;
+
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.vertx.core.Context;
+import io.vertx.core.Vertx;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how long the event loop of a Vert.x context is blocked,
+ * as the time by which a timer running on that context fires later than it was due.
+ * The delays are recorded by the {@code strimzi_event_loop_blocked_time} timer,
+ * so that its maximum and total show whether (and how much) the operator blocks its event loop.
+ */
+public class EventLoopMonitor {
+
+    private final Context context;
+    private final long intervalMs;
+    private final Timer blockedTime;
+    private volatile boolean stopped = false;
+    private long timerId = -1;
+
+    /**
+     * @param vertx The Vertx instance.
+     * @param intervalMs The interval between measurements.
+     * @param metrics The metrics provider.
+     * @param tags The tags of the metric, e.g. identifying the operator.
+     */
+    public EventLoopMonitor(Vertx vertx, long intervalMs, MetricsProvider metrics, Tags tags) {
+        this.context = vertx.getOrCreateContext();
+        this.intervalMs = intervalMs;
+        this.blockedTime = metrics.timer("event.loop.blocked.time",
+                "Time by which timers on the event loop fired late, because the event loop was blocked", tags);
+    }
+
+    /**
+     * Start measuring the event loop of the context on which this monitor was created.
+     */
+    public void start() {
+        context.runOnContext(ignored -> schedule());
+    }
+
+    /**
+     * Stop measuring.
+     */
+    public void stop() {
+        stopped = true;
+        context.runOnContext(ignored -> {
+            if (timerId != -1) {
+                context.owner().cancelTimer(timerId);
+            }
+        });
+    }
+
+    private void schedule() {
+        if (stopped) {
+            return;
+        }
+        long due = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(intervalMs);
+        timerId = context.owner().setTimer(intervalMs, id -> {
+            blockedTime.record(Math.max(0, System.nanoTime() - due), TimeUnit.NANOSECONDS);
+            schedule();
+        });
+    }
+}
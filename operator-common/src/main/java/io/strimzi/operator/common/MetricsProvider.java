@@ -0,0 +1,67 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.operator.common;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Abstraction over the metrics backend used by the operators.
+ * Components which want to expose metrics take an instance of this interface rather
+ * than looking up the metrics registry themselves, which keeps them testable.
+ */
+public interface MetricsProvider {
+
+    /**
+     * @return The underlying meter registry.
+     */
+    MeterRegistry meterRegistry();
+
+    /**
+     * Gets (creating it if necessary) the counter with the given name and tags.
+     *
+     * @param name The metric name.
+     * @param description The metric description.
+     * @param tags The metric tags.
+     * @return The counter.
+     */
+    Counter counter(String name, String description, Tags tags);
+
+    /**
+     * Gets (creating it if necessary) the timer with the given name and tags.
+     *
+     * @param name The metric name.
+     * @param description The metric description.
+     * @param tags The metric tags.
+     * @return The timer.
+     */
+    Timer timer(String name, String description, Tags tags);
+
+    /**
+     * Gets (creating it if necessary) the distribution summary with the given name and tags.
+     *
+     * @param name The metric name.
+     * @param description The metric description.
+     * @param tags The metric tags.
+     * @return The distribution summary.
+     */
+    DistributionSummary summary(String name, String description, Tags tags);
+
+    /**
+     * Gets (creating it if necessary) the gauge with the given name and tags.
+     * The gauge reports the current value of the returned {@code AtomicLong}.
+     *
+     * @param name The metric name.
+     * @param description The metric description.
+     * @param tags The metric tags.
+     * @return The value backing the gauge.
+     */
+    AtomicLong gauge(String name, String description, Tags tags);
+}
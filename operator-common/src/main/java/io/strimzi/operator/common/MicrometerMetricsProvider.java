@@ -0,0 +1,91 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.operator.common;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.vertx.micrometer.backends.BackendRegistries;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@link MetricsProvider} backed by a Micrometer {@link MeterRegistry}.
+ * All metric names are prefixed with {@code strimzi.}.
+ * Timers and distribution summaries publish a percentile histogram, so that their distribution can be aggregated across operator instances.
+ */
+public class MicrometerMetricsProvider implements MetricsProvider {
+
+    static final String PREFIX = "strimzi.";
+
+    private final MeterRegistry registry;
+    private final Map<String, AtomicLong> gauges = new ConcurrentHashMap<>();
+
+    /**
+     * Uses the Vert.x default backend registry when Vert.x metrics are enabled,
+     * otherwise a {@link SimpleMeterRegistry} which is not exported anywhere.
+     */
+    public MicrometerMetricsProvider() {
+        this(defaultRegistry());
+    }
+
+    public MicrometerMetricsProvider(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    private static MeterRegistry defaultRegistry() {
+        MeterRegistry registry = BackendRegistries.getDefaultNow();
+        return registry != null ? registry : new SimpleMeterRegistry();
+    }
+
+    @Override
+    public MeterRegistry meterRegistry() {
+        return registry;
+    }
+
+    @Override
+    public Counter counter(String name, String description, Tags tags) {
+        return Counter.builder(PREFIX + name)
+                .description(description)
+                .tags(tags)
+                .register(registry);
+    }
+
+    @Override
+    public Timer timer(String name, String description, Tags tags) {
+        return Timer.builder(PREFIX + name)
+                .description(description)
+                .tags(tags)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    @Override
+    public DistributionSummary summary(String name, String description, Tags tags) {
+        return DistributionSummary.builder(PREFIX + name)
+                .description(description)
+                .tags(tags)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    @Override
+    public AtomicLong gauge(String name, String description, Tags tags) {
+        return gauges.computeIfAbsent(PREFIX + name + tags, key -> {
+            AtomicLong value = new AtomicLong();
+            Gauge.builder(PREFIX + name, value, AtomicLong::get)
+                    .description(description)
+                    .tags(tags)
+                    .register(registry);
+            return value;
+        });
+    }
+}
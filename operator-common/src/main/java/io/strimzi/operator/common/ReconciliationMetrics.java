@@ -0,0 +1,134 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.operator.common;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.vertx.core.AsyncResult;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The metrics of the reconciliations of a given kind of resource, tagged with the kind and the namespace of the resource.
+ *
+ * <ul>
+ * <li>{@code strimzi_reconciliations} counts the started reconciliations,
+ *     {@code strimzi_reconciliations_successful}, {@code strimzi_reconciliations_failed}
+ *     and {@code strimzi_reconciliations_locked} how they ended.
+ *     A locked reconciliation is one which gave up waiting for the lock of its resource.</li>
+ * <li>{@code strimzi_reconciliations_duration} times the reconciliations, including waiting for the lock.</li>
+ * <li>{@code strimzi_reconciliations_lock_wait_time} times waiting for the lock.</li>
+ * <li>{@code strimzi_reconciliations_in_progress} is the number of reconciliations currently running.</li>
+ * <li>{@code strimzi_resources} is the number of resources found by the last full reconciliation.</li>
+ * </ul>
+ */
+public class ReconciliationMetrics {
+
+    private final MetricsProvider metrics;
+    private final String kind;
+    private final Map<String, Meters> meters = new ConcurrentHashMap<>();
+
+    private static class Meters {
+        private final Counter started;
+        private final Counter successful;
+        private final Counter failed;
+        private final Counter locked;
+        private final Timer duration;
+        private final Timer lockWaitTime;
+        private final AtomicLong inProgress;
+        private final AtomicLong resources;
+
+        Meters(MetricsProvider metrics, Tags tags) {
+            started = metrics.counter("reconciliations", "Number of reconciliations started", tags);
+            successful = metrics.counter("reconciliations.successful", "Number of reconciliations which succeeded", tags);
+            failed = metrics.counter("reconciliations.failed", "Number of reconciliations which failed", tags);
+            locked = metrics.counter("reconciliations.locked",
+                    "Number of reconciliations which were not run because the lock of the resource could not be acquired", tags);
+            duration = metrics.timer("reconciliations.duration", "Time taken by reconciliations, including waiting for the lock", tags);
+            lockWaitTime = metrics.timer("reconciliations.lock.wait.time", "Time reconciliations wait for the lock of the resource", tags);
+            inProgress = metrics.gauge("reconciliations.in.progress", "Number of reconciliations currently running", tags);
+            resources = metrics.gauge("resources", "Number of resources found by the last full reconciliation", tags);
+        }
+    }
+
+    /**
+     * @param metrics The metrics provider.
+     * @param kind The kind of the reconciled resources, used as the {@code kind} tag.
+     */
+    public ReconciliationMetrics(MetricsProvider metrics, String kind) {
+        this.metrics = metrics;
+        this.kind = kind;
+    }
+
+    private Meters meters(String namespace) {
+        // Resources seen by watches may lack a namespace, which neither the map nor the tag allow
+        return meters.computeIfAbsent(namespace != null ? namespace : "", ns -> new Meters(metrics, Tags.of("kind", kind, "namespace", ns)));
+    }
+
+    /**
+     * Record the start of a reconciliation.
+     * Every call must be followed by one call of either {@link #completed(String, long, AsyncResult)}
+     * or {@link #locked(String, long)}.
+     * @param namespace The namespace of the resource.
+     * @return The start time, to be passed to the method recording the end of the reconciliation.
+     */
+    public long started(String namespace) {
+        Meters meters = meters(namespace);
+        meters.started.increment();
+        meters.inProgress.incrementAndGet();
+        return System.nanoTime();
+    }
+
+    /**
+     * Record the end of a reconciliation which ran with the lock held.
+     * @param namespace The namespace of the resource.
+     * @param startNanos The value returned by {@link #started(String)}.
+     * @param result The result of the reconciliation.
+     */
+    public void completed(String namespace, long startNanos, AsyncResult<?> result) {
+        Meters meters = meters(namespace);
+        meters.inProgress.decrementAndGet();
+        meters.duration.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        if (result.succeeded()) {
+            meters.successful.increment();
+        } else {
+            meters.failed.increment();
+        }
+    }
+
+    /**
+     * Record the end of a reconciliation which was not run because the lock could not be acquired.
+     * @param namespace The namespace of the resource.
+     * @param startNanos The value returned by {@link #started(String)}.
+     */
+    public void locked(String namespace, long startNanos) {
+        Meters meters = meters(namespace);
+        meters.inProgress.decrementAndGet();
+        meters.duration.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        meters.locked.increment();
+    }
+
+    /**
+     * Record the time a reconciliation waited to acquire the lock of its resource.
+     * @param namespace The namespace of the resource.
+     * @param waitStartNanos The {@link System#nanoTime()} at which the reconciliation started waiting.
+     */
+    public void lockAcquired(String namespace, long waitStartNanos) {
+        meters(namespace).lockWaitTime.record(System.nanoTime() - waitStartNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Record the number of resources found by a full reconciliation.
+     * @param namespace The namespace of the full reconciliation, or {@code *} for all namespaces.
+     * @param count The number of resources.
+     */
+    public void resources(String namespace, int count) {
+        meters(namespace).resources.set(count);
+    }
+}
@@ -0,0 +1,239 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.operator.common;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * A queue of keyed, asynchronous units of work, such as the reconciliations of a full reconciliation.
+ *
+ * <ul>
+ * <li>At most {@link ReconciliationQueueConfig#getMaxConcurrency()} units of work run at the same time.</li>
+ * <li>Units of work are started at no more than {@link ReconciliationQueueConfig#getRateLimit()} per second,
+ *     using a token bucket holding up to a second's worth of tokens.</li>
+ * <li>Submitting a key which is already waiting in the queue does not queue the work again,
+ *     but returns the Future of the waiting unit of work.
+ *     A key whose work is already running can be queued again.</li>
+ * <li>Units of work can be delayed, and {@link #jitterMs()} gives a random delay for spreading
+ *     the reconciliations of a full reconciliation across its interval.</li>
+ * </ul>
+ *
+ * The number of waiting units of work and the time they wait once they are due are published as metrics.
+ */
+public class ReconciliationQueue {
+
+    private static final Logger log = LogManager.getLogger(ReconciliationQueue.class);
+
+    private static class Task<T> {
+        private final String key;
+        private final long seq;
+        private final Supplier<Future<T>> work;
+        private final Promise<T> promise = Promise.promise();
+        private long dueNanos;
+
+        Task(String key, long seq, long dueNanos, Supplier<Future<T>> work) {
+            this.key = key;
+            this.seq = seq;
+            this.dueNanos = dueNanos;
+            this.work = work;
+        }
+    }
+
+    private final Vertx vertx;
+    private final String kind;
+    private final int maxConcurrency;
+    private final double ratePerNano;
+    private final double burst;
+    private final long spreadMs;
+
+    private final Map<String, Task<?>> waiting = new HashMap<>();
+    private final PriorityQueue<Task<?>> queue = new PriorityQueue<>(
+            Comparator.<Task<?>>comparingLong(task -> task.dueNanos).thenComparingLong(task -> task.seq));
+    private long seq;
+    private int running;
+    private double tokens;
+    private long lastRefillNanos;
+    private long timerId = -1;
+    private long timerDueNanos;
+
+    private final AtomicLong depth;
+    private final Timer waitTime;
+    private final Counter deduplicated;
+
+    /**
+     * @param vertx The Vertx instance.
+     * @param kind The kind of the resources reconciled through this queue, used as the metrics' {@code kind} tag.
+     * @param config The limits of the queue.
+     * @param fullReconciliationIntervalMs The interval between full reconciliations, used for computing the jitter.
+     * @param metrics The metrics provider.
+     */
+    public ReconciliationQueue(Vertx vertx, String kind, ReconciliationQueueConfig config,
+                               long fullReconciliationIntervalMs, MetricsProvider metrics) {
+        this.vertx = vertx;
+        this.kind = kind;
+        this.maxConcurrency = config.getMaxConcurrency();
+        this.ratePerNano = config.getRateLimit() / TimeUnit.SECONDS.toNanos(1);
+        this.burst = Math.max(1, Math.ceil(config.getRateLimit()));
+        this.spreadMs = (long) (fullReconciliationIntervalMs * config.getJitter());
+        this.tokens = burst;
+        this.lastRefillNanos = System.nanoTime();
+
+        Tags tags = Tags.of("kind", kind);
+        this.depth = metrics.gauge("reconciliations.queue.depth", "Number of reconciliations waiting in the queue", tags);
+        this.waitTime = metrics.timer("reconciliations.queue.wait.time",
+                "Time reconciliations wait in the queue, once they are due, for the concurrency and rate limits", tags);
+        this.deduplicated = metrics.counter("reconciliations.queue.deduplicated",
+                "Number of reconciliations not queued because one for the same resource was already waiting", tags);
+    }
+
+    /**
+     * @return A random delay for spreading the reconciliations of a full reconciliation
+     * across the configured fraction of its interval.
+     */
+    public long jitterMs() {
+        return spreadMs > 0 ? ThreadLocalRandom.current().nextLong(spreadMs) : 0;
+    }
+
+    /**
+     * @return The number of units of work waiting in the queue.
+     */
+    public synchronized int size() {
+        return queue.size();
+    }
+
+    /**
+     * Queue the given work, to be started once the given delay has elapsed and the limits allow it.
+     * If work for the same key is already waiting, the work is not queued again;
+     * the waiting work is started no later than the given delay, and its Future is returned.
+     *
+     * @param key The key of the work, such as the namespace and name of the resource to reconcile.
+     * @param delayMs The minimum number of milliseconds to wait before starting the work.
+     * @param work Supplies the work.
+     * @param <T> The type of the result of the work.
+     * @return A Future which completes with the result of the work.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Future<T> submit(String key, long delayMs, Supplier<Future<T>> work) {
+        Future<T> result;
+        synchronized (this) {
+            long dueNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(Math.max(0, delayMs));
+            Task<?> existing = waiting.get(key);
+            if (existing != null) {
+                log.debug("{} {} is already queued", kind, key);
+                deduplicated.increment();
+                if (dueNanos < existing.dueNanos) {
+                    queue.remove(existing);
+                    existing.dueNanos = dueNanos;
+                    queue.add(existing);
+                }
+                result = ((Promise<T>) existing.promise).future();
+            } else {
+                Task<T> task = new Task<>(key, seq++, dueNanos, work);
+                waiting.put(key, task);
+                queue.add(task);
+                depth.set(queue.size());
+                result = task.promise.future();
+            }
+        }
+        pump();
+        return result;
+    }
+
+    /**
+     * Start as much of the work which is due as the limits allow,
+     * and schedule a timer for when more of it can be started.
+     */
+    private void pump() {
+        List<Task<?>> toStart = new ArrayList<>();
+        long now = System.nanoTime();
+        synchronized (this) {
+            refillTokens(now);
+            while (!queue.isEmpty() && (maxConcurrency <= 0 || running < maxConcurrency)) {
+                Task<?> head = queue.peek();
+                if (head.dueNanos > now) {
+                    scheduleTimer(head.dueNanos, now);
+                    break;
+                }
+                if (ratePerNano > 0 && tokens < 1) {
+                    scheduleTimer(now + (long) Math.ceil((1 - tokens) / ratePerNano), now);
+                    break;
+                }
+                if (ratePerNano > 0) {
+                    tokens -= 1;
+                }
+                queue.poll();
+                waiting.remove(head.key);
+                running++;
+                toStart.add(head);
+            }
+            depth.set(queue.size());
+        }
+        for (Task<?> task : toStart) {
+            start(task, now);
+        }
+    }
+
+    private void refillTokens(long now) {
+        if (ratePerNano > 0) {
+            tokens = Math.min(burst, tokens + (now - lastRefillNanos) * ratePerNano);
+            lastRefillNanos = now;
+        }
+    }
+
+    private void scheduleTimer(long dueNanos, long now) {
+        if (timerId != -1) {
+            if (timerDueNanos <= dueNanos) {
+                return;
+            }
+            vertx.cancelTimer(timerId);
+        }
+        timerDueNanos = dueNanos;
+        timerId = vertx.setTimer(Math.max(1, TimeUnit.NANOSECONDS.toMillis(dueNanos - now) + 1), id -> {
+            synchronized (this) {
+                if (timerId == id) {
+                    timerId = -1;
+                }
+            }
+            pump();
+        });
+    }
+
+    private <T> void start(Task<T> task, long now) {
+        waitTime.record(Math.max(0, now - task.dueNanos), TimeUnit.NANOSECONDS);
+        Future<T> result;
+        try {
+            result = task.work.get();
+        } catch (Throwable t) {
+            result = Future.failedFuture(t);
+        }
+        result.setHandler(ar -> {
+            synchronized (this) {
+                running--;
+            }
+            task.promise.handle(ar);
+            // Pump on the context rather than in this handler, so that work which completes
+            // synchronously does not start the next unit of work on the same stack
+            vertx.runOnContext(ignored -> pump());
+        });
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.operator.common;
+
+import java.util.Map;
+
+/**
+ * Configuration of the {@link ReconciliationQueue} used for periodic reconciliations,
+ * shared by the operators which support it.
+ */
+public class ReconciliationQueueConfig {
+    public static final String STRIMZI_RECONCILIATION_MAX_CONCURRENCY = "STRIMZI_RECONCILIATION_MAX_CONCURRENCY";
+    public static final String STRIMZI_RECONCILIATION_RATE_LIMIT = "STRIMZI_RECONCILIATION_RATE_LIMIT";
+    public static final String STRIMZI_FULL_RECONCILIATION_JITTER = "STRIMZI_FULL_RECONCILIATION_JITTER";
+
+    public static final int DEFAULT_MAX_CONCURRENCY = 0;
+    public static final double DEFAULT_RATE_LIMIT = 0;
+    public static final double DEFAULT_JITTER = 0;
+
+    /**
+     * No limit on concurrency nor rate, and no jitter.
+     */
+    public static final ReconciliationQueueConfig DEFAULT = new ReconciliationQueueConfig(DEFAULT_MAX_CONCURRENCY, DEFAULT_RATE_LIMIT, DEFAULT_JITTER);
+
+    private final int maxConcurrency;
+    private final double rateLimit;
+    private final double jitter;
+
+    /**
+     * Constructor
+     *
+     * @param maxConcurrency the maximum number of reconciliations running at the same time, or 0 for no limit
+     * @param rateLimit the maximum number of reconciliations started per second, or 0 for no limit
+     * @param jitter the fraction (between 0 and 1) of the full reconciliation interval over which
+     *               the reconciliations of a full reconciliation are spread at random
+     */
+    public ReconciliationQueueConfig(int maxConcurrency, double rateLimit, double jitter) {
+        if (maxConcurrency < 0) {
+            throw new IllegalArgumentException("The maximum concurrency must not be negative");
+        }
+        if (rateLimit < 0 || Double.isNaN(rateLimit) || Double.isInfinite(rateLimit)) {
+            throw new IllegalArgumentException("The rate limit must be a finite number which is not negative");
+        }
+        if (!(jitter >= 0 && jitter <= 1)) {
+            throw new IllegalArgumentException("The jitter must be between 0 and 1");
+        }
+        this.maxConcurrency = maxConcurrency;
+        this.rateLimit = rateLimit;
+        this.jitter = jitter;
+    }
+
+    /**
+     * Loads configuration parameters from a related map
+     *
+     * @param map   map from which loading configuration parameters
+     * @return  Reconciliation queue configuration instance
+     */
+    public static ReconciliationQueueConfig fromMap(Map<String, String> map) {
+        String maxConcurrency = map.get(STRIMZI_RECONCILIATION_MAX_CONCURRENCY);
+        String rateLimit = map.get(STRIMZI_RECONCILIATION_RATE_LIMIT);
+        String jitter = map.get(STRIMZI_FULL_RECONCILIATION_JITTER);
+        try {
+            return new ReconciliationQueueConfig(
+                    maxConcurrency != null ? Integer.parseInt(maxConcurrency.trim()) : DEFAULT_MAX_CONCURRENCY,
+                    rateLimit != null ? Double.parseDouble(rateLimit.trim()) : DEFAULT_RATE_LIMIT,
+                    jitter != null ? Double.parseDouble(jitter.trim()) : DEFAULT_JITTER);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidConfigurationException("Invalid " + STRIMZI_RECONCILIATION_MAX_CONCURRENCY + ", "
+                    + STRIMZI_RECONCILIATION_RATE_LIMIT + " or " + STRIMZI_FULL_RECONCILIATION_JITTER + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * @return  the maximum number of reconciliations running at the same time, or 0 for no limit
+     */
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    /**
+     * @return  the maximum number of reconciliations started per second, or 0 for no limit
+     */
+    public double getRateLimit() {
+        return rateLimit;
+    }
+
+    /**
+     * @return  the fraction of the full reconciliation interval over which its reconciliations are spread
+     */
+    public double getJitter() {
+        return jitter;
+    }
+
+    @Override
+    public String toString() {
+        return "ReconciliationQueueConfig(" +
+                "maxConcurrency=" + maxConcurrency +
+                ",rateLimit=" + rateLimit +
+                ",jitter=" + jitter +
+                ")";
+    }
+}
@@ -0,0 +1,186 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.operator.common;
+
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * <p>A directed acyclic graph of asynchronous steps operating on some shared state {@code S}.
+ * Each step declares the steps it depends on, and is started as soon as all of them have completed,
+ * so independent steps run concurrently.</p>
+ *
+ * <p>Steps can only depend on steps which were added before them, which guarantees the graph is acyclic.
+ * When a step fails no further steps are started, and the execution fails with the cause of the first
+ * failure once the steps already running have completed.</p>
+ *
+ * <p>The duration of each step is recorded in the {@code reconciliation.step.duration} timer, tagged
+ * with the given kind and the name of the step.</p>
+ *
+ * @param <S> The type of the state passed to each step.
+ */
+public class StepGraph<S> {
+
+    private final Map<String, Step<S>> steps = new LinkedHashMap<>();
+    private final MetricsProvider metrics;
+    private final String kind;
+    private String last;
+
+    /**
+     * @param kind The kind of resource being reconciled (used for metrics).
+     * @param metrics The metrics provider.
+     */
+    public StepGraph(String kind, MetricsProvider metrics) {
+        this.kind = kind;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Adds a step which depends on the previously added step (or on nothing, if it is the first step).
+     *
+     * @param name The unique name of the step.
+     * @param step The step.
+     * @return This graph.
+     */
+    public StepGraph<S> step(String name, Function<S, Future<?>> step) {
+        return step(name, last == null ? Collections.emptyList() : Collections.singletonList(last), step);
+    }
+
+    /**
+     * Adds a step which depends on the given steps.
+     *
+     * @param name The unique name of the step.
+     * @param dependencies The names of the steps which have to complete before this step is started.
+     * @param step The step.
+     * @return This graph.
+     */
+    public StepGraph<S> step(String name, Collection<String> dependencies, Function<S, Future<?>> step) {
+        if (steps.containsKey(name)) {
+            throw new IllegalArgumentException("Duplicate step " + name);
+        }
+        for (String dependency : dependencies) {
+            if (!steps.containsKey(dependency)) {
+                throw new IllegalArgumentException("Step " + name + " depends on unknown step " + dependency);
+            }
+        }
+        Timer timer = metrics.timer("reconciliation.step.duration", "Time spent in a reconciliation step",
+                Tags.of("kind", kind, "step", name));
+        steps.put(name, new Step<>(name, new ArrayList<>(dependencies), step, timer));
+        last = name;
+        return this;
+    }
+
+    /**
+     * Convenience for building the dependencies of {@link #step(String, Collection, Function)}.
+     *
+     * @param names The names of the steps.
+     * @return The list of names.
+     */
+    public static List<String> after(String... names) {
+        return Arrays.asList(names);
+    }
+
+    /**
+     * Executes all the steps of this graph.
+     *
+     * @param state The state passed to each step.
+     * @return A future which completes with the given state once all steps have completed,
+     * or fails with the cause of the first step which failed.
+     */
+    public Future<S> execute(S state) {
+        return new Execution(state).start();
+    }
+
+    private static class Step<S> {
+        private final String name;
+        private final List<String> dependencies;
+        private final Function<S, Future<?>> function;
+        private final Timer timer;
+
+        Step(String name, List<String> dependencies, Function<S, Future<?>> function, Timer timer) {
+            this.name = name;
+            this.dependencies = dependencies;
+            this.function = function;
+            this.timer = timer;
+        }
+    }
+
+    private class Execution {
+        private final S state;
+        private final Promise<S> promise = Promise.promise();
+        private final Set<String> started = new HashSet<>();
+        private final Set<String> completed = new HashSet<>();
+        private int running = 0;
+        private Throwable failure;
+
+        Execution(S state) {
+            this.state = state;
+        }
+
+        Future<S> start() {
+            schedule();
+            return promise.future();
+        }
+
+        /**
+         * Starts all the steps whose dependencies have completed, or completes the execution once nothing is left to run.
+         * Steps may complete synchronously, so this can be re-entered from {@link #run(Step)}.
+         */
+        private synchronized void schedule() {
+            if (failure == null) {
+                for (Step<S> step : steps.values()) {
+                    if (!started.contains(step.name) && completed.containsAll(step.dependencies)) {
+                        started.add(step.name);
+                        running++;
+                        run(step);
+                    }
+                }
+            }
+            if (running == 0) {
+                if (failure != null) {
+                    promise.tryFail(failure);
+                } else if (completed.size() == steps.size()) {
+                    promise.tryComplete(state);
+                }
+            }
+        }
+
+        private void run(Step<S> step) {
+            long start = System.nanoTime();
+            Future<?> result;
+            try {
+                result = step.function.apply(state);
+            } catch (Throwable t) {
+                result = Future.failedFuture(t);
+            }
+            result.setHandler(res -> {
+                step.timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                synchronized (this) {
+                    running--;
+                    if (res.succeeded()) {
+                        completed.add(step.name);
+                    } else if (failure == null) {
+                        failure = res.cause();
+                    }
+                }
+                schedule();
+            });
+        }
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.operator.common;
+
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Handler;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.WorkerExecutor;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A named and sized pool of worker threads for blocking calls to one dependency, obtained from {@link WorkerPools}.
+ * The {@code strimzi_worker_pool_queue_wait_time} and {@code strimzi_worker_pool_execution_time} timers,
+ * tagged with the name of the pool, time how long the blocking code waits for a thread of the pool and how long it runs.
+ */
+public class WorkerPool {
+
+    private final String name;
+    private final WorkerExecutor executor;
+    private final Timer queueWaitTime;
+    private final Timer executionTime;
+
+    WorkerPool(Vertx vertx, String name, int size, long maxExecuteTimeNanos, MetricsProvider metrics) {
+        this.name = name;
+        this.executor = vertx.createSharedWorkerExecutor(name, size, maxExecuteTimeNanos);
+        Tags tags = Tags.of("pool", name);
+        this.queueWaitTime = metrics.timer("worker.pool.queue.wait.time", "Time blocking code waits for a thread of the worker pool", tags);
+        this.executionTime = metrics.timer("worker.pool.execution.time", "Time blocking code runs on a thread of the worker pool", tags);
+    }
+
+    /**
+     * @return The name of the pool, which is also the name of its threads.
+     */
+    public String name() {
+        return name;
+    }
+
+    /**
+     * Like {@link WorkerExecutor#executeBlocking(Handler, boolean, Handler)}.
+     *
+     * @param blockingCodeHandler The blocking code.
+     * @param ordered Whether the blocking code is run after the previous blocking code of the same context has completed.
+     * @param resultHandler The handler of the result, called on the calling context.
+     * @param <T> The type of the result.
+     */
+    public <T> void executeBlocking(Handler<Promise<T>> blockingCodeHandler, boolean ordered, Handler<AsyncResult<T>> resultHandler) {
+        long submitted = System.nanoTime();
+        executor.executeBlocking(promise -> {
+            long started = System.nanoTime();
+            queueWaitTime.record(started - submitted, TimeUnit.NANOSECONDS);
+            try {
+                blockingCodeHandler.handle(promise);
+            } finally {
+                executionTime.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            }
+        }, ordered, resultHandler);
+    }
+
+    /**
+     * Like {@link WorkerExecutor#executeBlocking(Handler, Handler)}, which runs the blocking code ordered.
+     *
+     * @param blockingCodeHandler The blocking code.
+     * @param resultHandler The handler of the result, called on the calling context.
+     * @param <T> The type of the result.
+     */
+    public <T> void executeBlocking(Handler<Promise<T>> blockingCodeHandler, Handler<AsyncResult<T>> resultHandler) {
+        executeBlocking(blockingCodeHandler, true, resultHandler);
+    }
+
+    /**
+     * Run the given task on the pool, for callers which are not on a Vert.x context or which wait for the result.
+     * A task which has not started yet when the returned future is cancelled is not run.
+     *
+     * @param task The task.
+     * @param <T> The type of the result.
+     * @return A future which completes with the result of the task.
+     */
+    public <T> CompletableFuture<T> submit(Callable<T> task) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        this.<T>executeBlocking(promise -> {
+            if (result.isDone()) {
+                promise.complete();
+                return;
+            }
+            try {
+                result.complete(task.call());
+            } catch (Throwable t) {
+                result.completeExceptionally(t);
+            }
+            promise.complete();
+        }, false, ignored -> { });
+        return result;
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.operator.common;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.shareddata.LocalMap;
+import io.vertx.core.shareddata.Shareable;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The registry of the {@link WorkerPool}s of a Vert.x instance, one for each kind of blocking dependency,
+ * so that a slow dependency only exhausts its own pool instead of starving the calls to the others:
+ * <ul>
+ * <li>{@link #kubernetes(Vertx)} for the Kubernetes API,</li>
+ * <li>{@link #zookeeper(Vertx)} for ZooKeeper, including the ACL authorizer,</li>
+ * <li>{@link #crypto(Vertx)} for generating keys and certificates.</li>
+ * </ul>
+ * The pools are sized by the {@link WorkerPoolsConfig} passed to {@link #configure(Vertx, WorkerPoolsConfig, MetricsProvider)},
+ * or with the defaults if the Vert.x instance was not configured.
+ */
+public class WorkerPools implements Shareable {
+
+    private static final Logger log = LogManager.getLogger(WorkerPools.class);
+
+    public static final String KUBERNETES_POOL = "kubernetes-ops-pool";
+    public static final String ZOOKEEPER_POOL = "zookeeper-ops-pool";
+    public static final String CRYPTO_POOL = "crypto-pool";
+
+    private static final long MAX_EXECUTE_TIME_NANOS = TimeUnit.SECONDS.toNanos(120);
+    private static final String KEY = WorkerPools.class.getName();
+
+    private final WorkerPool kubernetes;
+    private final WorkerPool zookeeper;
+    private final WorkerPool crypto;
+
+    private WorkerPools(Vertx vertx, WorkerPoolsConfig config, MetricsProvider metrics) {
+        this.kubernetes = new WorkerPool(vertx, KUBERNETES_POOL, config.getKubernetesPoolSize(), MAX_EXECUTE_TIME_NANOS, metrics);
+        this.zookeeper = new WorkerPool(vertx, ZOOKEEPER_POOL, config.getZookeeperPoolSize(), MAX_EXECUTE_TIME_NANOS, metrics);
+        this.crypto = new WorkerPool(vertx, CRYPTO_POOL, config.getCryptoPoolSize(), MAX_EXECUTE_TIME_NANOS, metrics);
+    }
+
+    /**
+     * Create the worker pools of the given Vert.x instance.
+     * This must be called before any of the pools is used, because the size of a pool is fixed when it is created.
+     *
+     * @param vertx The Vertx instance.
+     * @param config The sizes of the pools.
+     * @param metrics The metrics provider.
+     * @return The worker pools.
+     */
+    public static WorkerPools configure(Vertx vertx, WorkerPoolsConfig config, MetricsProvider metrics) {
+        WorkerPools pools = new WorkerPools(vertx, config, metrics);
+        WorkerPools existing = vertx.sharedData().<String, WorkerPools>getLocalMap(KEY).putIfAbsent(KEY, pools);
+        if (existing != null) {
+            log.warn("The worker pools are already in use, ignoring {}", config);
+            return existing;
+        }
+        log.info("Using worker pools {}", config);
+        return pools;
+    }
+
+    private static WorkerPools get(Vertx vertx) {
+        LocalMap<String, WorkerPools> map = vertx.sharedData().getLocalMap(KEY);
+        WorkerPools pools = map.get(KEY);
+        if (pools == null) {
+            WorkerPools defaults = new WorkerPools(vertx, WorkerPoolsConfig.DEFAULT, new MicrometerMetricsProvider());
+            pools = map.putIfAbsent(KEY, defaults);
+            if (pools == null) {
+                pools = defaults;
+            }
+        }
+        return pools;
+    }
+
+    /**
+     * @param vertx The Vertx instance.
+     * @return The pool for blocking Kubernetes API calls.
+     */
+    public static WorkerPool kubernetes(Vertx vertx) {
+        return get(vertx).kubernetes;
+    }
+
+    /**
+     * @param vertx The Vertx instance.
+     * @return The pool for blocking ZooKeeper calls.
+     */
+    public static WorkerPool zookeeper(Vertx vertx) {
+        return get(vertx).zookeeper;
+    }
+
+    /**
+     * @param vertx The Vertx instance.
+     * @return The pool for generating keys and certificates.
+     */
+    public static WorkerPool crypto(Vertx vertx) {
+        return get(vertx).crypto;
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.operator.common;
+
+import java.util.Map;
+
+/**
+ * Configuration of the sizes of the {@link WorkerPools}, shared by all the operators.
+ */
+public class WorkerPoolsConfig {
+    public static final String STRIMZI_KUBERNETES_POOL_SIZE = "STRIMZI_KUBERNETES_POOL_SIZE";
+    public static final String STRIMZI_ZOOKEEPER_POOL_SIZE = "STRIMZI_ZOOKEEPER_POOL_SIZE";
+    public static final String STRIMZI_CRYPTO_POOL_SIZE = "STRIMZI_CRYPTO_POOL_SIZE";
+
+    public static final int DEFAULT_KUBERNETES_POOL_SIZE = 10;
+    public static final int DEFAULT_ZOOKEEPER_POOL_SIZE = 4;
+    public static final int DEFAULT_CRYPTO_POOL_SIZE = Runtime.getRuntime().availableProcessors();
+
+    public static final WorkerPoolsConfig DEFAULT = new WorkerPoolsConfig(DEFAULT_KUBERNETES_POOL_SIZE, DEFAULT_ZOOKEEPER_POOL_SIZE,
+            DEFAULT_CRYPTO_POOL_SIZE);
+
+    private final int kubernetesPoolSize;
+    private final int zookeeperPoolSize;
+    private final int cryptoPoolSize;
+
+    /**
+     * Constructor
+     *
+     * @param kubernetesPoolSize the number of threads for blocking Kubernetes API calls
+     * @param zookeeperPoolSize the number of threads for blocking ZooKeeper calls
+     * @param cryptoPoolSize the number of threads for generating keys and certificates
+     */
+    public WorkerPoolsConfig(int kubernetesPoolSize, int zookeeperPoolSize, int cryptoPoolSize) {
+        if (kubernetesPoolSize < 1 || zookeeperPoolSize < 1 || cryptoPoolSize < 1) {
+            throw new IllegalArgumentException("The size of a worker pool must be at least 1");
+        }
+        this.kubernetesPoolSize = kubernetesPoolSize;
+        this.zookeeperPoolSize = zookeeperPoolSize;
+        this.cryptoPoolSize = cryptoPoolSize;
+    }
+
+    /**
+     * Loads configuration parameters from a related map
+     *
+     * @param map   map from which loading configuration parameters
+     * @return  Worker pools configuration instance
+     */
+    public static WorkerPoolsConfig fromMap(Map<String, String> map) {
+        try {
+            return new WorkerPoolsConfig(
+                    parseSize(map.get(STRIMZI_KUBERNETES_POOL_SIZE), DEFAULT_KUBERNETES_POOL_SIZE),
+                    parseSize(map.get(STRIMZI_ZOOKEEPER_POOL_SIZE), DEFAULT_ZOOKEEPER_POOL_SIZE),
+                    parseSize(map.get(STRIMZI_CRYPTO_POOL_SIZE), DEFAULT_CRYPTO_POOL_SIZE));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidConfigurationException("Invalid " + STRIMZI_KUBERNETES_POOL_SIZE + ", " + STRIMZI_ZOOKEEPER_POOL_SIZE + " or "
+                    + STRIMZI_CRYPTO_POOL_SIZE + ": " + e.getMessage(), e);
+        }
+    }
+
+    private static int parseSize(String size, int defaultSize) {
+        return size != null ? Integer.parseInt(size.trim()) : defaultSize;
+    }
+
+    /**
+     * @return  the number of threads for blocking Kubernetes API calls
+     */
+    public int getKubernetesPoolSize() {
+        return kubernetesPoolSize;
+    }
+
+    /**
+     * @return  the number of threads for blocking ZooKeeper calls
+     */
+    public int getZookeeperPoolSize() {
+        return zookeeperPoolSize;
+    }
+
+    /**
+     * @return  the number of threads for generating keys and certificates
+     */
+    public int getCryptoPoolSize() {
+        return cryptoPoolSize;
+    }
+
+    @Override
+    public String toString() {
+        return "WorkerPoolsConfig(" +
+                "kubernetesPoolSize=" + kubernetesPoolSize +
+                ",zookeeperPoolSize=" + zookeeperPoolSize +
+                ",cryptoPoolSize=" + cryptoPoolSize +
+                ")";
+    }
+}
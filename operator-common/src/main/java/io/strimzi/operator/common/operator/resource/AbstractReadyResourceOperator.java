@@ -29,6 +29,8 @@ public abstract class AbstractReadyResourceOperator<C extends KubernetesClient,
             R extends Resource<T, D>>
         extends AbstractResourceOperator<C, T, L, D, R> {
 
+    private final ResourceWaiter<T> readinessWaiter;
+
     /**
      * Constructor.
      *
@@ -38,10 +40,23 @@ public abstract class AbstractReadyResourceOperator<C extends KubernetesClient,
      */
     public AbstractReadyResourceOperator(Vertx vertx, C client, String resourceKind) {
         super(vertx, client, resourceKind);
+        this.readinessWaiter = new ResourceWaiter<>(vertx, resourceKind,
+            (namespace, watcher) -> operation().inNamespace(namespace).watch(watcher));
     }
 
+    /**
+     * Returns a future that completes when the resource identified by the given {@code namespace} and {@code name}
+     * is ready. The future completes as soon as a watch event shows the resource ready, and the resource is only
+     * polled as a fallback, see {@link ResourceWaiter}.
+     *
+     * @param namespace The namespace.
+     * @param name The resource name.
+     * @param pollIntervalMs The poll interval in milliseconds.
+     * @param timeoutMs The timeout, in milliseconds.
+     * @return A future that completes when the resource is ready.
+     */
     public Future<Void> readiness(String namespace, String name, long pollIntervalMs, long timeoutMs) {
-        return waitFor(namespace, name, pollIntervalMs, timeoutMs, this::isReady);
+        return readinessWaiter.waitFor(namespace, name, pollIntervalMs, timeoutMs, this::isReady, this::isReady);
     }
 
     /**
@@ -64,4 +79,18 @@ public abstract class AbstractReadyResourceOperator<C extends KubernetesClient,
             return false;
         }
     }
+
+    /**
+     * Check if the given resource is in the Ready state.
+     *
+     * @param resource The resource, or null if it does not exist.
+     * @return Whether the resource in in the Ready state.
+     */
+    protected boolean isReady(T resource) {
+        if (resource != null)   {
+            return !Readiness.isReadinessApplicable(resource.getClass()) || Readiness.isReady(resource);
+        } else {
+            return false;
+        }
+    }
 }
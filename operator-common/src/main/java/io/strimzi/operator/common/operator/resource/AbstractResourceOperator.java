@@ -7,7 +7,9 @@ package io.strimzi.operator.common.operator.resource;
 import io.fabric8.kubernetes.api.model.HasMetadata;
 import io.fabric8.kubernetes.api.model.KubernetesResourceList;
 import io.fabric8.kubernetes.api.model.LabelSelector;
+import io.fabric8.kubernetes.api.model.ObjectMeta;
 import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.KubernetesClientException;
 import io.fabric8.kubernetes.client.Watch;
 import io.fabric8.kubernetes.client.Watcher;
 import io.fabric8.kubernetes.client.dsl.FilterWatchListDeletable;
@@ -15,7 +17,13 @@ import io.fabric8.kubernetes.client.dsl.FilterWatchListMultiDeletable;
 import io.fabric8.kubernetes.client.dsl.MixedOperation;
 import io.fabric8.kubernetes.client.dsl.NonNamespaceOperation;
 import io.fabric8.kubernetes.client.dsl.Resource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.strimzi.operator.common.Annotations;
+import io.strimzi.operator.common.MetricsProvider;
 import io.strimzi.operator.common.Util;
+import io.strimzi.operator.common.WorkerPools;
 import io.strimzi.operator.common.model.Labels;
 import io.vertx.core.Future;
 import io.vertx.core.Promise;
@@ -23,11 +31,19 @@ import io.vertx.core.Vertx;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.function.BiPredicate;
+import java.util.function.Supplier;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyMap;
 
 /**
  * Abstract resource creation, for a generic resource type {@code R}.
@@ -42,10 +58,40 @@ import java.util.function.BiPredicate;
 public abstract class AbstractResourceOperator<C extends KubernetesClient, T extends HasMetadata,
         L extends KubernetesResourceList/*<T>*/, D, R extends Resource<T, D>> {
 
+    /**
+     * Annotation holding the {@linkplain DesiredStateHash hash} of the desired state last applied by the operator.
+     */
+    public static final String ANNO_STRIMZI_IO_DESIRED_HASH = Annotations.STRIMZI_DOMAIN + "/desired-hash";
+
     protected final Logger log = LogManager.getLogger(getClass());
     protected final Vertx vertx;
     protected final C client;
     protected final String resourceKind;
+    private final Map<String, ResourceCache<T>> caches = new ConcurrentHashMap<>();
+    /**
+     * The namespaces whose cache is {@linkplain #shareCache(String, AbstractResourceOperator) shared} with another operator,
+     * which owns it.
+     */
+    private final Set<String> sharedCaches = ConcurrentHashMap.newKeySet();
+    /**
+     * The {@linkplain #appliedVersion(HasMetadata) version} of each resource as last written by this operator,
+     * used when skipping unchanged patches.
+     */
+    private final Map<String, String> appliedVersions = new ConcurrentHashMap<>();
+    private volatile boolean skipUnchangedPatches = false;
+    private Counter patchesApplied;
+    private Counter patchesSkipped;
+    private volatile Map<String, ApiCallMeters> apiCallMeters = emptyMap();
+
+    private static class ApiCallMeters {
+        private final Timer duration;
+        private final Counter errors;
+
+        ApiCallMeters(Timer duration, Counter errors) {
+            this.duration = duration;
+            this.errors = errors;
+        }
+    }
 
     /**
      * Constructor.
@@ -61,6 +107,223 @@ public abstract class AbstractResourceOperator<C extends KubernetesClient, T ext
 
     protected abstract MixedOperation<T, L, D, R> operation();
 
+    /**
+     * Enables an in-memory cache of the resources in the given {@code namespace}, which will then be used
+     * to serve {@link #get(String, String)}, {@link #list(String, Labels)} and the existence check in
+     * {@link #reconcile(String, String, HasMetadata)} without a round trip to the API server.
+     * Lookups which miss the cache still go to the API server.
+     *
+     * @param namespace The namespace, or {@link AbstractWatchableResourceOperator#ANY_NAMESPACE}.
+     * @param selector The labels which the cached resources must have, or null to cache all the resources.
+     * @param resyncIntervalMs The interval between full re-lists of the cached resources.
+     * @param metrics The metrics provider used for the cache hit and miss metrics.
+     * @return A future which completes when the cache has been populated.
+     */
+    @SuppressWarnings("unchecked") // due to L extends KubernetesResourceList/*<T>*/
+    public Future<Void> enableCache(String namespace, Labels selector, long resyncIntervalMs, MetricsProvider metrics) {
+        Map<String, String> labels = selector != null ? selector.toMap() : null;
+        ResourceCache<T> cache = new ResourceCache<T>(vertx, resourceKind, namespace, selector, resyncIntervalMs,
+            () -> {
+                FilterWatchListDeletable<T, L, Boolean, Watch, Watcher<T>> operation = scopedOperation(namespace, labels);
+                return (KubernetesResourceList<T>) operation.list();
+            },
+            (String resourceVersion, Watcher<T> watcher) -> {
+                FilterWatchListDeletable<T, L, Boolean, Watch, Watcher<T>> operation = scopedOperation(namespace, labels);
+                return resourceVersion != null ? operation.withResourceVersion(resourceVersion).watch(watcher) : operation.watch(watcher);
+            },
+            metrics);
+        cache.addDeletionListener(this::forgetAppliedVersion);
+        replaceCache(namespace, cache);
+        return cache.start();
+    }
+
+    /**
+     * Serves the lookups in the given {@code namespace} from the cache of another operator of the same kind of resources,
+     * instead of opening a second identical watch.
+     * The cache must have been {@linkplain #enableCache(String, Labels, long, MetricsProvider) enabled} on the other
+     * operator first, which remains responsible for stopping it.
+     *
+     * @param namespace The namespace, or {@link AbstractWatchableResourceOperator#ANY_NAMESPACE}.
+     * @param owner The operator which owns the cache.
+     */
+    public void shareCache(String namespace, AbstractResourceOperator<?, T, ?, ?, ?> owner) {
+        ResourceCache<T> cache = owner.caches.get(namespace);
+        if (cache == null) {
+            throw new IllegalStateException(resourceKind + " cache in namespace " + namespace + " is not enabled");
+        }
+        cache.addDeletionListener(this::forgetAppliedVersion);
+        replaceCache(namespace, cache);
+        sharedCaches.add(namespace);
+    }
+
+    private void replaceCache(String namespace, ResourceCache<T> cache) {
+        ResourceCache<T> previous = caches.put(namespace, cache);
+        if (previous != null && !sharedCaches.remove(namespace)) {
+            previous.stop();
+        }
+    }
+
+    /**
+     * Disables the cache for the given {@code namespace}, if it was enabled.
+     *
+     * @param namespace The namespace, or {@link AbstractWatchableResourceOperator#ANY_NAMESPACE}.
+     */
+    public void disableCache(String namespace) {
+        ResourceCache<T> cache = caches.remove(namespace);
+        if (cache != null && !sharedCaches.remove(namespace)) {
+            cache.stop();
+        }
+    }
+
+    /**
+     * Enables skipping patches whose desired state is unchanged.
+     * In this mode the hash of the desired state is stored in the {@link #ANNO_STRIMZI_IO_DESIRED_HASH} annotation
+     * when a resource is created or patched. The patch is then skipped (and the reconciliation results in a noop)
+     * when the hash of the desired state matches the annotation of the current resource and the current resource
+     * has not been modified by anyone else since this operator last wrote it.
+     * For resources with a {@code metadata.generation}, such as StatefulSets and Deployments, whose status keeps
+     * being updated by their controllers, only changes of the generation (that is, of the spec), of the labels
+     * and of the annotations count as modifications.
+     *
+     * @param metrics The metrics provider used for the applied and skipped patch counters.
+     */
+    public void enableSkipUnchangedPatches(MetricsProvider metrics) {
+        Tags tags = Tags.of("kind", resourceKind);
+        this.patchesApplied = metrics.counter("resource.patches.applied", "Number of patches sent to the API server", tags);
+        this.patchesSkipped = metrics.counter("resource.patches.skipped", "Number of patches skipped because the desired state was unchanged", tags);
+        this.skipUnchangedPatches = true;
+    }
+
+    /**
+     * Enables timing the requests this operator makes to the API server, by verb
+     * ({@code get}, {@code list}, {@code create}, {@code patch} and {@code delete}).
+     * Lookups served from the {@linkplain #enableCache(String, Labels, long, MetricsProvider) cache} are not timed.
+     *
+     * @param metrics The metrics provider used for the request timers and error counters.
+     */
+    public void enableMetrics(MetricsProvider metrics) {
+        Map<String, ApiCallMeters> meters = new HashMap<>();
+        for (String verb : asList("get", "list", "create", "patch", "delete")) {
+            Tags tags = Tags.of("kind", resourceKind, "verb", verb);
+            meters.put(verb, new ApiCallMeters(
+                    metrics.timer("resource.api.requests", "Time taken by requests to the API server", tags),
+                    metrics.counter("resource.api.errors", "Number of requests to the API server which failed", tags)));
+        }
+        this.apiCallMeters = meters;
+    }
+
+    /**
+     * Makes the given request to the API server, timing it if {@linkplain #enableMetrics(MetricsProvider) enabled}.
+     * @param verb The verb of the request.
+     * @param request The request.
+     * @param <X> The type of the response.
+     * @return The response.
+     */
+    protected <X> X apiCall(String verb, Supplier<X> request) {
+        ApiCallMeters meters = apiCallMeters.get(verb);
+        if (meters == null) {
+            return request.get();
+        }
+        long startNanos = System.nanoTime();
+        try {
+            return request.get();
+        } catch (RuntimeException e) {
+            meters.errors.increment();
+            throw e;
+        } finally {
+            meters.duration.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Gets the version of the given resource which changes whenever someone else modifies it.
+     * When it has a generation, this is its uid and generation together with a hash of its labels and annotations
+     * (other than {@link #ANNO_STRIMZI_IO_DESIRED_HASH}), since the resourceVersion of resources with a status
+     * (such as StatefulSets and Deployments) also changes with every update of their status,
+     * while the generation does not change with their metadata.
+     * Otherwise it is its resourceVersion.
+     *
+     * @param resource The resource.
+     * @return The version, or null if the resource has neither a generation nor a resourceVersion.
+     */
+    static String appliedVersion(HasMetadata resource) {
+        ObjectMeta metadata = resource.getMetadata();
+        if (metadata == null) {
+            return null;
+        } else if (metadata.getGeneration() != null && metadata.getGeneration() > 0) {
+            Map<String, String> annotations = metadata.getAnnotations() != null ? new HashMap<>(metadata.getAnnotations()) : new HashMap<>();
+            annotations.remove(ANNO_STRIMZI_IO_DESIRED_HASH);
+            Map<String, String> labels = metadata.getLabels() != null ? metadata.getLabels() : emptyMap();
+            return metadata.getUid() + "/" + metadata.getGeneration() + "/" + Objects.hash(labels, annotations);
+        } else {
+            return metadata.getResourceVersion();
+        }
+    }
+
+    private void recordAppliedVersion(String namespace, String name, T result) {
+        String version = result != null ? appliedVersion(result) : null;
+        if (version != null) {
+            appliedVersions.put(namespace + "/" + name, version);
+        }
+    }
+
+    private boolean isUnchanged(String namespace, String name, T current, String desiredHash) {
+        String version = appliedVersion(current);
+        return current.getMetadata() != null
+                && current.getMetadata().getAnnotations() != null
+                && desiredHash.equals(current.getMetadata().getAnnotations().get(ANNO_STRIMZI_IO_DESIRED_HASH))
+                && version != null
+                && version.equals(appliedVersions.get(namespace + "/" + name));
+    }
+
+    /**
+     * Forgets the applied version of a resource which has been deleted.
+     */
+    private void forgetAppliedVersion(T resource) {
+        if (resource.getMetadata() != null) {
+            appliedVersions.remove(resource.getMetadata().getNamespace() + "/" + resource.getMetadata().getName());
+        }
+    }
+
+    private FilterWatchListDeletable<T, L, Boolean, Watch, Watcher<T>> scopedOperation(String namespace, Map<String, String> labels) {
+        FilterWatchListDeletable<T, L, Boolean, Watch, Watcher<T>> operation;
+        if (AbstractWatchableResourceOperator.ANY_NAMESPACE.equals(namespace))  {
+            operation = operation().inAnyNamespace();
+        } else {
+            operation = operation().inNamespace(namespace);
+        }
+        if (labels != null) {
+            operation = operation.withLabels(labels);
+        }
+        return operation;
+    }
+
+    /**
+     * @param namespace The namespace of a lookup.
+     * @return The synced cache covering the given namespace, or null if there is no such cache.
+     */
+    private ResourceCache<T> cache(String namespace) {
+        if (caches.isEmpty()) {
+            return null;
+        }
+        ResourceCache<T> cache = caches.get(namespace);
+        if (cache == null) {
+            cache = caches.get(AbstractWatchableResourceOperator.ANY_NAMESPACE);
+        }
+        return cache != null && cache.isSynced() && cache.coversNamespace(namespace) ? cache : null;
+    }
+
+    private void updateCache(String namespace, String name, ReconcileResult<T> result) {
+        ResourceCache<T> cache = cache(namespace);
+        if (cache != null) {
+            if (result == ReconcileResult.<T>deleted()) {
+                cache.remove(namespace, name);
+            } else if (result.resource() != null) {
+                cache.update(result.resource());
+            }
+        }
+    }
+
     /**
      * Asynchronously create or update the given {@code resource} depending on whether it already exists,
      * returning a future for the outcome.
@@ -91,16 +354,31 @@ public abstract class AbstractResourceOperator<C extends KubernetesClient, T ext
         }
 
         Promise<ReconcileResult<T>> promise = Promise.promise();
-        vertx.createSharedWorkerExecutor("kubernetes-ops-pool").executeBlocking(
+        WorkerPools.kubernetes(vertx).executeBlocking(
             future -> {
-                T current = operation().inNamespace(namespace).withName(name).get();
+                T cached = getCached(namespace, name);
+                T current = cached != null ? cached : getUncached(namespace, name);
+                if (current == null) {
+                    appliedVersions.remove(namespace + "/" + name);
+                }
                 if (desired != null) {
                     if (current == null) {
                         log.debug("{} {}/{} does not exist, creating it", resourceKind, namespace, name);
                         internalCreate(namespace, name, desired).setHandler(future);
                     } else {
                         log.debug("{} {}/{} already exists, patching it", resourceKind, namespace, name);
-                        internalPatch(namespace, name, current, desired).setHandler(future);
+                        internalPatch(namespace, name, current, desired).recover(error -> {
+                            if (cached != null && isNotFound(error)) {
+                                // The cache was stale: the resource has been deleted in the meantime
+                                log.debug("{} {}/{} no longer exists, creating it", resourceKind, namespace, name);
+                                ResourceCache<T> cache = cache(namespace);
+                                if (cache != null) {
+                                    cache.remove(namespace, name);
+                                }
+                                return internalCreate(namespace, name, desired);
+                            }
+                            return Future.failedFuture(error);
+                        }).setHandler(future);
                     }
                 } else {
                     if (current != null) {
@@ -117,7 +395,10 @@ public abstract class AbstractResourceOperator<C extends KubernetesClient, T ext
             false,
             promise
         );
-        return promise.future();
+        return promise.future().map(result -> {
+            updateCache(namespace, name, result);
+            return result;
+        });
     }
 
     /**
@@ -145,7 +426,8 @@ public abstract class AbstractResourceOperator<C extends KubernetesClient, T ext
 
     protected Future<ReconcileResult<T>> internalDelete(String namespace, String name, boolean cascading) {
         try {
-            operation().inNamespace(namespace).withName(name).cascading(cascading).withGracePeriod(-1L).delete();
+            appliedVersions.remove(namespace + "/" + name);
+            apiCall("delete", () -> operation().inNamespace(namespace).withName(name).cascading(cascading).withGracePeriod(-1L).delete());
             log.debug("{} {} in namespace {} has been deleted", resourceKind, name, namespace);
             return Future.succeededFuture(ReconcileResult.deleted());
         } catch (Exception e) {
@@ -164,15 +446,35 @@ public abstract class AbstractResourceOperator<C extends KubernetesClient, T ext
 
     protected Future<ReconcileResult<T>> internalPatch(String namespace, String name, T current, T desired, boolean cascading) {
         try {
-            T result = operation().inNamespace(namespace).withName(name).cascading(cascading).patch(desired);
+            if (skipUnchangedPatches) {
+                String desiredHash = DesiredStateHash.hash(desired);
+                if (isUnchanged(namespace, name, current, desiredHash)) {
+                    log.debug("{} {} in namespace {} has not been patched because the desired state is unchanged", resourceKind, name, namespace);
+                    patchesSkipped.increment();
+                    return Future.succeededFuture(ReconcileResult.noop(current));
+                }
+                Annotations.annotations(desired).put(ANNO_STRIMZI_IO_DESIRED_HASH, desiredHash);
+            }
+            T result = apiCall("patch", () -> operation().inNamespace(namespace).withName(name).cascading(cascading).patch(desired));
             log.debug("{} {} in namespace {} has been patched", resourceKind, name, namespace);
+            if (skipUnchangedPatches) {
+                patchesApplied.increment();
+                recordAppliedVersion(namespace, name, result);
+            }
             return Future.succeededFuture(wasChanged(current, result) ? ReconcileResult.patched(result) : ReconcileResult.noop(result));
         } catch (Exception e) {
+            if (isNotFound(e)) {
+                appliedVersions.remove(namespace + "/" + name);
+            }
             log.debug("Caught exception while patching {} {} in namespace {}", resourceKind, name, namespace, e);
             return Future.failedFuture(e);
         }
     }
 
+    private static boolean isNotFound(Throwable e) {
+        return e instanceof KubernetesClientException && ((KubernetesClientException) e).getCode() == 404;
+    }
+
     protected boolean wasChanged(T oldVersion, T newVersion) {
         if (oldVersion != null
                 && oldVersion.getMetadata() != null
@@ -191,8 +493,14 @@ public abstract class AbstractResourceOperator<C extends KubernetesClient, T ext
     @SuppressWarnings("unchecked")
     protected Future<ReconcileResult<T>> internalCreate(String namespace, String name, T desired) {
         try {
-            ReconcileResult<T> result = ReconcileResult.created(operation().inNamespace(namespace).withName(name).create(desired));
+            if (skipUnchangedPatches) {
+                Annotations.annotations(desired).put(ANNO_STRIMZI_IO_DESIRED_HASH, DesiredStateHash.hash(desired));
+            }
+            ReconcileResult<T> result = ReconcileResult.created(apiCall("create", () -> operation().inNamespace(namespace).withName(name).create(desired)));
             log.debug("{} {} in namespace {} has been created", resourceKind, name, namespace);
+            if (skipUnchangedPatches) {
+                recordAppliedVersion(namespace, name, result.resource());
+            }
             return Future.succeededFuture(result);
         } catch (Exception e) {
             log.debug("Caught exception while creating {} {} in namespace {}", resourceKind, name, namespace, e);
@@ -202,12 +510,24 @@ public abstract class AbstractResourceOperator<C extends KubernetesClient, T ext
 
     /**
      * Synchronously gets the resource with the given {@code name} in the given {@code namespace}.
+     * If a cache is {@linkplain #enableCache(String, Labels, long, MetricsProvider) enabled} for the namespace
+     * the resource is served from the cache when possible.
      * @param namespace The namespace.
      * @param name The name.
      * @return The resource, or null if it doesn't exist.
      */
     public T get(String namespace, String name) {
-        return operation().inNamespace(namespace).withName(name).get();
+        T cached = getCached(namespace, name);
+        return cached != null ? cached : getUncached(namespace, name);
+    }
+
+    private T getCached(String namespace, String name) {
+        ResourceCache<T> cache = cache(namespace);
+        return cache != null ? cache.get(namespace, name) : null;
+    }
+
+    private T getUncached(String namespace, String name) {
+        return apiCall("get", () -> operation().inNamespace(namespace).withName(name).get());
     }
 
     /**
@@ -218,7 +538,7 @@ public abstract class AbstractResourceOperator<C extends KubernetesClient, T ext
      */
     public Future<T> getAsync(String namespace, String name) {
         Promise<T> result = Promise.promise();
-        vertx.createSharedWorkerExecutor("kubernetes-ops-tool").executeBlocking(
+        WorkerPools.kubernetes(vertx).executeBlocking(
             future -> {
                 T resource = get(namespace, name);
                 future.complete(resource);
@@ -227,6 +547,17 @@ public abstract class AbstractResourceOperator<C extends KubernetesClient, T ext
         return result.future();
     }
 
+    /**
+     * Synchronously opens a watch on the resource with the given {@code name} in the given {@code namespace}.
+     * @param namespace The namespace.
+     * @param name The name.
+     * @param watcher The watcher.
+     * @return The watch.
+     */
+    public Watch watch(String namespace, String name, Watcher<T> watcher) {
+        return operation().inNamespace(namespace).withName(name).watch(watcher);
+    }
+
     /**
      * Synchronously list the resources in the given {@code namespace} with the given {@code selector}.
      * @param namespace The namespace.
@@ -235,6 +566,10 @@ public abstract class AbstractResourceOperator<C extends KubernetesClient, T ext
      */
     @SuppressWarnings("unchecked")
     public List<T> list(String namespace, Labels selector) {
+        ResourceCache<T> cache = cache(namespace);
+        if (cache != null && cache.coversSelector(selector)) {
+            return cache.list(namespace, selector);
+        }
         if (AbstractWatchableResourceOperator.ANY_NAMESPACE.equals(namespace))  {
             return listInAnyNamespace(selector);
         } else {
@@ -248,13 +583,13 @@ public abstract class AbstractResourceOperator<C extends KubernetesClient, T ext
 
         if (selector != null) {
             Map<String, String> labels = selector.toMap();
-            return operation.withLabels(labels)
+            return apiCall("list", () -> operation.withLabels(labels)
                     .list()
-                    .getItems();
+                    .getItems());
         } else {
-            return operation
+            return apiCall("list", () -> operation
                     .list()
-                    .getItems();
+                    .getItems());
         }
     }
 
@@ -265,13 +600,13 @@ public abstract class AbstractResourceOperator<C extends KubernetesClient, T ext
         if (selector != null) {
             Map<String, String> labels = selector.toMap();
             FilterWatchListDeletable<T, L, Boolean, Watch, Watcher<T>> tlBooleanWatchWatcherFilterWatchListDeletable = tldrNonNamespaceOperation.withLabels(labels);
-            return tlBooleanWatchWatcherFilterWatchListDeletable
+            return apiCall("list", () -> tlBooleanWatchWatcherFilterWatchListDeletable
                     .list()
-                    .getItems();
+                    .getItems());
         } else {
-            return tldrNonNamespaceOperation
+            return apiCall("list", () -> tldrNonNamespaceOperation
                     .list()
-                    .getItems();
+                    .getItems());
         }
     }
 
@@ -284,17 +619,9 @@ public abstract class AbstractResourceOperator<C extends KubernetesClient, T ext
      */
     public Future<List<T>> listAsync(String namespace, Labels selector) {
         Promise<List<T>> result = Promise.promise();
-        vertx.createSharedWorkerExecutor("kubernetes-ops-tool").executeBlocking(
+        WorkerPools.kubernetes(vertx).executeBlocking(
             future -> {
-                List<T> resources;
-
-                if (AbstractWatchableResourceOperator.ANY_NAMESPACE.equals(namespace))  {
-                    resources = listInAnyNamespace(selector);
-                } else {
-                    resources = listInNamespace(namespace, selector);
-                }
-
-                future.complete(resources);
+                future.complete(list(namespace, selector));
             }, true, result
         );
         return result.future();
@@ -303,7 +630,7 @@ public abstract class AbstractResourceOperator<C extends KubernetesClient, T ext
     @SuppressWarnings("unchecked")
     public Future<List<T>> listAsync(String namespace, Optional<LabelSelector> selector) {
         Promise<List<T>> result = Promise.promise();
-        vertx.createSharedWorkerExecutor("kubernetes-ops-tool").executeBlocking(
+        WorkerPools.kubernetes(vertx).executeBlocking(
             future -> {
                 FilterWatchListDeletable<T, L, Boolean, Watch, Watcher<T>> operation;
                 if (AbstractWatchableResourceOperator.ANY_NAMESPACE.equals(namespace))  {
@@ -314,7 +641,8 @@ public abstract class AbstractResourceOperator<C extends KubernetesClient, T ext
                 if (selector.isPresent()) {
                     operation = operation.withLabelSelector(selector.get());
                 }
-                future.complete(operation.list().getItems());
+                FilterWatchListDeletable<T, L, Boolean, Watch, Watcher<T>> listOperation = operation;
+                future.complete(apiCall("list", () -> listOperation.list().getItems()));
             }, true, result
         );
         return result.future();
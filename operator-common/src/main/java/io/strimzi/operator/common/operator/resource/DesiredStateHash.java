@@ -0,0 +1,65 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.operator.common.operator.resource;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.fabric8.kubernetes.api.model.ObjectMeta;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Computes a stable hash of the desired state of a resource.
+ * The hash does not depend on the order of properties or map entries, and ignores the
+ * {@link AbstractResourceOperator#ANNO_STRIMZI_IO_DESIRED_HASH} annotation itself.
+ */
+public class DesiredStateHash {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+            .configure(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY, true)
+            .configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true);
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private DesiredStateHash() { }
+
+    /**
+     * @param resource The desired resource.
+     * @return The hex encoded SHA-256 hash of the given resource.
+     */
+    public static String hash(HasMetadata resource) {
+        ObjectMeta metadata = resource.getMetadata();
+        Map<String, String> annotations = metadata != null ? metadata.getAnnotations() : null;
+        String previous = null;
+        if (annotations != null && annotations.containsKey(AbstractResourceOperator.ANNO_STRIMZI_IO_DESIRED_HASH)) {
+            annotations = new HashMap<>(annotations);
+            previous = annotations.remove(AbstractResourceOperator.ANNO_STRIMZI_IO_DESIRED_HASH);
+            metadata.setAnnotations(annotations);
+        }
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] bytes = digest.digest(MAPPER.writeValueAsString(resource).getBytes(StandardCharsets.UTF_8));
+            char[] hex = new char[bytes.length * 2];
+            for (int i = 0; i < bytes.length; i++) {
+                hex[2 * i] = HEX[(bytes[i] >> 4) & 0xf];
+                hex[2 * i + 1] = HEX[bytes[i] & 0xf];
+            }
+            return new String(hex);
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new RuntimeException("Failed to hash " + resource.getKind() + " " + (metadata != null ? metadata.getName() : null), e);
+        } finally {
+            if (previous != null) {
+                annotations.put(AbstractResourceOperator.ANNO_STRIMZI_IO_DESIRED_HASH, previous);
+            }
+        }
+    }
+}
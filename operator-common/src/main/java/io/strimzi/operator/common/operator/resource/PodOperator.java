@@ -8,7 +8,6 @@ import io.fabric8.kubernetes.api.model.DoneablePod;
 import io.fabric8.kubernetes.api.model.Pod;
 import io.fabric8.kubernetes.api.model.PodList;
 import io.fabric8.kubernetes.client.KubernetesClient;
-import io.fabric8.kubernetes.client.Watch;
 import io.fabric8.kubernetes.client.Watcher;
 import io.fabric8.kubernetes.client.dsl.MixedOperation;
 import io.fabric8.kubernetes.client.dsl.PodResource;
@@ -38,17 +37,6 @@ public class PodOperator extends AbstractReadyResourceOperator<KubernetesClient,
         return client.pods();
     }
 
-    /**
-     * Watch the pod identified by the given {@code namespace} and {@code name} using the given {@code watcher}.
-     * @param namespace The namespace
-     * @param name The name
-     * @param watcher The watcher
-     * @return The watch
-     */
-    public Watch watch(String namespace, String name, Watcher<Pod> watcher) {
-        return operation().inNamespace(namespace).withName(name).watch(watcher);
-    }
-
     /**
      * Asynchronously delete the given pod, return a Future which completes when the Pod has been recreated.
      * Note: The pod might not be "ready" when the returned Future completes.
@@ -0,0 +1,364 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.operator.common.operator.resource;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.fabric8.kubernetes.api.model.KubernetesResourceList;
+import io.fabric8.kubernetes.client.KubernetesClientException;
+import io.fabric8.kubernetes.client.Watch;
+import io.fabric8.kubernetes.client.Watcher;
+import io.fabric8.kubernetes.client.utils.Serialization;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Tags;
+import io.strimzi.operator.common.MetricsProvider;
+import io.strimzi.operator.common.model.Labels;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * An in-memory cache of the resources of a single kind in a namespace (or in all namespaces),
+ * optionally scoped by a label selector.
+ * The cache is populated by an initial list and then kept up to date by a watch.
+ * It is periodically re-listed (the "resync") over the same watch, to recover from any missed events.
+ * The watch is only re-opened when it is closed by the API server.
+ *
+ * Lookups which miss the cache are not authoritative (the resource may exist but not match the selector,
+ * or the watch may not have caught up yet), so callers should fall back to the API server on a miss.
+ * The cache is not synced, so every lookup misses, while its watch is being (re-)opened.
+ * <p>
+ * Lookups return copies of the cached resources, which callers are free to modify.
+ * A cached resource is only replaced by a version of it which is not older, according to their resourceVersions,
+ * so a late watch event cannot undo a write which went through the cache.
+ *
+ * @param <T> The Kubernetes resource type.
+ */
+public class ResourceCache<T extends HasMetadata> implements Watcher<T> {
+
+    private static final Logger log = LogManager.getLogger(ResourceCache.class);
+    private static final ObjectMapper MAPPER = Serialization.jsonMapper();
+
+    private final Vertx vertx;
+    private final String resourceKind;
+    private final String namespace;
+    private final Labels selector;
+    private final long resyncIntervalMs;
+    private final Supplier<KubernetesResourceList<T>> lister;
+    private final BiFunction<String, Watcher<T>, Watch> watcher;
+
+    private final Map<String, T> resources = new ConcurrentHashMap<>();
+    private final List<Consumer<T>> deletionListeners = new CopyOnWriteArrayList<>();
+    private final Counter hits;
+    private final Counter misses;
+    private final AtomicLong size;
+
+    private volatile boolean synced = false;
+    private volatile boolean stopped = false;
+    private volatile Watch watch;
+    private long resyncTimer = -1;
+
+    /**
+     * Constructor.
+     *
+     * @param vertx The Vertx instance.
+     * @param resourceKind The kind of the cached resources (used for logging and metrics).
+     * @param namespace The namespace, or {@link AbstractWatchableResourceOperator#ANY_NAMESPACE}.
+     * @param selector The labels which cached resources must have, or null to cache all resources.
+     * @param resyncIntervalMs The interval between full re-lists of the cached resources.
+     * @param lister Lists the resources in scope of this cache.
+     * @param watcher Opens a watch on the resources in scope of this cache, from the given resource version.
+     * @param metrics The metrics provider.
+     */
+    public ResourceCache(Vertx vertx, String resourceKind, String namespace, Labels selector, long resyncIntervalMs,
+                         Supplier<KubernetesResourceList<T>> lister, BiFunction<String, Watcher<T>, Watch> watcher,
+                         MetricsProvider metrics) {
+        this.vertx = vertx;
+        this.resourceKind = resourceKind;
+        this.namespace = namespace;
+        this.selector = selector;
+        this.resyncIntervalMs = resyncIntervalMs;
+        this.lister = lister;
+        this.watcher = watcher;
+
+        Tags tags = Tags.of("kind", resourceKind, "namespace", namespace);
+        this.hits = metrics.counter("resource.cache.hits", "Number of resource lookups served from the cache", tags);
+        this.misses = metrics.counter("resource.cache.misses", "Number of resource lookups which missed the cache", tags);
+        this.size = metrics.gauge("resource.cache.size", "Number of resources in the cache", tags);
+    }
+
+    /**
+     * Populates the cache, opens the watch and schedules the periodic resync.
+     *
+     * @return A future which completes when the cache has been populated for the first time.
+     */
+    public Future<Void> start() {
+        return sync().map(v -> {
+            if (resyncIntervalMs > 0) {
+                resyncTimer = vertx.setPeriodic(resyncIntervalMs, id -> {
+                    log.debug("Resyncing {} cache in namespace {}", resourceKind, namespace);
+                    sync();
+                });
+            }
+            return v;
+        });
+    }
+
+    /**
+     * Closes the watch and cancels the periodic resync.
+     * The cache will not serve any further lookups.
+     */
+    public void stop() {
+        stopped = true;
+        synced = false;
+        if (resyncTimer != -1) {
+            vertx.cancelTimer(resyncTimer);
+        }
+        closeWatch();
+        resources.clear();
+        size.set(0);
+    }
+
+    /**
+     * Re-lists all the resources and, if there is no open watch, opens one from the resource version of the listing.
+     * An open watch is kept, so the cache stays synced while it is re-listed.
+     * Otherwise the cache is not synced until the watch has been opened.
+     */
+    private Future<Void> sync() {
+        Promise<Void> promise = Promise.promise();
+        vertx.<Void>executeBlocking(future -> {
+            boolean watching = watch != null;
+            try {
+                if (!watching) {
+                    synced = false;
+                }
+                KubernetesResourceList<T> list = lister.get();
+                String resourceVersion = list.getMetadata() != null ? list.getMetadata().getResourceVersion() : null;
+                Map<String, T> listed = new ConcurrentHashMap<>();
+                for (T resource : list.getItems()) {
+                    listed.put(key(resource), resource);
+                }
+                // Keep the resources written through the cache since the listing
+                resources.entrySet().removeIf(entry -> !listed.containsKey(entry.getKey())
+                        && !isNewer(entry.getValue().getMetadata().getResourceVersion(), resourceVersion));
+                listed.forEach((key, resource) -> resources.merge(key, resource, ResourceCache::newest));
+                size.set(resources.size());
+
+                if (!stopped) {
+                    if (!watching) {
+                        watch = watcher.apply(resourceVersion, this);
+                    }
+                    synced = true;
+                }
+                log.debug("{} cache in namespace {} synced with {} resources", resourceKind, namespace, listed.size());
+                future.complete();
+            } catch (Exception e) {
+                if (!watching) {
+                    synced = false;
+                }
+                log.warn("Failed to sync {} cache in namespace {}", resourceKind, namespace, e);
+                future.fail(e);
+            }
+        }, false, promise);
+        return promise.future();
+    }
+
+    private void closeWatch() {
+        Watch w = watch;
+        watch = null;
+        if (w != null) {
+            w.close();
+        }
+    }
+
+    /**
+     * Adds a listener which is called with the resources deleted according to the watch.
+     *
+     * @param listener The listener.
+     */
+    public void addDeletionListener(Consumer<T> listener) {
+        deletionListeners.add(listener);
+    }
+
+    /**
+     * @return Whether the cache has been populated and is being kept up to date by its watch.
+     */
+    public boolean isSynced() {
+        return synced;
+    }
+
+    /**
+     * @param namespace The namespace of a lookup.
+     * @return Whether resources in the given namespace are within the scope of this cache.
+     */
+    public boolean coversNamespace(String namespace) {
+        return AbstractWatchableResourceOperator.ANY_NAMESPACE.equals(this.namespace) || this.namespace.equals(namespace);
+    }
+
+    /**
+     * @param selector The selector of a list operation.
+     * @return Whether all the resources which match the given selector are within the scope of this cache.
+     */
+    public boolean coversSelector(Labels selector) {
+        if (this.selector == null) {
+            return true;
+        } else if (selector == null) {
+            return false;
+        }
+        Map<String, String> queried = selector.toMap();
+        return this.selector.toMap().entrySet().stream()
+                .allMatch(e -> e.getValue().equals(queried.get(e.getKey())));
+    }
+
+    /**
+     * Gets the cached resource with the given namespace and name.
+     *
+     * @param namespace The namespace.
+     * @param name The name.
+     * @return The cached resource or null if the cache has no such resource.
+     */
+    public T get(String namespace, String name) {
+        T resource = synced ? resources.get(key(namespace, name)) : null;
+        if (resource != null) {
+            hits.increment();
+        } else {
+            misses.increment();
+        }
+        return copy(resource);
+    }
+
+    /**
+     * Lists the cached resources in the given namespace having the given labels.
+     * Callers should check {@link #coversNamespace(String)} and {@link #coversSelector(Labels)} first.
+     *
+     * @param namespace The namespace, or {@link AbstractWatchableResourceOperator#ANY_NAMESPACE}.
+     * @param selector The labels, or null.
+     * @return Copies of the matching resources.
+     */
+    public List<T> list(String namespace, Labels selector) {
+        boolean anyNamespace = AbstractWatchableResourceOperator.ANY_NAMESPACE.equals(namespace);
+        List<T> result = new ArrayList<>();
+        for (T resource : resources.values()) {
+            if ((anyNamespace || namespace.equals(resource.getMetadata().getNamespace()))
+                    && matches(selector, resource)) {
+                result.add(copy(resource));
+            }
+        }
+        hits.increment();
+        return result;
+    }
+
+    /**
+     * Updates the cache with a resource which has just been created or modified by this operator,
+     * so that it is visible to lookups before the corresponding watch event arrives.
+     * The cache keeps a copy of the resource, unless it already has a newer version of it.
+     *
+     * @param resource The resource.
+     */
+    public void update(T resource) {
+        if (resource != null && resource.getMetadata() != null && matches(selector, resource)) {
+            resources.merge(key(resource), copy(resource), ResourceCache::newest);
+            size.set(resources.size());
+        }
+    }
+
+    /**
+     * Removes a resource which has just been deleted by this operator.
+     *
+     * @param namespace The namespace.
+     * @param name The name.
+     */
+    public void remove(String namespace, String name) {
+        resources.remove(key(namespace, name));
+        size.set(resources.size());
+    }
+
+    @Override
+    public void eventReceived(Action action, T resource) {
+        switch (action) {
+            case ADDED:
+            case MODIFIED:
+                resources.merge(key(resource), resource, ResourceCache::newest);
+                break;
+            case DELETED:
+                deletionListeners.forEach(listener -> listener.accept(resource));
+                resources.computeIfPresent(key(resource), (key, cached) -> isNewer(cached.getMetadata().getResourceVersion(),
+                        resource.getMetadata().getResourceVersion()) ? cached : null);
+                break;
+            default:
+                log.warn("Unexpected {} event for {} cache in namespace {}", action, resourceKind, namespace);
+        }
+        size.set(resources.size());
+    }
+
+    @Override
+    public void onClose(KubernetesClientException cause) {
+        if (cause != null && !stopped) {
+            log.warn("Watch for {} cache in namespace {} closed, resyncing", resourceKind, namespace, cause);
+            synced = false;
+            watch = null;
+            sync();
+        }
+    }
+
+    /**
+     * @return The given {@code incoming} version of a resource, unless the {@code cached} version is newer.
+     */
+    private static <T extends HasMetadata> T newest(T cached, T incoming) {
+        return isNewer(cached.getMetadata().getResourceVersion(), incoming.getMetadata().getResourceVersion()) ? cached : incoming;
+    }
+
+    /**
+     * Resource versions are opaque strings, but they are the (increasing) modification index of etcd in practice.
+     * @return Whether the given resource version is known to be newer than the other one.
+     */
+    static boolean isNewer(String resourceVersion, String other) {
+        if (resourceVersion == null || other == null) {
+            return false;
+        }
+        try {
+            return Long.parseLong(resourceVersion) > Long.parseLong(other);
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T copy(T resource) {
+        if (resource == null) {
+            return null;
+        }
+        return (T) MAPPER.convertValue(MAPPER.valueToTree(resource), resource.getClass());
+    }
+
+    private static boolean matches(Labels selector, HasMetadata resource) {
+        if (selector == null) {
+            return true;
+        }
+        Map<String, String> labels = resource.getMetadata().getLabels();
+        return selector.toMap().entrySet().stream()
+                .allMatch(e -> labels != null && e.getValue().equals(labels.get(e.getKey())));
+    }
+
+    private static String key(HasMetadata resource) {
+        return key(resource.getMetadata().getNamespace(), resource.getMetadata().getName());
+    }
+
+    private static String key(String namespace, String name) {
+        return namespace + "/" + name;
+    }
+}
@@ -0,0 +1,371 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.operator.common.operator.resource;
+
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.fabric8.kubernetes.client.KubernetesClientException;
+import io.fabric8.kubernetes.client.Watch;
+import io.fabric8.kubernetes.client.Watcher;
+import io.strimzi.operator.common.WorkerPools;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.impl.VertxInternal;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiFunction;
+import java.util.function.BiPredicate;
+import java.util.function.Predicate;
+
+/**
+ * Waits for resources of a single kind to satisfy a condition, driven by a watch which is shared
+ * by all the waits in the same namespace.
+ * <p>
+ * The first wait in a namespace opens a watch on all the resources of the kind in the namespace.
+ * A wait then completes as soon as a watch event shows its resource satisfying the condition.
+ * While the watch is open, the resource is still polled, but only every {@value #WATCHED_POLL_FACTOR} poll intervals,
+ * as a fallback for missed events. If the watch cannot be opened, or it is closed by the API server,
+ * the waits poll at every poll interval, like {@link io.strimzi.operator.common.Util#waitFor}.
+ * The watch is closed once no wait has used it for {@value #IDLE_CLOSE_DELAY_MS}ms, or when Vert.x is closed.
+ *
+ * @param <T> The Kubernetes resource type.
+ */
+public class ResourceWaiter<T extends HasMetadata> {
+
+    private static final Logger log = LogManager.getLogger(ResourceWaiter.class);
+
+    /**
+     * How many poll intervals there are between the fallback polls of a wait while the watch is open.
+     */
+    public static final long WATCHED_POLL_FACTOR = 10;
+
+    /**
+     * How long an unused watch is kept open, so that consecutive waits, like those of a rolling update, share it.
+     */
+    public static final long IDLE_CLOSE_DELAY_MS = 30_000;
+
+    private final Vertx vertx;
+    private final String resourceKind;
+    private final BiFunction<String, Watcher<T>, Watch> watcher;
+    private final Map<String, NamespaceWatch> watches = new HashMap<>();
+
+    /**
+     * Constructor.
+     *
+     * @param vertx The Vertx instance.
+     * @param resourceKind The kind of the resources (used for logging).
+     * @param watcher Opens a watch on all the resources of the kind in the given namespace.
+     */
+    public ResourceWaiter(Vertx vertx, String resourceKind, BiFunction<String, Watcher<T>, Watch> watcher) {
+        this.vertx = vertx;
+        this.resourceKind = resourceKind;
+        this.watcher = watcher;
+        if (vertx instanceof VertxInternal) {
+            ((VertxInternal) vertx).addCloseHook(completion -> {
+                closeAll();
+                completion.handle(Future.succeededFuture());
+            });
+        }
+    }
+
+    private class Wait {
+        private final String namespace;
+        private final String name;
+        private final String logContext;
+        private final long pollIntervalMs;
+        private final long timeoutMs;
+        private final long deadline;
+        private final BiPredicate<String, String> poll;
+        private final Predicate<T> condition;
+        private final Context context;
+        private final Promise<Void> promise = Promise.promise();
+        private final AtomicBoolean done = new AtomicBoolean();
+        private volatile long timer = -1;
+
+        Wait(String namespace, String name, long pollIntervalMs, long timeoutMs, BiPredicate<String, String> poll, Predicate<T> condition) {
+            this.namespace = namespace;
+            this.name = name;
+            this.logContext = String.format("%s resource %s in namespace %s", resourceKind, name, namespace);
+            this.pollIntervalMs = pollIntervalMs;
+            this.timeoutMs = timeoutMs;
+            this.deadline = System.currentTimeMillis() + timeoutMs;
+            this.poll = poll;
+            this.condition = condition;
+            this.context = vertx.getOrCreateContext();
+        }
+
+        /**
+         * @return Whether the given resource, or null if the resource was deleted, satisfies the condition.
+         */
+        boolean test(T resource) {
+            try {
+                return condition.test(resource);
+            } catch (RuntimeException e) {
+                log.warn("Caught exception while checking whether {} is ready", logContext, e);
+                return false;
+            }
+        }
+    }
+
+    /**
+     * The watch shared by the waits in a namespace.
+     */
+    private class NamespaceWatch implements Watcher<T> {
+        private final String namespace;
+        private final Map<String, Set<Wait>> waits = new ConcurrentHashMap<>();
+        private volatile Watch watch;
+        private volatile boolean active = false;
+        // Guarded by ResourceWaiter.this
+        private int users = 0;
+        private long idleTimer = -1;
+
+        NamespaceWatch(String namespace) {
+            this.namespace = namespace;
+        }
+
+        private void open() {
+            WorkerPools.kubernetes(vertx).executeBlocking(future -> {
+                Watch w;
+                try {
+                    w = watcher.apply(namespace, this);
+                    if (w == null) {
+                        throw new IllegalStateException("No watch returned");
+                    }
+                } catch (RuntimeException e) {
+                    log.warn("Failed to watch {} resources in namespace {}, polling instead", resourceKind, namespace, e);
+                    forget(this);
+                    future.complete();
+                    return;
+                }
+
+                boolean closed;
+                synchronized (ResourceWaiter.this) {
+                    closed = watches.get(namespace) != this;
+                    if (!closed) {
+                        watch = w;
+                        active = true;
+                    }
+                }
+                if (closed) {
+                    w.close();
+                } else {
+                    log.debug("Watching {} resources in namespace {}", resourceKind, namespace);
+                    // Catch up with any change made before the watch was open
+                    for (Set<Wait> byName : waits.values()) {
+                        for (Wait wait : byName) {
+                            check(this, wait);
+                        }
+                    }
+                }
+                future.complete();
+            }, false, ignored -> { });
+        }
+
+        private void close() {
+            active = false;
+            Watch w = watch;
+            watch = null;
+            if (w != null) {
+                WorkerPools.kubernetes(vertx).executeBlocking(future -> {
+                    w.close();
+                    future.complete();
+                }, false, ignored -> { });
+            }
+        }
+
+        private void add(Wait wait) {
+            waits.computeIfAbsent(wait.name, name -> ConcurrentHashMap.newKeySet()).add(wait);
+        }
+
+        private void remove(Wait wait) {
+            waits.computeIfPresent(wait.name, (name, byName) -> {
+                byName.remove(wait);
+                return byName.isEmpty() ? null : byName;
+            });
+        }
+
+        @Override
+        public void eventReceived(Action action, T resource) {
+            if (resource == null || resource.getMetadata() == null) {
+                return;
+            }
+            Set<Wait> byName = waits.get(resource.getMetadata().getName());
+            if (byName != null) {
+                T current = action == Action.DELETED ? null : resource;
+                for (Wait wait : byName) {
+                    if (wait.test(current)) {
+                        complete(this, wait);
+                    }
+                }
+            }
+        }
+
+        @Override
+        public void onClose(KubernetesClientException cause) {
+            if (cause != null) {
+                log.warn("Watch for {} resources in namespace {} closed, polling instead", resourceKind, namespace, cause);
+                active = false;
+                watch = null;
+                forget(this);
+            }
+        }
+    }
+
+    /**
+     * Returns a future which completes when the resource with the given {@code namespace} and {@code name}
+     * satisfies the given {@code condition}.
+     *
+     * @param namespace The namespace.
+     * @param name The resource name.
+     * @param pollIntervalMs The poll interval in milliseconds.
+     * @param timeoutMs The timeout, in milliseconds.
+     * @param poll Checks the condition against the API server. It is called on a worker thread.
+     * @param condition Checks the condition against the resource of a watch event, or null if the resource was deleted.
+     * @return A future which completes when the condition is satisfied, or fails with a {@link TimeoutException}.
+     */
+    public Future<Void> waitFor(String namespace, String name, long pollIntervalMs, long timeoutMs,
+                                BiPredicate<String, String> poll, Predicate<T> condition) {
+        Wait wait = new Wait(namespace, name, pollIntervalMs, timeoutMs, poll, condition);
+        log.debug("Waiting for {} to get ready", wait.logContext);
+        NamespaceWatch namespaceWatch = acquire(namespace);
+        namespaceWatch.add(wait);
+        poll(namespaceWatch, wait);
+        return wait.promise.future();
+    }
+
+    private synchronized NamespaceWatch acquire(String namespace) {
+        NamespaceWatch namespaceWatch = watches.get(namespace);
+        if (namespaceWatch == null) {
+            namespaceWatch = new NamespaceWatch(namespace);
+            watches.put(namespace, namespaceWatch);
+            namespaceWatch.open();
+        }
+        namespaceWatch.users++;
+        if (namespaceWatch.idleTimer != -1) {
+            vertx.cancelTimer(namespaceWatch.idleTimer);
+            namespaceWatch.idleTimer = -1;
+        }
+        return namespaceWatch;
+    }
+
+    private synchronized void release(NamespaceWatch namespaceWatch) {
+        if (--namespaceWatch.users == 0 && watches.get(namespaceWatch.namespace) == namespaceWatch) {
+            namespaceWatch.idleTimer = vertx.setTimer(IDLE_CLOSE_DELAY_MS, id -> closeIfIdle(namespaceWatch));
+        }
+    }
+
+    private synchronized void closeIfIdle(NamespaceWatch namespaceWatch) {
+        namespaceWatch.idleTimer = -1;
+        if (namespaceWatch.users == 0 && watches.get(namespaceWatch.namespace) == namespaceWatch) {
+            log.debug("Closing idle watch for {} resources in namespace {}", resourceKind, namespaceWatch.namespace);
+            watches.remove(namespaceWatch.namespace);
+            namespaceWatch.close();
+        }
+    }
+
+    /**
+     * Closes all the watches, including those still in use, whose waits then fall back to polling.
+     */
+    private synchronized void closeAll() {
+        for (NamespaceWatch namespaceWatch : watches.values()) {
+            namespaceWatch.active = false;
+            Watch w = namespaceWatch.watch;
+            namespaceWatch.watch = null;
+            if (w != null) {
+                w.close();
+            }
+        }
+        watches.clear();
+    }
+
+    /**
+     * Stops sharing the given watch, which failed, so that the next wait in its namespace opens a new one.
+     */
+    private synchronized void forget(NamespaceWatch namespaceWatch) {
+        if (watches.get(namespaceWatch.namespace) == namespaceWatch) {
+            watches.remove(namespaceWatch.namespace);
+        }
+        if (namespaceWatch.idleTimer != -1) {
+            vertx.cancelTimer(namespaceWatch.idleTimer);
+            namespaceWatch.idleTimer = -1;
+        }
+    }
+
+    private void poll(NamespaceWatch namespaceWatch, Wait wait) {
+        if (wait.done.get()) {
+            return;
+        }
+        WorkerPools.kubernetes(vertx).<Boolean>executeBlocking(
+            future -> {
+                try {
+                    future.complete(wait.poll.test(wait.namespace, wait.name));
+                } catch (Throwable e) {
+                    log.warn("Caught exception while waiting for {} to get ready", wait.logContext, e);
+                    future.fail(e);
+                }
+            },
+            true,
+            res -> {
+                if (res.succeeded() && res.result()) {
+                    complete(namespaceWatch, wait);
+                } else if (!wait.done.get()) {
+                    if (res.succeeded()) {
+                        log.trace("{} is not ready", wait.logContext);
+                    }
+                    long timeLeft = wait.deadline - System.currentTimeMillis();
+                    if (timeLeft <= 0) {
+                        String exceptionMessage = String.format("Exceeded timeout of %dms while waiting for %s to be ready", wait.timeoutMs, wait.logContext);
+                        if (finish(namespaceWatch, wait)) {
+                            log.error(exceptionMessage);
+                            wait.context.runOnContext(v -> wait.promise.fail(new TimeoutException(exceptionMessage)));
+                        }
+                    } else {
+                        long interval = namespaceWatch.active ? wait.pollIntervalMs * WATCHED_POLL_FACTOR : wait.pollIntervalMs;
+                        wait.timer = vertx.setTimer(Math.min(interval, timeLeft), id -> poll(namespaceWatch, wait));
+                    }
+                }
+            }
+        );
+    }
+
+    /**
+     * Checks the given wait once against the API server, on the calling worker thread.
+     */
+    private void check(NamespaceWatch namespaceWatch, Wait wait) {
+        try {
+            if (!wait.done.get() && wait.poll.test(wait.namespace, wait.name)) {
+                complete(namespaceWatch, wait);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Caught exception while waiting for {} to get ready", wait.logContext, e);
+        }
+    }
+
+    private void complete(NamespaceWatch namespaceWatch, Wait wait) {
+        if (finish(namespaceWatch, wait)) {
+            log.debug("{} is ready", wait.logContext);
+            wait.context.runOnContext(v -> wait.promise.complete());
+        }
+    }
+
+    private boolean finish(NamespaceWatch namespaceWatch, Wait wait) {
+        if (!wait.done.compareAndSet(false, true)) {
+            return false;
+        }
+        if (wait.timer != -1) {
+            vertx.cancelTimer(wait.timer);
+        }
+        namespaceWatch.remove(wait);
+        release(namespaceWatch);
+        return true;
+    }
+}
@@ -0,0 +1,403 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.operator.common.operator.resource;
+
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.introspect.AnnotatedMember;
+import com.fasterxml.jackson.databind.ser.BeanPropertyWriter;
+import com.fasterxml.jackson.databind.ser.PropertyWriter;
+import com.fasterxml.jackson.databind.ser.std.BeanSerializerBase;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Compares two object graphs property by property, as they would be serialized by a Jackson {@link ObjectMapper},
+ * without converting them to JSON trees.
+ * <p>
+ * The properties of each bean class are those of the bean serializer of the mapper, so that mix-ins and
+ * {@code @JsonIgnore}, {@code @JsonProperty} and {@code @JsonAnyGetter} annotations are taken into account.
+ * Objects written by custom serializers, like {@code Quantity}, are compared with {@code equals()},
+ * falling back to comparing their JSON trees when they are not equal.
+ * Absent, null and empty collections or maps are all considered the same, like the Kubernetes API server does.
+ * Lists are compared element by element.
+ * <p>
+ * The comparison stops at identical objects and at equal leaves. The {@code equals()} of beans is not relied upon,
+ * since it does not always cover all the serialized properties (for example Lombok's {@code @EqualsAndHashCode}
+ * ignores inherited fields unless {@code callSuper} is set).
+ * <p>
+ * Each difference is reported to a {@link Listener} with its {@link Path}, which can be matched against
+ * precompiled {@link PathPattern}s rather than regular expressions.
+ */
+public class StructuralDiff {
+
+    /**
+     * Receives the differences found by {@link #diff(Object, Object, Listener)}.
+     */
+    @FunctionalInterface
+    public interface Listener {
+        /**
+         * @param path The path of the difference. It is only valid during the call.
+         * @param current The current value at the path, or null if it is absent.
+         * @param desired The desired value at the path, or null if it is absent.
+         * @return Whether to carry on looking for differences.
+         */
+        boolean difference(Path path, Object current, Object desired);
+    }
+
+    /**
+     * The path of a property within an object graph, made of property names and list indices.
+     */
+    public static final class Path {
+        private String[] names = new String[16];
+        private int[] indices = new int[16];
+        private int size = 0;
+
+        private void push(String name, int index) {
+            if (size == names.length) {
+                names = Arrays.copyOf(names, size * 2);
+                indices = Arrays.copyOf(indices, size * 2);
+            }
+            names[size] = name;
+            indices[size] = index;
+            size++;
+        }
+
+        private void pop() {
+            names[--size] = null;
+        }
+
+        /**
+         * @return The number of segments of the path.
+         */
+        public int size() {
+            return size;
+        }
+
+        /**
+         * @param i The index of a segment.
+         * @return The property name of the given segment, or null if the segment is a list index.
+         */
+        public String name(int i) {
+            return names[i];
+        }
+
+        /**
+         * @return The path as a JSON pointer, like {@code /spec/template/spec/containers/0/image}.
+         */
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder();
+            for (int i = 0; i < size; i++) {
+                sb.append('/');
+                if (names[i] != null) {
+                    sb.append(names[i].replace("~", "~0").replace("/", "~1"));
+                } else {
+                    sb.append(indices[i]);
+                }
+            }
+            return sb.toString();
+        }
+    }
+
+    /**
+     * A precompiled path, in which {@code *} matches any list index.
+     */
+    public static final class PathPattern {
+        private static final String ANY_INDEX = "*";
+
+        private final String[] segments;
+        private final boolean[] anyIndex;
+
+        private PathPattern(String[] segments) {
+            this.segments = segments;
+            this.anyIndex = new boolean[segments.length];
+            for (int i = 0; i < segments.length; i++) {
+                anyIndex[i] = ANY_INDEX.equals(segments[i]);
+            }
+        }
+
+        /**
+         * @param pattern A JSON pointer, like {@code /spec/volumeClaimTemplates/*}, in which {@code *} matches any list index.
+         * @return The compiled pattern.
+         */
+        public static PathPattern compile(String pattern) {
+            if (!pattern.startsWith("/")) {
+                throw new IllegalArgumentException("Pattern must start with /: " + pattern);
+            }
+            String[] segments = pattern.substring(1).split("/", -1);
+            for (int i = 0; i < segments.length; i++) {
+                segments[i] = segments[i].replace("~1", "/").replace("~0", "~");
+            }
+            return new PathPattern(segments);
+        }
+
+        /**
+         * @param patterns The patterns.
+         * @return The compiled patterns.
+         */
+        public static List<PathPattern> compileAll(String... patterns) {
+            List<PathPattern> result = new ArrayList<>(patterns.length);
+            for (String pattern : patterns) {
+                result.add(compile(pattern));
+            }
+            return Collections.unmodifiableList(result);
+        }
+
+        /**
+         * @param patterns The patterns.
+         * @param path The path.
+         * @return Whether any of the given patterns {@linkplain #matches(Path) matches} the given path.
+         */
+        public static boolean anyMatches(List<PathPattern> patterns, Path path) {
+            for (int i = 0; i < patterns.size(); i++) {
+                if (patterns.get(i).matches(path)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * @param path The path.
+         * @return Whether the given path is this path.
+         */
+        public boolean matches(Path path) {
+            return path.size == segments.length && matchesSegments(path);
+        }
+
+        /**
+         * @param path The path.
+         * @return Whether the given path is this path, or a path below it.
+         */
+        public boolean contains(Path path) {
+            return path.size >= segments.length && matchesSegments(path);
+        }
+
+        private boolean matchesSegments(Path path) {
+            for (int i = 0; i < segments.length; i++) {
+                String name = path.names[i];
+                if (name == null) {
+                    if (!anyIndex[i] && !segments[i].equals(Integer.toString(path.indices[i]))) {
+                        return false;
+                    }
+                } else if (anyIndex[i] || !segments[i].equals(name)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public String toString() {
+            return "/" + String.join("/", segments);
+        }
+    }
+
+    /**
+     * How to compare the instances of a class.
+     */
+    private static final class Shape {
+        private static final Shape LEAF = new Shape(null, null);
+
+        /** The properties of a bean, or null if instances are compared as a whole. */
+        private final BeanPropertyWriter[] properties;
+        private final AnnotatedMember anyGetter;
+
+        private Shape(BeanPropertyWriter[] properties, AnnotatedMember anyGetter) {
+            this.properties = properties;
+            this.anyGetter = anyGetter;
+        }
+    }
+
+    private final ObjectMapper mapper;
+    private final Map<Class<?>, Shape> shapes = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor.
+     *
+     * @param mapper The mapper whose serialization defines the properties which are compared.
+     */
+    public StructuralDiff(ObjectMapper mapper) {
+        this.mapper = mapper;
+    }
+
+    /**
+     * Reports the differences between the given objects to the given listener.
+     *
+     * @param current The current object.
+     * @param desired The desired object.
+     * @param listener The listener.
+     * @return False if the listener stopped the comparison, otherwise true.
+     */
+    public boolean diff(Object current, Object desired, Listener listener) {
+        return compare(new Path(), current, desired, listener);
+    }
+
+    private boolean compare(Path path, Object current, Object desired, Listener listener) {
+        if (current == desired) {
+            return true;
+        }
+        current = absentIfEmpty(current);
+        desired = absentIfEmpty(desired);
+        if (current == null || desired == null) {
+            return current == desired || listener.difference(path, current, desired);
+        }
+        if (current instanceof Map && desired instanceof Map) {
+            return compareMaps(path, (Map<?, ?>) current, (Map<?, ?>) desired, listener);
+        }
+        if (current instanceof List && desired instanceof List) {
+            return compareLists(path, (List<?>) current, (List<?>) desired, listener);
+        }
+        if (current.getClass() == desired.getClass()) {
+            Shape shape = shape(current.getClass());
+            if (shape.properties != null) {
+                return compareBeans(path, shape, current, desired, listener);
+            }
+        }
+        return equalLeaves(current, desired) || listener.difference(path, current, desired);
+    }
+
+    private boolean compareBeans(Path path, Shape shape, Object current, Object desired, Listener listener) {
+        for (BeanPropertyWriter property : shape.properties) {
+            path.push(property.getName(), -1);
+            boolean carryOn = compare(path, get(property, current), get(property, desired), listener);
+            path.pop();
+            if (!carryOn) {
+                return false;
+            }
+        }
+        if (shape.anyGetter != null) {
+            Object currentAny = shape.anyGetter.getValue(current);
+            Object desiredAny = shape.anyGetter.getValue(desired);
+            if (currentAny instanceof Map || desiredAny instanceof Map) {
+                return compareMaps(path, asMap(currentAny), asMap(desiredAny), listener);
+            }
+        }
+        return true;
+    }
+
+    private boolean compareMaps(Path path, Map<?, ?> current, Map<?, ?> desired, Listener listener) {
+        for (Map.Entry<?, ?> entry : current.entrySet()) {
+            path.push(String.valueOf(entry.getKey()), -1);
+            boolean carryOn = compare(path, entry.getValue(), desired.get(entry.getKey()), listener);
+            path.pop();
+            if (!carryOn) {
+                return false;
+            }
+        }
+        for (Map.Entry<?, ?> entry : desired.entrySet()) {
+            if (!current.containsKey(entry.getKey())) {
+                path.push(String.valueOf(entry.getKey()), -1);
+                boolean carryOn = compare(path, null, entry.getValue(), listener);
+                path.pop();
+                if (!carryOn) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private boolean compareLists(Path path, List<?> current, List<?> desired, Listener listener) {
+        Iterator<?> currentIt = current.iterator();
+        Iterator<?> desiredIt = desired.iterator();
+        int index = 0;
+        while (currentIt.hasNext() || desiredIt.hasNext()) {
+            Object currentElement = currentIt.hasNext() ? currentIt.next() : null;
+            Object desiredElement = desiredIt.hasNext() ? desiredIt.next() : null;
+            path.push(null, index++);
+            boolean carryOn = compare(path, currentElement, desiredElement, listener);
+            path.pop();
+            if (!carryOn) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean equalLeaves(Object current, Object desired) {
+        if (current.equals(desired)) {
+            return true;
+        }
+        if (isScalar(current) && isScalar(desired)) {
+            return false;
+        }
+        return mapper.valueToTree(current).equals(mapper.valueToTree(desired));
+    }
+
+    private static boolean isScalar(Object value) {
+        return value instanceof String || value instanceof Number || value instanceof Boolean || value instanceof Enum;
+    }
+
+    private static Object absentIfEmpty(Object value) {
+        if (value instanceof Collection && ((Collection<?>) value).isEmpty()
+                || value instanceof Map && ((Map<?, ?>) value).isEmpty()) {
+            return null;
+        }
+        return value;
+    }
+
+    private static Map<?, ?> asMap(Object value) {
+        return value instanceof Map ? (Map<?, ?>) value : Collections.emptyMap();
+    }
+
+    private static Object get(BeanPropertyWriter property, Object bean) {
+        try {
+            return property.get(bean);
+        } catch (Exception e) {
+            throw new IllegalArgumentException("Failed to get property " + property.getName() + " of " + bean.getClass().getName(), e);
+        }
+    }
+
+    private Shape shape(Class<?> cls) {
+        Shape shape = shapes.get(cls);
+        if (shape == null) {
+            shape = introspect(cls);
+            shapes.put(cls, shape);
+        }
+        return shape;
+    }
+
+    private Shape introspect(Class<?> cls) {
+        if (isScalar(cls) || cls.isArray() || Collection.class.isAssignableFrom(cls) || Map.class.isAssignableFrom(cls)) {
+            return Shape.LEAF;
+        }
+        JsonSerializer<Object> serializer;
+        try {
+            serializer = mapper.getSerializerProviderInstance().findValueSerializer(cls);
+        } catch (JsonMappingException e) {
+            return Shape.LEAF;
+        }
+        if (!(serializer instanceof BeanSerializerBase)) {
+            return Shape.LEAF;
+        }
+        List<BeanPropertyWriter> properties = new ArrayList<>();
+        for (Iterator<PropertyWriter> it = serializer.properties(); it.hasNext(); ) {
+            PropertyWriter property = it.next();
+            if (!(property instanceof BeanPropertyWriter)) {
+                return Shape.LEAF;
+            }
+            properties.add((BeanPropertyWriter) property);
+        }
+        AnnotatedMember anyGetter = mapper.getSerializationConfig().introspect(mapper.constructType(cls)).findAnyGetter();
+        if (anyGetter != null) {
+            anyGetter.fixAccess(true);
+        }
+        return new Shape(properties.toArray(new BeanPropertyWriter[0]), anyGetter);
+    }
+
+    private static boolean isScalar(Class<?> cls) {
+        return cls.isPrimitive() || String.class == cls || Number.class.isAssignableFrom(cls) || Boolean.class == cls || cls.isEnum();
+    }
+}
@@ -0,0 +1,264 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.operator.common.zk;
+
+import io.vertx.core.CompositeFuture;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import org.I0Itec.zkclient.ZkClient;
+import org.I0Itec.zkclient.ZkConnection;
+import org.I0Itec.zkclient.exception.ZkException;
+import org.I0Itec.zkclient.exception.ZkNoNodeException;
+import org.I0Itec.zkclient.serialize.BytesPushThroughSerializer;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.zookeeper.CreateMode;
+import org.apache.zookeeper.KeeperException;
+import org.apache.zookeeper.Op;
+import org.apache.zookeeper.OpResult;
+import org.apache.zookeeper.ZooKeeper;
+import org.apache.zookeeper.data.ACL;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+/**
+ * A non-blocking ZooKeeper client, using the asynchronous API of ZooKeeper on a session managed by a {@link ZkClient}.
+ * <ul>
+ * <li>Any number of requests can be in flight on the session at the same time,
+ *     so the operations don't use a worker thread each, and many reads cost about as much as one.</li>
+ * <li>The results are delivered on the Vert.x context of the caller.</li>
+ * <li>Failures are the same {@link ZkException}s as the ones thrown by {@link ZkClient},
+ *     such as {@link ZkNoNodeException}.</li>
+ * <li>Like {@link ZkClient}, a request which fails because the connection was lost
+ *     is sent again once the session is reconnected.</li>
+ * </ul>
+ * The blocking {@link ZkClient} of the same session is available through {@link #zkClient()},
+ * for watches and for code which already runs on a worker thread.
+ */
+public class AsyncZkClient {
+
+    private static final Logger log = LogManager.getLogger(AsyncZkClient.class);
+
+    @FunctionalInterface
+    private interface Request<T> {
+        /**
+         * Send the request, with a callback which calls the given handler with the return code and the result.
+         */
+        void send(ZooKeeper zookeeper, BiConsumer<Integer, T> handler);
+    }
+
+    private final Vertx vertx;
+    private final ZkConnection connection;
+    private final ZkClient zkClient;
+    private final long connectionTimeoutMs;
+
+    /**
+     * Connect to ZooKeeper, blocking until connected.
+     *
+     * @param vertx The Vertx instance.
+     * @param zkConnectionString The ZooKeeper connection string.
+     * @param sessionTimeoutMs The ZooKeeper session timeout.
+     * @param connectionTimeoutMs The maximum time to wait for connecting, and for reconnecting before failing a request.
+     */
+    public AsyncZkClient(Vertx vertx, String zkConnectionString, int sessionTimeoutMs, int connectionTimeoutMs) {
+        this.vertx = vertx;
+        this.connection = new ZkConnection(zkConnectionString, sessionTimeoutMs);
+        this.zkClient = new ZkClient(connection, connectionTimeoutMs, new BytesPushThroughSerializer());
+        this.connectionTimeoutMs = connectionTimeoutMs;
+    }
+
+    /**
+     * @return The blocking client of the session, which must not be used on an event loop thread.
+     */
+    public ZkClient zkClient() {
+        return zkClient;
+    }
+
+    /**
+     * @param path The path.
+     * @return A future which completes with the data of the znode at the given path,
+     * or fails with {@link ZkNoNodeException} if there is no such znode.
+     */
+    public Future<byte[]> getData(String path) {
+        return request(path, (zookeeper, handler) ->
+            zookeeper.getData(path, false, (rc, p, ctx, data, stat) -> handler.accept(rc, data), null));
+    }
+
+    /**
+     * Set the data of the znode at the given path, iff the given version is -1 or matches the version of the znode.
+     *
+     * @param path The path.
+     * @param data The data.
+     * @param version The expected version, or -1.
+     * @return A future which completes once the data has been set.
+     */
+    public Future<Void> setData(String path, byte[] data, int version) {
+        return request(path, (zookeeper, handler) ->
+            zookeeper.setData(path, data, version, (rc, p, ctx, stat) -> handler.accept(rc, null), null));
+    }
+
+    /**
+     * Create the znode at the given path.
+     *
+     * @param path The path.
+     * @param data The data, or null for none.
+     * @param acls The ACLs.
+     * @param createMode The create mode.
+     * @return A future which completes with the path of the created znode, which differs from the given path for sequential znodes.
+     */
+    public Future<String> create(String path, byte[] data, List<ACL> acls, CreateMode createMode) {
+        return request(path, (zookeeper, handler) ->
+            zookeeper.create(path, data == null ? new byte[0] : data, acls, createMode, (rc, p, ctx, name) -> handler.accept(rc, name), null));
+    }
+
+    /**
+     * Delete the znode at the given path, iff the given version is -1 or matches the version of the znode.
+     *
+     * @param path The path.
+     * @param version The expected version, or -1.
+     * @return A future which completes once the znode has been deleted.
+     */
+    public Future<Void> delete(String path, int version) {
+        return request(path, (zookeeper, handler) ->
+            zookeeper.delete(path, version, (rc, p, ctx) -> handler.accept(rc, null), null));
+    }
+
+    /**
+     * @param path The path.
+     * @return A future which completes with whether there is a znode at the given path.
+     */
+    public Future<Boolean> exists(String path) {
+        return request(path, (zookeeper, handler) ->
+            zookeeper.exists(path, false, (rc, p, ctx, stat) -> {
+                if (rc == KeeperException.Code.NONODE.intValue()) {
+                    handler.accept(KeeperException.Code.OK.intValue(), false);
+                } else {
+                    handler.accept(rc, stat != null);
+                }
+            }, null));
+    }
+
+    /**
+     * @param path The path.
+     * @return A future which completes with the names of the children of the znode at the given path.
+     */
+    public Future<List<String>> getChildren(String path) {
+        return request(path, (zookeeper, handler) ->
+            zookeeper.getChildren(path, false, (rc, p, ctx, children) -> handler.accept(rc, children), null));
+    }
+
+    /**
+     * Read the data of all the children of the znode at the given path.
+     * All the reads are sent before waiting for any response,
+     * so that reading them takes about as many round trips as reading a single one.
+     *
+     * @param path The path.
+     * @return A future which completes with the data of the children, by name.
+     * Children deleted while reading them are left out, and there are none if there is no znode at the given path.
+     */
+    public Future<Map<String, byte[]>> getChildrenData(String path) {
+        return getChildren(path)
+            .recover(error -> error instanceof ZkNoNodeException ? Future.succeededFuture(Collections.emptyList()) : Future.failedFuture(error))
+            .compose(children -> {
+                List<Future> reads = new ArrayList<>(children.size());
+                for (String child : children) {
+                    reads.add(getData(path + "/" + child)
+                        .map(data -> data != null ? data : new byte[0])
+                        .recover(error -> error instanceof ZkNoNodeException ? Future.succeededFuture() : Future.failedFuture(error)));
+                }
+                return CompositeFuture.all(reads).map(all -> {
+                    Map<String, byte[]> result = new LinkedHashMap<>(children.size());
+                    for (int i = 0; i < children.size(); i++) {
+                        byte[] data = all.resultAt(i);
+                        if (data != null) {
+                            result.put(children.get(i), data);
+                        }
+                    }
+                    log.debug("Read the data of {} children of {}", result.size(), path);
+                    return result;
+                });
+            });
+    }
+
+    /**
+     * Execute the given operations as a single transaction: either all of them succeed or none of them is applied.
+     *
+     * @param ops The operations.
+     * @return A future which completes with the results of the operations.
+     */
+    public Future<List<OpResult>> multi(List<Op> ops) {
+        String path = ops.isEmpty() ? null : ops.get(0).getPath();
+        return request(path, (zookeeper, handler) ->
+            zookeeper.multi(ops, (rc, p, ctx, results) -> handler.accept(rc, results), null));
+    }
+
+    /**
+     * Close the session.
+     *
+     * @return A future which completes once the session is closed.
+     */
+    public Future<Void> close() {
+        Promise<Void> result = Promise.promise();
+        vertx.executeBlocking(future -> {
+            try {
+                zkClient.close();
+                future.complete();
+            } catch (Throwable t) {
+                future.fail(t);
+            }
+        }, result);
+        return result.future();
+    }
+
+    private <T> Future<T> request(String path, Request<T> request) {
+        Context context = vertx.getOrCreateContext();
+        Promise<T> promise = Promise.promise();
+        send(path, request, context, promise, true);
+        return promise.future();
+    }
+
+    private <T> void send(String path, Request<T> request, Context context, Promise<T> promise, boolean retry) {
+        ZooKeeper zookeeper = connection.getZookeeper();
+        if (zookeeper == null) {
+            promise.fail(new ZkException("The ZooKeeper client is closed"));
+            return;
+        }
+
+        try {
+            request.send(zookeeper, (rc, result) -> handle(path, request, context, promise, retry, rc, result));
+        } catch (RuntimeException e) {
+            promise.fail(e);
+        }
+    }
+
+    private <T> void handle(String path, Request<T> request, Context context, Promise<T> promise, boolean retry, int rc, T result) {
+        KeeperException.Code code = KeeperException.Code.get(rc);
+        if (code == KeeperException.Code.OK) {
+            context.runOnContext(ignored -> promise.complete(result));
+        } else if (retry && (code == KeeperException.Code.CONNECTIONLOSS || code == KeeperException.Code.SESSIONEXPIRED)) {
+            log.debug("Request for {} failed with {}, retrying once reconnected", path, code);
+            vertx.<Boolean>executeBlocking(
+                future -> future.complete(zkClient.waitUntilConnected(connectionTimeoutMs, TimeUnit.MILLISECONDS)),
+                false,
+                connected -> {
+                    if (connected.succeeded() && connected.result()) {
+                        send(path, request, context, promise, false);
+                    } else {
+                        context.runOnContext(ignored -> promise.fail(ZkException.create(KeeperException.create(code, path))));
+                    }
+                });
+        } else {
+            context.runOnContext(ignored -> promise.fail(ZkException.create(KeeperException.create(code, path))));
+        }
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.operator.common;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.vertx.core.Context;
+import io.vertx.core.Vertx;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+
+public class EventLoopMonitorTest {
+
+    private final Vertx vertx = Vertx.vertx();
+
+    @AfterEach
+    public void teardown() {
+        vertx.close();
+    }
+
+    @Test
+    public void testBlockedEventLoopIsMeasured() throws InterruptedException {
+        MeterRegistry registry = new SimpleMeterRegistry();
+        Context context = vertx.getOrCreateContext();
+        EventLoopMonitor[] monitor = new EventLoopMonitor[1];
+        context.runOnContext(ignored -> {
+            monitor[0] = new EventLoopMonitor(vertx, 10, new MicrometerMetricsProvider(registry), Tags.of("kind", "Test"));
+            monitor[0].start();
+            // Block the event loop once the monitor is running
+            vertx.setTimer(50, id -> {
+                try {
+                    Thread.sleep(300);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        });
+
+        Timer blockedTime = null;
+        for (int i = 0; i < 100 && (blockedTime == null || blockedTime.max(TimeUnit.MILLISECONDS) < 200); i++) {
+            Thread.sleep(20);
+            blockedTime = registry.find("strimzi.event.loop.blocked.time").tag("kind", "Test").timer();
+        }
+        monitor[0].stop();
+
+        assertThat(blockedTime != null, is(true));
+        assertThat(blockedTime.max(TimeUnit.MILLISECONDS), greaterThanOrEqualTo(200.0));
+    }
+}
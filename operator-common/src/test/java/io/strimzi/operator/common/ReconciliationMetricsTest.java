@@ -0,0 +1,78 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.operator.common;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.vertx.core.Future;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class ReconciliationMetricsTest {
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+    private final ReconciliationMetrics metrics = new ReconciliationMetrics(new MicrometerMetricsProvider(registry), "Test");
+
+    private double counter(String name, String namespace) {
+        return registry.get("strimzi." + name).tag("kind", "Test").tag("namespace", namespace).counter().count();
+    }
+
+    private double gauge(String name, String namespace) {
+        return registry.get("strimzi." + name).tag("kind", "Test").tag("namespace", namespace).gauge().value();
+    }
+
+    private long timerCount(String name, String namespace) {
+        return registry.get("strimzi." + name).tag("kind", "Test").tag("namespace", namespace).timer().count();
+    }
+
+    @Test
+    public void testReconciliationOutcomes() {
+        long successful = metrics.started("ns");
+        long failed = metrics.started("ns");
+        long locked = metrics.started("ns");
+        long running = metrics.started("ns");
+        assertThat(counter("reconciliations", "ns"), is(4.0));
+        assertThat(gauge("reconciliations.in.progress", "ns"), is(4.0));
+
+        metrics.lockAcquired("ns", successful);
+        metrics.completed("ns", successful, Future.succeededFuture());
+        metrics.lockAcquired("ns", failed);
+        metrics.completed("ns", failed, Future.failedFuture("Failed"));
+        metrics.locked("ns", locked);
+
+        assertThat(counter("reconciliations.successful", "ns"), is(1.0));
+        assertThat(counter("reconciliations.failed", "ns"), is(1.0));
+        assertThat(counter("reconciliations.locked", "ns"), is(1.0));
+        assertThat(timerCount("reconciliations.duration", "ns"), is(3L));
+        assertThat(timerCount("reconciliations.lock.wait.time", "ns"), is(2L));
+        assertThat(gauge("reconciliations.in.progress", "ns"), is(1.0));
+
+        metrics.completed("ns", running, Future.succeededFuture());
+        assertThat(gauge("reconciliations.in.progress", "ns"), is(0.0));
+    }
+
+    @Test
+    public void testMetricsAreTaggedByNamespace() {
+        metrics.started("ns1");
+        metrics.resources("ns1", 3);
+        metrics.resources("ns2", 5);
+        metrics.resources("ns2", 2);
+
+        assertThat(counter("reconciliations", "ns1"), is(1.0));
+        assertThat(gauge("resources", "ns1"), is(3.0));
+        assertThat(gauge("resources", "ns2"), is(2.0));
+    }
+
+    @Test
+    public void testResourceWithoutNamespace() {
+        long start = metrics.started(null);
+        metrics.lockAcquired(null, start);
+        metrics.completed(null, start, Future.succeededFuture());
+
+        assertThat(counter("reconciliations.successful", ""), is(1.0));
+    }
+}
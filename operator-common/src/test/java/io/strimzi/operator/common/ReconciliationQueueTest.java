@@ -0,0 +1,210 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.operator.common;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ReconciliationQueueTest {
+
+    private Vertx vertx;
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+    private final MetricsProvider metrics = new MicrometerMetricsProvider(registry);
+
+    @BeforeEach
+    public void before() {
+        vertx = Vertx.vertx();
+    }
+
+    @AfterEach
+    public void after() {
+        vertx.close();
+    }
+
+    private ReconciliationQueue queue(int maxConcurrency, double rateLimit) {
+        return new ReconciliationQueue(vertx, "Test", new ReconciliationQueueConfig(maxConcurrency, rateLimit, 0), 120_000, metrics);
+    }
+
+    private static void waitFor(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "Timed out waiting for condition");
+            Thread.sleep(5);
+        }
+    }
+
+    private double depth() {
+        return registry.get("strimzi.reconciliations.queue.depth").tag("kind", "Test").gauge().value();
+    }
+
+    @Test
+    public void testConcurrencyIsLimited() throws InterruptedException {
+        ReconciliationQueue queue = queue(2, 0);
+        List<Promise<Void>> started = new ArrayList<>();
+        List<Future<Void>> results = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            results.add(queue.submit("key" + i, 0, () -> {
+                Promise<Void> promise = Promise.promise();
+                synchronized (started) {
+                    started.add(promise);
+                }
+                return promise.future();
+            }));
+        }
+
+        assertThat(started.size(), is(2));
+        assertThat(queue.size(), is(3));
+        assertThat(depth(), is(3.0));
+
+        started.get(0).complete();
+        waitFor(() -> started.size() == 3);
+        assertThat(results.get(0).succeeded(), is(true));
+        assertThat(queue.size(), is(2));
+
+        for (int i = 1; i < 5; i++) {
+            int index = i;
+            waitFor(() -> started.size() > index);
+            started.get(index).complete();
+        }
+        waitFor(() -> results.stream().allMatch(Future::succeeded));
+        assertThat(queue.size(), is(0));
+        assertThat(depth(), is(0.0));
+    }
+
+    @Test
+    public void testWaitingKeysAreDeduplicated() throws InterruptedException {
+        ReconciliationQueue queue = queue(1, 0);
+        AtomicInteger runs = new AtomicInteger();
+        Promise<Void> running = Promise.promise();
+
+        Future<Void> first = queue.submit("a", 0, () -> {
+            runs.incrementAndGet();
+            return running.future();
+        });
+        Future<Void> waiting = queue.submit("b", 0, () -> {
+            runs.incrementAndGet();
+            return Future.succeededFuture();
+        });
+        Future<Void> duplicate = queue.submit("b", 0, () -> {
+            runs.incrementAndGet();
+            return Future.succeededFuture();
+        });
+        // A key whose work is running can be queued again
+        Future<Void> again = queue.submit("a", 0, () -> {
+            runs.incrementAndGet();
+            return Future.succeededFuture();
+        });
+
+        assertThat(duplicate, is(sameInstance(waiting)));
+        assertThat(queue.size(), is(2));
+        assertThat(registry.get("strimzi.reconciliations.queue.deduplicated").tag("kind", "Test").counter().count(), is(1.0));
+
+        running.complete();
+        waitFor(() -> first.succeeded() && waiting.succeeded() && again.succeeded());
+        assertThat(runs.get(), is(3));
+    }
+
+    @Test
+    public void testRateIsLimited() throws InterruptedException {
+        ReconciliationQueue queue = queue(0, 10);
+        AtomicInteger runs = new AtomicInteger();
+        List<Future<Void>> results = new ArrayList<>();
+        long start = System.nanoTime();
+        for (int i = 0; i < 15; i++) {
+            results.add(queue.submit("key" + i, 0, () -> {
+                runs.incrementAndGet();
+                return Future.succeededFuture();
+            }));
+        }
+
+        // The bucket starts with a second's worth of tokens
+        assertThat(runs.get(), is(10));
+
+        waitFor(() -> results.stream().allMatch(Future::succeeded));
+        // The remaining 5 need half a second's worth of new tokens
+        assertThat(System.nanoTime() - start, greaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(450)));
+        assertThat(registry.get("strimzi.reconciliations.queue.wait.time").tag("kind", "Test").timer().count(), is(15L));
+    }
+
+    @Test
+    public void testDelayedWorkWaitsUntilDue() throws InterruptedException {
+        ReconciliationQueue queue = queue(0, 0);
+        AtomicInteger runs = new AtomicInteger();
+
+        Future<Void> delayed = queue.submit("a", 60_000, () -> {
+            runs.incrementAndGet();
+            return Future.succeededFuture();
+        });
+        Future<Void> later = queue.submit("b", 200, () -> {
+            runs.incrementAndGet();
+            return Future.succeededFuture();
+        });
+        assertThat(runs.get(), is(0));
+        assertThat(queue.size(), is(2));
+
+        waitFor(later::succeeded);
+        assertThat(delayed.isComplete(), is(false));
+
+        // Submitting the waiting key with a shorter delay brings it forward
+        Future<Void> now = queue.submit("a", 0, () -> Future.failedFuture("Should not be called"));
+        assertThat(now, is(sameInstance(delayed)));
+        waitFor(delayed::succeeded);
+        assertThat(runs.get(), is(2));
+    }
+
+    @Test
+    public void testFailuresAreReturnedAndDoNotStopTheQueue() throws InterruptedException {
+        ReconciliationQueue queue = queue(1, 0);
+
+        Future<Void> failed = queue.submit("a", 0, () -> Future.failedFuture("Failed"));
+        Future<Void> thrown = queue.submit("b", 0, () -> {
+            throw new RuntimeException("Thrown");
+        });
+        Future<Void> succeeded = queue.submit("c", 0, Future::succeededFuture);
+
+        waitFor(() -> failed.isComplete() && thrown.isComplete() && succeeded.isComplete());
+        assertThat(failed.cause().getMessage(), is("Failed"));
+        assertThat(thrown.cause().getMessage(), is("Thrown"));
+        assertThat(succeeded.succeeded(), is(true));
+    }
+
+    @Test
+    public void testJitterIsWithinTheConfiguredFractionOfTheInterval() {
+        ReconciliationQueue queue = new ReconciliationQueue(vertx, "Test", new ReconciliationQueueConfig(0, 0, 0.5), 1_000, metrics);
+        for (int i = 0; i < 100; i++) {
+            long jitter = queue.jitterMs();
+            assertThat(jitter, greaterThanOrEqualTo(0L));
+            assertThat(jitter, lessThan(500L));
+        }
+        assertThat(queue(0, 0).jitterMs(), is(0L));
+    }
+
+    @Test
+    public void testInvalidConfig() {
+        assertThrows(IllegalArgumentException.class, () -> new ReconciliationQueueConfig(-1, 0, 0));
+        assertThrows(IllegalArgumentException.class, () -> new ReconciliationQueueConfig(0, -1, 0));
+        assertThrows(IllegalArgumentException.class, () -> new ReconciliationQueueConfig(0, 0, 1.5));
+    }
+}
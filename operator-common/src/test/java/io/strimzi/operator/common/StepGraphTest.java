@@ -0,0 +1,119 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.operator.common;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static io.strimzi.operator.common.StepGraph.after;
+import static java.util.Arrays.asList;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class StepGraphTest {
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+    private final MetricsProvider metrics = new MicrometerMetricsProvider(registry);
+
+    private static Future<?> record(List<String> log, String name) {
+        log.add(name);
+        return Future.succeededFuture();
+    }
+
+    @Test
+    public void testStepsRunInDependencyOrder() {
+        List<String> log = new ArrayList<>();
+        Future<List<String>> result = new StepGraph<List<String>>("Test", metrics)
+                .step("a", l -> record(l, "a"))
+                .step("b", l -> record(l, "b"))
+                .step("c", l -> record(l, "c"))
+                .execute(log);
+
+        assertThat(result.succeeded(), is(true));
+        assertThat(log, is(asList("a", "b", "c")));
+        assertThat(registry.get("strimzi.reconciliation.step.duration").tag("kind", "Test").tag("step", "b").timer().count(), is(1L));
+    }
+
+    @Test
+    public void testIndependentStepsRunConcurrently() {
+        List<String> log = new ArrayList<>();
+        Promise<Void> left = Promise.promise();
+        Promise<Void> right = Promise.promise();
+
+        Future<List<String>> result = new StepGraph<List<String>>("Test", metrics)
+                .step("start", l -> record(l, "start"))
+                .step("left", after("start"), l -> {
+                    l.add("left");
+                    return left.future();
+                })
+                .step("right", after("start"), l -> {
+                    l.add("right");
+                    return right.future();
+                })
+                .step("join", after("left", "right"), l -> record(l, "join"))
+                .execute(log);
+
+        // Both branches started although neither has completed yet
+        assertThat(log, is(asList("start", "left", "right")));
+
+        right.complete();
+        assertThat(log, is(asList("start", "left", "right")));
+        assertThat(result.isComplete(), is(false));
+
+        left.complete();
+        assertThat(log, is(asList("start", "left", "right", "join")));
+        assertThat(result.succeeded(), is(true));
+    }
+
+    @Test
+    public void testFailureStopsFurtherSteps() {
+        List<String> log = new ArrayList<>();
+        Promise<Void> slow = Promise.promise();
+
+        Future<List<String>> result = new StepGraph<List<String>>("Test", metrics)
+                .step("start", l -> record(l, "start"))
+                .step("slow", after("start"), l -> slow.future())
+                .step("failing", after("start"), l -> Future.failedFuture("boom"))
+                .step("next", after("failing"), l -> record(l, "next"))
+                .step("other", after("slow"), l -> record(l, "other"))
+                .execute(log);
+
+        // The execution waits for the steps already running
+        assertThat(result.isComplete(), is(false));
+
+        slow.complete();
+        assertThat(result.failed(), is(true));
+        assertThat(result.cause().getMessage(), is("boom"));
+        assertThat(log, is(asList("start")));
+    }
+
+    @Test
+    public void testExceptionInStepFailsExecution() {
+        Future<Object> result = new StepGraph<>("Test", metrics)
+                .step("throwing", s -> {
+                    throw new IllegalStateException("thrown");
+                })
+                .execute(new Object());
+
+        assertThat(result.failed(), is(true));
+        assertThat(result.cause().getMessage(), is("thrown"));
+    }
+
+    @Test
+    public void testInvalidDependencies() {
+        StepGraph<Object> graph = new StepGraph<>("Test", metrics)
+                .step("a", s -> Future.succeededFuture());
+
+        assertThrows(IllegalArgumentException.class, () -> graph.step("a", s -> Future.succeededFuture()));
+        assertThrows(IllegalArgumentException.class, () -> graph.step("b", after("unknown"), s -> Future.succeededFuture()));
+    }
+}
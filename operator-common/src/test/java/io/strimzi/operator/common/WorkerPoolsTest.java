@@ -0,0 +1,108 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.operator.common;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.vertx.core.Vertx;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class WorkerPoolsTest {
+
+    private final Vertx vertx = Vertx.vertx();
+
+    @AfterEach
+    public void teardown() {
+        vertx.close();
+    }
+
+    @Test
+    public void testConfigFromMap() {
+        Map<String, String> env = new HashMap<>();
+        env.put(WorkerPoolsConfig.STRIMZI_KUBERNETES_POOL_SIZE, "20");
+        env.put(WorkerPoolsConfig.STRIMZI_CRYPTO_POOL_SIZE, " 2 ");
+
+        WorkerPoolsConfig config = WorkerPoolsConfig.fromMap(env);
+        assertThat(config.getKubernetesPoolSize(), is(20));
+        assertThat(config.getZookeeperPoolSize(), is(WorkerPoolsConfig.DEFAULT_ZOOKEEPER_POOL_SIZE));
+        assertThat(config.getCryptoPoolSize(), is(2));
+    }
+
+    @Test
+    public void testInvalidConfig() {
+        Map<String, String> env = new HashMap<>();
+        env.put(WorkerPoolsConfig.STRIMZI_ZOOKEEPER_POOL_SIZE, "0");
+        assertThrows(InvalidConfigurationException.class, () -> WorkerPoolsConfig.fromMap(env));
+
+        env.put(WorkerPoolsConfig.STRIMZI_ZOOKEEPER_POOL_SIZE, "four");
+        assertThrows(InvalidConfigurationException.class, () -> WorkerPoolsConfig.fromMap(env));
+    }
+
+    @Test
+    public void testPoolsAreConfiguredOncePerVertx() {
+        WorkerPools pools = WorkerPools.configure(vertx, new WorkerPoolsConfig(1, 1, 1), new MicrometerMetricsProvider(new SimpleMeterRegistry()));
+        assertThat(WorkerPools.configure(vertx, WorkerPoolsConfig.DEFAULT, new MicrometerMetricsProvider(new SimpleMeterRegistry())), is(sameInstance(pools)));
+        assertThat(WorkerPools.kubernetes(vertx), is(sameInstance(WorkerPools.kubernetes(vertx))));
+        assertThat(WorkerPools.kubernetes(vertx).name(), is(WorkerPools.KUBERNETES_POOL));
+        assertThat(WorkerPools.zookeeper(vertx).name(), is(WorkerPools.ZOOKEEPER_POOL));
+        assertThat(WorkerPools.crypto(vertx).name(), is(WorkerPools.CRYPTO_POOL));
+    }
+
+    @Test
+    public void testBlockingCodeRunsOnItsPoolAndIsTimed() throws Exception {
+        MeterRegistry registry = new SimpleMeterRegistry();
+        WorkerPools.configure(vertx, new WorkerPoolsConfig(1, 1, 1), new MicrometerMetricsProvider(registry));
+
+        CountDownLatch done = new CountDownLatch(1);
+        String[] threadName = new String[1];
+        WorkerPools.zookeeper(vertx).<Void>executeBlocking(promise -> {
+            threadName[0] = Thread.currentThread().getName();
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            promise.complete();
+        }, ignored -> done.countDown());
+        assertThat(done.await(10, TimeUnit.SECONDS), is(true));
+
+        assertThat(threadName[0], startsWith(WorkerPools.ZOOKEEPER_POOL));
+        Timer executionTime = registry.find("strimzi.worker.pool.execution.time").tag("pool", WorkerPools.ZOOKEEPER_POOL).timer();
+        assertThat(executionTime.count(), is(1L));
+        assertThat(executionTime.max(TimeUnit.MILLISECONDS), greaterThanOrEqualTo(50.0));
+        assertThat(registry.find("strimzi.worker.pool.queue.wait.time").tag("pool", WorkerPools.ZOOKEEPER_POOL).timer().count(), is(1L));
+    }
+
+    @Test
+    public void testCancelledTaskIsNotRun() throws Exception {
+        WorkerPools.configure(vertx, new WorkerPoolsConfig(1, 1, 1), new MicrometerMetricsProvider(new SimpleMeterRegistry()));
+        WorkerPool crypto = WorkerPools.crypto(vertx);
+
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Boolean> blocker = crypto.submit(() -> release.await(10, TimeUnit.SECONDS));
+        boolean[] run = new boolean[1];
+        CompletableFuture<Boolean> cancelled = crypto.submit(() -> run[0] = true);
+        cancelled.cancel(false);
+        release.countDown();
+
+        assertThat(blocker.get(10, TimeUnit.SECONDS), is(true));
+        assertThat(crypto.submit(() -> run[0]).get(10, TimeUnit.SECONDS), is(false));
+    }
+}
@@ -7,11 +7,15 @@ package io.strimzi.operator.common.operator.resource;
 import io.fabric8.kubernetes.api.model.HasMetadata;
 import io.fabric8.kubernetes.api.model.KubernetesResourceList;
 import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.KubernetesClientException;
 import io.fabric8.kubernetes.client.dsl.Deletable;
 import io.fabric8.kubernetes.client.dsl.EditReplacePatchDeletable;
 import io.fabric8.kubernetes.client.dsl.MixedOperation;
 import io.fabric8.kubernetes.client.dsl.NonNamespaceOperation;
 import io.fabric8.kubernetes.client.dsl.Resource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.strimzi.operator.common.MicrometerMetricsProvider;
 import io.vertx.core.Future;
 import io.vertx.core.Vertx;
 import io.vertx.junit5.Checkpoint;
@@ -22,9 +26,11 @@ import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 
+import static java.util.Collections.singletonList;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.matches;
@@ -119,6 +125,41 @@ public abstract class AbstractResourceOperatorTest<C extends KubernetesClient, T
         });
     }
 
+    @Test
+    public void patchOfAStaleCachedResourceWhichNoLongerExistsIsACreate(VertxTestContext context) {
+        T resource = resource();
+        Resource mockResource = mock(resourceType());
+        when(mockResource.cascading(anyBoolean())).thenReturn(mockResource);
+        when(mockResource.patch(any())).thenThrow(new KubernetesClientException("Not found", 404, null));
+        when(mockResource.create(any())).thenReturn(resource);
+
+        KubernetesResourceList mockList = mock(KubernetesResourceList.class);
+        when(mockList.getItems()).thenReturn(singletonList(resource));
+
+        NonNamespaceOperation mockNameable = mock(NonNamespaceOperation.class);
+        when(mockNameable.withName(matches(resource.getMetadata().getName()))).thenReturn(mockResource);
+        when(mockNameable.list()).thenReturn(mockList);
+
+        MixedOperation mockCms = mock(MixedOperation.class);
+        when(mockCms.inNamespace(matches(resource.getMetadata().getNamespace()))).thenReturn(mockNameable);
+
+        C mockClient = mock(clientType());
+        mocker(mockClient, mockCms);
+
+        AbstractResourceOperator<C, T, L, D, R> op = createResourceOperationsWithMockedReadiness(vertx, mockClient);
+
+        Checkpoint async = context.checkpoint();
+        op.enableCache(resource.getMetadata().getNamespace(), null, 0, new MicrometerMetricsProvider(new SimpleMeterRegistry()))
+            .compose(v -> op.createOrUpdate(resource()))
+            .setHandler(context.succeeding(result -> context.verify(() -> {
+                assertThat(result instanceof ReconcileResult.Created, is(true));
+                verify(mockResource, never()).get();
+                verify(mockResource).create(any());
+                op.disableCache(resource.getMetadata().getNamespace());
+                async.flag();
+            })));
+    }
+
     @Test
     public void existenceCheckThrows(VertxTestContext context) {
         T resource = resource();
@@ -146,6 +187,37 @@ public abstract class AbstractResourceOperatorTest<C extends KubernetesClient, T
         });
     }
 
+    @Test
+    public void apiCallsAreTimedWhenMetricsAreEnabled(VertxTestContext context) {
+        T resource = resource();
+        RuntimeException ex = new RuntimeException();
+
+        Resource mockResource = mock(resourceType());
+        when(mockResource.get()).thenThrow(ex);
+
+        NonNamespaceOperation mockNameable = mock(NonNamespaceOperation.class);
+        when(mockNameable.withName(matches(resource.getMetadata().getName()))).thenReturn(mockResource);
+
+        MixedOperation mockCms = mock(MixedOperation.class);
+        when(mockCms.inNamespace(matches(resource.getMetadata().getNamespace()))).thenReturn(mockNameable);
+
+        C mockClient = mock(clientType());
+        mocker(mockClient, mockCms);
+
+        AbstractResourceOperator<C, T, L, D, R> op = createResourceOperations(vertx, mockClient);
+        MeterRegistry registry = new SimpleMeterRegistry();
+        op.enableMetrics(new MicrometerMetricsProvider(registry));
+
+        Checkpoint async = context.checkpoint();
+        op.createOrUpdate(resource).setHandler(ar -> context.verify(() -> {
+            assertThat(ar.failed(), is(true));
+            assertThat(registry.get("strimzi.resource.api.requests").tag("verb", "get").timer().count(), is(1L));
+            assertThat(registry.get("strimzi.resource.api.errors").tag("verb", "get").counter().count(), is(1.0));
+            assertThat(registry.get("strimzi.resource.api.requests").tag("verb", "patch").timer().count(), is(0L));
+            async.flag();
+        }));
+    }
+
     @Test
     public void successfulCreation(VertxTestContext context) {
         T resource = resource();
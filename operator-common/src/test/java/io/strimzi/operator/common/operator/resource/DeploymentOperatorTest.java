@@ -11,10 +11,27 @@ import io.fabric8.kubernetes.api.model.apps.DoneableDeployment;
 import io.fabric8.kubernetes.client.KubernetesClient;
 import io.fabric8.kubernetes.client.dsl.AppsAPIGroupDSL;
 import io.fabric8.kubernetes.client.dsl.MixedOperation;
+import io.fabric8.kubernetes.client.dsl.NonNamespaceOperation;
 import io.fabric8.kubernetes.client.dsl.RollableScalableResource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.strimzi.operator.common.MicrometerMetricsProvider;
 import io.vertx.core.Vertx;
+import io.vertx.junit5.Checkpoint;
+import io.vertx.junit5.VertxTestContext;
+import org.junit.jupiter.api.Test;
 
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.matches;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 public class DeploymentOperatorTest extends
@@ -48,4 +65,81 @@ public class DeploymentOperatorTest extends
     protected DeploymentOperator createResourceOperations(Vertx vertx, KubernetesClient mockClient) {
         return new DeploymentOperator(vertx, mockClient);
     }
+
+    @Test
+    public void testStatusUpdatesDoNotPreventSkippingUnchangedPatches(VertxTestContext context) {
+        AtomicInteger resourceVersion = new AtomicInteger(1);
+        AtomicReference<Deployment> live = new AtomicReference<>(new DeploymentBuilder(resource())
+                .editMetadata().withUid("uid-1").withGeneration(1L).withResourceVersion("1").endMetadata()
+                .build());
+
+        RollableScalableResource mockResource = mock(resourceType());
+        when(mockResource.get()).thenAnswer(invocation -> live.get());
+        when(mockResource.cascading(true)).thenReturn(mockResource);
+        when(mockResource.patch(any())).thenAnswer(invocation -> {
+            Deployment patched = new DeploymentBuilder(invocation.<Deployment>getArgument(0))
+                    .editMetadata()
+                        .withUid(live.get().getMetadata().getUid())
+                        .withGeneration(live.get().getMetadata().getGeneration() + 1)
+                        .withResourceVersion(String.valueOf(resourceVersion.incrementAndGet()))
+                    .endMetadata()
+                    .build();
+            live.set(patched);
+            return patched;
+        });
+
+        NonNamespaceOperation mockNameable = mock(NonNamespaceOperation.class);
+        when(mockNameable.withName(matches(RESOURCE_NAME))).thenReturn(mockResource);
+        MixedOperation mockDeployments = mock(MixedOperation.class);
+        when(mockDeployments.inNamespace(matches(NAMESPACE))).thenReturn(mockNameable);
+        KubernetesClient mockClient = mock(clientType());
+        mocker(mockClient, mockDeployments);
+
+        MeterRegistry registry = new SimpleMeterRegistry();
+        DeploymentOperator op = createResourceOperations(vertx, mockClient);
+        op.enableSkipUnchangedPatches(new MicrometerMetricsProvider(registry));
+
+        Checkpoint async = context.checkpoint();
+        op.reconcile(NAMESPACE, RESOURCE_NAME, resource())
+            .compose(first -> {
+                context.verify(() -> verify(mockResource, times(1)).patch(any()));
+                // The controller updates the status, which changes the resourceVersion but not the generation
+                live.set(new DeploymentBuilder(live.get())
+                        .editMetadata().withResourceVersion(String.valueOf(resourceVersion.incrementAndGet())).endMetadata()
+                        .withNewStatus().withReplicas(1).endStatus()
+                        .build());
+                return op.reconcile(NAMESPACE, RESOURCE_NAME, resource());
+            })
+            .compose(second -> {
+                context.verify(() -> {
+                    assertThat(second, instanceOf(ReconcileResult.Noop.class));
+                    verify(mockResource, times(1)).patch(any());
+                });
+                // Someone else changes the spec, which changes the generation
+                live.set(new DeploymentBuilder(live.get())
+                        .editMetadata()
+                            .withGeneration(live.get().getMetadata().getGeneration() + 1)
+                            .withResourceVersion(String.valueOf(resourceVersion.incrementAndGet()))
+                        .endMetadata()
+                        .editOrNewSpec().withReplicas(3).endSpec()
+                        .build());
+                return op.reconcile(NAMESPACE, RESOURCE_NAME, resource());
+            })
+            .compose(third -> {
+                context.verify(() -> verify(mockResource, times(2)).patch(any()));
+                // Someone else deletes and recreates the resource with the same generation
+                live.set(new DeploymentBuilder(live.get())
+                        .editMetadata()
+                            .withUid("uid-2")
+                            .withResourceVersion(String.valueOf(resourceVersion.incrementAndGet()))
+                        .endMetadata()
+                        .build());
+                return op.reconcile(NAMESPACE, RESOURCE_NAME, resource());
+            })
+            .setHandler(context.succeeding(fourth -> context.verify(() -> {
+                verify(mockResource, times(3)).patch(any());
+                assertThat(registry.get("strimzi.resource.patches.skipped").counter().count(), is(1.0));
+                async.flag();
+            })));
+    }
 }
@@ -0,0 +1,60 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.operator.common.operator.resource;
+
+import io.fabric8.kubernetes.api.model.ConfigMap;
+import io.fabric8.kubernetes.api.model.ConfigMapBuilder;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static java.util.Collections.singletonMap;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class DesiredStateHashTest {
+
+    private static ConfigMap configMap(Map<String, String> data, Map<String, String> annotations) {
+        return new ConfigMapBuilder()
+                .withNewMetadata()
+                    .withName("my-cm")
+                    .withNamespace("my-ns")
+                    .withAnnotations(annotations)
+                .endMetadata()
+                .withData(data)
+                .build();
+    }
+
+    @Test
+    public void testHashIgnoresMapOrder() {
+        Map<String, String> data1 = new LinkedHashMap<>();
+        data1.put("a", "1");
+        data1.put("b", "2");
+        Map<String, String> data2 = new LinkedHashMap<>();
+        data2.put("b", "2");
+        data2.put("a", "1");
+
+        assertThat(DesiredStateHash.hash(configMap(data1, null)), is(DesiredStateHash.hash(configMap(data2, null))));
+    }
+
+    @Test
+    public void testHashIgnoresHashAnnotation() {
+        Map<String, String> annotations = new HashMap<>();
+        annotations.put(AbstractResourceOperator.ANNO_STRIMZI_IO_DESIRED_HASH, "foo");
+        ConfigMap annotated = configMap(singletonMap("a", "1"), annotations);
+
+        assertThat(DesiredStateHash.hash(annotated), is(DesiredStateHash.hash(configMap(singletonMap("a", "1"), new HashMap<>()))));
+        assertThat(annotated.getMetadata().getAnnotations().get(AbstractResourceOperator.ANNO_STRIMZI_IO_DESIRED_HASH), is("foo"));
+    }
+
+    @Test
+    public void testHashDependsOnContent() {
+        assertThat(DesiredStateHash.hash(configMap(singletonMap("a", "1"), null)),
+                is(not(DesiredStateHash.hash(configMap(singletonMap("a", "2"), null)))));
+    }
+}
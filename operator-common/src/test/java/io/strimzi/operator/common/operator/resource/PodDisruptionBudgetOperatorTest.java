@@ -19,6 +19,7 @@ import io.vertx.core.Future;
 import io.vertx.core.Vertx;
 import io.vertx.junit5.Checkpoint;
 import io.vertx.junit5.VertxTestContext;
+import org.junit.jupiter.api.Test;
 
 import static java.util.Collections.singletonMap;
 import static org.hamcrest.CoreMatchers.is;
@@ -69,6 +70,13 @@ public class PodDisruptionBudgetOperatorTest extends AbstractResourceOperatorTes
                 .build();
     }
 
+    @Override
+    @Test
+    public void patchOfAStaleCachedResourceWhichNoLongerExistsIsACreate(VertxTestContext context) {
+        // This is overridden because PDB patch is coded as a delete and create, which never fails as not found.
+        context.completeNow();
+    }
+
     @Override
     public void createWhenExistsIsAPatch(VertxTestContext context, boolean cascade) {
         PodDisruptionBudget resource = resource();
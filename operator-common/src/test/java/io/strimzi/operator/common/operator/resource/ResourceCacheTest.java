@@ -0,0 +1,302 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.operator.common.operator.resource;
+
+import io.fabric8.kubernetes.api.model.Secret;
+import io.fabric8.kubernetes.api.model.SecretBuilder;
+import io.fabric8.kubernetes.api.model.SecretList;
+import io.fabric8.kubernetes.api.model.SecretListBuilder;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.KubernetesClientException;
+import io.fabric8.kubernetes.client.Watch;
+import io.fabric8.kubernetes.client.Watcher;
+import io.fabric8.openshift.client.server.mock.OpenShiftServer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.strimzi.operator.common.MicrometerMetricsProvider;
+import io.strimzi.operator.common.model.Labels;
+import io.vertx.core.Vertx;
+import io.vertx.junit5.Checkpoint;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static java.util.Collections.singletonMap;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.mock;
+
+@ExtendWith(VertxExtension.class)
+public class ResourceCacheTest {
+
+    private static final String NAMESPACE = "test";
+
+    private static Vertx vertx;
+    private OpenShiftServer server = new OpenShiftServer(false, true);
+
+    @BeforeAll
+    public static void before() {
+        vertx = Vertx.vertx();
+    }
+
+    @AfterAll
+    public static void after() {
+        vertx.close();
+    }
+
+    @BeforeEach
+    public void initServer() {
+        server.before();
+    }
+
+    @AfterEach
+    public void cleanUpServer() {
+        server.after();
+    }
+
+    private static Secret secret(String name, String kind) {
+        return new SecretBuilder()
+                .withNewMetadata()
+                    .withName(name)
+                    .withNamespace(NAMESPACE)
+                    .withLabels(singletonMap(Labels.STRIMZI_KIND_LABEL, kind))
+                .endMetadata()
+                .withData(singletonMap("key", "dmFsdWU="))
+                .build();
+    }
+
+    private static Secret secret(String name, String kind, String resourceVersion) {
+        return new SecretBuilder(secret(name, kind))
+                .editMetadata()
+                    .withResourceVersion(resourceVersion)
+                .endMetadata()
+                .build();
+    }
+
+    private static SecretList list(String resourceVersion, Secret... secrets) {
+        return new SecretListBuilder()
+                .withNewMetadata()
+                    .withResourceVersion(resourceVersion)
+                .endMetadata()
+                .withItems(secrets)
+                .build();
+    }
+
+    private static ResourceCache<Secret> cache(long resyncIntervalMs, Supplier<SecretList> lister, List<Watcher<Secret>> watchers) {
+        return new ResourceCache<>(vertx, "Secret", NAMESPACE, null, resyncIntervalMs, lister::get,
+            (resourceVersion, watcher) -> {
+                watchers.add(watcher);
+                return mock(Watch.class);
+            },
+            new MicrometerMetricsProvider(new SimpleMeterRegistry()));
+    }
+
+    private static double count(MeterRegistry registry, String name) {
+        return registry.get(name).counter().count();
+    }
+
+    @Test
+    public void testCacheServesReadsAndFollowsWrites(VertxTestContext context) {
+        KubernetesClient client = server.getKubernetesClient();
+        client.secrets().inNamespace(NAMESPACE).create(secret("existing", "Kafka"));
+
+        MeterRegistry registry = new SimpleMeterRegistry();
+        SecretOperator op = new SecretOperator(vertx, client);
+
+        Checkpoint async = context.checkpoint();
+        op.enableCache(NAMESPACE, null, 60_000, new MicrometerMetricsProvider(registry))
+            .compose(v -> {
+                context.verify(() -> {
+                    assertThat(op.get(NAMESPACE, "existing"), is(notNullValue()));
+                    assertThat(count(registry, "strimzi.resource.cache.hits"), is(1.0));
+                    assertThat(op.list(NAMESPACE, Labels.forKind("Kafka")).size(), is(1));
+                    assertThat(op.list(NAMESPACE, Labels.forKind("KafkaConnect")).size(), is(0));
+                });
+                return op.reconcile(NAMESPACE, "created", secret("created", "Kafka"));
+            })
+            .compose(created -> {
+                context.verify(() -> {
+                    // visible immediately, without waiting for the watch event
+                    double misses = count(registry, "strimzi.resource.cache.misses");
+                    assertThat(op.get(NAMESPACE, "created"), is(notNullValue()));
+                    assertThat(count(registry, "strimzi.resource.cache.misses"), is(misses));
+                });
+                return op.reconcile(NAMESPACE, "created", null);
+            })
+            .setHandler(context.succeeding(deleted -> context.verify(() -> {
+                assertThat(op.get(NAMESPACE, "created"), is(nullValue()));
+                op.disableCache(NAMESPACE);
+                async.flag();
+            })));
+    }
+
+    @Test
+    public void testSelectorScopesTheCache(VertxTestContext context) {
+        KubernetesClient client = server.getKubernetesClient();
+        client.secrets().inNamespace(NAMESPACE).create(secret("kafka-secret", "Kafka"));
+        client.secrets().inNamespace(NAMESPACE).create(secret("connect-secret", "KafkaConnect"));
+
+        MeterRegistry registry = new SimpleMeterRegistry();
+        SecretOperator op = new SecretOperator(vertx, client);
+
+        Checkpoint async = context.checkpoint();
+        op.enableCache(NAMESPACE, Labels.forKind("Kafka"), 60_000, new MicrometerMetricsProvider(registry))
+            .setHandler(context.succeeding(v -> context.verify(() -> {
+                assertThat(op.get(NAMESPACE, "kafka-secret"), is(notNullValue()));
+                assertThat(count(registry, "strimzi.resource.cache.hits"), is(1.0));
+
+                // Out of the scope of the cache: misses, but is still found on the API server
+                assertThat(op.get(NAMESPACE, "connect-secret"), is(notNullValue()));
+                assertThat(count(registry, "strimzi.resource.cache.misses"), is(1.0));
+
+                assertThat(op.list(NAMESPACE, Labels.forKind("KafkaConnect")).size(), is(1));
+                op.disableCache(NAMESPACE);
+                async.flag();
+            })));
+    }
+
+    @Test
+    public void testSharedCacheIsStoppedByItsOwnerOnly(VertxTestContext context) {
+        KubernetesClient client = server.getKubernetesClient();
+        client.secrets().inNamespace(NAMESPACE).create(secret("existing", "Kafka"));
+
+        MeterRegistry registry = new SimpleMeterRegistry();
+        SecretOperator owner = new SecretOperator(vertx, client);
+        SecretOperator sharer = new SecretOperator(vertx, client);
+
+        Checkpoint async = context.checkpoint();
+        owner.enableCache(NAMESPACE, null, 60_000, new MicrometerMetricsProvider(registry))
+            .setHandler(context.succeeding(v -> context.verify(() -> {
+                sharer.shareCache(NAMESPACE, owner);
+                assertThat(sharer.get(NAMESPACE, "existing"), is(notNullValue()));
+                assertThat(count(registry, "strimzi.resource.cache.hits"), is(1.0));
+
+                sharer.disableCache(NAMESPACE);
+                assertThat(owner.get(NAMESPACE, "existing"), is(notNullValue()));
+                assertThat(count(registry, "strimzi.resource.cache.hits"), is(2.0));
+                owner.disableCache(NAMESPACE);
+                async.flag();
+            })));
+    }
+
+    @Test
+    public void testLookupsReturnCopies(VertxTestContext context) {
+        List<Watcher<Secret>> watchers = new CopyOnWriteArrayList<>();
+        ResourceCache<Secret> cache = cache(0, () -> list("10", secret("existing", "Kafka", "5")), watchers);
+
+        Checkpoint async = context.checkpoint();
+        cache.start().setHandler(context.succeeding(v -> context.verify(() -> {
+            cache.get(NAMESPACE, "existing").getMetadata().getLabels().put("modified", "true");
+            cache.list(NAMESPACE, null).get(0).getData().clear();
+            Secret written = secret("written", "Kafka", "11");
+            cache.update(written);
+            written.getMetadata().setName("renamed");
+
+            Secret existing = cache.get(NAMESPACE, "existing");
+            assertThat(existing.getMetadata().getLabels().containsKey("modified"), is(false));
+            assertThat(existing.getData().size(), is(1));
+            assertThat(cache.get(NAMESPACE, "written").getMetadata().getName(), is("written"));
+            cache.stop();
+            async.flag();
+        })));
+    }
+
+    @Test
+    public void testOlderVersionsDoNotReplaceNewerOnes(VertxTestContext context) {
+        List<Watcher<Secret>> watchers = new CopyOnWriteArrayList<>();
+        ResourceCache<Secret> cache = cache(0, () -> list("10", secret("secret", "Kafka", "5")), watchers);
+
+        Checkpoint async = context.checkpoint();
+        cache.start().setHandler(context.succeeding(v -> context.verify(() -> {
+            Watcher<Secret> watcher = watchers.get(0);
+            cache.update(secret("secret", "Kafka", "12"));
+            // A late event of an earlier write
+            watcher.eventReceived(Watcher.Action.MODIFIED, secret("secret", "Kafka", "11"));
+            assertThat(cache.get(NAMESPACE, "secret").getMetadata().getResourceVersion(), is("12"));
+            cache.update(secret("secret", "Kafka", "11"));
+            assertThat(cache.get(NAMESPACE, "secret").getMetadata().getResourceVersion(), is("12"));
+
+            watcher.eventReceived(Watcher.Action.MODIFIED, secret("secret", "Kafka", "13"));
+            assertThat(cache.get(NAMESPACE, "secret").getMetadata().getResourceVersion(), is("13"));
+            watcher.eventReceived(Watcher.Action.DELETED, secret("secret", "Kafka", "12"));
+            assertThat(cache.get(NAMESPACE, "secret"), is(notNullValue()));
+            watcher.eventReceived(Watcher.Action.DELETED, secret("secret", "Kafka", "14"));
+            assertThat(cache.get(NAMESPACE, "secret"), is(nullValue()));
+            cache.stop();
+            async.flag();
+        })));
+    }
+
+    @Test
+    public void testResyncKeepsTheWatch(VertxTestContext context) throws InterruptedException {
+        AtomicInteger lists = new AtomicInteger();
+        CountDownLatch resyncing = new CountDownLatch(1);
+        CountDownLatch resynced = new CountDownLatch(1);
+        List<Watcher<Secret>> watchers = new CopyOnWriteArrayList<>();
+        ResourceCache<Secret> cache = cache(1_000, () -> {
+            if (lists.incrementAndGet() == 2) {
+                resyncing.countDown();
+                try {
+                    resynced.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return list(String.valueOf(10 + lists.get()), secret("secret", "Kafka", "5"));
+        }, watchers);
+
+        Checkpoint async = context.checkpoint();
+        cache.start().setHandler(context.succeeding(v -> {
+            context.verify(() -> assertThat(cache.get(NAMESPACE, "secret"), is(notNullValue())));
+            async.flag();
+        }));
+        assertThat(resyncing.await(10, TimeUnit.SECONDS), is(true));
+        // Still served while re-listing, since the watch is kept open
+        assertThat(cache.isSynced(), is(true));
+        assertThat(cache.get(NAMESPACE, "secret"), is(notNullValue()));
+
+        resynced.countDown();
+        while (lists.get() < 3) {
+            Thread.sleep(10);
+        }
+        assertThat(watchers.size(), is(1));
+        cache.stop();
+    }
+
+    @Test
+    public void testClosedWatchIsReopened(VertxTestContext context) throws InterruptedException {
+        List<Watcher<Secret>> watchers = new CopyOnWriteArrayList<>();
+        List<Secret> deleted = new CopyOnWriteArrayList<>();
+        ResourceCache<Secret> cache = cache(0, () -> list("10", secret("secret", "Kafka", "5")), watchers);
+        cache.addDeletionListener(deleted::add);
+
+        Checkpoint async = context.checkpoint();
+        cache.start().setHandler(context.succeeding(v -> context.verify(() -> {
+            watchers.get(0).eventReceived(Watcher.Action.DELETED, secret("other", "Kafka", "11"));
+            assertThat(deleted.size(), is(1));
+            watchers.get(0).onClose(new KubernetesClientException("Gone"));
+            async.flag();
+        })));
+        while (watchers.size() < 2 || !cache.isSynced()) {
+            Thread.sleep(10);
+        }
+        assertThat(cache.get(NAMESPACE, "secret"), is(notNullValue()));
+        cache.stop();
+    }
+}
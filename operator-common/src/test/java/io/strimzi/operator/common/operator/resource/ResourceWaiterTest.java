@@ -0,0 +1,150 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.operator.common.operator.resource;
+
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.PodBuilder;
+import io.fabric8.kubernetes.client.KubernetesClientException;
+import io.fabric8.kubernetes.client.Watch;
+import io.fabric8.kubernetes.client.Watcher;
+import io.vertx.core.Vertx;
+import io.vertx.junit5.Checkpoint;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(VertxExtension.class)
+public class ResourceWaiterTest {
+
+    private static final String NAMESPACE = "test";
+
+    private static Vertx vertx;
+
+    @BeforeAll
+    public static void before() {
+        vertx = Vertx.vertx();
+    }
+
+    @AfterAll
+    public static void after() {
+        vertx.close();
+    }
+
+    private static Pod pod(String name, boolean ready) {
+        return new PodBuilder()
+                .withNewMetadata()
+                    .withName(name)
+                    .withNamespace(NAMESPACE)
+                .endMetadata()
+                .withNewStatus()
+                    .addNewCondition()
+                        .withType("Ready")
+                        .withStatus(ready ? "True" : "False")
+                    .endCondition()
+                .endStatus()
+                .build();
+    }
+
+    private static boolean isReady(Pod pod) {
+        return pod != null && "True".equals(pod.getStatus().getConditions().get(0).getStatus());
+    }
+
+    @Test
+    public void testWaitsCompleteOnWatchEvents(VertxTestContext context) throws InterruptedException {
+        List<Watcher<Pod>> watchers = new CopyOnWriteArrayList<>();
+        ResourceWaiter<Pod> waiter = new ResourceWaiter<>(vertx, "Pod", (namespace, watcher) -> {
+            watchers.add(watcher);
+            return mock(Watch.class);
+        });
+        AtomicInteger polls = new AtomicInteger();
+
+        Checkpoint async = context.checkpoint(2);
+        // With a 1s poll interval and the watch open, the fallback poll would only happen after 10s
+        waiter.waitFor(NAMESPACE, "pod-0", 1_000, 60_000, (namespace, name) -> polls.incrementAndGet() < 0, ResourceWaiterTest::isReady)
+            .setHandler(context.succeeding(v -> async.flag()));
+        waiter.waitFor(NAMESPACE, "pod-1", 1_000, 60_000, (namespace, name) -> polls.incrementAndGet() < 0, ResourceWaiterTest::isReady)
+            .setHandler(context.succeeding(v -> async.flag()));
+
+        while (polls.get() < 2 || watchers.isEmpty()) {
+            Thread.sleep(10);
+        }
+        assertThat(watchers.size(), is(1));
+        Watcher<Pod> watcher = watchers.get(0);
+        watcher.eventReceived(Watcher.Action.MODIFIED, pod("pod-0", false));
+        watcher.eventReceived(Watcher.Action.MODIFIED, pod("other", true));
+        watcher.eventReceived(Watcher.Action.MODIFIED, pod("pod-0", true));
+        watcher.eventReceived(Watcher.Action.ADDED, pod("pod-1", true));
+
+        assertThat(context.awaitCompletion(5, TimeUnit.SECONDS), is(true));
+        // The initial poll of each wait, plus the catch up poll once the watch was open
+        assertThat(polls.get(), lessThanOrEqualTo(4));
+    }
+
+    @Test
+    public void testWaitsFallBackToPollingWhenTheWatchFails(VertxTestContext context) {
+        ResourceWaiter<Pod> waiter = new ResourceWaiter<>(vertx, "Pod", (namespace, watcher) -> {
+            throw new KubernetesClientException("Forbidden");
+        });
+        AtomicInteger polls = new AtomicInteger();
+
+        Checkpoint async = context.checkpoint();
+        waiter.waitFor(NAMESPACE, "pod-0", 20, 5_000, (namespace, name) -> polls.incrementAndGet() > 3, ResourceWaiterTest::isReady)
+            .setHandler(context.succeeding(v -> context.verify(() -> {
+                assertThat(polls.get(), is(4));
+                async.flag();
+            })));
+    }
+
+    @Test
+    public void testWaitTimesOut(VertxTestContext context) {
+        ResourceWaiter<Pod> waiter = new ResourceWaiter<>(vertx, "Pod", (namespace, watcher) -> mock(Watch.class));
+        AtomicInteger polls = new AtomicInteger();
+
+        Checkpoint async = context.checkpoint();
+        waiter.waitFor(NAMESPACE, "pod-0", 20, 200, (namespace, name) -> polls.incrementAndGet() < 0, ResourceWaiterTest::isReady)
+            .setHandler(context.failing(e -> context.verify(() -> {
+                assertThat(e, instanceOf(TimeoutException.class));
+                assertThat(polls.get(), greaterThan(0));
+                async.flag();
+            })));
+    }
+
+    @Test
+    public void testWatchIsClosedWithVertx() throws InterruptedException {
+        Vertx closingVertx = Vertx.vertx();
+        Watch watch = mock(Watch.class);
+        List<Watcher<Pod>> watchers = new CopyOnWriteArrayList<>();
+        ResourceWaiter<Pod> waiter = new ResourceWaiter<>(closingVertx, "Pod", (namespace, watcher) -> {
+            watchers.add(watcher);
+            return watch;
+        });
+
+        waiter.waitFor(NAMESPACE, "pod-0", 1_000, 60_000, (namespace, name) -> true, ResourceWaiterTest::isReady);
+        while (watchers.isEmpty()) {
+            Thread.sleep(10);
+        }
+        CountDownLatch closed = new CountDownLatch(1);
+        closingVertx.close(ar -> closed.countDown());
+        assertThat(closed.await(10, TimeUnit.SECONDS), is(true));
+        verify(watch).close();
+    }
+}
@@ -10,10 +10,28 @@ import io.fabric8.kubernetes.api.model.SecretBuilder;
 import io.fabric8.kubernetes.api.model.SecretList;
 import io.fabric8.kubernetes.client.KubernetesClient;
 import io.fabric8.kubernetes.client.dsl.MixedOperation;
+import io.fabric8.kubernetes.client.dsl.NonNamespaceOperation;
 import io.fabric8.kubernetes.client.dsl.Resource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.strimzi.operator.common.MicrometerMetricsProvider;
 import io.vertx.core.Vertx;
+import io.vertx.junit5.Checkpoint;
+import io.vertx.junit5.VertxTestContext;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicReference;
 
 import static java.util.Collections.singletonMap;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.matches;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 public class SecretOperatorTest extends AbstractResourceOperatorTest<KubernetesClient, Secret, SecretList, DoneableSecret, Resource<Secret, DoneableSecret>> {
@@ -50,4 +68,58 @@ public class SecretOperatorTest extends AbstractResourceOperatorTest<KubernetesC
     protected AbstractResourceOperator<KubernetesClient, Secret, SecretList, DoneableSecret, Resource<Secret, DoneableSecret>> createResourceOperations(Vertx vertx, KubernetesClient mockClient) {
         return new SecretOperator(vertx, mockClient);
     }
+
+    @Test
+    public void testUnchangedDesiredStateSkipsPatch(VertxTestContext context) {
+        AtomicReference<Secret> live = new AtomicReference<>(new SecretBuilder(resource())
+                .editMetadata().withResourceVersion("1").endMetadata()
+                .build());
+
+        Resource mockResource = mock(resourceType());
+        when(mockResource.get()).thenAnswer(invocation -> live.get());
+        when(mockResource.cascading(true)).thenReturn(mockResource);
+        when(mockResource.patch(any())).thenAnswer(invocation -> {
+            Secret patched = new SecretBuilder(invocation.<Secret>getArgument(0))
+                    .editMetadata().withResourceVersion("2").endMetadata()
+                    .build();
+            live.set(patched);
+            return patched;
+        });
+
+        NonNamespaceOperation mockNameable = mock(NonNamespaceOperation.class);
+        when(mockNameable.withName(matches(RESOURCE_NAME))).thenReturn(mockResource);
+        MixedOperation mockCms = mock(MixedOperation.class);
+        when(mockCms.inNamespace(matches(NAMESPACE))).thenReturn(mockNameable);
+        KubernetesClient mockClient = mock(clientType());
+        mocker(mockClient, mockCms);
+
+        MeterRegistry registry = new SimpleMeterRegistry();
+        AbstractResourceOperator<KubernetesClient, Secret, SecretList, DoneableSecret, Resource<Secret, DoneableSecret>> op = createResourceOperations(vertx, mockClient);
+        op.enableSkipUnchangedPatches(new MicrometerMetricsProvider(registry));
+
+        Checkpoint async = context.checkpoint();
+        op.reconcile(NAMESPACE, RESOURCE_NAME, resource())
+            .compose(first -> {
+                context.verify(() -> {
+                    assertThat(live.get().getMetadata().getAnnotations().get(AbstractResourceOperator.ANNO_STRIMZI_IO_DESIRED_HASH), is(notNullValue()));
+                    verify(mockResource, times(1)).patch(any());
+                });
+                return op.reconcile(NAMESPACE, RESOURCE_NAME, resource());
+            })
+            .compose(second -> {
+                context.verify(() -> {
+                    assertThat(second, instanceOf(ReconcileResult.Noop.class));
+                    verify(mockResource, times(1)).patch(any());
+                    assertThat(registry.get("strimzi.resource.patches.skipped").counter().count(), is(1.0));
+                });
+                // Someone else modifies the resource, so it is patched even though the desired state is unchanged
+                live.set(new SecretBuilder(live.get()).editMetadata().withResourceVersion("3").endMetadata().build());
+                return op.reconcile(NAMESPACE, RESOURCE_NAME, resource());
+            })
+            .setHandler(context.succeeding(third -> context.verify(() -> {
+                verify(mockResource, times(2)).patch(any());
+                assertThat(registry.get("strimzi.resource.patches.applied").counter().count(), is(2.0));
+                async.flag();
+            })));
+    }
 }
@@ -67,6 +67,13 @@ public class ServiceAccountOperatorTest extends AbstractResourceOperatorTest<Kub
     public void createWhenExistsIsAPatch(VertxTestContext context) {
         createWhenExistsIsAPatch(context, true);
     }
+    @Override
+    @Test
+    public void patchOfAStaleCachedResourceWhichNoLongerExistsIsACreate(VertxTestContext context) {
+        // This is overridden because SA patch is coded as a no op, which never fails as not found.
+        context.completeNow();
+    }
+
     @Override
     public void createWhenExistsIsAPatch(VertxTestContext context, boolean cascade) {
         // This is overridden because SA patch is coded as a no op to avoid needless token creation.
@@ -0,0 +1,132 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.operator.common.operator.resource;
+
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.PodBuilder;
+import io.fabric8.kubernetes.api.model.Quantity;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static io.fabric8.kubernetes.client.internal.PatchUtils.patchMapper;
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonMap;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class StructuralDiffTest {
+
+    private static final StructuralDiff DIFF = new StructuralDiff(patchMapper());
+
+    private static PodBuilder pod() {
+        return new PodBuilder()
+                .withNewMetadata()
+                    .withName("my-pod")
+                    .withNamespace("my-ns")
+                    .withLabels(singletonMap("app", "foo"))
+                .endMetadata()
+                .withNewSpec()
+                    .addNewContainer()
+                        .withName("c0")
+                        .withImage("image:1")
+                        .withNewResources()
+                            .withRequests(singletonMap("memory", new Quantity("1Gi")))
+                        .endResources()
+                    .endContainer()
+                    .addNewContainer()
+                        .withName("c1")
+                        .withImage("image:1")
+                    .endContainer()
+                .endSpec();
+    }
+
+    private static List<String> differences(Object current, Object desired) {
+        List<String> paths = new ArrayList<>();
+        DIFF.diff(current, desired, (path, c, d) -> paths.add(path.toString()));
+        return paths;
+    }
+
+    @Test
+    public void testEqualObjectsHaveNoDifferences() {
+        assertThat(differences(pod().build(), pod().build()), is(Collections.emptyList()));
+    }
+
+    @Test
+    public void testDifferencesArePaths() {
+        Pod desired = pod().build();
+        desired.getSpec().getContainers().get(1).setImage("image:2");
+        desired.getMetadata().getLabels().put("a/b", "bar");
+        assertThat(differences(pod().build(), desired),
+                is(asList("/metadata/labels/a~1b", "/spec/containers/1/image")));
+    }
+
+    @Test
+    public void testAbsentAndEmptyAreEqual() {
+        Pod current = pod().build();
+        current.getMetadata().setAnnotations(Collections.emptyMap());
+        current.getSpec().setVolumes(Collections.emptyList());
+        assertThat(differences(current, pod().build()), is(Collections.emptyList()));
+    }
+
+    @Test
+    public void testSurplusListElements() {
+        Pod desired = pod().build();
+        desired.getSpec().getContainers().remove(1);
+        assertThat(differences(pod().build(), desired), is(asList("/spec/containers/1")));
+    }
+
+    @Test
+    public void testListenerCanStopTheComparison() {
+        Pod desired = pod().build();
+        desired.getSpec().getContainers().get(0).setImage("image:2");
+        desired.getSpec().getContainers().get(1).setImage("image:2");
+        List<String> paths = new ArrayList<>();
+        boolean completed = DIFF.diff(pod().build(), desired, (path, c, d) -> {
+            paths.add(path.toString());
+            return false;
+        });
+        assertThat(completed, is(false));
+        assertThat(paths, is(asList("/spec/containers/0/image")));
+    }
+
+    @Test
+    public void testLeavesAreReportedWithTheirValues() {
+        Pod desired = pod().build();
+        desired.getSpec().getContainers().get(0).getResources().setRequests(singletonMap("memory", new Quantity("2Gi")));
+        List<Object> values = new ArrayList<>();
+        DIFF.diff(pod().build(), desired, (path, c, d) -> {
+            values.add(((Quantity) c).getAmount());
+            values.add(((Quantity) d).getAmount());
+            return true;
+        });
+        assertThat(values, is(asList("1Gi", "2Gi")));
+    }
+
+    @Test
+    public void testPathPatterns() {
+        Pod desired = pod().build();
+        desired.getSpec().getContainers().get(1).setImage("image:2");
+        StructuralDiff.PathPattern anyImage = StructuralDiff.PathPattern.compile("/spec/containers/*/image");
+        StructuralDiff.PathPattern secondImage = StructuralDiff.PathPattern.compile("/spec/containers/1/image");
+        StructuralDiff.PathPattern firstImage = StructuralDiff.PathPattern.compile("/spec/containers/0/image");
+        StructuralDiff.PathPattern containers = StructuralDiff.PathPattern.compile("/spec/containers");
+        StructuralDiff.PathPattern volumes = StructuralDiff.PathPattern.compile("/spec/volumes");
+        List<String> paths = new ArrayList<>();
+        DIFF.diff(pod().build(), desired, (path, c, d) -> {
+            paths.add(path.toString());
+            assertThat(anyImage.matches(path), is(true));
+            assertThat(secondImage.matches(path), is(true));
+            assertThat(firstImage.matches(path), is(false));
+            assertThat(containers.matches(path), is(false));
+            assertThat(containers.contains(path), is(true));
+            assertThat(volumes.contains(path), is(false));
+            return true;
+        });
+        assertThat(paths, is(asList("/spec/containers/1/image")));
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.operator.common.zk;
+
+import io.strimzi.test.EmbeddedZooKeeper;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.junit5.Checkpoint;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import org.I0Itec.zkclient.exception.ZkBadVersionException;
+import org.I0Itec.zkclient.exception.ZkNoNodeException;
+import org.I0Itec.zkclient.exception.ZkNodeExistsException;
+import org.apache.zookeeper.CreateMode;
+import org.apache.zookeeper.Op;
+import org.apache.zookeeper.ZooDefs;
+import org.apache.zookeeper.data.ACL;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.Arrays.asList;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+@ExtendWith(VertxExtension.class)
+public class AsyncZkClientTest {
+
+    private static final List<ACL> ACLS = ZooDefs.Ids.OPEN_ACL_UNSAFE;
+
+    private EmbeddedZooKeeper zkServer;
+    private Vertx vertx;
+    private AsyncZkClient zk;
+
+    @BeforeEach
+    public void setup() throws IOException, InterruptedException {
+        zkServer = new EmbeddedZooKeeper();
+        vertx = Vertx.vertx();
+        zk = new AsyncZkClient(vertx, zkServer.getZkConnectString(), 60_000, 10_000);
+    }
+
+    @AfterEach
+    public void teardown() {
+        zk.zkClient().close();
+        zkServer.close();
+        vertx.close();
+    }
+
+    @Test
+    public void testCrud(VertxTestContext context) throws InterruptedException {
+        Checkpoint done = context.checkpoint();
+        zk.create("/foo", new byte[]{1}, ACLS, CreateMode.PERSISTENT)
+            .compose(path -> {
+                context.verify(() -> assertThat(path, is("/foo")));
+                return zk.getData("/foo");
+            })
+            .compose(data -> {
+                context.verify(() -> assertThat(data, is(new byte[]{1})));
+                return zk.setData("/foo", new byte[]{2}, -1);
+            })
+            .compose(ignored -> zk.getData("/foo"))
+            .compose(data -> {
+                context.verify(() -> assertThat(data, is(new byte[]{2})));
+                return zk.delete("/foo", -1);
+            })
+            .compose(ignored -> zk.exists("/foo"))
+            .setHandler(context.succeeding(exists -> {
+                context.verify(() -> assertThat(exists, is(false)));
+                done.flag();
+            }));
+        assertThat(context.awaitCompletion(60, TimeUnit.SECONDS), is(true));
+    }
+
+    @Test
+    public void testFailuresAreZkClientExceptions(VertxTestContext context) throws InterruptedException {
+        Checkpoint done = context.checkpoint(3);
+        zk.getData("/missing").setHandler(context.failing(error -> {
+            context.verify(() -> assertThat(error, instanceOf(ZkNoNodeException.class)));
+            done.flag();
+        }));
+        zk.create("/exists", null, ACLS, CreateMode.PERSISTENT)
+            .compose(ignored -> zk.create("/exists", null, ACLS, CreateMode.PERSISTENT))
+            .setHandler(context.failing(error -> {
+                context.verify(() -> assertThat(error, instanceOf(ZkNodeExistsException.class)));
+                zk.setData("/exists", new byte[]{1}, 5).setHandler(context.failing(error2 -> {
+                    context.verify(() -> assertThat(error2, instanceOf(ZkBadVersionException.class)));
+                    done.flag();
+                }));
+            }));
+        zk.delete("/missing", -1).setHandler(context.failing(error -> {
+            context.verify(() -> assertThat(error, instanceOf(ZkNoNodeException.class)));
+            done.flag();
+        }));
+        assertThat(context.awaitCompletion(60, TimeUnit.SECONDS), is(true));
+    }
+
+    @Test
+    public void testGetChildrenData(VertxTestContext context) throws InterruptedException {
+        Checkpoint done = context.checkpoint();
+        zk.getChildrenData("/users")
+            .compose(none -> {
+                context.verify(() -> assertThat(none.isEmpty(), is(true)));
+                return zk.multi(asList(
+                    Op.create("/users", new byte[0], ACLS, CreateMode.PERSISTENT),
+                    Op.create("/users/a", new byte[]{1}, ACLS, CreateMode.PERSISTENT),
+                    Op.create("/users/b", new byte[]{2}, ACLS, CreateMode.PERSISTENT)));
+            })
+            .compose(results -> {
+                context.verify(() -> assertThat(results.size(), is(3)));
+                return zk.getChildrenData("/users");
+            })
+            .setHandler(context.succeeding(children -> {
+                context.verify(() -> {
+                    assertThat(children.keySet(), is(new HashSet<>(asList("a", "b"))));
+                    assertThat(children.get("a"), is(new byte[]{1}));
+                    assertThat(children.get("b"), is(new byte[]{2}));
+                });
+                done.flag();
+            }));
+        assertThat(context.awaitCompletion(60, TimeUnit.SECONDS), is(true));
+    }
+
+    @Test
+    public void testMultiIsAtomic(VertxTestContext context) throws InterruptedException {
+        Checkpoint done = context.checkpoint();
+        zk.multi(asList(
+                Op.create("/atomic", new byte[0], ACLS, CreateMode.PERSISTENT),
+                Op.delete("/missing", -1)))
+            .recover(error -> {
+                context.verify(() -> assertThat(error, instanceOf(ZkNoNodeException.class)));
+                return Future.succeededFuture();
+            })
+            .compose(ignored -> zk.exists("/atomic"))
+            .setHandler(context.succeeding(exists -> {
+                context.verify(() -> assertThat(exists, is(false)));
+                done.flag();
+            }));
+        assertThat(context.awaitCompletion(60, TimeUnit.SECONDS), is(true));
+    }
+}
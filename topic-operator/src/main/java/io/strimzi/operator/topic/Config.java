@@ -46,6 +46,30 @@ public class Config {
         }
     };
 
+    /** A Java Integer which is not negative */
+    private static final Type<? extends Integer> NON_NEGATIVE_INTEGER = new Type<Integer>() {
+        @Override
+        Integer parse(String s) {
+            int value = Integer.parseInt(s);
+            if (value < 0) {
+                throw new IllegalArgumentException("The value must not be negative");
+            }
+            return value;
+        }
+    };
+
+    /** A Java Double which is not negative */
+    private static final Type<? extends Double> NON_NEGATIVE_DOUBLE = new Type<Double>() {
+        @Override
+        Double parse(String s) {
+            double value = Double.parseDouble(s);
+            if (!(value >= 0) || Double.isInfinite(value)) {
+                throw new IllegalArgumentException("The value must be a finite number which is not negative");
+            }
+            return value;
+        }
+    };
+
     /**
      * A time duration.
      */
@@ -99,6 +123,9 @@ public class Config {
     public static final String TC_REASSIGN_THROTTLE = "STRIMZI_REASSIGN_THROTTLE";
     public static final String TC_REASSIGN_VERIFY_INTERVAL_MS = "STRIMZI_REASSIGN_VERIFY_INTERVAL_MS";
     public static final String TC_TOPIC_METADATA_MAX_ATTEMPTS = "STRIMZI_TOPIC_METADATA_MAX_ATTEMPTS";
+    public static final String TC_TOPIC_METADATA_BATCH_SIZE = "STRIMZI_TOPIC_METADATA_BATCH_SIZE";
+    public static final String TC_RECONCILIATION_MAX_CONCURRENCY = "STRIMZI_RECONCILIATION_MAX_CONCURRENCY";
+    public static final String TC_RECONCILIATION_RATE_LIMIT = "STRIMZI_RECONCILIATION_RATE_LIMIT";
 
     public static final String TC_TLS_ENABLED = "STRIMZI_TLS_ENABLED";
     public static final String TC_TLS_TRUSTSTORE_LOCATION = "STRIMZI_TRUSTSTORE_LOCATION";
@@ -141,6 +168,15 @@ public class Config {
     /** The maximum number of retries for getting topic metadata from the Kafka cluster */
     public static final Value<Integer> TOPIC_METADATA_MAX_ATTEMPTS = new Value<>(TC_TOPIC_METADATA_MAX_ATTEMPTS, POSITIVE_INTEGER, "6");
 
+    /** The maximum number of topics whose metadata is requested from the Kafka cluster at once during a full reconciliation */
+    public static final Value<Integer> TOPIC_METADATA_BATCH_SIZE = new Value<>(TC_TOPIC_METADATA_BATCH_SIZE, POSITIVE_INTEGER, "500");
+
+    /** The maximum number of topics reconciled at the same time during a full reconciliation, or 0 for no limit */
+    public static final Value<Integer> RECONCILIATION_MAX_CONCURRENCY = new Value<>(TC_RECONCILIATION_MAX_CONCURRENCY, NON_NEGATIVE_INTEGER, "0");
+
+    /** The maximum number of topic reconciliations started per second during a full reconciliation, or 0 for no limit */
+    public static final Value<Double> RECONCILIATION_RATE_LIMIT = new Value<>(TC_RECONCILIATION_RATE_LIMIT, NON_NEGATIVE_DOUBLE, "0");
+
     /** If the connection with Kafka has to be encrypted by TLS protocol */
     public static final Value<String> TLS_ENABLED = new Value<>(TC_TLS_ENABLED, STRING, "false");
     /** The truststore with CA certificate for Kafka broker/server authentication */
@@ -164,6 +200,9 @@ public class Config {
         addConfigValue(configValues, REASSIGN_THROTTLE);
         addConfigValue(configValues, REASSIGN_VERIFY_INTERVAL_MS);
         addConfigValue(configValues, TOPIC_METADATA_MAX_ATTEMPTS);
+        addConfigValue(configValues, TOPIC_METADATA_BATCH_SIZE);
+        addConfigValue(configValues, RECONCILIATION_MAX_CONCURRENCY);
+        addConfigValue(configValues, RECONCILIATION_RATE_LIMIT);
         addConfigValue(configValues, TLS_ENABLED);
         addConfigValue(configValues, TLS_TRUSTSTORE_LOCATION);
         addConfigValue(configValues, TLS_TRUSTSTORE_PASSWORD);
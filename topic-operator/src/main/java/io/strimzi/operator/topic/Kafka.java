@@ -6,6 +6,8 @@ package io.strimzi.operator.topic;
 
 import io.vertx.core.Future;
 
+import java.util.Collection;
+import java.util.Map;
 import java.util.Set;
 
 /**
@@ -65,6 +67,17 @@ public interface Kafka {
      */
     Future<TopicMetadata> topicMetadata(TopicName topicName);
 
+    /**
+     * Asynchronously fetch the metadata of many topics in Kafka, in batches,
+     * completing the returned Future with the metadata of each topic.
+     * The returned map has an entry for each of the given topics whose metadata could be fetched,
+     * with a null value if the topic does not exist. Topics whose metadata could not be fetched
+     * are omitted from the map, so callers can fall back to {@link #topicMetadata(TopicName)} for them.
+     * @param topicNames The names of the topics to get the metadata of.
+     * @return A future which is completed with the requested metadata.
+     */
+    Future<Map<TopicName, TopicMetadata>> bulkTopicMetadata(Collection<TopicName> topicNames);
+
     /**
      * Asynchronously list the names of the topics available in Kafka,
      * completing the returned Future with the topic names.
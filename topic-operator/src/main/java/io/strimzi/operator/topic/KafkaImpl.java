@@ -6,6 +6,8 @@ package io.strimzi.operator.topic;
 
 import io.strimzi.operator.common.Util;
 import io.vertx.core.AsyncResult;
+import io.vertx.core.CompositeFuture;
+import io.vertx.core.Context;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
 import io.vertx.core.Promise;
@@ -23,10 +25,15 @@ import org.apache.kafka.common.errors.UnknownTopicOrPartitionException;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Partial implementation of {@link Kafka} omitting those methods which imply a partition assignment.
@@ -42,31 +49,46 @@ public class KafkaImpl implements Kafka {
 
     protected final Vertx vertx;
 
+    private final int metadataBatchSize;
+
     private volatile boolean stopped = false;
 
     public KafkaImpl(AdminClient adminClient, Vertx vertx) {
+        this(adminClient, vertx, Integer.parseInt(io.strimzi.operator.topic.Config.TOPIC_METADATA_BATCH_SIZE.defaultValue));
+    }
+
+    public KafkaImpl(AdminClient adminClient, Vertx vertx, int metadataBatchSize) {
         this.adminClient = adminClient;
         this.vertx = vertx;
+        this.metadataBatchSize = metadataBatchSize;
     }
 
     public void stop() {
         this.stopped = true;
     }
 
-    abstract class Work implements Runnable, Handler<Void> {
-        @Override
-        public void run() {
-            if (!stopped && !complete()) {
-                vertx.runOnContext(this);
-            }
-        }
-
-        @Override
-        public void handle(Void v) {
-            run();
+    /**
+     * Some work that depends on one or more {@code KafkaFuture}s.
+     * The work registers callbacks on its futures, and its handler is invoked on the Vert.x context
+     * it was queued from once the futures are done, so no thread polls the futures in the meantime.
+     */
+    abstract class Work {
+        /**
+         * Registers the callbacks which will complete this work on the given context.
+         * @param context The context on which the handler will be invoked.
+         */
+        protected abstract void start(Context context);
+
+        /**
+         * Runs the given action on the given context, unless this KafkaImpl has been stopped.
+         */
+        protected void onContext(Context context, Runnable action) {
+            context.runOnContext(ignored -> {
+                if (!stopped) {
+                    action.run();
+                }
+            });
         }
-
-        protected abstract boolean complete();
     }
 
     /** Some work that depends on a single future */
@@ -88,33 +110,27 @@ public class KafkaImpl implements Kafka {
         }
 
         @Override
-        protected boolean complete() {
-            if (this.future.isDone()) {
+        protected void start(Context context) {
+            this.future.whenComplete((result, error) -> {
                 LOGGER.trace("Future {} of work {} is done", future, this);
-                try {
-                    try {
-                        T result = this.future.get();
-                        LOGGER.debug("Future {} has result {}", future, result);
-                        this.handler.handle(Future.succeededFuture(result));
-                        LOGGER.debug("Handler for work {} executed ok", this);
-                    } catch (ExecutionException e) {
-                        LOGGER.debug("Future {} threw {}", future, e.toString());
-                        this.handler.handle(Future.failedFuture(e.getCause()));
-                    } catch (InterruptedException e) {
-                        LOGGER.debug("Future {} threw {}", future, e.toString());
-                        this.handler.handle(Future.failedFuture(e));
-                    }
-                } catch (OperatorException e) {
-                    // TODO handler threw, but I have no context for creating a k8s error event
-                    LOGGER.trace("Handler for work {} threw {}", this, e.toString());
-                    e.printStackTrace();
-                }
-                return true;
-            } else {
-                if (LOGGER.isTraceEnabled()) {
-                    LOGGER.trace("Future {} is not done", future);
+                onContext(context, () -> complete(result, error));
+            });
+        }
+
+        private void complete(T result, Throwable error) {
+            try {
+                if (error == null) {
+                    LOGGER.debug("Future {} has result {}", future, result);
+                    this.handler.handle(Future.succeededFuture(result));
+                    LOGGER.debug("Handler for work {} executed ok", this);
+                } else {
+                    LOGGER.debug("Future {} threw {}", future, error.toString());
+                    this.handler.handle(Future.failedFuture(error));
                 }
-                return false;
+            } catch (OperatorException e) {
+                // TODO handler threw, but I have no context for creating a k8s error event
+                LOGGER.trace("Handler for work {} threw {}", this, e.toString());
+                e.printStackTrace();
             }
         }
 
@@ -129,6 +145,7 @@ public class KafkaImpl implements Kafka {
         private final KafkaFuture<TopicDescription> descFuture;
         private final KafkaFuture<Config> configFuture;
         private final Handler<AsyncResult<TopicMetadata>> handler;
+        private final AtomicInteger remaining = new AtomicInteger(2);
         private boolean handled = false;
 
         public MetadataWork(KafkaFuture<TopicDescription> descFuture,
@@ -147,7 +164,19 @@ public class KafkaImpl implements Kafka {
             this.handler = handler;
         }
 
+        @Override
+        protected void start(Context context) {
+            this.descFuture.whenComplete((result, error) -> done(context));
+            this.configFuture.whenComplete((result, error) -> done(context));
+        }
+
+        private void done(Context context) {
+            if (remaining.decrementAndGet() == 0) {
+                onContext(context, this::complete);
+            }
+        }
 
+        /** Gets the result of the given future, which must be done. */
         private <T> T result(KafkaFuture<T> future) {
             T result;
             try {
@@ -175,42 +204,30 @@ public class KafkaImpl implements Kafka {
             return result;
         }
 
-        @Override
-        protected boolean complete() {
-            if (this.descFuture.isDone()
-                    && this.configFuture.isDone()) {
-                final TopicDescription desc = result(this.descFuture);
-                final Config config = result(this.configFuture);
-                if (!handled) {
-                    TopicMetadata metadata;
-                    if (desc != null && config != null) {
-                        metadata = new TopicMetadata(desc, config);
-                    } else {
-                        metadata = null;
-                    }
-                    this.handler.handle(Future.succeededFuture(metadata));
-                    this.handled = true;
-                    LOGGER.trace("Handler for work {} executed ok", this);
+        private void complete() {
+            final TopicDescription desc = result(this.descFuture);
+            final Config config = result(this.configFuture);
+            if (!handled) {
+                TopicMetadata metadata;
+                if (desc != null && config != null) {
+                    metadata = new TopicMetadata(desc, config);
                 } else {
+                    metadata = null;
                 }
-                return handled;
-            } else {
-                if (!this.descFuture.isDone())
-                    LOGGER.trace("Description future {} is not done", descFuture);
-                if (!this.configFuture.isDone())
-                    LOGGER.trace("Config future {} is not done", configFuture);
-                return false;
+                this.handler.handle(Future.succeededFuture(metadata));
+                this.handled = true;
+                LOGGER.trace("Handler for work {} executed ok", this);
             }
         }
     }
 
     /**
-     * Queue a future and callback. The callback will be invoked (on a separate thread)
+     * Queue a future and callback. The callback will be invoked on the current Vert.x context
      * when the future is ready.
      */
     protected void queueWork(Work work) {
-        LOGGER.trace("Queuing work {} for immediate execution", work);
-        vertx.runOnContext(work);
+        LOGGER.trace("Queuing work {}", work);
+        work.start(vertx.getOrCreateContext());
     }
 
     /**
@@ -269,6 +286,52 @@ public class KafkaImpl implements Kafka {
         return handler.future();
     }
 
+    /**
+     * Get the metadata of the given topics via the Kafka AdminClient API, describing the topics and their configs
+     * in batches of {@code metadataBatchSize} topics. Each batch is only requested once the previous one
+     * has completed, to limit the load on the brokers.
+     */
+    @Override
+    public Future<Map<TopicName, TopicMetadata>> bulkTopicMetadata(Collection<TopicName> topicNames) {
+        LOGGER.debug("Getting metadata for {} topics in batches of {}", topicNames.size(), metadataBatchSize);
+        // Only accessed from the context the work was queued on
+        Map<TopicName, TopicMetadata> result = new HashMap<>(topicNames.size());
+        List<TopicName> names = new ArrayList<>(topicNames);
+        Future<Void> chain = Future.succeededFuture();
+        for (int start = 0; start < names.size(); start += metadataBatchSize) {
+            List<TopicName> batch = names.subList(start, Math.min(start + metadataBatchSize, names.size()));
+            chain = chain.compose(ignored -> topicMetadataBatch(batch, result));
+        }
+        return chain.map(result);
+    }
+
+    private Future<Void> topicMetadataBatch(List<TopicName> batch, Map<TopicName, TopicMetadata> result) {
+        List<String> topics = new ArrayList<>(batch.size());
+        List<ConfigResource> resources = new ArrayList<>(batch.size());
+        for (TopicName topicName : batch) {
+            topics.add(topicName.toString());
+            resources.add(new ConfigResource(ConfigResource.Type.TOPIC, topicName.toString()));
+        }
+        Map<String, KafkaFuture<TopicDescription>> descriptionFutures = adminClient.describeTopics(topics).values();
+        Map<ConfigResource, KafkaFuture<Config>> configFutures = adminClient.describeConfigs(resources).values();
+
+        List<Future> futures = new ArrayList<>(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            TopicName topicName = batch.get(i);
+            Promise<Void> promise = Promise.promise();
+            queueWork(new MetadataWork(descriptionFutures.get(topics.get(i)), configFutures.get(resources.get(i)), ar -> {
+                if (ar.succeeded()) {
+                    result.put(topicName, ar.result());
+                } else {
+                    LOGGER.debug("Error getting metadata for topic {}", topicName, ar.cause());
+                }
+                promise.complete();
+            }));
+            futures.add(promise.future());
+        }
+        return CompositeFuture.join(futures).map((Void) null);
+    }
+
     @Override
     public Future<Set<String>> listTopics() {
         Promise<Set<String>> handler = Promise.promise();
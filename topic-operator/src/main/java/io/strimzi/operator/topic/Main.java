@@ -6,7 +6,13 @@ package io.strimzi.operator.topic;
 
 import io.fabric8.kubernetes.client.DefaultKubernetesClient;
 import io.strimzi.api.kafka.Crds;
+import io.strimzi.operator.common.MicrometerMetricsProvider;
+import io.strimzi.operator.common.WorkerPools;
+import io.strimzi.operator.common.WorkerPoolsConfig;
 import io.vertx.core.Vertx;
+import io.vertx.core.VertxOptions;
+import io.vertx.micrometer.MicrometerMetricsOptions;
+import io.vertx.micrometer.VertxPrometheusOptions;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -39,7 +45,13 @@ public class Main {
     private void deploy(Config config) {
         DefaultKubernetesClient kubeClient = new DefaultKubernetesClient();
         Crds.registerCustomKinds();
-        Vertx vertx = Vertx.vertx();
+        //Setup Micrometer metrics options
+        VertxOptions options = new VertxOptions().setMetricsOptions(
+                new MicrometerMetricsOptions()
+                        .setPrometheusOptions(new VertxPrometheusOptions().setEnabled(true))
+                        .setEnabled(true));
+        Vertx vertx = Vertx.vertx(options);
+        WorkerPools.configure(vertx, WorkerPoolsConfig.fromMap(System.getenv()), new MicrometerMetricsProvider());
         Session session = new Session(kubeClient, config);
         vertx.deployVerticle(session, ar -> {
             if (ar.succeeded()) {
@@ -6,6 +6,13 @@ package io.strimzi.operator.topic;
 
 import io.fabric8.kubernetes.client.KubernetesClient;
 import io.fabric8.kubernetes.client.Watch;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ClassLoaderMetrics;
+import io.micrometer.core.instrument.binder.jvm.JvmGcMetrics;
+import io.micrometer.core.instrument.binder.jvm.JvmMemoryMetrics;
+import io.micrometer.core.instrument.binder.jvm.JvmThreadMetrics;
+import io.micrometer.core.instrument.binder.system.ProcessorMetrics;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
 import io.strimzi.api.kafka.Crds;
 import io.strimzi.api.kafka.KafkaTopicList;
 import io.strimzi.api.kafka.model.DoneableKafkaTopic;
@@ -16,6 +23,7 @@ import io.vertx.core.Future;
 import io.vertx.core.Handler;
 import io.vertx.core.Promise;
 import io.vertx.core.http.HttpServer;
+import io.vertx.micrometer.backends.BackendRegistries;
 import org.apache.kafka.clients.admin.AdminClient;
 import org.apache.kafka.clients.admin.AdminClientConfig;
 import org.apache.kafka.common.config.SslConfigs;
@@ -48,10 +56,13 @@ public class Session extends AbstractVerticle {
     private volatile boolean stopped = false;
     private Zk zk;
     private volatile HttpServer healthServer;
+    private final MeterRegistry metrics;
 
     public Session(KubernetesClient kubeClient, Config config) {
         this.kubeClient = kubeClient;
         this.config = config;
+        this.metrics = BackendRegistries.getDefaultNow();
+        setupMetrics();
         StringBuilder sb = new StringBuilder(System.lineSeparator());
         for (Config.Value<?> v: Config.keys()) {
             sb.append("\t").append(v.key).append(": ").append(config.get(v)).append(System.lineSeparator());
@@ -141,7 +152,7 @@ public class Session extends AbstractVerticle {
 
         this.adminClient = AdminClient.create(adminClientProps);
         LOGGER.debug("Using AdminClient {}", adminClient);
-        this.kafka = new KafkaImpl(adminClient, vertx);
+        this.kafka = new KafkaImpl(adminClient, vertx, config.get(Config.TOPIC_METADATA_BATCH_SIZE));
         LOGGER.debug("Using Kafka {}", kafka);
         Labels labels = config.get(Config.LABELS);
 
@@ -233,8 +244,21 @@ public class Session extends AbstractVerticle {
                         request.response().setStatusCode(200).end();
                     } else if (request.path().equals("/ready")) {
                         request.response().setStatusCode(200).end();
+                    } else if (request.path().equals("/metrics") && metrics instanceof PrometheusMeterRegistry) {
+                        request.response().setStatusCode(200)
+                                .end(((PrometheusMeterRegistry) metrics).scrape());
                     }
                 })
                 .listen(HEALTH_SERVER_PORT);
     }
+
+    private void setupMetrics() {
+        if (metrics != null) {
+            new ClassLoaderMetrics().bindTo(metrics);
+            new JvmMemoryMetrics().bindTo(metrics);
+            new ProcessorMetrics().bindTo(metrics);
+            new JvmThreadMetrics().bindTo(metrics);
+            new JvmGcMetrics().bindTo(metrics);
+        }
+    }
 }
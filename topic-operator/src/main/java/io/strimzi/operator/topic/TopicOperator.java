@@ -14,6 +14,11 @@ import io.strimzi.api.kafka.model.status.KafkaTopicStatus;
 import io.strimzi.operator.cluster.model.StatusDiff;
 import io.strimzi.operator.common.BackOff;
 import io.strimzi.operator.common.MaxAttemptsExceededException;
+import io.strimzi.operator.common.MetricsProvider;
+import io.strimzi.operator.common.MicrometerMetricsProvider;
+import io.strimzi.operator.common.ReconciliationMetrics;
+import io.strimzi.operator.common.ReconciliationQueue;
+import io.strimzi.operator.common.ReconciliationQueueConfig;
 import io.strimzi.operator.common.operator.resource.StatusUtils;
 import io.vertx.core.AsyncResult;
 import io.vertx.core.CompositeFuture;
@@ -36,6 +41,7 @@ import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BiFunction;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import static java.util.Collections.disjoint;
@@ -52,7 +58,10 @@ class TopicOperator {
     private final String namespace;
     private TopicStore topicStore;
     private final Config config;
+    private final ReconciliationQueue reconciliationQueue;
+    private final ReconciliationMetrics metrics;
     private final ConcurrentHashMap<TopicName, Integer> inflight = new ConcurrentHashMap<>();
+    private final Set<TopicSnapshot> snapshots = ConcurrentHashMap.newKeySet();
 
     enum EventType {
         INFO("Info"),
@@ -365,9 +374,22 @@ class TopicOperator {
         this.topicStore = topicStore;
         this.namespace = namespace;
         this.config = config;
+        MetricsProvider metricsProvider = new MicrometerMetricsProvider();
+        this.reconciliationQueue = new ReconciliationQueue(vertx, "KafkaTopic",
+                new ReconciliationQueueConfig(config.get(Config.RECONCILIATION_MAX_CONCURRENCY), config.get(Config.RECONCILIATION_RATE_LIMIT), 0),
+                config.get(Config.FULL_RECONCILIATION_INTERVAL_MS), metricsProvider);
+        this.metrics = new ReconciliationMetrics(metricsProvider, "KafkaTopic");
     }
 
 
+    /**
+     * Like {@link #executeWithTopicLockHeld(LogContext, TopicName, Reconciliation)}, for the reconciliations of
+     * a full reconciliation, which first wait for the {@linkplain ReconciliationQueue reconciliation queue} to allow them.
+     */
+    private Future<Void> enqueueWithTopicLockHeld(LogContext logContext, TopicName key, Reconciliation action) {
+        return reconciliationQueue.submit(key.toString(), 0, () -> executeWithTopicLockHeld(logContext, key, action));
+    }
+
     /**
      * Run the given {@code action} on the context thread,
      * immediately if there are currently no other actions with the given {@code key},
@@ -394,6 +416,7 @@ class TopicOperator {
             }
         };
         LOGGER.debug("{}: Queuing action {} on topic {}", logContext, action, lockName);
+        long startNanos = metrics.started(namespace);
         inflight.compute(key, (topicName, waiters) -> {
             if (waiters == null) {
                 LOGGER.debug("{}: Adding first waiter {}", logContext, action);
@@ -406,9 +429,13 @@ class TopicOperator {
         vertx.sharedData().getLockWithTimeout(lockName, timeoutMs, lockResult -> {
             if (lockResult.succeeded()) {
                 LOGGER.debug("{}: Lock acquired", logContext);
+                metrics.lockAcquired(namespace, startNanos);
                 LOGGER.debug("{}: Executing action {} on topic {}", logContext, action, lockName);
                 action.execute().setHandler(actionResult -> {
                     LOGGER.debug("{}: Executing handler for action {} on topic {}", logContext, action, lockName);
+                    for (TopicSnapshot snapshot : snapshots) {
+                        snapshot.invalidate(key);
+                    }
                     action.result = actionResult;
                     // Update status with lock held so that event is ignored via statusUpdateGeneration
                     action.updateStatus(logContext).setHandler(statusResult -> {
@@ -420,7 +447,9 @@ class TopicOperator {
                             if (actionResult.failed() && statusResult.failed()) {
                                 actionResult.cause().addSuppressed(statusResult.cause());
                             }
-                            result.handle(actionResult.failed() ? actionResult : statusResult);
+                            AsyncResult<Void> reconcileResult = actionResult.failed() ? actionResult : statusResult;
+                            metrics.completed(namespace, startNanos, reconcileResult);
+                            result.handle(reconcileResult);
                         } catch (Throwable t) {
                             result.fail(t);
                         } finally {
@@ -432,6 +461,7 @@ class TopicOperator {
                 });
             } else {
                 LOGGER.warn("{}: Lock not acquired within {}ms: action {} will not be run", logContext, timeoutMs, action);
+                metrics.locked(namespace, startNanos);
                 try {
                     result.handle(Future.failedFuture("Failed to acquire lock for topic " + lockName + " after " + timeoutMs + "ms. Not executing action " + action));
                 } finally {
@@ -1132,25 +1162,92 @@ class TopicOperator {
         }
     }
 
+    /**
+     * The state of all the topics, fetched in bulk at the start of a full reconciliation,
+     * so that the topics found in Kafka don't each need their own round trips to Kafka, the topic store and Kubernetes.
+     * The state of a topic is only used while no other action has completed on that topic since the snapshot was
+     * taken. Otherwise, and for topics which are missing from the snapshot, the state is fetched again.
+     */
+    static class TopicSnapshot {
+        private final Set<TopicName> invalidated = ConcurrentHashMap.newKeySet();
+        /** The topics in the topic store, or null if they could not be read in bulk. */
+        private Map<TopicName, Topic> privateTopics;
+        private List<KafkaTopic> ktList;
+        private final Map<ResourceName, KafkaTopic> kafkaTopics = new HashMap<>();
+        private Map<TopicName, TopicMetadata> kafkaMetadata;
+
+        void invalidate(TopicName topicName) {
+            invalidated.add(topicName);
+        }
+
+        void setKafkaTopics(List<KafkaTopic> ktList) {
+            this.ktList = ktList;
+            for (KafkaTopic kt : ktList) {
+                kafkaTopics.put(new ResourceName(kt), kt);
+            }
+        }
+
+        Future<Topic> privateTopic(TopicName topicName, Supplier<Future<Topic>> fetch) {
+            if (privateTopics != null && !invalidated.contains(topicName)) {
+                return Future.succeededFuture(privateTopics.get(topicName));
+            }
+            return fetch.get();
+        }
+
+        Future<KafkaTopic> kafkaTopic(TopicName topicName, ResourceName resourceName, Supplier<Future<KafkaTopic>> fetch) {
+            KafkaTopic kt = invalidated.contains(topicName) ? null : kafkaTopics.get(resourceName);
+            return kt != null ? Future.succeededFuture(kt) : fetch.get();
+        }
+
+        Future<TopicMetadata> topicMetadata(TopicName topicName, Supplier<Future<TopicMetadata>> fetch) {
+            TopicMetadata metadata = invalidated.contains(topicName) || kafkaMetadata == null ? null : kafkaMetadata.get(topicName);
+            return metadata != null ? Future.succeededFuture(metadata) : fetch.get();
+        }
+    }
+
+    /**
+     * Fetch the topic store, the KafkaTopics and the metadata of the given Kafka topics in bulk into the given snapshot.
+     */
+    private Future<Void> fetchSnapshot(String reconciliationType, TopicSnapshot snapshot, List<TopicName> topicNames) {
+        Future<Map<TopicName, Topic>> storeFut = topicStore.readAll().recover(error -> {
+            LOGGER.warn("Error reading the topic store during {} reconciliation, topics will be read one at a time", reconciliationType, error);
+            return Future.succeededFuture(null);
+        });
+        Future<List<KafkaTopic>> ktFut = k8s.listResources().recover(ex -> Future.failedFuture(
+                new OperatorException("Error listing existing KafkaTopics during " + reconciliationType + " reconciliation", ex)
+        ));
+        Future<Map<TopicName, TopicMetadata>> metadataFut = kafka.bulkTopicMetadata(topicNames).recover(error -> {
+            LOGGER.warn("Error getting topic metadata during {} reconciliation, topics will be described one at a time", reconciliationType, error);
+            return Future.succeededFuture(null);
+        });
+        return CompositeFuture.all(storeFut, ktFut, metadataFut).map(ignored -> {
+            metrics.resources(namespace, ktFut.result().size());
+            snapshot.privateTopics = storeFut.result();
+            snapshot.setKafkaTopics(ktFut.result());
+            snapshot.kafkaMetadata = metadataFut.result();
+            return null;
+        });
+    }
+
     Future<?> reconcileAllTopics(String reconciliationType) {
         LOGGER.info("Starting {} reconciliation", reconciliationType);
         Promise<Set<String>> promise = Promise.promise();
         Future<Set<String>> listFut = promise.future();
         kafka.listTopics().setHandler(listFut);
-        return listFut.recover(ex -> Future.failedFuture(
+        TopicSnapshot snapshot = new TopicSnapshot();
+        snapshots.add(snapshot);
+        Promise<Void> result = Promise.promise();
+        listFut.recover(ex -> Future.failedFuture(
                 new OperatorException("Error listing existing topics during " + reconciliationType + " reconciliation", ex)
-        )).compose(topicNamesFromKafka ->
-                // Reconcile the topic found in Kafka
-                reconcileFromKafka(reconciliationType, topicNamesFromKafka.stream().map(TopicName::new).collect(Collectors.toList()))
-
-        ).compose(reconcileState -> {
-            Future<List<KafkaTopic>> ktFut = k8s.listResources();
-            return ktFut.recover(ex -> Future.failedFuture(
-                    new OperatorException("Error listing existing KafkaTopics during " + reconciliationType + " reconciliation", ex)
-            )).map(ktList -> {
-                reconcileState.addKafkaTopics(ktList);
-                return reconcileState;
-            });
+        )).compose(topicNamesFromKafka -> {
+            List<TopicName> topicNames = topicNamesFromKafka.stream().map(TopicName::new).collect(Collectors.toList());
+            // Reconcile the topic found in Kafka
+            return fetchSnapshot(reconciliationType, snapshot, topicNames)
+                    .compose(ignored -> reconcileFromKafka(reconciliationType, topicNames, snapshot));
+        }).map(reconcileState -> {
+            snapshots.remove(snapshot);
+            reconcileState.addKafkaTopics(snapshot.ktList);
+            return reconcileState;
         }).compose(reconcileState -> {
             List<Future> futs = new ArrayList<>();
             for (KafkaTopic kt : reconcileState.ktList) {
@@ -1190,7 +1287,7 @@ class TopicOperator {
                 // anything left in undetermined doesn't exist in topic store nor kube
                 for (TopicName tn : reconcileState.undetermined) {
                     LogContext logContext = LogContext.periodic(reconciliationType + "-" + tn);
-                    futs2.add(executeWithTopicLockHeld(logContext, tn, new Reconciliation("delete-remaining") {
+                    futs2.add(enqueueWithTopicLockHeld(logContext, tn, new Reconciliation("delete-remaining") {
                         @Override
                         public Future<Void> execute() {
                             observedTopicFuture(null);
@@ -1200,14 +1297,18 @@ class TopicOperator {
                 }
                 return CompositeFuture.join(futs2);
             });
+        }).setHandler(ar -> {
+            snapshots.remove(snapshot);
+            result.handle(ar.mapEmpty());
         });
+        return result.future();
     }
 
 
     /**
      * Reconcile all the topics in {@code foundFromKafka}, returning a ReconciliationState.
      */
-    private Future<ReconcileState> reconcileFromKafka(String reconciliationType, List<TopicName> topicsFromKafka) {
+    private Future<ReconcileState> reconcileFromKafka(String reconciliationType, List<TopicName> topicsFromKafka, TopicSnapshot snapshot) {
         Set<TopicName> succeeded = new HashSet<>();
         Set<TopicName> undetermined = new HashSet<>();
         Map<TopicName, Throwable> failed = new HashMap<>();
@@ -1219,10 +1320,10 @@ class TopicOperator {
             List<Future<Void>> futures = new ArrayList<>();
             for (TopicName topicName : topicsFromKafka) {
                 LogContext logContext = LogContext.periodic(reconciliationType + "kafka " + topicName);
-                futures.add(executeWithTopicLockHeld(logContext, topicName, new Reconciliation("reconcile-from-kafka") {
+                futures.add(enqueueWithTopicLockHeld(logContext, topicName, new Reconciliation("reconcile-from-kafka") {
                     @Override
                     public Future<Void> execute() {
-                        return getFromTopicStore(topicName).recover(error -> {
+                        return snapshot.privateTopic(topicName, () -> getFromTopicStore(topicName)).recover(error -> {
                             failed.put(topicName,
                                     new OperatorException("Error getting KafkaTopic " + topicName + " during "
                                             + reconciliationType + " reconciliation", error));
@@ -1234,7 +1335,7 @@ class TopicOperator {
                                 return Future.succeededFuture();
                             } else {
                                 LOGGER.debug("{}: Have private topic for topic {} in Kafka", logContext, topicName);
-                                Future<Void> map = reconcileWithPrivateTopic(logContext, topicName, topic, this)
+                                Future<Void> map = reconcileWithPrivateTopic(logContext, topicName, topic, this, snapshot)
                                         .<Void>map(ignored -> {
                                             LOGGER.debug("{} reconcile success -> succeeded", topicName);
                                             succeeded.add(topicName);
@@ -1270,11 +1371,13 @@ class TopicOperator {
      */
     private Future<Void> reconcileWithPrivateTopic(LogContext logContext, TopicName topicName,
                                                    Topic privateTopic,
-                                                   Reconciliation reconciliation) {
-        return k8s.getFromName(privateTopic.getResourceName())
+                                                   Reconciliation reconciliation,
+                                                   TopicSnapshot snapshot) {
+        return snapshot.kafkaTopic(topicName, privateTopic.getResourceName(), () -> k8s.getFromName(privateTopic.getResourceName()))
             .compose(kafkaTopicResource -> {
                 reconciliation.observedTopicFuture(kafkaTopicResource);
-                return getKafkaAndReconcile(reconciliation, logContext, topicName, privateTopic, kafkaTopicResource);
+                return getKafkaAndReconcile(reconciliation, logContext, topicName, privateTopic, kafkaTopicResource,
+                    snapshot.topicMetadata(topicName, () -> kafka.topicMetadata(topicName)));
             })
             .recover(error -> {
                 LOGGER.error("{}: Error getting KafkaTopic {} for topic {}",
@@ -1286,11 +1389,17 @@ class TopicOperator {
 
     private Future<Void> getKafkaAndReconcile(Reconciliation reconciliation, LogContext logContext, TopicName topicName,
                                               Topic privateTopic, KafkaTopic kafkaTopicResource) {
+        return getKafkaAndReconcile(reconciliation, logContext, topicName, privateTopic, kafkaTopicResource, kafka.topicMetadata(topicName));
+    }
+
+    private Future<Void> getKafkaAndReconcile(Reconciliation reconciliation, LogContext logContext, TopicName topicName,
+                                              Topic privateTopic, KafkaTopic kafkaTopicResource,
+                                              Future<TopicMetadata> topicMetadata) {
         logContext.withKubeTopic(kafkaTopicResource);
         Promise<Void> topicPromise = Promise.promise();
         try {
             Topic k8sTopic = kafkaTopicResource != null ? TopicSerialization.fromTopicResource(kafkaTopicResource) : null;
-            kafka.topicMetadata(topicName)
+            topicMetadata
                 .compose(kafkaTopicMeta -> {
                     Topic topicFromKafka = TopicSerialization.fromTopicMetadata(kafkaTopicMeta);
                     return reconcile(reconciliation, logContext, kafkaTopicResource, k8sTopic, topicFromKafka, privateTopic);
@@ -1323,7 +1432,7 @@ class TopicOperator {
 
     private Future<Void> reconcileWithKubeTopic(LogContext logContext, HasMetadata involvedObject,
                                                 String reconciliationType, ResourceName kubeName, TopicName topicName) {
-        return executeWithTopicLockHeld(logContext, topicName, new Reconciliation("reconcile-with-kube") {
+        return enqueueWithTopicLockHeld(logContext, topicName, new Reconciliation("reconcile-with-kube") {
             @Override
             public Future<Void> execute() {
                 Reconciliation self = this;
@@ -7,6 +7,7 @@ package io.strimzi.operator.topic;
 import io.strimzi.operator.topic.zk.AclBuilder;
 import io.strimzi.operator.topic.zk.Zk;
 import io.vertx.core.AsyncResult;
+import io.vertx.core.CompositeFuture;
 import io.vertx.core.Future;
 import io.vertx.core.Promise;
 import org.I0Itec.zkclient.exception.ZkNoNodeException;
@@ -16,7 +17,10 @@ import org.apache.logging.log4j.Logger;
 import org.apache.zookeeper.CreateMode;
 import org.apache.zookeeper.data.ACL;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Implementation of {@link TopicStore} that stores the topic state in ZooKeeper.
@@ -80,6 +84,27 @@ public class ZkTopicStore implements TopicStore {
         return handler.future();
     }
 
+    @Override
+    public Future<Map<TopicName, Topic>> readAll() {
+        Promise<List<String>> children = Promise.promise();
+        zk.children(TOPICS_PATH, children);
+        return children.future().compose(names -> {
+            Map<TopicName, Topic> topics = new ConcurrentHashMap<>(names.size());
+            List<Future> reads = new ArrayList<>(names.size());
+            for (String name : names) {
+                TopicName topicName = new TopicName(name);
+                reads.add(read(topicName).map(topic -> {
+                    // null if deleted since listing the children
+                    if (topic != null) {
+                        topics.put(topicName, topic);
+                    }
+                    return null;
+                }));
+            }
+            return CompositeFuture.all(reads).map(topics);
+        });
+    }
+
     @Override
     public Future<Void> create(Topic topic) {
         Promise<Void> handler = Promise.promise();
@@ -4,13 +4,14 @@
  */
 package io.strimzi.operator.topic.zk;
 
+import io.strimzi.operator.common.zk.AsyncZkClient;
 import io.vertx.core.AsyncResult;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
 import io.vertx.core.Vertx;
-import org.I0Itec.zkclient.ZkClient;
-import org.I0Itec.zkclient.serialize.BytesPushThroughSerializer;
 import org.apache.zookeeper.CreateMode;
+import org.apache.zookeeper.Op;
+import org.apache.zookeeper.OpResult;
 import org.apache.zookeeper.data.ACL;
 
 import java.util.List;
@@ -33,9 +34,7 @@ public interface Zk {
     }
 
     static Zk createSync(Vertx vertx, String zkConnectionString, int sessionTimeout, int connectionTimeout) {
-        return new ZkImpl(vertx,
-                new ZkClient(zkConnectionString, sessionTimeout, connectionTimeout,
-                        new BytesPushThroughSerializer()));
+        return new ZkImpl(vertx, new AsyncZkClient(vertx, zkConnectionString, sessionTimeout, connectionTimeout));
     }
 
     /**
@@ -135,7 +134,16 @@ public interface Zk {
      */
     Zk unwatchData(String path);
 
-    // TODO getAcl(), setAcl(), multi()
+    /**
+     * Asynchronously execute the given operations as a single transaction, in which either all of them succeed
+     * or none of them is applied, then invoke the given handler with the result.
+     * @param ops The operations.
+     * @param handler The result handler.
+     * @return This instance.
+     */
+    Zk multi(List<Op> ops, Handler<AsyncResult<List<OpResult>>> handler);
+
+    // TODO getAcl(), setAcl()
 
 }
 
@@ -4,26 +4,32 @@
  */
 package io.strimzi.operator.topic.zk;
 
+import io.strimzi.operator.common.WorkerPool;
+import io.strimzi.operator.common.WorkerPools;
+import io.strimzi.operator.common.zk.AsyncZkClient;
 import io.vertx.core.AsyncResult;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
 import io.vertx.core.Promise;
 import io.vertx.core.Vertx;
-import io.vertx.core.WorkerExecutor;
 import org.I0Itec.zkclient.IZkChildListener;
 import org.I0Itec.zkclient.IZkDataListener;
 import org.I0Itec.zkclient.ZkClient;
-import org.I0Itec.zkclient.exception.ZkNoNodeException;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.zookeeper.CreateMode;
+import org.apache.zookeeper.Op;
+import org.apache.zookeeper.OpResult;
 import org.apache.zookeeper.data.ACL;
 
 import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
 
 /**
- * Implementation of {@link Zk}
+ * Implementation of {@link Zk} using an {@link AsyncZkClient}.
+ * Reads and writes use the asynchronous ZooKeeper API, so they don't use a worker thread each.
+ * Subscribing to and unsubscribing from watches still use the blocking {@link ZkClient} on a worker pool,
+ * since it re-registers the watches whenever the session is reconnected.
  */
 public class ZkImpl implements Zk {
 
@@ -34,6 +40,7 @@ public class ZkImpl implements Zk {
         };
     }
     private final Vertx vertx;
+    private final AsyncZkClient asyncZookeeper;
     private final ZkClient zookeeper;
 
     // Only accessed on the vertx context.
@@ -41,69 +48,34 @@ public class ZkImpl implements Zk {
     private final ConcurrentHashMap<String, IZkDataListener> dataWatches = new ConcurrentHashMap<>();
     private final ConcurrentHashMap<String, IZkChildListener> childWatches = new ConcurrentHashMap<>();
 
-    public ZkImpl(Vertx vertx, ZkClient zkClient) {
+    public ZkImpl(Vertx vertx, AsyncZkClient asyncZkClient) {
         this.vertx = vertx;
-        this.zookeeper = zkClient;
+        this.asyncZookeeper = asyncZkClient;
+        this.zookeeper = asyncZkClient.zkClient();
     }
 
 
     @Override
     public Zk create(String path, byte[] data, List<ACL> acls, CreateMode createMode, Handler<AsyncResult<Void>> handler) {
-        workerPool().executeBlocking(
-            future -> {
-                try {
-                    zookeeper.create(path, data == null ? new byte[0] : data, acls, createMode);
-                    future.complete();
-                } catch (Throwable t) {
-                    future.fail(t);
-                }
-            },
-            handler);
+        asyncZookeeper.create(path, data, acls, createMode).<Void>mapEmpty().setHandler(handler);
         return this;
     }
 
     @Override
     public Zk setData(String path, byte[] data, int version, Handler<AsyncResult<Void>> handler) {
-        workerPool().executeBlocking(
-            future -> {
-                try {
-                    zookeeper.writeData(path, data, version);
-                    future.complete();
-                } catch (Throwable t) {
-                    future.fail(t);
-                }
-            },
-            handler);
+        asyncZookeeper.setData(path, data, version).setHandler(handler);
         return this;
     }
 
     @Override
     public Zk disconnect(Handler<AsyncResult<Void>> handler) {
-
-        workerPool().executeBlocking(
-            future -> {
-                try {
-                    zookeeper.close();
-                    future.complete();
-                } catch (Throwable t) {
-                    future.fail(t);
-                }
-            },
-            handler);
+        asyncZookeeper.close().setHandler(handler);
         return this;
     }
 
     @Override
     public Zk getData(String path, Handler<AsyncResult<byte[]>> handler) {
-        workerPool().executeBlocking(
-            future -> {
-                try {
-                    future.complete(zookeeper.readData(path));
-                } catch (Throwable t) {
-                    future.fail(t);
-                }
-            },
-            handler);
+        asyncZookeeper.getData(path).setHandler(handler);
         return this;
     }
 
@@ -171,39 +143,24 @@ public class ZkImpl implements Zk {
 
     @Override
     public Zk delete(String path, int version, Handler<AsyncResult<Void>> handler) {
-        workerPool().executeBlocking(
-            future -> {
-                try {
-                    if (zookeeper.delete(path, version)) {
-                        future.complete();
-                    } else {
-                        future.fail(new ZkNoNodeException());
-                    }
-                } catch (Throwable t) {
-                    future.fail(t);
-                }
-            },
-            handler);
+        asyncZookeeper.delete(path, version).setHandler(handler);
         return this;
     }
 
-    private WorkerExecutor workerPool() {
-        return vertx.createSharedWorkerExecutor(getClass().getName(), 4);
+    private WorkerPool workerPool() {
+        return WorkerPools.zookeeper(vertx);
     }
 
     @Override
     public Zk children(String path, Handler<AsyncResult<List<String>>> handler) {
-        workerPool().executeBlocking(
-            future -> {
-                try {
-                    future.complete(zookeeper.getChildren(path));
-                } catch (Throwable t) {
-                    future.fail(t);
-                }
-            },
-            handler);
+        asyncZookeeper.getChildren(path).setHandler(handler);
         return this;
+    }
 
+    @Override
+    public Zk multi(List<Op> ops, Handler<AsyncResult<List<OpResult>>> handler) {
+        asyncZookeeper.multi(ops).setHandler(handler);
+        return this;
     }
 
     @Override
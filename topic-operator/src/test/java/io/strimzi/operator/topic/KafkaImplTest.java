@@ -0,0 +1,236 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.operator.topic;
+
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import org.apache.kafka.clients.admin.AdminClient;
+import org.apache.kafka.clients.admin.Config;
+import org.apache.kafka.clients.admin.DescribeConfigsResult;
+import org.apache.kafka.clients.admin.DescribeTopicsResult;
+import org.apache.kafka.clients.admin.TopicDescription;
+import org.apache.kafka.common.config.ConfigResource;
+import org.apache.kafka.common.errors.UnknownTopicOrPartitionException;
+import org.apache.kafka.common.internals.KafkaFutureImpl;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.Constructor;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+
+import static java.util.Collections.emptyList;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class KafkaImplTest {
+
+    private static final Logger LOGGER = LogManager.getLogger(KafkaImplTest.class);
+
+    private static final int IN_FLIGHT = 10_000;
+
+    private Vertx vertx;
+    private AdminClient adminClient;
+    private final ConcurrentHashMap<String, KafkaFutureImpl<TopicDescription>> descriptions = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, KafkaFutureImpl<Config>> configs = new ConcurrentHashMap<>();
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void setup() throws ReflectiveOperationException {
+        vertx = Vertx.vertx();
+        adminClient = mock(AdminClient.class);
+
+        // The result constructors are package-private
+        Constructor<DescribeTopicsResult> describeTopicsResult = DescribeTopicsResult.class.getDeclaredConstructor(Map.class);
+        describeTopicsResult.setAccessible(true);
+        Constructor<DescribeConfigsResult> describeConfigsResult = DescribeConfigsResult.class.getDeclaredConstructor(Map.class);
+        describeConfigsResult.setAccessible(true);
+
+        when(adminClient.describeTopics(any(Collection.class))).thenAnswer(invocation -> {
+            Map<String, KafkaFutureImpl<TopicDescription>> futures = new HashMap<>();
+            for (String topic : (Collection<String>) invocation.getArgument(0)) {
+                futures.put(topic, descriptions.computeIfAbsent(topic, t -> new KafkaFutureImpl<>()));
+            }
+            return describeTopicsResult.newInstance(futures);
+        });
+        when(adminClient.describeConfigs(any(Collection.class))).thenAnswer(invocation -> {
+            Map<ConfigResource, KafkaFutureImpl<Config>> futures = new HashMap<>();
+            for (ConfigResource resource : (Collection<ConfigResource>) invocation.getArgument(0)) {
+                futures.put(resource, configs.computeIfAbsent(resource.name(), t -> new KafkaFutureImpl<>()));
+            }
+            return describeConfigsResult.newInstance(futures);
+        });
+    }
+
+    @AfterEach
+    public void teardown() {
+        vertx.close();
+    }
+
+    private static TopicDescription description(String topic) {
+        return new TopicDescription(topic, false, emptyList());
+    }
+
+    private <T> T onContext(Context context, Function<KafkaImpl, Future<T>> call, KafkaImpl kafka) throws Exception {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        context.runOnContext(v -> call.apply(kafka).setHandler(ar -> {
+            if (ar.succeeded()) {
+                result.complete(ar.result());
+            } else {
+                result.completeExceptionally(ar.cause());
+            }
+        }));
+        return result.get(10, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void testMetadataCompletesWhenBothFuturesAreDone() throws Exception {
+        KafkaImpl kafka = new KafkaImpl(adminClient, vertx);
+        Context context = vertx.getOrCreateContext();
+
+        CompletableFuture<TopicMetadata> result = new CompletableFuture<>();
+        CompletableFuture<Boolean> onContextThread = new CompletableFuture<>();
+        context.runOnContext(v -> {
+            Thread eventLoop = Thread.currentThread();
+            kafka.topicMetadata(new TopicName("my-topic")).setHandler(ar -> {
+                onContextThread.complete(Thread.currentThread() == eventLoop);
+                result.complete(ar.result());
+            });
+        });
+
+        waitFor(() -> descriptions.containsKey("my-topic") && configs.containsKey("my-topic"));
+        descriptions.get("my-topic").complete(description("my-topic"));
+        assertThat(result.isDone(), is(false));
+
+        // Completed from a non-Vert.x thread, as the AdminClient would
+        Thread completer = new Thread(() -> configs.get("my-topic").complete(new Config(emptyList())));
+        completer.start();
+
+        assertThat(result.get(10, TimeUnit.SECONDS).getDescription().name(), is("my-topic"));
+        assertThat(onContextThread.get(), is(true));
+    }
+
+    @Test
+    public void testMetadataOfUnknownTopicIsNull() throws Exception {
+        KafkaImpl kafka = new KafkaImpl(adminClient, vertx);
+        descriptions.computeIfAbsent("unknown", t -> new KafkaFutureImpl<>()).completeExceptionally(new UnknownTopicOrPartitionException());
+        configs.computeIfAbsent("unknown", t -> new KafkaFutureImpl<>()).completeExceptionally(new UnknownTopicOrPartitionException());
+
+        assertThat(onContext(vertx.getOrCreateContext(), k -> k.topicMetadata(new TopicName("unknown")), kafka), is(nullValue()));
+    }
+
+    @Test
+    public void testUniWorkPropagatesFailure() throws Exception {
+        KafkaImpl kafka = new KafkaImpl(adminClient, vertx);
+        KafkaFutureImpl<String> future = new KafkaFutureImpl<>();
+        future.completeExceptionally(new IllegalStateException("failed"));
+
+        CompletableFuture<Throwable> cause = new CompletableFuture<>();
+        vertx.runOnContext(v -> kafka.queueWork(kafka.new UniWork<>("test", future, ar -> cause.complete(ar.cause()))));
+
+        assertThat(cause.get(10, TimeUnit.SECONDS).getMessage(), is("failed"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testBulkMetadataIsFetchedInBatches() throws Exception {
+        KafkaImpl kafka = new KafkaImpl(adminClient, vertx, 2);
+        List<TopicName> topicNames = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            String topic = "topic-" + i;
+            topicNames.add(new TopicName(topic));
+            descriptions.computeIfAbsent(topic, t -> new KafkaFutureImpl<>()).complete(description(topic));
+            configs.computeIfAbsent(topic, t -> new KafkaFutureImpl<>()).complete(new Config(emptyList()));
+        }
+        topicNames.add(new TopicName("unknown"));
+        descriptions.computeIfAbsent("unknown", t -> new KafkaFutureImpl<>()).completeExceptionally(new UnknownTopicOrPartitionException());
+        configs.computeIfAbsent("unknown", t -> new KafkaFutureImpl<>()).completeExceptionally(new UnknownTopicOrPartitionException());
+
+        Map<TopicName, TopicMetadata> result = onContext(vertx.getOrCreateContext(), k -> k.bulkTopicMetadata(topicNames), kafka);
+
+        assertThat(result.size(), is(6));
+        assertThat(result.get(new TopicName("topic-4")).getDescription().name(), is("topic-4"));
+        assertThat(result.containsKey(new TopicName("unknown")), is(true));
+        assertThat(result.get(new TopicName("unknown")), is(nullValue()));
+        verify(adminClient, times(3)).describeTopics(any(Collection.class));
+        verify(adminClient, times(3)).describeConfigs(any(Collection.class));
+    }
+
+    /**
+     * Microbenchmark: issues {@value #IN_FLIGHT} describe calls whose futures are not yet complete,
+     * and measures the CPU used by the event loop while they are in flight, and the latency of completing them all.
+     * Polling the futures from the event loop would use it for all of the idle period.
+     */
+    @Test
+    public void testInFlightDescribesDoNotBusyTheEventLoop() throws Exception {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        assumeTrue(threads.isCurrentThreadCpuTimeSupported());
+
+        KafkaImpl kafka = new KafkaImpl(adminClient, vertx);
+        CountDownLatch done = new CountDownLatch(IN_FLIGHT);
+        CompletableFuture<Long> eventLoopThreadId = new CompletableFuture<>();
+
+        vertx.runOnContext(v -> {
+            for (int i = 0; i < IN_FLIGHT; i++) {
+                kafka.topicMetadata(new TopicName("topic-" + i)).setHandler(ar -> done.countDown());
+            }
+            eventLoopThreadId.complete(Thread.currentThread().getId());
+        });
+        long threadId = eventLoopThreadId.get(30, TimeUnit.SECONDS);
+
+        long idleMs = 500;
+        long cpuBefore = threads.getThreadCpuTime(threadId);
+        Thread.sleep(idleMs);
+        long idleCpuMs = TimeUnit.NANOSECONDS.toMillis(threads.getThreadCpuTime(threadId) - cpuBefore);
+
+        List<String> topics = new ArrayList<>(descriptions.keySet());
+        Collections.sort(topics);
+        long start = System.nanoTime();
+        for (String topic : topics) {
+            descriptions.get(topic).complete(description(topic));
+            configs.get(topic).complete(new Config(emptyList()));
+        }
+        assertThat(done.await(30, TimeUnit.SECONDS), is(true));
+        long latencyMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        LOGGER.info("{} in-flight describe calls: event loop used {}ms CPU in {}ms idle, completed all in {}ms",
+                IN_FLIGHT, idleCpuMs, idleMs, latencyMs);
+        assertThat(idleCpuMs, lessThan(idleMs / 2));
+    }
+
+    private static void waitFor(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                throw new AssertionError("Timed out");
+            }
+            Thread.sleep(10);
+        }
+    }
+}
@@ -9,6 +9,7 @@ import io.vertx.junit5.VertxTestContext;
 import org.apache.kafka.clients.admin.NewTopic;
 
 import java.lang.reflect.Field;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -188,6 +189,18 @@ public class MockKafka implements Kafka {
         return getTopicNameFutureFunction().apply(topicName);
     }
 
+    @Override
+    public Future<Map<TopicName, TopicMetadata>> bulkTopicMetadata(Collection<TopicName> topicNames) {
+        Map<TopicName, TopicMetadata> result = new HashMap<>();
+        for (TopicName topicName : topicNames) {
+            Future<TopicMetadata> metadata = topicMetadata(topicName);
+            if (metadata.succeeded()) {
+                result.put(topicName, metadata.result());
+            }
+        }
+        return succeededFuture(result);
+    }
+
     Function<TopicName, Future<TopicMetadata>> getTopicNameFutureFunction() {
         return topicMetadataRespose.get(min(topicMetadataResposeCall++, topicMetadataRespose.size() - 1));
     }
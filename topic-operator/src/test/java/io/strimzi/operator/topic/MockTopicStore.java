@@ -8,7 +8,9 @@ import io.vertx.core.Future;
 import io.vertx.junit5.VertxTestContext;
 
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
 import java.util.function.Function;
 
 import static org.hamcrest.CoreMatchers.is;
@@ -21,6 +23,7 @@ public class MockTopicStore implements TopicStore {
     private Function<TopicName, Future<Void>> deleteTopicResponse = t -> Future.failedFuture("Unexpected. Your test's MockTopicStore probably needs a deleteTopicResponse configured.");
     private Function<TopicName, Future<Void>> updateTopicResponse = t -> Future.failedFuture("Unexpected. Your test's MockTopicStore probably needs a updateTopicResponse configured.");
     private Function<TopicName, Future<Topic>> getTopicResponse = t -> null;
+    private Set<TopicName> getTopicResponseTopics = new HashSet<>();
 
     @Override
     public Future<Topic> read(TopicName name) {
@@ -33,6 +36,22 @@ public class MockTopicStore implements TopicStore {
         }
     }
 
+    @Override
+    public Future<Map<TopicName, Topic>> readAll() {
+        Set<TopicName> names = new HashSet<>(topics.keySet());
+        names.addAll(getTopicResponseTopics);
+        Map<TopicName, Topic> result = new HashMap<>();
+        for (TopicName name : names) {
+            Future<Topic> topic = read(name);
+            if (topic.failed()) {
+                return Future.failedFuture(topic.cause());
+            } else if (topic.result() != null) {
+                result.put(name, topic.result());
+            }
+        }
+        return Future.succeededFuture(result);
+    }
+
     @Override
     public Future<Void> create(Topic topic) {
         Future<Void> response = createTopicResponse.apply(topic.getTopicName());
@@ -129,6 +148,7 @@ public class MockTopicStore implements TopicStore {
 
     public MockTopicStore setGetTopicResponse(TopicName topic, Future<Topic> f) {
         Function<TopicName, Future<Topic>> old = this.getTopicResponse;
+        this.getTopicResponseTopics.add(topic);
         this.getTopicResponse = t -> {
             if (t.equals(topic)) {
                 return f;
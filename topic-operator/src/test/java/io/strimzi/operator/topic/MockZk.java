@@ -9,6 +9,8 @@ import io.vertx.core.AsyncResult;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
 import org.apache.zookeeper.CreateMode;
+import org.apache.zookeeper.Op;
+import org.apache.zookeeper.OpResult;
 import org.apache.zookeeper.data.ACL;
 
 import java.util.HashMap;
@@ -21,6 +23,7 @@ class MockZk implements Zk {
     public AsyncResult<Void> setDataResult = Future.failedFuture("Unexpected mock interaction. Configure " + getClass().getSimpleName() + ".setDataResult");
     public AsyncResult<List<String>> childrenResult = Future.failedFuture("Unexpected mock interaction. Configure " + getClass().getSimpleName() + ".childrenResult");
     public AsyncResult<byte[]> dataResult = Future.failedFuture("Unexpected mock interaction. Configure " + getClass().getSimpleName() + ".dataResult");
+    public AsyncResult<List<OpResult>> multiResult = Future.failedFuture("Unexpected mock interaction. Configure " + getClass().getSimpleName() + ".multiResult");
     private Handler<AsyncResult<List<String>>> childrenHandler;
     private Map<String, Handler<AsyncResult<byte[]>>> dataHandlers = new HashMap<>();
 
@@ -73,6 +76,12 @@ class MockZk implements Zk {
         return this;
     }
 
+    @Override
+    public Zk multi(List<Op> ops, Handler<AsyncResult<List<OpResult>>> handler) {
+        handler.handle(multiResult);
+        return this;
+    }
+
     @Override
     public Zk getData(String path, Handler<AsyncResult<byte[]>> handler) {
         handler.handle(dataResult);
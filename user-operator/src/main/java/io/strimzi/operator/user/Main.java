@@ -11,9 +11,16 @@ import io.strimzi.api.kafka.Crds;
 import io.strimzi.api.kafka.model.DoneableKafkaUser;
 import io.strimzi.api.kafka.KafkaUserList;
 import io.strimzi.api.kafka.model.KafkaUser;
-import io.strimzi.certs.OpenSslCertManager;
+import io.strimzi.certs.CertManager;
+import io.strimzi.operator.common.MetricsProvider;
+import io.strimzi.operator.common.MicrometerMetricsProvider;
+import io.strimzi.operator.common.ReconciliationQueue;
+import io.strimzi.operator.common.WorkerPools;
+import io.strimzi.operator.common.WorkerPoolsConfig;
 import io.strimzi.operator.common.operator.resource.CrdOperator;
 import io.strimzi.operator.common.operator.resource.SecretOperator;
+import io.strimzi.operator.common.zk.AsyncZkClient;
+import io.strimzi.operator.user.operator.AclBatchWriter;
 import io.strimzi.operator.user.operator.KafkaUserOperator;
 import io.strimzi.operator.user.operator.KafkaUserQuotasOperator;
 import io.strimzi.operator.user.operator.ScramShaCredentials;
@@ -22,6 +29,9 @@ import io.strimzi.operator.user.operator.SimpleAclOperator;
 import io.vertx.core.Future;
 import io.vertx.core.Promise;
 import io.vertx.core.Vertx;
+import io.vertx.core.VertxOptions;
+import io.vertx.micrometer.MicrometerMetricsOptions;
+import io.vertx.micrometer.VertxPrometheusOptions;
 import kafka.security.auth.SimpleAclAuthorizer;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -33,6 +43,8 @@ import java.util.Map;
 public class Main {
     private static final Logger log = LogManager.getLogger(Main.class.getName());
 
+    private static final int ZOOKEEPER_CONNECTION_TIMEOUT_MS = 30_000;
+
     static {
         try {
             Crds.registerCustomKinds();
@@ -45,7 +57,14 @@ public class Main {
     public static void main(String[] args) {
         log.info("UserOperator {} is starting", Main.class.getPackage().getImplementationVersion());
         UserOperatorConfig config = UserOperatorConfig.fromMap(System.getenv());
-        Vertx vertx = Vertx.vertx();
+
+        //Setup Micrometer metrics options
+        VertxOptions options = new VertxOptions().setMetricsOptions(
+                new MicrometerMetricsOptions()
+                        .setPrometheusOptions(new VertxPrometheusOptions().setEnabled(true))
+                        .setEnabled(true));
+        Vertx vertx = Vertx.vertx(options);
+        WorkerPools.configure(vertx, WorkerPoolsConfig.fromMap(System.getenv()), new MicrometerMetricsProvider());
         KubernetesClient client = new DefaultKubernetesClient();
         SimpleAclAuthorizer authorizer = createSimpleAclAuthorizer(config);
 
@@ -59,18 +78,26 @@ public class Main {
 
     static Future<String> run(Vertx vertx, KubernetesClient client, SimpleAclAuthorizer authorizer, UserOperatorConfig config) {
         printEnvInfo();
-        OpenSslCertManager certManager = new OpenSslCertManager();
+        MetricsProvider metricsProvider = new MicrometerMetricsProvider();
+        CertManager certManager = config.getCertManagerType().create();
         SecretOperator secretOperations = new SecretOperator(vertx, client);
+        secretOperations.enableMetrics(metricsProvider);
         CrdOperator<KubernetesClient, KafkaUser, KafkaUserList, DoneableKafkaUser> crdOperations = new CrdOperator<>(vertx, client, KafkaUser.class, KafkaUserList.class, DoneableKafkaUser.class);
-        SimpleAclOperator aclOperations = new SimpleAclOperator(vertx, authorizer);
-        ScramShaCredentials scramShaCredentials = new ScramShaCredentials(config.getZookeperConnect(), (int) config.getZookeeperSessionTimeoutMs());
-        ScramShaCredentialsOperator scramShaCredentialsOperator = new ScramShaCredentialsOperator(vertx, scramShaCredentials);
-        KafkaUserQuotasOperator quotasOperator = new KafkaUserQuotasOperator(vertx, config.getZookeperConnect(), (int) config.getZookeeperSessionTimeoutMs());
+        crdOperations.enableMetrics(metricsProvider);
+        SimpleAclOperator aclOperations = new SimpleAclOperator(vertx, authorizer,
+                new AclBatchWriter(vertx, authorizer, AclBatchWriter.DEFAULT_BATCH_WINDOW_MS, metricsProvider));
+        // The SCRAM-SHA credentials and the quotas share a single ZooKeeper session
+        AsyncZkClient zk = new AsyncZkClient(vertx, config.getZookeperConnect(), (int) config.getZookeeperSessionTimeoutMs(), ZOOKEEPER_CONNECTION_TIMEOUT_MS);
+        ScramShaCredentials scramShaCredentials = new ScramShaCredentials(zk);
+        ScramShaCredentialsOperator scramShaCredentialsOperator = new ScramShaCredentialsOperator(vertx, scramShaCredentials, metricsProvider);
+        KafkaUserQuotasOperator quotasOperator = new KafkaUserQuotasOperator(vertx, zk, metricsProvider);
 
         KafkaUserOperator kafkaUserOperations = new KafkaUserOperator(vertx,
                 certManager, crdOperations,
                 config.getLabels(),
-                secretOperations, scramShaCredentialsOperator, quotasOperator, aclOperations, config.getCaCertSecretName(), config.getCaKeySecretName(), config.getCaNamespace());
+                secretOperations, scramShaCredentialsOperator, quotasOperator, aclOperations, config.getCaCertSecretName(), config.getCaKeySecretName(), config.getCaNamespace(),
+                metricsProvider,
+                new ReconciliationQueue(vertx, "User", config.getReconciliationQueueConfig(), config.getReconciliationIntervalMs(), metricsProvider));
 
         Promise<String> promise = Promise.promise();
         UserOperator operator = new UserOperator(config.getNamespace(),
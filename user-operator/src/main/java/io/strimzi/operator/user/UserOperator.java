@@ -7,15 +7,25 @@ package io.strimzi.operator.user;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import io.fabric8.kubernetes.client.KubernetesClient;
 import io.fabric8.kubernetes.client.Watch;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ClassLoaderMetrics;
+import io.micrometer.core.instrument.binder.jvm.JvmGcMetrics;
+import io.micrometer.core.instrument.binder.jvm.JvmMemoryMetrics;
+import io.micrometer.core.instrument.binder.jvm.JvmThreadMetrics;
+import io.micrometer.core.instrument.binder.system.ProcessorMetrics;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+import io.strimzi.operator.common.EventLoopMonitor;
+import io.strimzi.operator.common.MicrometerMetricsProvider;
 import io.strimzi.operator.user.operator.KafkaUserOperator;
 import io.vertx.core.AbstractVerticle;
 import io.vertx.core.Future;
 import io.vertx.core.Promise;
 import io.vertx.core.http.HttpServer;
+import io.vertx.micrometer.backends.BackendRegistries;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
-import java.util.concurrent.TimeUnit;
 
 /**
  * An "operator" for managing assemblies of various types <em>in a particular namespace</em>.
@@ -25,14 +35,17 @@ public class UserOperator extends AbstractVerticle {
     private static final Logger log = LogManager.getLogger(UserOperator.class.getName());
 
     private static final int HEALTH_SERVER_PORT = 8081;
+    private static final long EVENT_LOOP_MONITOR_INTERVAL_MS = 1_000;
 
     private final KubernetesClient client;
     private final String namespace;
     private final long reconciliationInterval;
     private final KafkaUserOperator kafkaUserOperator;
+    private final MeterRegistry metrics;
 
     private Watch watch;
     private long reconcileTimer;
+    private EventLoopMonitor eventLoopMonitor;
 
     public UserOperator(String namespace,
                         UserOperatorConfig config,
@@ -43,16 +56,22 @@ public class UserOperator extends AbstractVerticle {
         this.reconciliationInterval = config.getReconciliationIntervalMs();
         this.client = client;
         this.kafkaUserOperator = kafkaUserOperator;
+
+        metrics = BackendRegistries.getDefaultNow();
+        setupMetrics();
     }
 
     @Override
     public void start(Future<Void> start) {
         log.info("Starting UserOperator for namespace {}", namespace);
 
-        // Configure the executor here, but it is used only in other places
-        getVertx().createSharedWorkerExecutor("kubernetes-ops-pool", 10, TimeUnit.SECONDS.toNanos(120));
+        eventLoopMonitor = new EventLoopMonitor(vertx, EVENT_LOOP_MONITOR_INTERVAL_MS, new MicrometerMetricsProvider(), Tags.of("kind", "User"));
+        eventLoopMonitor.start();
 
-        kafkaUserOperator.createWatch(namespace, kafkaUserOperator.recreateWatch(namespace))
+        // Failing to watch the clients CA is not fatal, the CA Secrets are then just not cached
+        kafkaUserOperator.watchClientsCaSecrets()
+            .recover(error -> Future.succeededFuture())
+            .compose(ignored -> kafkaUserOperator.createWatch(namespace, kafkaUserOperator.recreateWatch(namespace)))
             .compose(w -> {
                 log.info("Started operator for {} kind", "KafkaUser");
                 watch = w;
@@ -77,6 +96,10 @@ public class UserOperator extends AbstractVerticle {
         if (watch != null) {
             watch.close();
         }
+        kafkaUserOperator.closeClientsCaWatches();
+        if (eventLoopMonitor != null) {
+            eventLoopMonitor.stop();
+        }
 
         client.close();
         ((Promise<Void>) stop).complete();
@@ -100,6 +123,9 @@ public class UserOperator extends AbstractVerticle {
                         request.response().setStatusCode(200).end();
                     } else if (request.path().equals("/ready")) {
                         request.response().setStatusCode(200).end();
+                    } else if (request.path().equals("/metrics") && metrics instanceof PrometheusMeterRegistry) {
+                        request.response().setStatusCode(200)
+                                .end(((PrometheusMeterRegistry) metrics).scrape());
                     }
                 })
                 .listen(HEALTH_SERVER_PORT, ar -> {
@@ -113,4 +139,13 @@ public class UserOperator extends AbstractVerticle {
         return result.future();
     }
 
+    private void setupMetrics() {
+        if (metrics != null) {
+            new ClassLoaderMetrics().bindTo(metrics);
+            new JvmMemoryMetrics().bindTo(metrics);
+            new ProcessorMetrics().bindTo(metrics);
+            new JvmThreadMetrics().bindTo(metrics);
+            new JvmGcMetrics().bindTo(metrics);
+        }
+    }
 }
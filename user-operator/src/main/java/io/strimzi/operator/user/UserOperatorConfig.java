@@ -5,7 +5,9 @@
 package io.strimzi.operator.user;
 
 import io.strimzi.api.kafka.model.CertificateAuthority;
+import io.strimzi.certs.CertManagerType;
 import io.strimzi.operator.common.InvalidConfigurationException;
+import io.strimzi.operator.common.ReconciliationQueueConfig;
 import io.strimzi.operator.common.model.Labels;
 
 import java.util.Map;
@@ -25,10 +27,12 @@ public class UserOperatorConfig {
     public static final String STRIMZI_ZOOKEEPER_SESSION_TIMEOUT_MS = "STRIMZI_ZOOKEEPER_SESSION_TIMEOUT_MS";
     public static final String STRIMZI_CLIENTS_CA_VALIDITY = "STRIMZI_CA_VALIDITY";
     public static final String STRIMZI_CLIENTS_CA_RENEWAL = "STRIMZI_CA_RENEWAL";
+    public static final String STRIMZI_CERT_MANAGER = "STRIMZI_CERT_MANAGER";
 
     public static final long DEFAULT_FULL_RECONCILIATION_INTERVAL_MS = 120_000;
     public static final String DEFAULT_ZOOKEEPER_CONNECT = "localhost:2181";
     public static final long DEFAULT_ZOOKEEPER_SESSION_TIMEOUT_MS = 6_000;
+    public static final CertManagerType DEFAULT_CERT_MANAGER = CertManagerType.OPENSSL;
 
     private final String namespace;
     private final long reconciliationIntervalMs;
@@ -38,6 +42,8 @@ public class UserOperatorConfig {
     private final String caCertSecretName;
     private final String caKeySecretName;
     private final String caNamespace;
+    private final CertManagerType certManagerType;
+    private final ReconciliationQueueConfig reconciliationQueueConfig;
 
     /**
      * Constructor
@@ -58,6 +64,60 @@ public class UserOperatorConfig {
                               Labels labels, String caCertSecretName,
                               String caKeySecretName,
                               String caNamespace) {
+        this(namespace, reconciliationIntervalMs, zookeperConnect, zookeeperSessionTimeoutMs, labels, caCertSecretName,
+                caKeySecretName, caNamespace, DEFAULT_CERT_MANAGER);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param namespace namespace in which the operator will run and create resources.
+     * @param reconciliationIntervalMs How many milliseconds between reconciliation runs.
+     * @param zookeperConnect Connecton URL for Zookeeper.
+     * @param zookeeperSessionTimeoutMs Session timeout for Zookeeper connections.
+     * @param labels Map with labels which should be used to find the KafkaUser resources.
+     * @param caCertSecretName Name of the secret containing the Certification Authority certificate.
+     * @param caKeySecretName The name of the secret containing the Certification Authority key.
+     * @param caNamespace Namespace with the CA secret.
+     * @param certManagerType The implementation used for generating keys and certificates.
+     */
+    @SuppressWarnings("checkstyle:ParameterNumber")
+    public UserOperatorConfig(String namespace,
+                              long reconciliationIntervalMs,
+                              String zookeperConnect,
+                              long zookeeperSessionTimeoutMs,
+                              Labels labels, String caCertSecretName,
+                              String caKeySecretName,
+                              String caNamespace,
+                              CertManagerType certManagerType) {
+        this(namespace, reconciliationIntervalMs, zookeperConnect, zookeeperSessionTimeoutMs, labels, caCertSecretName,
+                caKeySecretName, caNamespace, certManagerType, ReconciliationQueueConfig.DEFAULT);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param namespace namespace in which the operator will run and create resources.
+     * @param reconciliationIntervalMs How many milliseconds between reconciliation runs.
+     * @param zookeperConnect Connecton URL for Zookeeper.
+     * @param zookeeperSessionTimeoutMs Session timeout for Zookeeper connections.
+     * @param labels Map with labels which should be used to find the KafkaUser resources.
+     * @param caCertSecretName Name of the secret containing the Certification Authority certificate.
+     * @param caKeySecretName The name of the secret containing the Certification Authority key.
+     * @param caNamespace Namespace with the CA secret.
+     * @param certManagerType The implementation used for generating keys and certificates.
+     * @param reconciliationQueueConfig The limits on the reconciliations of a full reconciliation.
+     */
+    @SuppressWarnings("checkstyle:ParameterNumber")
+    public UserOperatorConfig(String namespace,
+                              long reconciliationIntervalMs,
+                              String zookeperConnect,
+                              long zookeeperSessionTimeoutMs,
+                              Labels labels, String caCertSecretName,
+                              String caKeySecretName,
+                              String caNamespace,
+                              CertManagerType certManagerType,
+                              ReconciliationQueueConfig reconciliationQueueConfig) {
         this.namespace = namespace;
         this.reconciliationIntervalMs = reconciliationIntervalMs;
         this.zookeperConnect = zookeperConnect;
@@ -66,6 +126,8 @@ public class UserOperatorConfig {
         this.caCertSecretName = caCertSecretName;
         this.caKeySecretName = caKeySecretName;
         this.caNamespace = caNamespace;
+        this.certManagerType = certManagerType;
+        this.reconciliationQueueConfig = reconciliationQueueConfig;
     }
 
     /**
@@ -122,7 +184,24 @@ public class UserOperatorConfig {
             caNamespace = namespace;
         }
 
-        return new UserOperatorConfig(namespace, reconciliationInterval, zookeeperConnect, zookeeperSessionTimeoutMs, labels, caCertSecretName, caKeySecretName, caNamespace);
+        CertManagerType certManagerType = parseCertManagerType(map.get(UserOperatorConfig.STRIMZI_CERT_MANAGER));
+
+        ReconciliationQueueConfig reconciliationQueueConfig = ReconciliationQueueConfig.fromMap(map);
+
+        return new UserOperatorConfig(namespace, reconciliationInterval, zookeeperConnect, zookeeperSessionTimeoutMs, labels, caCertSecretName, caKeySecretName, caNamespace, certManagerType,
+                reconciliationQueueConfig);
+    }
+
+    private static CertManagerType parseCertManagerType(String certManagerEnvVar) {
+        CertManagerType certManagerType = DEFAULT_CERT_MANAGER;
+        if (certManagerEnvVar != null) {
+            try {
+                certManagerType = CertManagerType.forValue(certManagerEnvVar);
+            } catch (IllegalArgumentException e) {
+                throw new InvalidConfigurationException(certManagerEnvVar + " is not a valid " + UserOperatorConfig.STRIMZI_CERT_MANAGER + " value", e);
+            }
+        }
+        return certManagerType;
     }
 
     public static int getClientsCaValidityDays() {
@@ -198,6 +277,20 @@ public class UserOperatorConfig {
         return zookeeperSessionTimeoutMs;
     }
 
+    /**
+     * @return  The implementation used for generating keys and certificates
+     */
+    public CertManagerType getCertManagerType() {
+        return certManagerType;
+    }
+
+    /**
+     * @return  The limits on the reconciliations of a full reconciliation
+     */
+    public ReconciliationQueueConfig getReconciliationQueueConfig() {
+        return reconciliationQueueConfig;
+    }
+
     @Override
     public String toString() {
         return "ClusterOperatorConfig(" +
@@ -208,6 +301,8 @@ public class UserOperatorConfig {
                 ",labels=" + labels +
                 ",caName=" + caCertSecretName +
                 ",caNamespace=" + caNamespace +
+                ",certManagerType=" + certManagerType +
+                ",reconciliationQueueConfig=" + reconciliationQueueConfig +
                 ")";
     }
 }
@@ -0,0 +1,191 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.operator.user.operator;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Tags;
+import io.strimzi.operator.common.MetricsProvider;
+import io.strimzi.operator.common.WorkerPools;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import kafka.security.auth.Acl;
+import kafka.security.auth.Resource;
+import kafka.security.auth.SimpleAclAuthorizer;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import scala.collection.JavaConverters;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Writes ACL changes to the {@link SimpleAclAuthorizer} in batches.
+ * <p>
+ * The authorizer stores all the ACLs of a Kafka resource in a single znode, which every change of the ACLs of the resource
+ * rewrites with a conditional update, followed by an ACL change notification. When many users have ACLs for the same resource,
+ * for example a shared topic prefix, writing the changes of each user separately makes the writes conflict on that znode.
+ * <p>
+ * This writer instead collects the changes submitted during a batch window, by resource, and then writes
+ * all the ACLs added to a resource with one call of {@link SimpleAclAuthorizer#addAcls},
+ * and all the ACLs removed from it with one call of {@link SimpleAclAuthorizer#removeAcls}.
+ * Batches are written one at a time, so the writes of this operator never conflict with each other.
+ * The futures returned to the callers complete on the Vert.x context of the caller, not on the worker thread
+ * which wrote the batch, and only the callers with changes to a resource whose write failed are failed.
+ * <ul>
+ * <li>{@code strimzi_acl_batch_size} is the number of changes written by a batch.</li>
+ * <li>{@code strimzi_acl_batch_writes} counts the writes of the ACLs of a resource.</li>
+ * <li>{@code strimzi_acl_batch_conflicts} counts the writes which failed because
+ *     the ACLs of the resource kept being updated by others.</li>
+ * </ul>
+ */
+public class AclBatchWriter {
+    private static final Logger log = LogManager.getLogger(AclBatchWriter.class.getName());
+
+    public static final long DEFAULT_BATCH_WINDOW_MS = 10;
+
+    private final Vertx vertx;
+    private final SimpleAclAuthorizer authorizer;
+    private final long batchWindowMs;
+
+    private final DistributionSummary batchSize;
+    private final Counter writes;
+    private final Counter conflicts;
+
+    private Map<Resource, Changes> pending = new HashMap<>();
+    private int pendingCount = 0;
+    private boolean scheduled = false;
+
+    private static class Changes {
+        private final Set<Acl> added = new HashSet<>();
+        private final Set<Acl> removed = new HashSet<>();
+        private final List<Caller> callers = new ArrayList<>();
+    }
+
+    /**
+     * The promise of a caller, with the context on which it has to be completed.
+     */
+    private static class Caller {
+        private final Context context;
+        private final Promise<Void> promise;
+
+        Caller(Context context, Promise<Void> promise) {
+            this.context = context;
+            this.promise = promise;
+        }
+    }
+
+    /**
+     * @param vertx The Vertx instance.
+     * @param authorizer The authorizer.
+     * @param batchWindowMs The time for which changes are collected before being written.
+     * @param metrics The metrics provider.
+     */
+    public AclBatchWriter(Vertx vertx, SimpleAclAuthorizer authorizer, long batchWindowMs, MetricsProvider metrics) {
+        this.vertx = vertx;
+        this.authorizer = authorizer;
+        this.batchWindowMs = Math.max(1, batchWindowMs);
+        this.batchSize = metrics.summary("acl.batch.size", "Number of ACL changes written by a batch", Tags.empty());
+        this.writes = metrics.counter("acl.batch.writes", "Number of writes of the ACLs of a Kafka resource", Tags.empty());
+        this.conflicts = metrics.counter("acl.batch.conflicts",
+                "Number of writes of the ACLs of a Kafka resource which failed because of conflicting updates", Tags.empty());
+    }
+
+    /**
+     * Add the given ACLs to the given resource with the next batch.
+     *
+     * @param resource The resource.
+     * @param acls The ACLs.
+     * @return A future which completes once the ACLs have been added.
+     */
+    public Future<Void> add(Resource resource, Set<Acl> acls) {
+        return submit(resource, acls, true);
+    }
+
+    /**
+     * Remove the given ACLs from the given resource with the next batch.
+     *
+     * @param resource The resource.
+     * @param acls The ACLs.
+     * @return A future which completes once the ACLs have been removed.
+     */
+    public Future<Void> remove(Resource resource, Set<Acl> acls) {
+        return submit(resource, acls, false);
+    }
+
+    private Future<Void> submit(Resource resource, Set<Acl> acls, boolean add) {
+        Promise<Void> promise = Promise.promise();
+        Context context = vertx.getOrCreateContext();
+        synchronized (this) {
+            Changes changes = pending.computeIfAbsent(resource, r -> new Changes());
+            // The latest change of a given ACL wins
+            if (add) {
+                changes.removed.removeAll(acls);
+                changes.added.addAll(acls);
+            } else {
+                changes.added.removeAll(acls);
+                changes.removed.addAll(acls);
+            }
+            changes.callers.add(new Caller(context, promise));
+            pendingCount++;
+
+            if (!scheduled) {
+                scheduled = true;
+                vertx.setTimer(batchWindowMs, id -> flush());
+            }
+        }
+        return promise.future();
+    }
+
+    private void flush() {
+        Map<Resource, Changes> batch;
+        int count;
+        synchronized (this) {
+            batch = pending;
+            count = pendingCount;
+            pending = new HashMap<>();
+            pendingCount = 0;
+            scheduled = false;
+        }
+
+        batchSize.record(count);
+        log.debug("Writing a batch of {} ACL changes to {} resources", count, batch.size());
+        // Ordered, so that the batches are written one at a time
+        WorkerPools.zookeeper(vertx).executeBlocking(future -> {
+            for (Map.Entry<Resource, Changes> entry : batch.entrySet()) {
+                write(entry.getKey(), entry.getValue());
+            }
+            future.complete();
+        }, true, ignored -> { });
+    }
+
+    private void write(Resource resource, Changes changes) {
+        try {
+            if (!changes.removed.isEmpty()) {
+                writes.increment();
+                authorizer.removeAcls(JavaConverters.asScalaSet(changes.removed).toSet(), resource);
+            }
+            if (!changes.added.isEmpty()) {
+                writes.increment();
+                authorizer.addAcls(JavaConverters.asScalaSet(changes.added).toSet(), resource);
+            }
+        } catch (Exception e) {
+            // The authorizer gives up with an IllegalStateException when the znode kept changing during its retries
+            if (e instanceof IllegalStateException) {
+                conflicts.increment();
+            }
+            log.error("Writing the ACLs of resource {} failed", resource, e);
+            changes.callers.forEach(caller -> caller.context.runOnContext(v -> caller.promise.fail(e)));
+            return;
+        }
+        changes.callers.forEach(caller -> caller.context.runOnContext(v -> caller.promise.complete()));
+    }
+}
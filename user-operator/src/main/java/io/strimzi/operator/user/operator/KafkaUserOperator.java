@@ -7,6 +7,9 @@ package io.strimzi.operator.user.operator;
 import io.fabric8.kubernetes.api.model.LabelSelector;
 import io.fabric8.kubernetes.api.model.Secret;
 import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.KubernetesClientException;
+import io.fabric8.kubernetes.client.Watch;
+import io.fabric8.kubernetes.client.Watcher;
 import io.strimzi.api.kafka.KafkaUserList;
 import io.strimzi.api.kafka.model.DoneableKafkaUser;
 import io.strimzi.api.kafka.model.KafkaUser;
@@ -17,7 +20,11 @@ import io.strimzi.certs.CertManager;
 import io.strimzi.operator.cluster.model.StatusDiff;
 import io.strimzi.operator.common.AbstractOperator;
 import io.strimzi.operator.common.PasswordGenerator;
+import io.strimzi.operator.common.MetricsProvider;
+import io.strimzi.operator.common.MicrometerMetricsProvider;
 import io.strimzi.operator.common.Reconciliation;
+import io.strimzi.operator.common.ReconciliationQueue;
+import io.strimzi.operator.common.WorkerPools;
 import io.strimzi.operator.common.model.Labels;
 import io.strimzi.operator.common.model.NamespaceAndName;
 import io.strimzi.operator.common.operator.resource.CrdOperator;
@@ -26,8 +33,10 @@ import io.strimzi.operator.common.operator.resource.SecretOperator;
 import io.strimzi.operator.common.operator.resource.StatusUtils;
 import io.strimzi.operator.user.model.KafkaUserModel;
 import io.strimzi.operator.user.model.acl.SimpleAclRule;
+import io.vertx.core.AsyncResult;
 import io.vertx.core.CompositeFuture;
 import io.vertx.core.Future;
+import io.vertx.core.Handler;
 import io.vertx.core.Promise;
 import io.vertx.core.Vertx;
 import org.apache.logging.log4j.LogManager;
@@ -36,10 +45,14 @@ import org.apache.logging.log4j.Logger;
 import java.nio.charset.StandardCharsets;
 import java.util.Base64;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
@@ -49,6 +62,7 @@ import java.util.stream.Collectors;
 public class KafkaUserOperator extends AbstractOperator<KafkaUser,
         CrdOperator<KubernetesClient, KafkaUser, KafkaUserList, DoneableKafkaUser>> {
     private static final Logger log = LogManager.getLogger(KafkaUserOperator.class.getName());
+    private static final long CLIENTS_CA_REWATCH_DELAY_MS = 10_000;
 
     private final SecretOperator secretOperations;
     private final SimpleAclOperator aclOperations;
@@ -60,6 +74,12 @@ public class KafkaUserOperator extends AbstractOperator<KafkaUser,
     private final Optional<LabelSelector> selector;
     private final KafkaUserQuotasOperator kafkaUserQuotasOperator;
     private PasswordGenerator passwordGenerator = new PasswordGenerator(12);
+    private final Map<String, Secret> clientsCaSecrets = new HashMap<>(2);
+    private final Queue<Watch> clientsCaWatches = new ConcurrentLinkedQueue<>();
+    private volatile boolean clientsCaWatched = false;
+    private final AtomicBoolean clientsCaRewatching = new AtomicBoolean(false);
+    private volatile long clientsCaRewatchTimer = -1;
+    private long clientsCaGeneration = 0;
 
     /**
      * @param vertx The Vertx instance.
@@ -82,7 +102,35 @@ public class KafkaUserOperator extends AbstractOperator<KafkaUser,
                              ScramShaCredentialsOperator scramShaCredentialOperator,
                              KafkaUserQuotasOperator kafkaUserQuotasOperator,
                              SimpleAclOperator aclOperations, String caCertName, String caKeyName, String caNamespace) {
-        super(vertx, "User", crdOperator);
+        this(vertx, certManager, crdOperator, labels, secretOperations, scramShaCredentialOperator, kafkaUserQuotasOperator,
+                aclOperations, caCertName, caKeyName, caNamespace, new MicrometerMetricsProvider(), null);
+    }
+
+    /**
+     * @param vertx The Vertx instance.
+     * @param certManager For managing certificates.
+     * @param crdOperator For operating on Custom Resources.
+     * @param labels A selector for which users in the namespace to consider as the operators
+     * @param secretOperations For operating on Secrets.
+     * @param scramShaCredentialOperator For operating on SCRAM SHA credentials.
+     * @param kafkaUserQuotasOperator For operating on Kafka User quotas.
+     * @param aclOperations For operating on ACLs.
+     * @param caCertName The name of the Secret containing the clients CA certificate.
+     * @param caKeyName The name of the Secret containing the clients CA private key.
+     * @param caNamespace The namespace of the Secret containing the clients CA certificate and private key.
+     * @param metricsProvider The metrics provider.
+     * @param reconciliationQueue The queue for the reconciliations of a full reconciliation, or null to run them all at once.
+     */
+    public KafkaUserOperator(Vertx vertx,
+                             CertManager certManager,
+                             CrdOperator<KubernetesClient, KafkaUser, KafkaUserList, DoneableKafkaUser> crdOperator,
+                             Labels labels,
+                             SecretOperator secretOperations,
+                             ScramShaCredentialsOperator scramShaCredentialOperator,
+                             KafkaUserQuotasOperator kafkaUserQuotasOperator,
+                             SimpleAclOperator aclOperations, String caCertName, String caKeyName, String caNamespace,
+                             MetricsProvider metricsProvider, ReconciliationQueue reconciliationQueue) {
+        super(vertx, "User", crdOperator, metricsProvider, reconciliationQueue);
         this.certManager = certManager;
         Map<String, String> matchLabels = labels.toMap();
         this.selector = matchLabels.isEmpty() ? Optional.empty() : Optional.of(new LabelSelector(null, matchLabels));
@@ -100,16 +148,164 @@ public class KafkaUserOperator extends AbstractOperator<KafkaUser,
         return selector;
     }
 
+    /**
+     * Reconciles all users, diffing them against a {@link UserSnapshot} of the user configurations and ACL rules
+     * loaded once for this full reconciliation, so that unchanged users need no ZooKeeper reads.
+     * The snapshot is given to the reconciliations of the users through {@link SnapshotReconciliation},
+     * so concurrent full reconciliations each use their own, and reconciliations triggered by watch events use none.
+     */
+    @Override
+    public void reconcileAll(String trigger, String namespace, Handler<AsyncResult<Void>> handler) {
+        Future<UserSnapshot> snapshot = loadSnapshot();
+        reconcileAll(namespace, allResourceNames(namespace, snapshot),
+            resourceRef -> new SnapshotReconciliation(trigger, kind(), resourceRef.getNamespace(), resourceRef.getName(), snapshot.result()),
+            handler);
+    }
+
     @Override
     public Future<Set<NamespaceAndName>> allResourceNames(String namespace) {
-        return CompositeFuture.join(super.allResourceNames(namespace),
-                invokeAsync(aclOperations::getUsersWithAcls),
-                invokeAsync(scramShaCredentialOperator::list)).map(compositeFuture -> {
-                    Set<NamespaceAndName> names = compositeFuture.resultAt(0);
-                    names.addAll(toResourceRef(namespace, compositeFuture.resultAt(1)));
-                    names.addAll(toResourceRef(namespace, compositeFuture.resultAt(2)));
-                    return names;
-                });
+        return allResourceNames(namespace, loadSnapshot());
+    }
+
+    private Future<Set<NamespaceAndName>> allResourceNames(String namespace, Future<UserSnapshot> snapshotFuture) {
+        return CompositeFuture.join(super.allResourceNames(namespace), snapshotFuture).map(compositeFuture -> {
+            Set<NamespaceAndName> names = compositeFuture.resultAt(0);
+            UserSnapshot snapshot = compositeFuture.resultAt(1);
+            names.addAll(toResourceRef(namespace, aclOperations.getUsernames(snapshot.usersWithAcls())));
+            names.addAll(toResourceRef(namespace, scramShaCredentialOperator.list(snapshot)));
+            return names;
+        });
+    }
+
+    /**
+     * Loads the configurations of all users from ZooKeeper and their ACL rules.
+     * Failing to load the ACL rules does not fail the full reconciliation: they are then read again for every user,
+     * and the users which only have ACL rules are not deleted.
+     */
+    private Future<UserSnapshot> loadSnapshot() {
+        Future<Map<String, Set<SimpleAclRule>>> acls = invokeAsync(aclOperations::getAllAcls).otherwise(error -> {
+            log.error("Failed to get the existing ACL rules of all users", error);
+            return null;
+        });
+        return CompositeFuture.join(scramShaCredentialOperator.readAll(), acls)
+                .map(compositeFuture -> new UserSnapshot(compositeFuture.resultAt(0), compositeFuture.resultAt(1)));
+    }
+
+    /**
+     * The reconciliation of a user as part of a full reconciliation, with the snapshot loaded for it.
+     */
+    static class SnapshotReconciliation extends Reconciliation {
+        private final UserSnapshot snapshot;
+
+        SnapshotReconciliation(String trigger, String kind, String namespace, String name, UserSnapshot snapshot) {
+            super(trigger, kind, namespace, name);
+            this.snapshot = snapshot;
+        }
+    }
+
+    /**
+     * @param reconciliation The reconciliation.
+     * @return The snapshot of the full reconciliation which the given reconciliation is part of, or null if it is not part of one.
+     */
+    static UserSnapshot snapshot(Reconciliation reconciliation) {
+        return reconciliation instanceof SnapshotReconciliation ? ((SnapshotReconciliation) reconciliation).snapshot : null;
+    }
+
+    /**
+     * Watches the Secrets with the clients CA certificate and private key, so that they can be cached
+     * instead of being fetched for every user. The cache is invalidated whenever either Secret changes.
+     * Until the watches are open, and whenever they close, the Secrets are fetched for every user.
+     * When a watch closes on an error, both watches are reopened once, and again every
+     * {@value #CLIENTS_CA_REWATCH_DELAY_MS}ms until that succeeds.
+     *
+     * @return A future which completes once the watches are open.
+     */
+    public Future<Void> watchClientsCaSecrets() {
+        Watcher<Secret> watcher = new Watcher<Secret>() {
+            @Override
+            public void eventReceived(Action action, Secret secret) {
+                log.debug("Clients CA Secret {} in namespace {} {}", secret.getMetadata().getName(), caNamespace, action);
+                invalidateClientsCaSecrets();
+            }
+
+            @Override
+            public void onClose(KubernetesClientException cause) {
+                // Both watches share this watcher, so only the first of them to close reopens them
+                if (cause != null && clientsCaRewatching.compareAndSet(false, true)) {
+                    log.warn("Watch of the clients CA Secrets in namespace {} closed, reopening it", caNamespace, cause);
+                    rewatchClientsCaSecrets();
+                }
+            }
+        };
+
+        Promise<Void> result = Promise.promise();
+        WorkerPools.kubernetes(vertx).executeBlocking(future -> {
+            try {
+                clientsCaWatches.add(secretOperations.watch(caNamespace, caCertName, watcher));
+                clientsCaWatches.add(secretOperations.watch(caNamespace, caKeyName, watcher));
+                clientsCaWatched = true;
+                future.complete();
+            } catch (Throwable t) {
+                log.warn("Failed to watch the clients CA Secrets in namespace {}, they will not be cached", caNamespace, t);
+                closeClientsCaWatches();
+                future.fail(t);
+            }
+        }, true, result);
+        return result.future();
+    }
+
+    private void rewatchClientsCaSecrets() {
+        closeClientsCaWatches();
+        watchClientsCaSecrets().setHandler(result -> {
+            if (result.succeeded()) {
+                clientsCaRewatching.set(false);
+            } else {
+                log.warn("Failed to reopen the watch of the clients CA Secrets in namespace {}, retrying in {}ms",
+                        caNamespace, CLIENTS_CA_REWATCH_DELAY_MS);
+                clientsCaRewatchTimer = vertx.setTimer(CLIENTS_CA_REWATCH_DELAY_MS, timerId -> rewatchClientsCaSecrets());
+            }
+        });
+    }
+
+    /**
+     * Closes the watches opened by {@link #watchClientsCaSecrets()}, and cancels any pending attempt to reopen them.
+     */
+    public void closeClientsCaWatches() {
+        vertx.cancelTimer(clientsCaRewatchTimer);
+        clientsCaWatched = false;
+        Watch watch;
+        while ((watch = clientsCaWatches.poll()) != null) {
+            watch.close();
+        }
+        invalidateClientsCaSecrets();
+    }
+
+    private void invalidateClientsCaSecrets() {
+        synchronized (clientsCaSecrets) {
+            clientsCaGeneration++;
+            clientsCaSecrets.clear();
+        }
+    }
+
+    private Future<Secret> getClientsCaSecret(String name) {
+        long generation;
+        synchronized (clientsCaSecrets) {
+            Secret cached = clientsCaSecrets.get(name);
+            if (cached != null) {
+                return Future.succeededFuture(cached);
+            }
+            generation = clientsCaGeneration;
+        }
+
+        return secretOperations.getAsync(caNamespace, name).map(secret -> {
+            synchronized (clientsCaSecrets) {
+                // Not cached if the Secret changed (or the watch closed) while it was being fetched
+                if (secret != null && clientsCaWatched && generation == clientsCaGeneration) {
+                    clientsCaSecrets.put(name, secret);
+                }
+            }
+            return secret;
+        });
     }
 
     List<NamespaceAndName> toResourceRef(String namespace, Collection<String> names) {
@@ -120,7 +316,7 @@ public class KafkaUserOperator extends AbstractOperator<KafkaUser,
 
     private <T> Future<T> invokeAsync(Supplier<T> getter) {
         Promise<T> result = Promise.promise();
-        vertx.createSharedWorkerExecutor("zookeeper-ops-pool").executeBlocking(future -> {
+        WorkerPools.zookeeper(vertx).executeBlocking(future -> {
             try {
                 future.complete(getter.get());
             } catch (Throwable t) {
@@ -142,11 +338,13 @@ public class KafkaUserOperator extends AbstractOperator<KafkaUser,
      */
     @Override
     protected Future<Void> createOrUpdate(Reconciliation reconciliation, KafkaUser resource) {
-        Promise<Void> handler = Promise.promise();
-        Secret clientsCaCert = secretOperations.get(caNamespace, caCertName);
-        Secret clientsCaKey = secretOperations.get(caNamespace, caKeyName);
-        Secret userSecret = secretOperations.get(reconciliation.namespace(), KafkaUserModel.getSecretName(reconciliation.name()));
+        return CompositeFuture.all(getClientsCaSecret(caCertName), getClientsCaSecret(caKeyName),
+                secretOperations.getAsync(reconciliation.namespace(), KafkaUserModel.getSecretName(reconciliation.name())))
+            .compose(secrets -> createOrUpdate(reconciliation, resource, secrets.resultAt(0), secrets.resultAt(1), secrets.resultAt(2)));
+    }
 
+    private Future<Void> createOrUpdate(Reconciliation reconciliation, KafkaUser resource, Secret clientsCaCert, Secret clientsCaKey, Secret userSecret) {
+        Promise<Void> handler = Promise.promise();
         Promise<Void> createOrUpdatePromise = Promise.promise();
         String namespace = reconciliation.namespace();
         String userName = reconciliation.name();
@@ -185,13 +383,14 @@ public class KafkaUserOperator extends AbstractOperator<KafkaUser,
         }
 
 
+        UserSnapshot snapshot = snapshot(reconciliation);
         CompositeFuture.join(
-                scramShaCredentialOperator.reconcile(user.getName(), password),
-                kafkaUserQuotasOperator.reconcile(KafkaUserModel.getTlsUserName(userName), newQuotasTls),
-                kafkaUserQuotasOperator.reconcile(user.getName(), newQuotasPlain),
+                scramShaCredentialOperator.reconcile(user.getName(), password, snapshot),
+                kafkaUserQuotasOperator.reconcile(KafkaUserModel.getTlsUserName(userName), newQuotasTls, snapshot),
+                kafkaUserQuotasOperator.reconcile(user.getName(), newQuotasPlain, snapshot),
                 reconcileSecretAndSetStatus(namespace, user, desired, userStatus),
-                aclOperations.reconcile(KafkaUserModel.getTlsUserName(userName), tlsAcls),
-                aclOperations.reconcile(KafkaUserModel.getScramUserName(userName), scramOrNoneAcls))
+                aclOperations.reconcile(KafkaUserModel.getTlsUserName(userName), tlsAcls, snapshot),
+                aclOperations.reconcile(KafkaUserModel.getScramUserName(userName), scramOrNoneAcls, snapshot))
                 .setHandler(reconciliationResult -> {
                     StatusUtils.setStatusConditionAndObservedGeneration(resource, userStatus, reconciliationResult.mapEmpty());
                     userStatus.setUsername(user.getUserName());
@@ -287,12 +486,13 @@ public class KafkaUserOperator extends AbstractOperator<KafkaUser,
         String namespace = reconciliation.namespace();
         String user = reconciliation.name();
         log.debug("{}: Deleting User", reconciliation, user, namespace);
+        UserSnapshot snapshot = snapshot(reconciliation);
         return CompositeFuture.join(secretOperations.reconcile(namespace, KafkaUserModel.getSecretName(user), null),
-                aclOperations.reconcile(KafkaUserModel.getTlsUserName(user), null),
-                aclOperations.reconcile(KafkaUserModel.getScramUserName(user), null),
-                kafkaUserQuotasOperator.reconcile(KafkaUserModel.getTlsUserName(user), null),
-                kafkaUserQuotasOperator.reconcile(KafkaUserModel.getScramUserName(user), null),
-                scramShaCredentialOperator.reconcile(KafkaUserModel.getScramUserName(user), null))
+                aclOperations.reconcile(KafkaUserModel.getTlsUserName(user), null, snapshot),
+                aclOperations.reconcile(KafkaUserModel.getScramUserName(user), null, snapshot),
+                kafkaUserQuotasOperator.reconcile(KafkaUserModel.getTlsUserName(user), null, snapshot),
+                kafkaUserQuotasOperator.reconcile(KafkaUserModel.getScramUserName(user), null, snapshot),
+                scramShaCredentialOperator.reconcile(KafkaUserModel.getScramUserName(user), null, snapshot))
             .map(Boolean.TRUE);
     }
 
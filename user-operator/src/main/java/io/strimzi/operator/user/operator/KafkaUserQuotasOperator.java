@@ -4,55 +4,102 @@
  */
 package io.strimzi.operator.user.operator;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import io.fabric8.zjsonpatch.JsonDiff;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Tags;
 import io.strimzi.api.kafka.model.KafkaUserQuotas;
+import io.strimzi.operator.common.MetricsProvider;
+import io.strimzi.operator.common.MicrometerMetricsProvider;
+import io.strimzi.operator.common.WorkerPools;
 import io.strimzi.operator.common.operator.resource.ReconcileResult;
+import io.strimzi.operator.common.zk.AsyncZkClient;
 import io.vertx.core.Future;
 import io.vertx.core.Promise;
 import io.vertx.core.Vertx;
 import io.vertx.core.json.JsonObject;
 import org.I0Itec.zkclient.ZkClient;
-import org.I0Itec.zkclient.serialize.BytesPushThroughSerializer;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
-import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.util.Map;
 
+import static java.util.Arrays.asList;
+
 public class KafkaUserQuotasOperator {
     private static final Logger log = LogManager.getLogger(KafkaUserQuotasOperator.class.getName());
 
     private final static int CONNECTION_TIMEOUT = 30_000;
 
+    private static final String PRODUCER_BYTE_RATE = "producer_byte_rate";
+    private static final String CONSUMER_BYTE_RATE = "consumer_byte_rate";
+    private static final String REQUEST_PERCENTAGE = "request_percentage";
+
     private ZkClient zkClient;
     private Vertx vertx;
 
+    private final Counter quotasWritten;
+    private final Counter quotasUnchanged;
+
     public KafkaUserQuotasOperator(Vertx vertx, String zookeeperUrl, int zookeeperSessionTimeout) {
-        this.zkClient = new ZkClient(zookeeperUrl, zookeeperSessionTimeout, CONNECTION_TIMEOUT, new BytesPushThroughSerializer());
+        this(vertx, zookeeperUrl, zookeeperSessionTimeout, new MicrometerMetricsProvider());
+    }
+
+    /**
+     * @param vertx The Vertx instance.
+     * @param zookeeperUrl The ZooKeeper connection string.
+     * @param zookeeperSessionTimeout The ZooKeeper session timeout in milliseconds.
+     * @param metrics The metrics provider used for counting the written and unchanged quotas.
+     */
+    public KafkaUserQuotasOperator(Vertx vertx, String zookeeperUrl, int zookeeperSessionTimeout, MetricsProvider metrics) {
+        this(vertx, new AsyncZkClient(vertx, zookeeperUrl, zookeeperSessionTimeout, CONNECTION_TIMEOUT), metrics);
+    }
+
+    /**
+     * @param vertx The Vertx instance.
+     * @param zk The ZooKeeper client, whose session can be shared with other users of the same ZooKeeper.
+     * @param metrics The metrics provider used for counting the written and unchanged quotas.
+     */
+    public KafkaUserQuotasOperator(Vertx vertx, AsyncZkClient zk, MetricsProvider metrics) {
+        this.zkClient = zk.zkClient();
         this.vertx = vertx;
+        this.quotasWritten = metrics.counter("quotas.written", "Number of user quota changes written to ZooKeeper", Tags.empty());
+        this.quotasUnchanged = metrics.counter("quotas.unchanged",
+                "Number of user quota reconciliations which did not write anything because the quotas were unchanged", Tags.empty());
     }
 
     Future<ReconcileResult<Void>> reconcile(String username, KafkaUserQuotas quotas) {
+        return reconcile(username, quotas, null);
+    }
+
+    /**
+     * Reconciles the quotas of the given user.
+     * When the snapshot covers the user and shows the quotas are already as desired, ZooKeeper is not read.
+     *
+     * @param username The name of the user
+     * @param quotas The desired user quotas, or null if the user should have none
+     * @param snapshot The snapshot of a full reconciliation, or null if there is none
+     * @return The result of the reconciliation
+     */
+    Future<ReconcileResult<Void>> reconcile(String username, KafkaUserQuotas quotas, UserSnapshot snapshot) {
         Promise<ReconcileResult<Void>> prom = Promise.promise();
         
-        vertx.createSharedWorkerExecutor("kubernetes-ops-pool").executeBlocking(
+        WorkerPools.zookeeper(vertx).executeBlocking(
             future -> {
                 try {
-                    boolean exists = exists(username);
-                    if (quotas != null) {
-                        createOrUpdate(username, quotas);
-                        future.complete(exists ? ReconcileResult.created(null) : ReconcileResult.patched(null));
-                    } else {
-                        if (exists) {
-                            delete(username);
-                            future.complete(ReconcileResult.deleted());
-                        } else {
-                            future.complete(ReconcileResult.noop(null));
-                        }
+                    if (snapshot != null && snapshot.covers(username)
+                            && currentQuotas(snapshot.config(username)).equals(quotasToJson(quotas))) {
+                        log.debug("Quotas for user {} are unchanged", username);
+                        quotasUnchanged.increment();
+                        future.complete(ReconcileResult.noop(null));
+                        return;
+                    }
+
+                    // The configuration is read again before writing, as it might hold other changes made since the snapshot
+                    ReconcileResult<Void> result = reconcileUserData(username, quotas, zkClient.readData("/config/users/" + username, true));
+                    if (snapshot != null && !(result instanceof ReconcileResult.Noop)) {
+                        snapshot.invalidate(username);
                     }
+                    future.complete(result);
                 } catch (Throwable t) {
                     prom.fail(t);
                 }
@@ -64,33 +111,56 @@ public class KafkaUserQuotasOperator {
     }
 
     /**
-     * Create or update the quotas for the given user.
+     * Reconcile the quotas of the given user with the given user configuration read from ZooKeeper.
+     * The configuration is only written, and Kafka only notified, when the quotas change.
      *
-     * @param username The name of the user which should be created or updated
-     * @param quotas The desired user quotas
+     * @param username The name of the user
+     * @param quotas The desired user quotas, or null if the user should have none
+     * @param data The current user configuration, or null if there is none
+     * @return The result of the reconciliation
      */
-    public void createOrUpdate(String username, KafkaUserQuotas quotas) {
-        byte[] data = zkClient.readData("/config/users/" + username, true);
+    private ReconcileResult<Void> reconcileUserData(String username, KafkaUserQuotas quotas, byte[] data) {
+        JsonObject current = currentQuotas(data);
+        JsonObject desired = quotasToJson(quotas);
+
+        if (current.equals(desired)) {
+            log.debug("Quotas for user {} are unchanged", username);
+            quotasUnchanged.increment();
+            return ReconcileResult.noop(null);
+        }
 
-        if (data != null)   {
+        if (data != null) {
             log.debug("Updating quotas for user {}", username);
-            JsonNode diff = null;
-            try {
-                ObjectMapper objectMapper = new ObjectMapper();
-                diff = JsonDiff.asJson(objectMapper.readTree(data), objectMapper.readTree(createUserJson(quotas)));
-            } catch (IOException e) {
-                e.printStackTrace();
-            }
-            if (diff != null && diff.size() > 0) {
-                zkClient.writeData("/config/users/" + username, updateUserJson(data, quotas));
-            }
+            zkClient.writeData("/config/users/" + username, updateUserJson(data, quotas));
         } else {
             log.debug("Creating quotas for user {}", username);
             ensurePath("/config/users");
             zkClient.createPersistent("/config/users/" + username, createUserJson(quotas));
         }
-
         notifyChanges(username);
+        quotasWritten.increment();
+
+        if (desired.isEmpty()) {
+            return ReconcileResult.deleted();
+        } else {
+            return current.isEmpty() ? ReconcileResult.created(null) : ReconcileResult.patched(null);
+        }
+    }
+
+    private JsonObject currentQuotas(byte[] data) {
+        return data != null ? quotasFromJsonUser(data) : new JsonObject();
+    }
+
+    /**
+     * Create or update the quotas for the given user.
+     * Nothing is written, and Kafka is not notified, when the user already has the given quotas.
+     *
+     * @param username The name of the user which should be created or updated
+     * @param quotas The desired user quotas
+     * @return True if the quotas were written, false if they were unchanged
+     */
+    public boolean createOrUpdate(String username, KafkaUserQuotas quotas) {
+        return !(reconcileUserData(username, quotas, zkClient.readData("/config/users/" + username, true)) instanceof ReconcileResult.Noop);
     }
 
     /**
@@ -128,13 +198,42 @@ public class KafkaUserQuotasOperator {
             json.put("config", new JsonObject());
         }
 
+        JsonObject config = json.getJsonObject("config");
+        for (String quota : asList(PRODUCER_BYTE_RATE, CONSUMER_BYTE_RATE, REQUEST_PERCENTAGE)) {
+            config.remove(quota);
+        }
         for (Map.Entry<String, Object> quota: quotasToJson(quotas).getMap().entrySet()) {
-            json.getJsonObject("config").put(quota.getKey(), quota.getValue().toString());
+            config.put(quota.getKey(), quota.getValue().toString());
         }
         return json.encode().getBytes(StandardCharsets.UTF_8);
 
     }
 
+    /**
+     * Extracts the quotas from existing JSON
+     *
+     * @param user JSON string with existing user configuration as byte[]
+     *
+     * @return  Returns the quotas, in the same form as {@link #quotasToJson(KafkaUserQuotas)}
+     */
+    protected JsonObject quotasFromJsonUser(byte[] user)   {
+        JsonObject json = new JsonObject(new String(user, StandardCharsets.UTF_8));
+
+        validateJsonVersion(json);
+
+        JsonObject quotas = new JsonObject();
+        JsonObject config = json.getJsonObject("config");
+        if (config != null) {
+            for (String quota : asList(PRODUCER_BYTE_RATE, CONSUMER_BYTE_RATE, REQUEST_PERCENTAGE)) {
+                Object value = config.getValue(quota);
+                if (value != null) {
+                    quotas.put(quota, value.toString());
+                }
+            }
+        }
+        return quotas;
+    }
+
     /**
      * This notifies Kafka about the changes we have made
      *
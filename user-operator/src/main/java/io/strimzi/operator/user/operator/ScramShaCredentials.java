@@ -4,9 +4,10 @@
  */
 package io.strimzi.operator.user.operator;
 
+import io.strimzi.operator.common.zk.AsyncZkClient;
+import io.vertx.core.Future;
 import io.vertx.core.json.JsonObject;
 import org.I0Itec.zkclient.ZkClient;
-import org.I0Itec.zkclient.serialize.BytesPushThroughSerializer;
 import org.apache.kafka.common.security.scram.ScramCredential;
 import org.apache.kafka.common.security.scram.internals.ScramCredentialUtils;
 import org.apache.kafka.common.security.scram.internals.ScramFormatter;
@@ -15,9 +16,12 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.nio.charset.Charset;
+import java.security.InvalidKeyException;
+import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Utility class for managing Scram credentials
@@ -26,25 +30,35 @@ public class ScramShaCredentials {
     private static final Logger log = LogManager.getLogger(ScramShaCredentials.class.getName());
 
     private final static int ITERATIONS = 4096;
-    private final static int CONNECTION_TIMEOUT = 30_000;
 
     private final ScramMechanism mechanism = ScramMechanism.SCRAM_SHA_512;
+    private final AsyncZkClient zk;
     private ZkClient zkClient;
 
-    public ScramShaCredentials(String zookeeperUrl, int zookeeperSessionTimeout) {
-        zkClient = new ZkClient(zookeeperUrl, zookeeperSessionTimeout, CONNECTION_TIMEOUT, new BytesPushThroughSerializer());
+    /**
+     * @param zk The ZooKeeper client, whose session can be shared with other users of the same ZooKeeper.
+     */
+    public ScramShaCredentials(AsyncZkClient zk) {
+        this.zk = zk;
+        this.zkClient = zk.zkClient();
     }
 
     /**
      * Create or update the SCRAM-SHA credentials for the given user.
+     * Nothing is written, and Kafka is not notified, when the stored credentials already match the desired password.
      *
      * @param username The name of the user which should be created or updated
      * @param password The desired user password
+     *
+     * @return True if the credentials were written, false if the stored credentials already matched the password
      */
-    public void createOrUpdate(String username, String password) {
+    public boolean createOrUpdate(String username, String password) {
         byte[] data = zkClient.readData("/config/users/" + username, true);
 
-        if (data != null)   {
+        if (data != null && credentialsMatch(data, password)) {
+            log.debug("{} credentials for user {} are unchanged", mechanism.mechanismName(), username);
+            return false;
+        } else if (data != null)   {
             log.debug("Updating {} credentials for user {}", mechanism.mechanismName(), username);
             zkClient.writeData("/config/users/" + username, updateUserJson(data, password));
         } else {
@@ -54,6 +68,7 @@ public class ScramShaCredentials {
         }
 
         notifyChanges(username);
+        return true;
     }
 
     /**
@@ -82,8 +97,18 @@ public class ScramShaCredentials {
      * @return True if the user exists and is configured for given mechanism
      */
     public boolean exists(String username) {
-        byte[] data = zkClient.readData("/config/users/" + username, true);
+        return exists(username, readData(username));
+    }
 
+    /**
+     * Determine whether the given user configuration has SCRAM-SHA credentials.
+     *
+     * @param username Name of the user
+     * @param data The configuration of the user, or null if it has none
+     *
+     * @return True if the configuration exists and is configured for given mechanism
+     */
+    public boolean exists(String username, byte[] data) {
         if (data != null)   {
             String jsonString = new String(data, Charset.defaultCharset());
             JsonObject json = new JsonObject(jsonString);
@@ -107,27 +132,55 @@ public class ScramShaCredentials {
         return false;
     }
 
+    /**
+     * Read the configuration of the given user.
+     *
+     * @param username Name of the user
+     *
+     * @return The configuration of the user, or null if it has none
+     */
+    public byte[] readData(String username) {
+        return zkClient.readData("/config/users/" + username, true);
+    }
+
+    /**
+     * List users with SCRAM-SHA credentials, without blocking
+     *
+     * @return A future which completes with the list of usernames configured for given mechanism
+     */
+    public Future<List<String>> list() {
+        return readAll().map(this::list);
+    }
+
     /**
      * List users with SCRAM-SHA credentials
      *
+     * @param configs The configurations of all users, as returned by {@link #readAll()}
+     *
      * @return List of usernames configured for given mechanism
      */
-    public List<String> list() {
+    public List<String> list(Map<String, byte[]> configs) {
         List<String> result = new ArrayList<>();
 
-        if (zkClient.exists("/config/users"))   {
-            List<String> nodes = zkClient.getChildren("/config/users");
-
-            for (String node : nodes)   {
-                if (exists(node))   {
-                    result.add(node);
-                }
+        for (Map.Entry<String, byte[]> entry : configs.entrySet())   {
+            if (exists(entry.getKey(), entry.getValue()))   {
+                result.add(entry.getKey());
             }
         }
 
         return result;
     }
 
+    /**
+     * Read the configurations of all users, without blocking.
+     * The reads are all in flight at the same time, so that reading them takes about as many round trips as reading a single one.
+     *
+     * @return A future which completes with the configurations of all users, by username
+     */
+    public Future<Map<String, byte[]>> readAll() {
+        return zk.getChildrenData("/config/users");
+    }
+
     /**
      * This notifies Kafka about the changes we have made
      *
@@ -204,6 +257,47 @@ public class ScramShaCredentials {
         }
     }
 
+    /**
+     * Checks whether the SCRAM credentials in existing JSON were generated from the given password,
+     * with the number of iterations used by this class.
+     *
+     * @param user JSON string with existing user configuration as byte[]
+     * @param password  Password in String format
+     *
+     * @return  True if the existing credentials match the password, false if they don't or there are none
+     */
+    protected boolean credentialsMatch(byte[] user, String password)   {
+        JsonObject json = new JsonObject(new String(user, Charset.defaultCharset()));
+
+        validateJsonVersion(json);
+
+        JsonObject config = json.getJsonObject("config");
+        String scramCredentials = config != null ? config.getString(mechanism.mechanismName()) : null;
+
+        if (scramCredentials == null)   {
+            return false;
+        }
+
+        try {
+            ScramCredential credentials = ScramCredentialUtils.credentialFromString(scramCredentials);
+
+            if (credentials.iterations() != ITERATIONS) {
+                return false;
+            }
+
+            ScramFormatter formatter = new ScramFormatter(mechanism);
+            byte[] saltedPassword = formatter.saltedPassword(password, credentials.salt(), credentials.iterations());
+
+            return MessageDigest.isEqual(formatter.storedKey(formatter.clientKey(saltedPassword)), credentials.storedKey())
+                    && MessageDigest.isEqual(formatter.serverKey(saltedPassword), credentials.serverKey());
+        } catch (IllegalArgumentException e) {
+            log.warn("Invalid {} credentials will be replaced", mechanism.mechanismName());
+            return false;
+        } catch (NoSuchAlgorithmException | InvalidKeyException e)    {
+            throw new RuntimeException("Failed to verify credentials", e);
+        }
+    }
+
     /**
      * Deletes the SCRAM credentials from existing JSON
      *
@@ -4,12 +4,18 @@
  */
 package io.strimzi.operator.user.operator;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Tags;
+import io.strimzi.operator.common.MetricsProvider;
+import io.strimzi.operator.common.MicrometerMetricsProvider;
+import io.strimzi.operator.common.WorkerPools;
 import io.strimzi.operator.common.operator.resource.ReconcileResult;
 import io.vertx.core.Future;
 import io.vertx.core.Promise;
 import io.vertx.core.Vertx;
 
 import java.util.List;
+import java.util.Map;
 
 public class ScramShaCredentialsOperator {
 
@@ -17,22 +23,66 @@ public class ScramShaCredentialsOperator {
 
     private Vertx vertx;
 
+    private final Counter credentialsWritten;
+    private final Counter credentialsUnchanged;
+
     public ScramShaCredentialsOperator(Vertx vertx, ScramShaCredentials credsManager) {
+        this(vertx, credsManager, new MicrometerMetricsProvider());
+    }
+
+    /**
+     * @param vertx The Vertx instance.
+     * @param credsManager For managing the SCRAM-SHA credentials in ZooKeeper.
+     * @param metrics The metrics provider used for counting the written and unchanged credentials.
+     */
+    public ScramShaCredentialsOperator(Vertx vertx, ScramShaCredentials credsManager, MetricsProvider metrics) {
         this.credsManager = credsManager;
         this.vertx = vertx;
+        this.credentialsWritten = metrics.counter("scram.credentials.written",
+                "Number of SCRAM-SHA credentials written to ZooKeeper", Tags.empty());
+        this.credentialsUnchanged = metrics.counter("scram.credentials.unchanged",
+                "Number of SCRAM-SHA credentials not written because they already matched the password", Tags.empty());
     }
 
     Future<ReconcileResult<Void>> reconcile(String username, String password) {
+        return reconcile(username, password, null);
+    }
+
+    /**
+     * Reconciles the SCRAM-SHA credentials of the given user.
+     * When the snapshot covers the user and shows the credentials are already as desired, ZooKeeper is not read.
+     *
+     * @param username The name of the user
+     * @param password The desired password, or null if the user should have no credentials
+     * @param snapshot The snapshot of a full reconciliation, or null if there is none
+     * @return The result of the reconciliation
+     */
+    Future<ReconcileResult<Void>> reconcile(String username, String password, UserSnapshot snapshot) {
         Promise<ReconcileResult<Void>> promise = Promise.promise();
-        vertx.createSharedWorkerExecutor("kubernetes-ops-pool").executeBlocking(
+        WorkerPools.zookeeper(vertx).executeBlocking(
             future -> {
+                if (snapshot != null && snapshot.covers(username) && unchanged(username, password, snapshot.config(username))) {
+                    if (password != null) {
+                        credentialsUnchanged.increment();
+                    }
+                    future.complete(ReconcileResult.noop(null));
+                    return;
+                }
+
                 boolean exists = credsManager.exists(username);
                 if (password != null) {
-                    credsManager.createOrUpdate(username, password);
-                    future.complete(exists ? ReconcileResult.created(null) : ReconcileResult.patched(null));
+                    if (credsManager.createOrUpdate(username, password)) {
+                        credentialsWritten.increment();
+                        invalidate(snapshot, username);
+                        future.complete(exists ? ReconcileResult.patched(null) : ReconcileResult.created(null));
+                    } else {
+                        credentialsUnchanged.increment();
+                        future.complete(ReconcileResult.noop(null));
+                    }
                 } else  {
                     if (exists) {
                         credsManager.delete(username);
+                        invalidate(snapshot, username);
                         future.complete(ReconcileResult.deleted());
                     } else {
                         future.complete(ReconcileResult.noop(null));
@@ -44,7 +94,39 @@ public class ScramShaCredentialsOperator {
         return promise.future();
     }
 
-    public List<String> list() {
+    private boolean unchanged(String username, String password, byte[] data) {
+        if (password != null) {
+            return data != null && credsManager.credentialsMatch(data, password);
+        } else {
+            return !credsManager.exists(username, data);
+        }
+    }
+
+    private static void invalidate(UserSnapshot snapshot, String username) {
+        if (snapshot != null) {
+            snapshot.invalidate(username);
+        }
+    }
+
+    /**
+     * @return A future which completes with the names of the users which have SCRAM-SHA credentials
+     */
+    public Future<List<String>> list() {
         return credsManager.list();
     }
+
+    /**
+     * @param snapshot The snapshot of a full reconciliation
+     * @return The names of the users which have SCRAM-SHA credentials in the snapshot
+     */
+    public List<String> list(UserSnapshot snapshot) {
+        return credsManager.list(snapshot.configs());
+    }
+
+    /**
+     * @return A future which completes with the configurations of all users, by username
+     */
+    public Future<Map<String, byte[]>> readAll() {
+        return credsManager.readAll();
+    }
 }
@@ -4,6 +4,8 @@
  */
 package io.strimzi.operator.user.operator;
 
+import io.strimzi.operator.common.MicrometerMetricsProvider;
+import io.strimzi.operator.common.WorkerPools;
 import io.strimzi.operator.common.operator.resource.ReconcileResult;
 import io.strimzi.operator.user.model.KafkaUserModel;
 import io.strimzi.operator.user.model.acl.SimpleAclRule;
@@ -20,7 +22,6 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import scala.Tuple2;
 import scala.collection.Iterator;
-import scala.collection.JavaConverters;
 
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -44,6 +45,7 @@ public class SimpleAclOperator {
 
     private final Vertx vertx;
     private final SimpleAclAuthorizer authorizer;
+    private final AclBatchWriter aclWriter;
 
     /**
      * Constructor
@@ -52,8 +54,20 @@ public class SimpleAclOperator {
      * @param authorizer    SimpleAcAuthorizer instance
      */
     public SimpleAclOperator(Vertx vertx, SimpleAclAuthorizer authorizer)  {
+        this(vertx, authorizer, new AclBatchWriter(vertx, authorizer, AclBatchWriter.DEFAULT_BATCH_WINDOW_MS, new MicrometerMetricsProvider()));
+    }
+
+    /**
+     * Constructor
+     *
+     * @param vertx     Vertx instance
+     * @param authorizer    SimpleAcAuthorizer instance
+     * @param aclWriter     Writes the ACL changes of all users in batches
+     */
+    public SimpleAclOperator(Vertx vertx, SimpleAclAuthorizer authorizer, AclBatchWriter aclWriter)  {
         this.vertx = vertx;
         this.authorizer = authorizer;
+        this.aclWriter = aclWriter;
     }
 
     /**
@@ -64,19 +78,42 @@ public class SimpleAclOperator {
      * @return
      */
     Future<ReconcileResult<Set<SimpleAclRule>>> reconcile(String username, Set<SimpleAclRule> desired) {
+        return reconcile(username, desired, null);
+    }
+
+    /**
+     * Reconciles Acl rules for given user, diffing against the snapshot when it covers the user
+     *
+     * @param username  User name of the reconciled user. When using TLS client auth, the username should be already in the Kafka format, e.g. CN=my-user
+     * @param desired   The list of desired Acl rules
+     * @param snapshot  The snapshot of a full reconciliation, or null if there is none
+     * @return
+     */
+    Future<ReconcileResult<Set<SimpleAclRule>>> reconcile(String username, Set<SimpleAclRule> desired, UserSnapshot snapshot) {
         Promise<ReconcileResult<Set<SimpleAclRule>>> promise = Promise.promise();
-        vertx.createSharedWorkerExecutor("kubernetes-ops-pool").executeBlocking(
+        WorkerPools.zookeeper(vertx).executeBlocking(
             future -> {
                 Set<SimpleAclRule> current;
 
                 try {
-                    current = getAcls(username);
+                    current = snapshot != null && snapshot.covers(username) ? snapshot.acls(username) : null;
+                    if (current == null) {
+                        current = getAcls(username);
+                    }
                 } catch (Exception e)   {
                     log.error("Reconciliation failed for user {}", username, e);
                     future.fail(e);
                     return;
                 }
 
+                if (snapshot != null) {
+                    // The rules of the user are about to change, so its snapshot becomes stale
+                    boolean noop = desired == null || desired.isEmpty() ? current.isEmpty() : desired.equals(current);
+                    if (!noop) {
+                        snapshot.invalidate(username);
+                    }
+                }
+
                 if (desired == null || desired.isEmpty()) {
                     if (current.size() == 0)    {
                         log.debug("User {}: No expected Acl rules and no existing Acl rules -> NoOp", username);
@@ -89,6 +126,9 @@ public class SimpleAclOperator {
                     if (current.isEmpty())  {
                         log.debug("User {}: {} expected Acl rules, but no existing Acl rules -> Adding rules", username, desired.size());
                         internalCreate(username, desired).setHandler(future);
+                    } else if (desired.equals(current))  {
+                        log.debug("User {}: {} expected Acl rules are the existing Acl rules -> NoOp", username, desired.size());
+                        future.complete(ReconcileResult.noop(desired));
                     } else  {
                         log.debug("User {}: {} expected Acl rules and {} existing Acl rules -> Reconciling rules", username, desired.size(), current.size());
                         internalUpdate(username, desired, current).setHandler(future);
@@ -102,21 +142,31 @@ public class SimpleAclOperator {
     }
 
     /**
-     * Create all ACLs for given user
+     * Create all ACLs for given user.
+     * The ACLs are added by the {@link AclBatchWriter}, together with the changes of other users to the same resources.
      */
     protected Future<ReconcileResult<Set<SimpleAclRule>>> internalCreate(String username, Set<SimpleAclRule> desired) {
+        List<Future> writes = new ArrayList<>();
         try {
             HashMap<Resource, Set<Acl>> map = getResourceAclsMap(username, desired);
             for (Map.Entry<Resource, Set<Acl>> entry: map.entrySet()) {
-                scala.collection.mutable.Set<Acl> add = JavaConverters.asScalaSet(entry.getValue());
-                authorizer.addAcls(add.toSet(), entry.getKey());
+                writes.add(aclWriter.add(entry.getKey(), entry.getValue()));
             }
         } catch (Exception e) {
             log.error("Adding Acl rules for user {} failed", username, e);
             return Future.failedFuture(e);
         }
 
-        return Future.succeededFuture(ReconcileResult.created(desired));
+        Promise<ReconcileResult<Set<SimpleAclRule>>> promise = Promise.promise();
+        CompositeFuture.join(writes).setHandler(res -> {
+            if (res.succeeded())    {
+                promise.complete(ReconcileResult.created(desired));
+            } else  {
+                log.error("Adding Acl rules for user {} failed", username, res.cause());
+                promise.fail(res.cause());
+            }
+        });
+        return promise.future();
     }
 
     /**
@@ -165,21 +215,31 @@ public class SimpleAclOperator {
         return map;
     }
     /**
-     * Deletes all ACLs for given user
+     * Deletes all ACLs for given user.
+     * The ACLs are removed by the {@link AclBatchWriter}, together with the changes of other users to the same resources.
      */
     protected Future<ReconcileResult<Set<SimpleAclRule>>> internalDelete(String username, Set<SimpleAclRule> current) {
-
+        List<Future> writes = new ArrayList<>();
         try {
             HashMap<Resource, Set<Acl>> map =  getResourceAclsMap(username, current);
             for (Map.Entry<Resource, Set<Acl>> entry: map.entrySet()) {
-                scala.collection.mutable.Set<Acl> remove = JavaConverters.asScalaSet(entry.getValue());
-                authorizer.removeAcls(remove.toSet(), entry.getKey());
+                writes.add(aclWriter.remove(entry.getKey(), entry.getValue()));
             }
         } catch (Exception e) {
             log.error("Deleting Acl rules for user {} failed", username, e);
             return Future.failedFuture(e);
         }
-        return Future.succeededFuture(ReconcileResult.deleted());
+
+        Promise<ReconcileResult<Set<SimpleAclRule>>> promise = Promise.promise();
+        CompositeFuture.join(writes).setHandler(res -> {
+            if (res.succeeded())    {
+                promise.complete(ReconcileResult.deleted());
+            } else  {
+                log.error("Deleting Acl rules for user {} failed", username, res.cause());
+                promise.fail(res.cause());
+            }
+        });
+        return promise.future();
     }
 
     /**
@@ -223,49 +283,83 @@ public class SimpleAclOperator {
      * @return The set with all usernames which have some ACLs.
      */
     public Set<String> getUsersWithAcls()   {
-        Set<String> result = new HashSet<String>();
-        Set<String> ignored = new HashSet<String>(IGNORED_USERS.size());
-
         log.debug("Searching for Users with any ACL rules");
 
-        scala.collection.immutable.Map<Resource, scala.collection.immutable.Set<Acl>> rules;
-
         try {
-            rules =  authorizer.getAcls();
+            return getUsernames(getAllAcls().keySet());
         } catch (Exception e)   {
             log.error("Failed to get existing Acls rules all users", e);
-            return result;
+            return new HashSet<String>();
         }
+    }
+
+    /**
+     * Returns the usernames of the given ACL principals, ignoring the users whose ACLs are not managed by this operator.
+     *
+     * @param principals  Names of the user principals, as used in the ACLs.
+     * @return The set with the usernames.
+     */
+    public Set<String> getUsernames(Set<String> principals)   {
+        Set<String> result = new HashSet<String>();
+
+        for (String principal : principals) {
+            // Username in ACL might keep different format (for example based on user's subject) and need to be decoded
+            String username = KafkaUserModel.decodeUsername(principal);
+
+            if (IGNORED_USERS.contains(username))   {
+                // This info message is logged only once per reconciliation even if there are multiple rules
+                log.info("Existing ACLs for user '{}' will be ignored.", username);
+            } else {
+                if (log.isTraceEnabled()) {
+                    log.trace("Adding user {} to Set of users with ACLs", username);
+                }
+
+                result.add(username);
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Returns the ACLs of all users, using a single query of the authorizer.
+     *
+     * @return The map of the user principal names, as used in the ACLs, to the Set of ACLs applying to them,
+     * or to null for the users with ACLs which cannot be represented as {@link SimpleAclRule}.
+     */
+    public Map<String, Set<SimpleAclRule>> getAllAcls()   {
+        Map<String, Set<SimpleAclRule>> result = new HashMap<>();
+        Set<String> unsupported = new HashSet<>();
+
+        scala.collection.immutable.Map<Resource, scala.collection.immutable.Set<Acl>> rules = authorizer.getAcls();
 
         Iterator<Tuple2<Resource, scala.collection.immutable.Set<Acl>>> iter = rules.iterator();
         while (iter.hasNext())  {
-            scala.collection.immutable.Set<Acl> acls = iter.next()._2();
+            Tuple2<Resource, scala.collection.immutable.Set<Acl>> tuple = iter.next();
 
-            Iterator<Acl> iter2 = acls.iterator();
+            Iterator<Acl> iter2 = tuple._2().iterator();
             while (iter2.hasNext()) {
-                KafkaPrincipal principal = iter2.next().principal();
+                Acl acl = iter2.next();
+                KafkaPrincipal principal = acl.principal();
 
                 if (KafkaPrincipal.USER_TYPE.equals(principal.getPrincipalType()))  {
-                    // Username in ACL might keep different format (for example based on user's subject) and need to be decoded
-                    String username = KafkaUserModel.decodeUsername(principal.getName());
-
-                    if (IGNORED_USERS.contains(username))   {
-                        if (!ignored.contains(username)) {
-                            // This info message is loged only once per reocnciliation even if there are multiple rules
-                            log.info("Existing ACLs for user '{}' will be ignored.", username);
-                            ignored.add(username);
-                        }
-                    } else {
-                        if (log.isTraceEnabled()) {
-                            log.trace("Adding user {} to Set of users with ACLs", username);
-                        }
+                    Set<SimpleAclRule> userRules = result.computeIfAbsent(principal.getName(), name -> new HashSet<>());
 
-                        result.add(username);
+                    try {
+                        userRules.add(SimpleAclRule.fromKafkaAcl(SimpleAclRuleResource.fromKafkaResource(tuple._1()), acl));
+                    } catch (IllegalArgumentException e) {
+                        unsupported.add(principal.getName());
                     }
                 }
             }
         }
 
+        // The rules of these users are left for getAcls(username) to read, which fails their reconciliation
+        for (String principal : unsupported) {
+            result.put(principal, null);
+        }
+
+        log.debug("Found ACL rules of {} users", result.size());
         return result;
     }
 }
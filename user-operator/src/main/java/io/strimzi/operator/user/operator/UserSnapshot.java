@@ -0,0 +1,89 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.operator.user.operator;
+
+import io.strimzi.operator.user.model.acl.SimpleAclRule;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The user configurations stored in ZooKeeper and the ACL rules of all users, loaded once by a full reconciliation,
+ * so that the reconciliations of the individual users can diff against it instead of reading them again.
+ * <p>
+ * A user is covered by the snapshot until it is {@linkplain #invalidate(String) invalidated},
+ * which the operators do whenever they write the configuration or the ACLs of the user.
+ * The user configurations and ACL rules of users which are not covered have to be read again.
+ * Changes made by others than this operator after the snapshot was loaded are only seen by the next full reconciliation.
+ */
+public class UserSnapshot {
+
+    private final Map<String, byte[]> configs;
+    private final Map<String, Set<SimpleAclRule>> acls;
+    private final Set<String> invalidated = ConcurrentHashMap.newKeySet();
+
+    /**
+     * @param configs The configurations of all users stored in ZooKeeper, by username.
+     * @param acls The ACL rules of all users, by username in the Kafka format, e.g. CN=my-user for TLS users,
+     *             or null if they could not be loaded, in which case they are read again for every user.
+     */
+    public UserSnapshot(Map<String, byte[]> configs, Map<String, Set<SimpleAclRule>> acls) {
+        this.configs = new HashMap<>(configs);
+        this.acls = acls != null ? new HashMap<>(acls) : null;
+    }
+
+    /**
+     * @param username The name of the user.
+     * @return Whether the configuration and ACL rules of the user are known from this snapshot.
+     */
+    public boolean covers(String username) {
+        return !invalidated.contains(username);
+    }
+
+    /**
+     * @param username The name of the user, which must be {@linkplain #covers(String) covered} by this snapshot.
+     * @return The configuration of the user, or null if the user had none.
+     */
+    public byte[] config(String username) {
+        return configs.get(username);
+    }
+
+    /**
+     * @param username The name of the user, which must be {@linkplain #covers(String) covered} by this snapshot.
+     * @return The ACL rules of the user, or null if they have to be read again because the snapshot cannot represent them.
+     */
+    public Set<SimpleAclRule> acls(String username) {
+        if (acls == null) {
+            return null;
+        }
+        return acls.containsKey(username) ? acls.get(username) : Collections.emptySet();
+    }
+
+    /**
+     * Stop covering the given user, after its configuration or ACL rules have been written.
+     *
+     * @param username The name of the user.
+     */
+    public void invalidate(String username) {
+        invalidated.add(username);
+    }
+
+    /**
+     * @return The configurations of all users stored in ZooKeeper, by username.
+     */
+    public Map<String, byte[]> configs() {
+        return Collections.unmodifiableMap(configs);
+    }
+
+    /**
+     * @return The names of all users which had ACL rules, in the Kafka format, or none if they could not be loaded.
+     */
+    public Set<String> usersWithAcls() {
+        return acls != null ? Collections.unmodifiableSet(acls.keySet()) : Collections.emptySet();
+    }
+}
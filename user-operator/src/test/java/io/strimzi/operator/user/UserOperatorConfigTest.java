@@ -4,6 +4,7 @@
  */
 package io.strimzi.operator.user;
 
+import io.strimzi.certs.CertManagerType;
 import io.strimzi.operator.common.InvalidConfigurationException;
 import io.strimzi.operator.common.model.Labels;
 import org.junit.jupiter.api.Test;
@@ -49,6 +50,18 @@ public class UserOperatorConfigTest {
         assertThat(config.getZookeeperSessionTimeoutMs(), is(Long.parseLong(envVars.get(UserOperatorConfig.STRIMZI_ZOOKEEPER_SESSION_TIMEOUT_MS))));
     }
 
+    @Test
+    public void testCertManager()  {
+        Map<String, String> envVars = new HashMap<>(UserOperatorConfigTest.envVars);
+        assertThat(UserOperatorConfig.fromMap(envVars).getCertManagerType(), is(CertManagerType.OPENSSL));
+
+        envVars.put(UserOperatorConfig.STRIMZI_CERT_MANAGER, "bouncycastle");
+        assertThat(UserOperatorConfig.fromMap(envVars).getCertManagerType(), is(CertManagerType.BOUNCYCASTLE));
+
+        envVars.put(UserOperatorConfig.STRIMZI_CERT_MANAGER, "libressl");
+        assertThrows(InvalidConfigurationException.class, () -> UserOperatorConfig.fromMap(envVars));
+    }
+
     @Test
     public void testMissingNamespace()  {
         assertThrows(InvalidConfigurationException.class, () -> {
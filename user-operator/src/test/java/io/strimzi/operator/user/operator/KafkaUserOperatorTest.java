@@ -6,6 +6,9 @@ package io.strimzi.operator.user.operator;
 
 import io.fabric8.kubernetes.api.model.LabelSelector;
 import io.fabric8.kubernetes.api.model.Secret;
+import io.fabric8.kubernetes.client.KubernetesClientException;
+import io.fabric8.kubernetes.client.Watch;
+import io.fabric8.kubernetes.client.Watcher;
 import io.strimzi.api.kafka.model.KafkaUser;
 import io.strimzi.certs.CertManager;
 import io.strimzi.operator.common.Reconciliation;
@@ -16,7 +19,9 @@ import io.strimzi.operator.common.operator.resource.SecretOperator;
 import io.strimzi.operator.user.ResourceUtils;
 import io.strimzi.operator.user.model.KafkaUserModel;
 import io.strimzi.operator.user.model.acl.SimpleAclRule;
+import io.vertx.core.CompositeFuture;
 import io.vertx.core.Future;
+import io.vertx.core.Promise;
 import io.vertx.core.Vertx;
 import io.vertx.junit5.Checkpoint;
 import io.vertx.junit5.VertxExtension;
@@ -26,6 +31,7 @@ import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
 
 import java.util.Arrays;
 import java.util.Base64;
@@ -33,12 +39,16 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.concurrent.CountDownLatch;
 
 import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.emptyMap;
 import static java.util.Collections.singletonList;
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
 import static org.hamcrest.CoreMatchers.nullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.mockito.ArgumentMatchers.any;
@@ -46,6 +56,8 @@ import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(VertxExtension.class)
@@ -67,6 +79,7 @@ public class KafkaUserOperatorTest {
     public void testCreateTlsUser(VertxTestContext context)    {
         CrdOperator mockCrdOps = mock(CrdOperator.class);
         SecretOperator mockSecretOps = mock(SecretOperator.class);
+        when(mockSecretOps.getAsync(anyString(), anyString())).thenReturn(Future.succeededFuture());
         SimpleAclOperator aclOps = mock(SimpleAclOperator.class);
         ScramShaCredentialsOperator scramOps = mock(ScramShaCredentialsOperator.class);
         KafkaUserQuotasOperator quotasOps = mock(KafkaUserQuotasOperator.class);
@@ -77,17 +90,17 @@ public class KafkaUserOperatorTest {
         when(mockSecretOps.reconcile(secretNamespaceCaptor.capture(), secretNameCaptor.capture(), secretCaptor.capture())).thenReturn(Future.succeededFuture());
         ArgumentCaptor<String> aclNameCaptor = ArgumentCaptor.forClass(String.class);
         ArgumentCaptor<Set<SimpleAclRule>> aclRulesCaptor = ArgumentCaptor.forClass(Set.class);
-        when(aclOps.reconcile(aclNameCaptor.capture(), aclRulesCaptor.capture())).thenReturn(Future.succeededFuture());
+        when(aclOps.reconcile(aclNameCaptor.capture(), aclRulesCaptor.capture(), any())).thenReturn(Future.succeededFuture());
 
-        when(scramOps.reconcile(any(), any())).thenReturn(Future.succeededFuture());
-        when(quotasOps.reconcile(any(), any())).thenReturn(Future.succeededFuture());
+        when(scramOps.reconcile(any(), any(), any())).thenReturn(Future.succeededFuture());
+        when(quotasOps.reconcile(any(), any(), any())).thenReturn(Future.succeededFuture());
 
         KafkaUserOperator op = new KafkaUserOperator(vertx, mockCertManager, mockCrdOps, Labels.EMPTY, mockSecretOps, scramOps, quotasOps, aclOps, ResourceUtils.CA_CERT_NAME, ResourceUtils.CA_KEY_NAME, ResourceUtils.NAMESPACE);
         KafkaUser user = ResourceUtils.createKafkaUserTls();
         Secret clientsCa = ResourceUtils.createClientsCaCertSecret();
         Secret clientsCaKey = ResourceUtils.createClientsCaKeySecret();
-        when(mockSecretOps.get(anyString(), eq("user-cert"))).thenReturn(clientsCa);
-        when(mockSecretOps.get(anyString(), eq("user-key"))).thenReturn(clientsCaKey);
+        when(mockSecretOps.getAsync(anyString(), eq("user-cert"))).thenReturn(Future.succeededFuture(clientsCa));
+        when(mockSecretOps.getAsync(anyString(), eq("user-key"))).thenReturn(Future.succeededFuture(clientsCaKey));
 
         when(mockCrdOps.getAsync(anyString(), anyString())).thenReturn(Future.succeededFuture(user));
         when(mockCrdOps.updateStatusAsync(any(KafkaUser.class))).thenReturn(Future.succeededFuture());
@@ -144,6 +157,7 @@ public class KafkaUserOperatorTest {
     public void testUpdateUserNoChange(VertxTestContext context)    {
         CrdOperator mockCrdOps = mock(CrdOperator.class);
         SecretOperator mockSecretOps = mock(SecretOperator.class);
+        when(mockSecretOps.getAsync(anyString(), anyString())).thenReturn(Future.succeededFuture());
         SimpleAclOperator aclOps = mock(SimpleAclOperator.class);
         ScramShaCredentialsOperator scramOps = mock(ScramShaCredentialsOperator.class);
         KafkaUserQuotasOperator quotasOps = mock(KafkaUserQuotasOperator.class);
@@ -153,11 +167,11 @@ public class KafkaUserOperatorTest {
         ArgumentCaptor<Secret> secretCaptor = ArgumentCaptor.forClass(Secret.class);
         when(mockSecretOps.reconcile(secretNamespaceCaptor.capture(), secretNameCaptor.capture(), secretCaptor.capture())).thenReturn(Future.succeededFuture());
 
-        when(scramOps.reconcile(any(), any())).thenReturn(Future.succeededFuture());
+        when(scramOps.reconcile(any(), any(), any())).thenReturn(Future.succeededFuture());
 
         ArgumentCaptor<String> aclNameCaptor = ArgumentCaptor.forClass(String.class);
         ArgumentCaptor<Set<SimpleAclRule>> aclRulesCaptor = ArgumentCaptor.forClass(Set.class);
-        when(aclOps.reconcile(aclNameCaptor.capture(), aclRulesCaptor.capture())).thenReturn(Future.succeededFuture());
+        when(aclOps.reconcile(aclNameCaptor.capture(), aclRulesCaptor.capture(), any())).thenReturn(Future.succeededFuture());
 
         KafkaUser user = ResourceUtils.createKafkaUserTls();
 
@@ -168,11 +182,11 @@ public class KafkaUserOperatorTest {
         Secret clientsCa = ResourceUtils.createClientsCaCertSecret();
         Secret clientsCaKey = ResourceUtils.createClientsCaKeySecret();
         Secret userCert = ResourceUtils.createUserSecretTls();
-        when(mockSecretOps.get(anyString(), eq("user-cert"))).thenReturn(clientsCa);
-        when(mockSecretOps.get(anyString(), eq("user-key"))).thenReturn(clientsCaKey);
-        when(mockSecretOps.get(anyString(), eq(KafkaUserModel.getSecretName(user.getMetadata().getName())))).thenReturn(userCert);
+        when(mockSecretOps.getAsync(anyString(), eq("user-cert"))).thenReturn(Future.succeededFuture(clientsCa));
+        when(mockSecretOps.getAsync(anyString(), eq("user-key"))).thenReturn(Future.succeededFuture(clientsCaKey));
+        when(mockSecretOps.getAsync(anyString(), eq(KafkaUserModel.getSecretName(user.getMetadata().getName())))).thenReturn(Future.succeededFuture(userCert));
 
-        when(quotasOps.reconcile(any(), any())).thenReturn(Future.succeededFuture());
+        when(quotasOps.reconcile(any(), any(), any())).thenReturn(Future.succeededFuture());
 
         Checkpoint async = context.checkpoint();
         op.createOrUpdate(new Reconciliation("test-trigger", KafkaUser.RESOURCE_KIND, ResourceUtils.NAMESPACE, ResourceUtils.NAME), user).setHandler(res -> {
@@ -225,6 +239,7 @@ public class KafkaUserOperatorTest {
     public void testUpdateUserNoAuthnAuthz(VertxTestContext context)    {
         CrdOperator mockCrdOps = mock(CrdOperator.class);
         SecretOperator mockSecretOps = mock(SecretOperator.class);
+        when(mockSecretOps.getAsync(anyString(), anyString())).thenReturn(Future.succeededFuture());
         SimpleAclOperator aclOps = mock(SimpleAclOperator.class);
         ScramShaCredentialsOperator scramOps = mock(ScramShaCredentialsOperator.class);
         KafkaUserQuotasOperator quotasOps = mock(KafkaUserQuotasOperator.class);
@@ -234,11 +249,11 @@ public class KafkaUserOperatorTest {
         ArgumentCaptor<Secret> secretCaptor = ArgumentCaptor.forClass(Secret.class);
         when(mockSecretOps.reconcile(secretNamespaceCaptor.capture(), secretNameCaptor.capture(), secretCaptor.capture())).thenReturn(Future.succeededFuture());
 
-        when(scramOps.reconcile(any(), any())).thenReturn(Future.succeededFuture());
+        when(scramOps.reconcile(any(), any(), any())).thenReturn(Future.succeededFuture());
 
         ArgumentCaptor<String> aclNameCaptor = ArgumentCaptor.forClass(String.class);
         ArgumentCaptor<Set<SimpleAclRule>> aclRulesCaptor = ArgumentCaptor.forClass(Set.class);
-        when(aclOps.reconcile(aclNameCaptor.capture(), aclRulesCaptor.capture())).thenReturn(Future.succeededFuture());
+        when(aclOps.reconcile(aclNameCaptor.capture(), aclRulesCaptor.capture(), any())).thenReturn(Future.succeededFuture());
 
         KafkaUser user = ResourceUtils.createKafkaUserTls();
         user.getSpec().setAuthorization(null);
@@ -252,7 +267,7 @@ public class KafkaUserOperatorTest {
         Secret clientsCaKey = ResourceUtils.createClientsCaKeySecret();
         Secret userCert = ResourceUtils.createUserSecretTls();
 
-        when(quotasOps.reconcile(any(), any())).thenReturn(Future.succeededFuture());
+        when(quotasOps.reconcile(any(), any(), any())).thenReturn(Future.succeededFuture());
 
         Checkpoint async = context.checkpoint();
         op.createOrUpdate(new Reconciliation("test-trigger", KafkaUser.RESOURCE_KIND, ResourceUtils.NAMESPACE, ResourceUtils.NAME), user).setHandler(res -> {
@@ -292,6 +307,7 @@ public class KafkaUserOperatorTest {
     public void testUpdateUserNewCert(VertxTestContext context)    {
         CrdOperator mockCrdOps = mock(CrdOperator.class);
         SecretOperator mockSecretOps = mock(SecretOperator.class);
+        when(mockSecretOps.getAsync(anyString(), anyString())).thenReturn(Future.succeededFuture());
         SimpleAclOperator aclOps = mock(SimpleAclOperator.class);
         ScramShaCredentialsOperator scramOps = mock(ScramShaCredentialsOperator.class);
         KafkaUserQuotasOperator quotasOps = mock(KafkaUserQuotasOperator.class);
@@ -303,10 +319,10 @@ public class KafkaUserOperatorTest {
 
         ArgumentCaptor<String> aclNameCaptor = ArgumentCaptor.forClass(String.class);
         ArgumentCaptor<Set<SimpleAclRule>> aclRulesCaptor = ArgumentCaptor.forClass(Set.class);
-        when(aclOps.reconcile(aclNameCaptor.capture(), aclRulesCaptor.capture())).thenReturn(Future.succeededFuture());
+        when(aclOps.reconcile(aclNameCaptor.capture(), aclRulesCaptor.capture(), any())).thenReturn(Future.succeededFuture());
 
-        when(scramOps.reconcile(any(), any())).thenReturn(Future.succeededFuture());
-        when(quotasOps.reconcile(any(), any())).thenReturn(Future.succeededFuture());
+        when(scramOps.reconcile(any(), any(), any())).thenReturn(Future.succeededFuture());
+        when(quotasOps.reconcile(any(), any(), any())).thenReturn(Future.succeededFuture());
         when(mockCrdOps.getAsync(anyString(), anyString())).thenReturn(Future.succeededFuture());
 
         KafkaUserOperator op = new KafkaUserOperator(vertx, mockCertManager, mockCrdOps, Labels.EMPTY, mockSecretOps, scramOps, quotasOps, aclOps, ResourceUtils.CA_CERT_NAME, ResourceUtils.CA_KEY_NAME, ResourceUtils.NAMESPACE);
@@ -318,9 +334,9 @@ public class KafkaUserOperatorTest {
         clientsCaKey.getData().put("ca.key", Base64.getEncoder().encodeToString("different-clients-ca-key".getBytes()));
         Secret userCert = ResourceUtils.createUserSecretTls();
 
-        when(mockSecretOps.get(anyString(), eq("user-cert"))).thenReturn(clientsCa);
-        when(mockSecretOps.get(anyString(), eq("user-key"))).thenReturn(clientsCaKey);
-        when(mockSecretOps.get(anyString(), eq(KafkaUserModel.getSecretName(user.getMetadata().getName())))).thenReturn(userCert);
+        when(mockSecretOps.getAsync(anyString(), eq("user-cert"))).thenReturn(Future.succeededFuture(clientsCa));
+        when(mockSecretOps.getAsync(anyString(), eq("user-key"))).thenReturn(Future.succeededFuture(clientsCaKey));
+        when(mockSecretOps.getAsync(anyString(), eq(KafkaUserModel.getSecretName(user.getMetadata().getName())))).thenReturn(Future.succeededFuture(userCert));
 
         when(mockCrdOps.getAsync(anyString(), anyString())).thenReturn(Future.succeededFuture(user));
         when(mockCrdOps.updateStatusAsync(any(KafkaUser.class))).thenReturn(Future.succeededFuture());
@@ -357,6 +373,7 @@ public class KafkaUserOperatorTest {
     public void testDeleteTlsUser(VertxTestContext context)    {
         CrdOperator mockCrdOps = mock(CrdOperator.class);
         SecretOperator mockSecretOps = mock(SecretOperator.class);
+        when(mockSecretOps.getAsync(anyString(), anyString())).thenReturn(Future.succeededFuture());
         SimpleAclOperator aclOps = mock(SimpleAclOperator.class);
         ScramShaCredentialsOperator scramOps = mock(ScramShaCredentialsOperator.class);
         KafkaUserQuotasOperator quotasOps = mock(KafkaUserQuotasOperator.class);
@@ -365,12 +382,12 @@ public class KafkaUserOperatorTest {
         ArgumentCaptor<String> secretNameCaptor = ArgumentCaptor.forClass(String.class);
         when(mockSecretOps.reconcile(secretNamespaceCaptor.capture(), secretNameCaptor.capture(), isNull())).thenReturn(Future.succeededFuture());
 
-        when(scramOps.reconcile(any(), any())).thenReturn(Future.succeededFuture());
+        when(scramOps.reconcile(any(), any(), any())).thenReturn(Future.succeededFuture());
 
         ArgumentCaptor<String> aclNameCaptor = ArgumentCaptor.forClass(String.class);
-        when(aclOps.reconcile(aclNameCaptor.capture(), isNull())).thenReturn(Future.succeededFuture());
+        when(aclOps.reconcile(aclNameCaptor.capture(), isNull(), any())).thenReturn(Future.succeededFuture());
 
-        when(quotasOps.reconcile(anyString(), eq(null))).thenReturn(Future.succeededFuture());
+        when(quotasOps.reconcile(anyString(), eq(null), any())).thenReturn(Future.succeededFuture());
 
         KafkaUserOperator op = new KafkaUserOperator(vertx, mockCertManager, mockCrdOps, Labels.EMPTY, mockSecretOps, scramOps, quotasOps, aclOps, ResourceUtils.CA_CERT_NAME, ResourceUtils.CA_KEY_NAME, ResourceUtils.NAMESPACE);
 
@@ -399,6 +416,7 @@ public class KafkaUserOperatorTest {
     public void testReconcileNewTlsUser(VertxTestContext context)    {
         CrdOperator mockCrdOps = mock(CrdOperator.class);
         SecretOperator mockSecretOps = mock(SecretOperator.class);
+        when(mockSecretOps.getAsync(anyString(), anyString())).thenReturn(Future.succeededFuture());
         SimpleAclOperator aclOps = mock(SimpleAclOperator.class);
         ScramShaCredentialsOperator scramOps = mock(ScramShaCredentialsOperator.class);
         KafkaUserQuotasOperator quotasOps = mock(KafkaUserQuotasOperator.class);
@@ -416,18 +434,18 @@ public class KafkaUserOperatorTest {
 
         ArgumentCaptor<String> aclNameCaptor = ArgumentCaptor.forClass(String.class);
         ArgumentCaptor<Set<SimpleAclRule>> aclRulesCaptor = ArgumentCaptor.forClass(Set.class);
-        when(aclOps.reconcile(aclNameCaptor.capture(), aclRulesCaptor.capture())).thenReturn(Future.succeededFuture());
+        when(aclOps.reconcile(aclNameCaptor.capture(), aclRulesCaptor.capture(), any())).thenReturn(Future.succeededFuture());
 
-        when(scramOps.reconcile(any(), any())).thenReturn(Future.succeededFuture());
+        when(scramOps.reconcile(any(), any(), any())).thenReturn(Future.succeededFuture());
 
-        when(mockSecretOps.get(eq(clientsCa.getMetadata().getNamespace()), eq(ResourceUtils.CA_CERT_NAME))).thenReturn(clientsCa);
-        when(mockSecretOps.get(eq(clientsCa.getMetadata().getNamespace()), eq(ResourceUtils.CA_KEY_NAME))).thenReturn(clientsCaKey);
-        when(mockSecretOps.get(eq(user.getMetadata().getNamespace()), eq(user.getMetadata().getName()))).thenReturn(null);
+        when(mockSecretOps.getAsync(eq(clientsCa.getMetadata().getNamespace()), eq(ResourceUtils.CA_CERT_NAME))).thenReturn(Future.succeededFuture(clientsCa));
+        when(mockSecretOps.getAsync(eq(clientsCa.getMetadata().getNamespace()), eq(ResourceUtils.CA_KEY_NAME))).thenReturn(Future.succeededFuture(clientsCaKey));
+        when(mockSecretOps.getAsync(eq(user.getMetadata().getNamespace()), eq(user.getMetadata().getName()))).thenReturn(Future.succeededFuture(null));
 
         when(mockCrdOps.get(eq(user.getMetadata().getNamespace()), eq(user.getMetadata().getName()))).thenReturn(user);
         when(mockCrdOps.getAsync(anyString(), anyString())).thenReturn(Future.succeededFuture(user));
         when(mockCrdOps.updateStatusAsync(any(KafkaUser.class))).thenReturn(Future.succeededFuture());
-        when(quotasOps.reconcile(any(), any())).thenReturn(Future.succeededFuture());
+        when(quotasOps.reconcile(any(), any(), any())).thenReturn(Future.succeededFuture());
 
         Checkpoint async = context.checkpoint();
         op.reconcile(new Reconciliation("test-trigger", KafkaUser.RESOURCE_KIND, ResourceUtils.NAMESPACE, ResourceUtils.NAME)).setHandler(res -> {
@@ -482,6 +500,7 @@ public class KafkaUserOperatorTest {
     public void testReconcileExistingTlsUser(VertxTestContext context)    {
         CrdOperator mockCrdOps = mock(CrdOperator.class);
         SecretOperator mockSecretOps = mock(SecretOperator.class);
+        when(mockSecretOps.getAsync(anyString(), anyString())).thenReturn(Future.succeededFuture());
         SimpleAclOperator aclOps = mock(SimpleAclOperator.class);
         ScramShaCredentialsOperator scramOps = mock(ScramShaCredentialsOperator.class);
         KafkaUserQuotasOperator quotasOps = mock(KafkaUserQuotasOperator.class);
@@ -497,20 +516,20 @@ public class KafkaUserOperatorTest {
         ArgumentCaptor<Secret> secretCaptor = ArgumentCaptor.forClass(Secret.class);
         when(mockSecretOps.reconcile(secretNamespaceCaptor.capture(), secretNameCaptor.capture(), secretCaptor.capture())).thenReturn(Future.succeededFuture());
 
-        when(scramOps.reconcile(any(), any())).thenReturn(Future.succeededFuture());
+        when(scramOps.reconcile(any(), any(), any())).thenReturn(Future.succeededFuture());
 
         ArgumentCaptor<String> aclNameCaptor = ArgumentCaptor.forClass(String.class);
         ArgumentCaptor<Set<SimpleAclRule>> aclRulesCaptor = ArgumentCaptor.forClass(Set.class);
-        when(aclOps.reconcile(aclNameCaptor.capture(), aclRulesCaptor.capture())).thenReturn(Future.succeededFuture());
+        when(aclOps.reconcile(aclNameCaptor.capture(), aclRulesCaptor.capture(), any())).thenReturn(Future.succeededFuture());
 
-        when(mockSecretOps.get(eq(clientsCa.getMetadata().getNamespace()), eq(clientsCa.getMetadata().getName()))).thenReturn(clientsCa);
-        when(mockSecretOps.get(eq(clientsCa.getMetadata().getNamespace()), eq(clientsCaKey.getMetadata().getName()))).thenReturn(clientsCaKey);
-        when(mockSecretOps.get(eq(user.getMetadata().getNamespace()), eq(user.getMetadata().getName()))).thenReturn(userCert);
+        when(mockSecretOps.getAsync(eq(clientsCa.getMetadata().getNamespace()), eq(clientsCa.getMetadata().getName()))).thenReturn(Future.succeededFuture(clientsCa));
+        when(mockSecretOps.getAsync(eq(clientsCa.getMetadata().getNamespace()), eq(clientsCaKey.getMetadata().getName()))).thenReturn(Future.succeededFuture(clientsCaKey));
+        when(mockSecretOps.getAsync(eq(user.getMetadata().getNamespace()), eq(user.getMetadata().getName()))).thenReturn(Future.succeededFuture(userCert));
 
         when(mockCrdOps.get(eq(user.getMetadata().getNamespace()), eq(user.getMetadata().getName()))).thenReturn(user);
         when(mockCrdOps.getAsync(anyString(), anyString())).thenReturn(Future.succeededFuture(user));
         when(mockCrdOps.updateStatusAsync(any(KafkaUser.class))).thenReturn(Future.succeededFuture());
-        when(quotasOps.reconcile(any(), any())).thenReturn(Future.succeededFuture());
+        when(quotasOps.reconcile(any(), any(), any())).thenReturn(Future.succeededFuture());
 
         Checkpoint async = context.checkpoint();
         op.reconcile(new Reconciliation("test-trigger", KafkaUser.RESOURCE_KIND, ResourceUtils.NAMESPACE, ResourceUtils.NAME)).setHandler(res -> {
@@ -564,6 +583,7 @@ public class KafkaUserOperatorTest {
     public void testReconcileDeleteTlsUser(VertxTestContext context)    {
         CrdOperator mockCrdOps = mock(CrdOperator.class);
         SecretOperator mockSecretOps = mock(SecretOperator.class);
+        when(mockSecretOps.getAsync(anyString(), anyString())).thenReturn(Future.succeededFuture());
         SimpleAclOperator aclOps = mock(SimpleAclOperator.class);
         ScramShaCredentialsOperator scramOps = mock(ScramShaCredentialsOperator.class);
         KafkaUserQuotasOperator quotasOps = mock(KafkaUserQuotasOperator.class);
@@ -577,17 +597,17 @@ public class KafkaUserOperatorTest {
         ArgumentCaptor<String> secretNameCaptor = ArgumentCaptor.forClass(String.class);
         when(mockSecretOps.reconcile(secretNamespaceCaptor.capture(), secretNameCaptor.capture(), isNull())).thenReturn(Future.succeededFuture());
 
-        when(scramOps.reconcile(any(), any())).thenReturn(Future.succeededFuture());
+        when(scramOps.reconcile(any(), any(), any())).thenReturn(Future.succeededFuture());
 
         ArgumentCaptor<String> aclNameCaptor = ArgumentCaptor.forClass(String.class);
-        when(aclOps.reconcile(aclNameCaptor.capture(), isNull())).thenReturn(Future.succeededFuture());
+        when(aclOps.reconcile(aclNameCaptor.capture(), isNull(), any())).thenReturn(Future.succeededFuture());
 
-        when(mockSecretOps.get(eq(clientsCa.getMetadata().getNamespace()), eq(clientsCa.getMetadata().getName()))).thenReturn(clientsCa);
-        when(mockSecretOps.get(eq(user.getMetadata().getNamespace()), eq(user.getMetadata().getName()))).thenReturn(userCert);
+        when(mockSecretOps.getAsync(eq(clientsCa.getMetadata().getNamespace()), eq(clientsCa.getMetadata().getName()))).thenReturn(Future.succeededFuture(clientsCa));
+        when(mockSecretOps.getAsync(eq(user.getMetadata().getNamespace()), eq(user.getMetadata().getName()))).thenReturn(Future.succeededFuture(userCert));
 
         when(mockCrdOps.get(eq(user.getMetadata().getNamespace()), eq(user.getMetadata().getName()))).thenReturn(null);
 
-        when(quotasOps.reconcile(anyString(), eq(null))).thenReturn(Future.succeededFuture());
+        when(quotasOps.reconcile(anyString(), eq(null), any())).thenReturn(Future.succeededFuture());
 
         Checkpoint async = context.checkpoint();
         op.reconcile(new Reconciliation("test-trigger", KafkaUser.RESOURCE_KIND, ResourceUtils.NAMESPACE, ResourceUtils.NAME)).setHandler(res -> {
@@ -614,6 +634,7 @@ public class KafkaUserOperatorTest {
     public void testReconcileAll(VertxTestContext context) throws InterruptedException {
         CrdOperator mockCrdOps = mock(CrdOperator.class);
         SecretOperator mockSecretOps = mock(SecretOperator.class);
+        when(mockSecretOps.getAsync(anyString(), anyString())).thenReturn(Future.succeededFuture());
         SimpleAclOperator aclOps = mock(SimpleAclOperator.class);
         ScramShaCredentialsOperator scramOps = mock(ScramShaCredentialsOperator.class);
         KafkaUserQuotasOperator quotasOps = mock(KafkaUserQuotasOperator.class);
@@ -635,18 +656,20 @@ public class KafkaUserOperatorTest {
         when(mockCrdOps.listAsync(eq(ResourceUtils.NAMESPACE), eq(Optional.of(new LabelSelector(null, Labels.userLabels(ResourceUtils.LABELS).toMap()))))).thenReturn(
                 Future.succeededFuture(Arrays.asList(newTlsUser, newScramShaUser, existingTlsUser, existingScramShaUser)));
         when(mockSecretOps.list(eq(ResourceUtils.NAMESPACE), eq(Labels.userLabels(ResourceUtils.LABELS).withKind(KafkaUser.RESOURCE_KIND)))).thenReturn(Arrays.asList(existingTlsUserSecret, existingScramShaUserSecret));
-        when(aclOps.getUsersWithAcls()).thenReturn(new HashSet<String>(Arrays.asList("existing-tls-user", "second-deleted-user")));
-        when(scramOps.list()).thenReturn(asList("existing-tls-user", "deleted-scram-sha-user"));
+        when(aclOps.getAllAcls()).thenReturn(emptyMap());
+        when(aclOps.getUsernames(any())).thenReturn(new HashSet<String>(Arrays.asList("existing-tls-user", "second-deleted-user")));
+        when(scramOps.readAll()).thenReturn(Future.succeededFuture(emptyMap()));
+        when(scramOps.list(any(UserSnapshot.class))).thenReturn(asList("existing-tls-user", "deleted-scram-sha-user"));
 
         when(mockCrdOps.get(eq(newTlsUser.getMetadata().getNamespace()), eq(newTlsUser.getMetadata().getName()))).thenReturn(newTlsUser);
         when(mockCrdOps.get(eq(newScramShaUser.getMetadata().getNamespace()), eq(newScramShaUser.getMetadata().getName()))).thenReturn(newScramShaUser);
         when(mockCrdOps.get(eq(existingTlsUser.getMetadata().getNamespace()), eq(existingTlsUser.getMetadata().getName()))).thenReturn(existingTlsUser);
         when(mockCrdOps.get(eq(existingTlsUser.getMetadata().getNamespace()), eq(existingScramShaUser.getMetadata().getName()))).thenReturn(existingScramShaUser);
-        when(mockSecretOps.get(eq(clientsCa.getMetadata().getNamespace()), eq(clientsCa.getMetadata().getName()))).thenReturn(clientsCa);
-        when(mockSecretOps.get(eq(newTlsUser.getMetadata().getNamespace()), eq(newTlsUser.getMetadata().getName()))).thenReturn(null);
-        when(mockSecretOps.get(eq(newScramShaUser.getMetadata().getNamespace()), eq(newScramShaUser.getMetadata().getName()))).thenReturn(null);
-        when(mockSecretOps.get(eq(existingTlsUser.getMetadata().getNamespace()), eq(existingTlsUser.getMetadata().getName()))).thenReturn(existingTlsUserSecret);
-        when(mockSecretOps.get(eq(existingScramShaUser.getMetadata().getNamespace()), eq(existingScramShaUser.getMetadata().getName()))).thenReturn(existingScramShaUserSecret);
+        when(mockSecretOps.getAsync(eq(clientsCa.getMetadata().getNamespace()), eq(clientsCa.getMetadata().getName()))).thenReturn(Future.succeededFuture(clientsCa));
+        when(mockSecretOps.getAsync(eq(newTlsUser.getMetadata().getNamespace()), eq(newTlsUser.getMetadata().getName()))).thenReturn(Future.succeededFuture(null));
+        when(mockSecretOps.getAsync(eq(newScramShaUser.getMetadata().getNamespace()), eq(newScramShaUser.getMetadata().getName()))).thenReturn(Future.succeededFuture(null));
+        when(mockSecretOps.getAsync(eq(existingTlsUser.getMetadata().getNamespace()), eq(existingTlsUser.getMetadata().getName()))).thenReturn(Future.succeededFuture(existingTlsUserSecret));
+        when(mockSecretOps.getAsync(eq(existingScramShaUser.getMetadata().getNamespace()), eq(existingScramShaUser.getMetadata().getName()))).thenReturn(Future.succeededFuture(existingScramShaUserSecret));
 
         Set<String> createdOrUpdated = new CopyOnWriteArraySet<>();
         Set<String> deleted = new CopyOnWriteArraySet<>();
@@ -691,6 +714,7 @@ public class KafkaUserOperatorTest {
     public void testReconcileNewScramShaUser(VertxTestContext context)    {
         CrdOperator mockCrdOps = mock(CrdOperator.class);
         SecretOperator mockSecretOps = mock(SecretOperator.class);
+        when(mockSecretOps.getAsync(anyString(), anyString())).thenReturn(Future.succeededFuture());
         SimpleAclOperator aclOps = mock(SimpleAclOperator.class);
         ScramShaCredentialsOperator scramOps = mock(ScramShaCredentialsOperator.class);
         KafkaUserQuotasOperator quotasOps = mock(KafkaUserQuotasOperator.class);
@@ -705,18 +729,18 @@ public class KafkaUserOperatorTest {
 
         ArgumentCaptor<String> aclNameCaptor = ArgumentCaptor.forClass(String.class);
         ArgumentCaptor<Set<SimpleAclRule>> aclRulesCaptor = ArgumentCaptor.forClass(Set.class);
-        when(aclOps.reconcile(aclNameCaptor.capture(), aclRulesCaptor.capture())).thenReturn(Future.succeededFuture());
+        when(aclOps.reconcile(aclNameCaptor.capture(), aclRulesCaptor.capture(), any())).thenReturn(Future.succeededFuture());
 
         ArgumentCaptor<String> scramUserCaptor = ArgumentCaptor.forClass(String.class);
         ArgumentCaptor<String> scramPasswordCaptor = ArgumentCaptor.forClass(String.class);
-        when(scramOps.reconcile(scramUserCaptor.capture(), scramPasswordCaptor.capture())).thenReturn(Future.succeededFuture());
+        when(scramOps.reconcile(scramUserCaptor.capture(), scramPasswordCaptor.capture(), any())).thenReturn(Future.succeededFuture());
 
-        when(mockSecretOps.get(eq(user.getMetadata().getNamespace()), eq(user.getMetadata().getName()))).thenReturn(null);
+        when(mockSecretOps.getAsync(eq(user.getMetadata().getNamespace()), eq(user.getMetadata().getName()))).thenReturn(Future.succeededFuture(null));
 
         when(mockCrdOps.get(eq(user.getMetadata().getNamespace()), eq(user.getMetadata().getName()))).thenReturn(user);
         when(mockCrdOps.getAsync(anyString(), anyString())).thenReturn(Future.succeededFuture(user));
         when(mockCrdOps.updateStatusAsync(any(KafkaUser.class))).thenReturn(Future.succeededFuture());
-        when(quotasOps.reconcile(any(), any())).thenReturn(Future.succeededFuture());
+        when(quotasOps.reconcile(any(), any(), any())).thenReturn(Future.succeededFuture());
 
         Checkpoint async = context.checkpoint();
         op.reconcile(new Reconciliation("test-trigger", KafkaUser.RESOURCE_KIND, ResourceUtils.NAMESPACE, ResourceUtils.NAME)).setHandler(res -> {
@@ -770,6 +794,7 @@ public class KafkaUserOperatorTest {
     public void testReconcileExistingScramShaUser(VertxTestContext context)    {
         CrdOperator mockCrdOps = mock(CrdOperator.class);
         SecretOperator mockSecretOps = mock(SecretOperator.class);
+        when(mockSecretOps.getAsync(anyString(), anyString())).thenReturn(Future.succeededFuture());
         SimpleAclOperator aclOps = mock(SimpleAclOperator.class);
         ScramShaCredentialsOperator scramOps = mock(ScramShaCredentialsOperator.class);
         KafkaUserQuotasOperator quotasOps = mock(KafkaUserQuotasOperator.class);
@@ -788,18 +813,18 @@ public class KafkaUserOperatorTest {
 
         ArgumentCaptor<String> scramUserCaptor = ArgumentCaptor.forClass(String.class);
         ArgumentCaptor<String> scramPasswordCaptor = ArgumentCaptor.forClass(String.class);
-        when(scramOps.reconcile(scramUserCaptor.capture(), scramPasswordCaptor.capture())).thenReturn(Future.succeededFuture());
+        when(scramOps.reconcile(scramUserCaptor.capture(), scramPasswordCaptor.capture(), any())).thenReturn(Future.succeededFuture());
 
         ArgumentCaptor<String> aclNameCaptor = ArgumentCaptor.forClass(String.class);
         ArgumentCaptor<Set<SimpleAclRule>> aclRulesCaptor = ArgumentCaptor.forClass(Set.class);
-        when(aclOps.reconcile(aclNameCaptor.capture(), aclRulesCaptor.capture())).thenReturn(Future.succeededFuture());
+        when(aclOps.reconcile(aclNameCaptor.capture(), aclRulesCaptor.capture(), any())).thenReturn(Future.succeededFuture());
 
-        when(mockSecretOps.get(eq(user.getMetadata().getNamespace()), eq(user.getMetadata().getName()))).thenReturn(userCert);
+        when(mockSecretOps.getAsync(eq(user.getMetadata().getNamespace()), eq(user.getMetadata().getName()))).thenReturn(Future.succeededFuture(userCert));
 
         when(mockCrdOps.get(eq(user.getMetadata().getNamespace()), eq(user.getMetadata().getName()))).thenReturn(user);
         when(mockCrdOps.getAsync(anyString(), anyString())).thenReturn(Future.succeededFuture(user));
         when(mockCrdOps.updateStatusAsync(any(KafkaUser.class))).thenReturn(Future.succeededFuture());
-        when(quotasOps.reconcile(any(), any())).thenReturn(Future.succeededFuture());
+        when(quotasOps.reconcile(any(), any(), any())).thenReturn(Future.succeededFuture());
 
         Checkpoint async = context.checkpoint();
         op.reconcile(new Reconciliation("test-trigger", KafkaUser.RESOURCE_KIND, ResourceUtils.NAMESPACE, ResourceUtils.NAME)).setHandler(res -> {
@@ -852,6 +877,7 @@ public class KafkaUserOperatorTest {
     public void testReconcileDeleteScramShaUser(VertxTestContext context)    {
         CrdOperator mockCrdOps = mock(CrdOperator.class);
         SecretOperator mockSecretOps = mock(SecretOperator.class);
+        when(mockSecretOps.getAsync(anyString(), anyString())).thenReturn(Future.succeededFuture());
         SimpleAclOperator aclOps = mock(SimpleAclOperator.class);
         ScramShaCredentialsOperator scramOps = mock(ScramShaCredentialsOperator.class);
         KafkaUserQuotasOperator quotasOps = mock(KafkaUserQuotasOperator.class);
@@ -868,16 +894,16 @@ public class KafkaUserOperatorTest {
 
         ArgumentCaptor<String> scramUserCaptor = ArgumentCaptor.forClass(String.class);
         ArgumentCaptor<String> scramPasswordCaptor = ArgumentCaptor.forClass(String.class);
-        when(scramOps.reconcile(scramUserCaptor.capture(), scramPasswordCaptor.capture())).thenReturn(Future.succeededFuture());
+        when(scramOps.reconcile(scramUserCaptor.capture(), scramPasswordCaptor.capture(), any())).thenReturn(Future.succeededFuture());
 
         ArgumentCaptor<String> aclNameCaptor = ArgumentCaptor.forClass(String.class);
-        when(aclOps.reconcile(aclNameCaptor.capture(), isNull())).thenReturn(Future.succeededFuture());
+        when(aclOps.reconcile(aclNameCaptor.capture(), isNull(), any())).thenReturn(Future.succeededFuture());
 
-        when(mockSecretOps.get(eq(user.getMetadata().getNamespace()), eq(user.getMetadata().getName()))).thenReturn(userCert);
+        when(mockSecretOps.getAsync(eq(user.getMetadata().getNamespace()), eq(user.getMetadata().getName()))).thenReturn(Future.succeededFuture(userCert));
 
         when(mockCrdOps.get(eq(user.getMetadata().getNamespace()), eq(user.getMetadata().getName()))).thenReturn(null);
 
-        when(quotasOps.reconcile(anyString(), eq(null))).thenReturn(Future.succeededFuture());
+        when(quotasOps.reconcile(anyString(), eq(null), any())).thenReturn(Future.succeededFuture());
 
         Checkpoint async = context.checkpoint();
         op.reconcile(new Reconciliation("test-trigger", KafkaUser.RESOURCE_KIND, ResourceUtils.NAMESPACE, ResourceUtils.NAME)).setHandler(res -> {
@@ -908,6 +934,7 @@ public class KafkaUserOperatorTest {
         String failureMsg = "failure";
         CrdOperator mockCrdOps = mock(CrdOperator.class);
         SecretOperator mockSecretOps = mock(SecretOperator.class);
+        when(mockSecretOps.getAsync(anyString(), anyString())).thenReturn(Future.succeededFuture());
         SimpleAclOperator aclOps = mock(SimpleAclOperator.class);
         ScramShaCredentialsOperator scramOps = mock(ScramShaCredentialsOperator.class);
         KafkaUserQuotasOperator quotasOps = mock(KafkaUserQuotasOperator.class);
@@ -915,17 +942,17 @@ public class KafkaUserOperatorTest {
         KafkaUser user = ResourceUtils.createKafkaUserTls();
         Secret clientsCa = ResourceUtils.createClientsCaCertSecret();
         Secret clientsCaKey = ResourceUtils.createClientsCaKeySecret();
-        when(mockSecretOps.get(anyString(), eq("user-cert"))).thenReturn(clientsCa);
-        when(mockSecretOps.get(anyString(), eq("user-key"))).thenReturn(clientsCaKey);
+        when(mockSecretOps.getAsync(anyString(), eq("user-cert"))).thenReturn(Future.succeededFuture(clientsCa));
+        when(mockSecretOps.getAsync(anyString(), eq("user-key"))).thenReturn(Future.succeededFuture(clientsCaKey));
 
         when(mockCrdOps.getAsync(anyString(), anyString())).thenReturn(Future.succeededFuture(user));
 
         when(mockSecretOps.reconcile(anyString(), anyString(), any(Secret.class))).thenReturn(Future.failedFuture(failureMsg));
-        when(aclOps.reconcile(anyString(), any())).thenReturn(Future.succeededFuture());
-        when(scramOps.reconcile(any(), any())).thenReturn(Future.succeededFuture());
+        when(aclOps.reconcile(anyString(), any(), any())).thenReturn(Future.succeededFuture());
+        when(scramOps.reconcile(any(), any(), any())).thenReturn(Future.succeededFuture());
         ArgumentCaptor<KafkaUser> userCaptor = ArgumentCaptor.forClass(KafkaUser.class);
         when(mockCrdOps.updateStatusAsync(userCaptor.capture())).thenReturn(Future.succeededFuture());
-        when(quotasOps.reconcile(any(), any())).thenReturn(Future.succeededFuture());
+        when(quotasOps.reconcile(any(), any(), any())).thenReturn(Future.succeededFuture());
 
         KafkaUserOperator op = new KafkaUserOperator(vertx, mockCertManager, mockCrdOps,
                 Labels.userLabels(ResourceUtils.LABELS),
@@ -948,6 +975,7 @@ public class KafkaUserOperatorTest {
     public void testUserStatusReady(VertxTestContext context) {
         CrdOperator mockCrdOps = mock(CrdOperator.class);
         SecretOperator mockSecretOps = mock(SecretOperator.class);
+        when(mockSecretOps.getAsync(anyString(), anyString())).thenReturn(Future.succeededFuture());
         SimpleAclOperator aclOps = mock(SimpleAclOperator.class);
         ScramShaCredentialsOperator scramOps = mock(ScramShaCredentialsOperator.class);
         KafkaUserQuotasOperator quotasOps = mock(KafkaUserQuotasOperator.class);
@@ -955,16 +983,16 @@ public class KafkaUserOperatorTest {
         KafkaUser user = ResourceUtils.createKafkaUserTls();
         Secret clientsCa = ResourceUtils.createClientsCaCertSecret();
         Secret clientsCaKey = ResourceUtils.createClientsCaKeySecret();
-        when(mockSecretOps.get(anyString(), eq("user-cert"))).thenReturn(clientsCa);
-        when(mockSecretOps.get(anyString(), eq("user-key"))).thenReturn(clientsCaKey);
+        when(mockSecretOps.getAsync(anyString(), eq("user-cert"))).thenReturn(Future.succeededFuture(clientsCa));
+        when(mockSecretOps.getAsync(anyString(), eq("user-key"))).thenReturn(Future.succeededFuture(clientsCaKey));
         when(mockCrdOps.getAsync(anyString(), anyString())).thenReturn(Future.succeededFuture(user));
 
         when(mockSecretOps.reconcile(anyString(), anyString(), any(Secret.class))).thenReturn(Future.succeededFuture());
-        when(aclOps.reconcile(anyString(), any())).thenReturn(Future.succeededFuture());
-        when(scramOps.reconcile(any(), any())).thenReturn(Future.succeededFuture());
+        when(aclOps.reconcile(anyString(), any(), any())).thenReturn(Future.succeededFuture());
+        when(scramOps.reconcile(any(), any(), any())).thenReturn(Future.succeededFuture());
         ArgumentCaptor<KafkaUser> userCaptor = ArgumentCaptor.forClass(KafkaUser.class);
         when(mockCrdOps.updateStatusAsync(userCaptor.capture())).thenReturn(Future.succeededFuture());
-        when(quotasOps.reconcile(any(), any())).thenReturn(Future.succeededFuture());
+        when(quotasOps.reconcile(any(), any(), any())).thenReturn(Future.succeededFuture());
 
         KafkaUserOperator op = new KafkaUserOperator(vertx, mockCertManager, mockCrdOps,
                 Labels.userLabels(ResourceUtils.LABELS),
@@ -981,4 +1009,135 @@ public class KafkaUserOperatorTest {
             async.flag();
         });
     }
+
+    @Test
+    public void testClientsCaSecretsAreCachedUntilChanged(VertxTestContext context) {
+        CrdOperator mockCrdOps = mock(CrdOperator.class);
+        SecretOperator mockSecretOps = mock(SecretOperator.class);
+        when(mockSecretOps.getAsync(anyString(), anyString())).thenReturn(Future.succeededFuture());
+        SimpleAclOperator aclOps = mock(SimpleAclOperator.class);
+        ScramShaCredentialsOperator scramOps = mock(ScramShaCredentialsOperator.class);
+        KafkaUserQuotasOperator quotasOps = mock(KafkaUserQuotasOperator.class);
+
+        KafkaUser user = ResourceUtils.createKafkaUserTls();
+        Secret clientsCa = ResourceUtils.createClientsCaCertSecret();
+        Secret clientsCaKey = ResourceUtils.createClientsCaKeySecret();
+        when(mockSecretOps.getAsync(anyString(), eq(ResourceUtils.CA_CERT_NAME))).thenReturn(Future.succeededFuture(clientsCa));
+        when(mockSecretOps.getAsync(anyString(), eq(ResourceUtils.CA_KEY_NAME))).thenReturn(Future.succeededFuture(clientsCaKey));
+        ArgumentCaptor<Watcher<Secret>> watcherCaptor = ArgumentCaptor.forClass(Watcher.class);
+        when(mockSecretOps.watch(eq(ResourceUtils.NAMESPACE), anyString(), watcherCaptor.capture())).thenReturn(mock(Watch.class));
+        when(mockCrdOps.getAsync(anyString(), anyString())).thenReturn(Future.succeededFuture(user));
+        when(mockCrdOps.updateStatusAsync(any(KafkaUser.class))).thenReturn(Future.succeededFuture());
+
+        when(mockSecretOps.reconcile(anyString(), anyString(), any(Secret.class))).thenReturn(Future.succeededFuture());
+        when(aclOps.reconcile(anyString(), any(), any())).thenReturn(Future.succeededFuture());
+        when(scramOps.reconcile(any(), any(), any())).thenReturn(Future.succeededFuture());
+        when(quotasOps.reconcile(any(), any(), any())).thenReturn(Future.succeededFuture());
+
+        KafkaUserOperator op = new KafkaUserOperator(vertx, mockCertManager, mockCrdOps, Labels.EMPTY,
+                mockSecretOps, scramOps, quotasOps, aclOps, ResourceUtils.CA_CERT_NAME, ResourceUtils.CA_KEY_NAME, ResourceUtils.NAMESPACE);
+        Reconciliation reconciliation = new Reconciliation("test-trigger", KafkaUser.RESOURCE_KIND, ResourceUtils.NAMESPACE, ResourceUtils.NAME);
+
+        Checkpoint async = context.checkpoint();
+        op.watchClientsCaSecrets()
+            .compose(ignored -> op.createOrUpdate(reconciliation, user))
+            .compose(ignored -> op.createOrUpdate(reconciliation, user))
+            .compose(ignored -> {
+                context.verify(() -> verify(mockSecretOps, times(1)).getAsync(ResourceUtils.NAMESPACE, ResourceUtils.CA_CERT_NAME));
+                context.verify(() -> verify(mockSecretOps, times(1)).getAsync(ResourceUtils.NAMESPACE, ResourceUtils.CA_KEY_NAME));
+                watcherCaptor.getValue().eventReceived(Watcher.Action.MODIFIED, clientsCa);
+                return op.createOrUpdate(reconciliation, user);
+            })
+            .setHandler(context.succeeding(ignored -> {
+                context.verify(() -> verify(mockSecretOps, times(2)).getAsync(ResourceUtils.NAMESPACE, ResourceUtils.CA_CERT_NAME));
+                context.verify(() -> verify(mockSecretOps, times(2)).getAsync(ResourceUtils.NAMESPACE, ResourceUtils.CA_KEY_NAME));
+                async.flag();
+            }));
+    }
+
+    @Test
+    public void testClientsCaWatchesAreReopenedOnceWhenBothClose(VertxTestContext context) {
+        SecretOperator mockSecretOps = mock(SecretOperator.class);
+        ArgumentCaptor<Watcher<Secret>> watcherCaptor = ArgumentCaptor.forClass(Watcher.class);
+        when(mockSecretOps.watch(eq(ResourceUtils.NAMESPACE), anyString(), watcherCaptor.capture())).thenReturn(mock(Watch.class));
+
+        KafkaUserOperator op = new KafkaUserOperator(vertx, mockCertManager, mock(CrdOperator.class), Labels.EMPTY,
+                mockSecretOps, mock(ScramShaCredentialsOperator.class), mock(KafkaUserQuotasOperator.class), mock(SimpleAclOperator.class),
+                ResourceUtils.CA_CERT_NAME, ResourceUtils.CA_KEY_NAME, ResourceUtils.NAMESPACE);
+
+        Checkpoint async = context.checkpoint();
+        op.watchClientsCaSecrets().setHandler(context.succeeding(ignored -> {
+            // the cert and the key watches share the watcher, and both close when the connection drops
+            KubernetesClientException cause = new KubernetesClientException("connection lost");
+            watcherCaptor.getAllValues().get(0).onClose(cause);
+            watcherCaptor.getAllValues().get(1).onClose(cause);
+
+            vertx.executeBlocking(future -> {
+                context.verify(() -> verify(mockSecretOps, Mockito.after(500).times(2)).watch(eq(ResourceUtils.NAMESPACE), eq(ResourceUtils.CA_CERT_NAME), any()));
+                context.verify(() -> verify(mockSecretOps, times(2)).watch(eq(ResourceUtils.NAMESPACE), eq(ResourceUtils.CA_KEY_NAME), any()));
+                op.closeClientsCaWatches();
+                future.complete();
+            }, context.succeeding(ignored2 -> async.flag()));
+        }));
+    }
+
+    private KafkaUserOperator snapshotCapturingOperator(CrdOperator mockCrdOps, SimpleAclOperator aclOps, List<UserSnapshot> snapshots) {
+        ScramShaCredentialsOperator scramOps = mock(ScramShaCredentialsOperator.class);
+        when(scramOps.readAll()).thenReturn(Future.succeededFuture(emptyMap()));
+        when(scramOps.list(any(UserSnapshot.class))).thenReturn(emptyList());
+        KafkaUser user = ResourceUtils.createKafkaUserTls();
+        when(mockCrdOps.listAsync(eq(ResourceUtils.NAMESPACE), any(Optional.class))).thenReturn(Future.succeededFuture(singletonList(user)));
+        when(mockCrdOps.get(ResourceUtils.NAMESPACE, ResourceUtils.NAME)).thenReturn(user);
+
+        return new KafkaUserOperator(vertx, mockCertManager, mockCrdOps, Labels.EMPTY, mock(SecretOperator.class), scramOps,
+                mock(KafkaUserQuotasOperator.class), aclOps, ResourceUtils.CA_CERT_NAME, ResourceUtils.CA_KEY_NAME, ResourceUtils.NAMESPACE) {
+            @Override
+            public Future<Void> createOrUpdate(Reconciliation reconciliation, KafkaUser resource) {
+                snapshots.add(snapshot(reconciliation));
+                return Future.succeededFuture();
+            }
+        };
+    }
+
+    @Test
+    public void testEachFullReconciliationUsesItsOwnSnapshot(VertxTestContext context) {
+        SimpleAclOperator aclOps = mock(SimpleAclOperator.class);
+        when(aclOps.getAllAcls()).thenReturn(emptyMap());
+        List<UserSnapshot> snapshots = new CopyOnWriteArrayList<>();
+        KafkaUserOperator op = snapshotCapturingOperator(mock(CrdOperator.class), aclOps, snapshots);
+
+        Promise<Void> first = Promise.promise();
+        Promise<Void> second = Promise.promise();
+        op.reconcileAll("timer", ResourceUtils.NAMESPACE, first);
+        op.reconcileAll("timer", ResourceUtils.NAMESPACE, second);
+
+        Checkpoint async = context.checkpoint();
+        CompositeFuture.join(first.future(), second.future())
+            .compose(ignored -> op.reconcile(new Reconciliation("watch", KafkaUser.RESOURCE_KIND, ResourceUtils.NAMESPACE, ResourceUtils.NAME)))
+            .setHandler(context.succeeding(ignored -> context.verify(() -> {
+                assertThat(snapshots.size(), is(3));
+                assertThat(snapshots.get(0), is(notNullValue()));
+                assertThat(snapshots.get(1), is(notNullValue()));
+                assertThat(snapshots.get(0) != snapshots.get(1), is(true));
+                // Reconciliations triggered by watch events are not part of a full reconciliation
+                assertThat(snapshots.get(2), is(nullValue()));
+                async.flag();
+            })));
+    }
+
+    @Test
+    public void testFullReconciliationContinuesWhenAclsCannotBeLoaded(VertxTestContext context) {
+        SimpleAclOperator aclOps = mock(SimpleAclOperator.class);
+        when(aclOps.getAllAcls()).thenThrow(new RuntimeException("authorizer failure"));
+        List<UserSnapshot> snapshots = new CopyOnWriteArrayList<>();
+        KafkaUserOperator op = snapshotCapturingOperator(mock(CrdOperator.class), aclOps, snapshots);
+
+        Checkpoint async = context.checkpoint();
+        op.reconcileAll("timer", ResourceUtils.NAMESPACE, context.succeeding(ignored -> context.verify(() -> {
+            assertThat(snapshots.size(), is(1));
+            // the ACL rules of the user are read again
+            assertThat(snapshots.get(0).acls("CN=" + ResourceUtils.NAME), is(nullValue()));
+            async.flag();
+        })));
+    }
 }
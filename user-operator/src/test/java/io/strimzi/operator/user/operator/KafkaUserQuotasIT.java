@@ -69,8 +69,8 @@ public class KafkaUserQuotasIT {
         assertThat(kuq.isPathExist("/config/users/doublelCreate"), is(false));
         assertThat(kuq.exists("doubleCreate"), is(false));
         assertThat(kuq.getQuotas("doubleCreate"), is(nullValue()));
-        kuq.createOrUpdate("doubleCreate", defaultQuotas);
-        kuq.createOrUpdate("doubleCreate", defaultQuotas);
+        assertThat(kuq.createOrUpdate("doubleCreate", defaultQuotas), is(true));
+        assertThat(kuq.createOrUpdate("doubleCreate", defaultQuotas), is(false));
         assertThat(kuq.exists("doubleCreate"), is(true));
         assertThat(kuq.getQuotas("doubleCreate").getJsonObject("config").getString("consumer_byte_rate"), is("1000"));
         assertThat(kuq.getQuotas("doubleCreate").getJsonObject("config").getString("producer_byte_rate"), is("2000"));
@@ -98,9 +98,31 @@ public class KafkaUserQuotasIT {
 
     @Test
     public void changeProducerByteRate() {
-        kuq.createOrUpdate("changeProducerByteRate", defaultQuotas);
+        assertThat(kuq.createOrUpdate("changeProducerByteRate", defaultQuotas), is(true));
         defaultQuotas.setProducerByteRate(8000);
-        kuq.createOrUpdate("changeProducerByteRate", defaultQuotas);
+        assertThat(kuq.createOrUpdate("changeProducerByteRate", defaultQuotas), is(true));
+        assertThat(kuq.getQuotas("changeProducerByteRate").getJsonObject("config").getString("producer_byte_rate"), is("8000"));
+    }
+
+    @Test
+    public void removeProducerByteRate() {
+        assertThat(kuq.createOrUpdate("removeProducerByteRate", defaultQuotas), is(true));
+        defaultQuotas.setProducerByteRate(null);
+        assertThat(kuq.createOrUpdate("removeProducerByteRate", defaultQuotas), is(true));
+        assertThat(kuq.getQuotas("removeProducerByteRate").getJsonObject("config").getString("producer_byte_rate"), is(nullValue()));
+        assertThat(kuq.getQuotas("removeProducerByteRate").getJsonObject("config").getString("consumer_byte_rate"), is("1000"));
+        assertThat(kuq.createOrUpdate("removeProducerByteRate", defaultQuotas), is(false));
+    }
+
+    @Test
+    public void testQuotasFromJsonUser()  {
+        JsonObject original = new JsonObject().put("version", 1).put("config", new JsonObject()
+                .put("consumer_byte_rate", "1000").put("SCRAM-SHA-512", "somecredentials"));
+        assertThat(kuq.quotasFromJsonUser(original.encode().getBytes(Charset.defaultCharset())),
+                is(new JsonObject().put("consumer_byte_rate", "1000")));
+
+        original = new JsonObject().put("version", 1);
+        assertThat(kuq.quotasFromJsonUser(original.encode().getBytes(Charset.defaultCharset())).isEmpty(), is(true));
     }
 
     @Test
@@ -4,7 +4,9 @@
  */
 package io.strimzi.operator.user.operator;
 
+import io.strimzi.operator.common.zk.AsyncZkClient;
 import io.strimzi.test.EmbeddedZooKeeper;
+import io.vertx.core.Vertx;
 import io.vertx.core.json.JsonObject;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
@@ -13,6 +15,12 @@ import org.junit.jupiter.api.Test;
 
 import java.io.IOException;
 import java.nio.charset.Charset;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.notNullValue;
@@ -24,22 +32,25 @@ import static org.junit.jupiter.api.Assertions.fail;
 public class ScramShaCredentialsTest {
 
     private static EmbeddedZooKeeper zkServer;
+    private static Vertx vertx;
 
     private ScramShaCredentials scramShaCred;
 
     @BeforeAll
     public static void startZk() throws IOException, InterruptedException {
         zkServer = new EmbeddedZooKeeper();
+        vertx = Vertx.vertx();
     }
 
     @AfterAll
     public static void stopZk() {
+        vertx.close();
         zkServer.close();
     }
 
     @BeforeEach
     public void createSTS() {
-        scramShaCred = new ScramShaCredentials(zkServer.getZkConnectString(), 6_000);
+        scramShaCred = new ScramShaCredentials(new AsyncZkClient(vertx, zkServer.getZkConnectString(), 6_000, 30_000));
     }
 
     @Test
@@ -49,8 +60,8 @@ public class ScramShaCredentialsTest {
 
     @Test
     public void doubleCreate() {
-        scramShaCred.createOrUpdate("doubleCreate", "foo-password");
-        scramShaCred.createOrUpdate("doubleCreate", "foo-password");
+        assertThat(scramShaCred.createOrUpdate("doubleCreate", "foo-password"), is(true));
+        assertThat(scramShaCred.createOrUpdate("doubleCreate", "foo-password"), is(false));
     }
 
     @Test
@@ -68,8 +79,17 @@ public class ScramShaCredentialsTest {
 
     @Test
     public void changePassword() {
-        scramShaCred.createOrUpdate("changePassword", "changePassword-password");
-        scramShaCred.createOrUpdate("changePassword", "changePassword-password2");
+        assertThat(scramShaCred.createOrUpdate("changePassword", "changePassword-password"), is(true));
+        assertThat(scramShaCred.createOrUpdate("changePassword", "changePassword-password2"), is(true));
+        assertThat(scramShaCred.createOrUpdate("changePassword", "changePassword-password2"), is(false));
+    }
+
+    @Test
+    public void recreateAfterDelete() {
+        assertThat(scramShaCred.createOrUpdate("recreateAfterDelete", "foo-password"), is(true));
+        scramShaCred.delete("recreateAfterDelete");
+        assertThat(scramShaCred.createOrUpdate("recreateAfterDelete", "foo-password"), is(true));
+        assertThat(scramShaCred.exists("recreateAfterDelete"), is(true));
     }
 
     @Test
@@ -87,15 +107,52 @@ public class ScramShaCredentialsTest {
     @Test
     public void listSome() {
         scramShaCred.createOrUpdate("listSome", "foo-password");
-        assertThat(scramShaCred.list().contains("listSome"), is(true));
+        assertThat(list().contains("listSome"), is(true));
+    }
+
+    @Test
+    public void readAll() throws InterruptedException, ExecutionException, TimeoutException {
+        scramShaCred.createOrUpdate("readAll1", "foo-password");
+        scramShaCred.createOrUpdate("readAll2", "foo-password");
+        scramShaCred.delete("readAll2");
+
+        CompletableFuture<Map<String, byte[]>> result = new CompletableFuture<>();
+        scramShaCred.readAll().setHandler(ar -> {
+            if (ar.succeeded()) {
+                result.complete(ar.result());
+            } else {
+                result.completeExceptionally(ar.cause());
+            }
+        });
+        Map<String, byte[]> configs = result.get(60, TimeUnit.SECONDS);
+        assertThat(configs.get("readAll1"), is(scramShaCred.readData("readAll1")));
+        assertThat(configs.get("readAll2"), is(scramShaCred.readData("readAll2")));
+        assertThat(scramShaCred.list(configs).contains("readAll1"), is(true));
+        assertThat(scramShaCred.list(configs).contains("readAll2"), is(false));
     }
 
     @Test
     public void listNone() {
-        for (String user : scramShaCred.list()) {
+        for (String user : list()) {
             scramShaCred.delete(user);
         }
-        assertThat(scramShaCred.list().isEmpty(), is(true));
+        assertThat(list().isEmpty(), is(true));
+    }
+
+    private List<String> list() {
+        CompletableFuture<List<String>> result = new CompletableFuture<>();
+        scramShaCred.list().setHandler(ar -> {
+            if (ar.succeeded()) {
+                result.complete(ar.result());
+            } else {
+                result.completeExceptionally(ar.cause());
+            }
+        });
+        try {
+            return result.get(60, TimeUnit.SECONDS);
+        } catch (InterruptedException | ExecutionException | TimeoutException e) {
+            throw new RuntimeException(e);
+        }
     }
 
     @Test
@@ -142,6 +199,22 @@ public class ScramShaCredentialsTest {
         assertThat(updated.getJsonObject("config").getString("SCRAM-SHA-256"), is("somecredentials"));
     }
 
+    @Test
+    public void testCredentialsMatch()  {
+        byte[] user = scramShaCred.createUserJson("password");
+        assertThat(scramShaCred.credentialsMatch(user, "password"), is(true));
+        assertThat(scramShaCred.credentialsMatch(user, "password2"), is(false));
+
+        JsonObject original = new JsonObject().put("version", 1).put("config", new JsonObject().put("SCRAM-SHA-512", "somecredentials"));
+        assertThat(scramShaCred.credentialsMatch(original.encode().getBytes(Charset.defaultCharset()), "password"), is(false));
+
+        original = new JsonObject().put("version", 1).put("config", new JsonObject().put("SCRAM-SHA-256", "somecredentials"));
+        assertThat(scramShaCred.credentialsMatch(original.encode().getBytes(Charset.defaultCharset()), "password"), is(false));
+
+        original = new JsonObject().put("version", 1);
+        assertThat(scramShaCred.credentialsMatch(original.encode().getBytes(Charset.defaultCharset()), "password"), is(false));
+    }
+
     @Test
     public void testUpdate()  {
         JsonObject original = new JsonObject().put("version", 1).put("config", new JsonObject().put("SCRAM-SHA-512", "somecredentials"));
@@ -7,17 +7,24 @@ package io.strimzi.operator.user.operator;
 import io.strimzi.api.kafka.model.AclOperation;
 import io.strimzi.api.kafka.model.AclResourcePatternType;
 import io.strimzi.api.kafka.model.AclRuleType;
+import io.strimzi.operator.common.MicrometerMetricsProvider;
 import io.strimzi.operator.common.operator.resource.ReconcileResult;
 import io.strimzi.operator.user.model.acl.SimpleAclRule;
 import io.strimzi.operator.user.model.acl.SimpleAclRuleResource;
 import io.strimzi.operator.user.model.acl.SimpleAclRuleResourceType;
 
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.vertx.core.CompositeFuture;
+import io.vertx.core.Context;
 import io.vertx.core.Future;
 import io.vertx.core.Vertx;
 import io.vertx.junit5.Checkpoint;
@@ -43,10 +50,19 @@ import org.mockito.ArgumentCaptor;
 import scala.collection.Iterator;
 
 import static java.util.Arrays.asList;
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.singleton;
+import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(VertxExtension.class)
@@ -93,6 +109,70 @@ public class SimpleAclOperatorTest {
         context.verify(() -> assertThat(aclOp.getUsersWithAcls(), is(new HashSet(asList("foo", "bar", "baz")))));
     }
 
+    @Test
+    public void testGetAllAcls() {
+        SimpleAclAuthorizer mockAuthorizer = mock(SimpleAclAuthorizer.class);
+        SimpleAclOperator aclOp = new SimpleAclOperator(vertx, mockAuthorizer);
+
+        KafkaPrincipal foo = new KafkaPrincipal("User", "CN=foo");
+        Acl fooReadAcl = new Acl(foo, Allow$.MODULE$, "*", Read$.MODULE$);
+        Acl fooWriteAcl = new Acl(foo, Allow$.MODULE$, "*", Write$.MODULE$);
+        KafkaPrincipal bar = new KafkaPrincipal("User", "bar");
+        Acl barAcl = new Acl(bar, Allow$.MODULE$, "*", Read$.MODULE$);
+        KafkaPrincipal group = new KafkaPrincipal("Group", "baz");
+        Acl groupAcl = new Acl(group, Allow$.MODULE$, "*", Read$.MODULE$);
+        Resource res1 = new Resource(Topic$.MODULE$, "my-topic", PatternType.LITERAL);
+        Resource res2 = new Resource(Group$.MODULE$, "my-group", PatternType.LITERAL);
+        scala.collection.immutable.Set<Acl> set1 = new scala.collection.immutable.Set.Set3<>(fooReadAcl, fooWriteAcl, groupAcl);
+        scala.collection.immutable.Set<Acl> set2 = new scala.collection.immutable.Set.Set2<>(fooReadAcl, barAcl);
+        when(mockAuthorizer.getAcls()).thenReturn(new scala.collection.immutable.Map.Map2<>(res1, set1, res2, set2));
+
+        SimpleAclRuleResource topic = new SimpleAclRuleResource("my-topic", SimpleAclRuleResourceType.TOPIC, AclResourcePatternType.LITERAL);
+        SimpleAclRuleResource consumerGroup = new SimpleAclRuleResource("my-group", SimpleAclRuleResourceType.GROUP, AclResourcePatternType.LITERAL);
+
+        Map<String, Set<SimpleAclRule>> acls = aclOp.getAllAcls();
+        assertThat(acls.keySet(), is(new HashSet<>(asList("CN=foo", "bar"))));
+        assertThat(acls.get("CN=foo"), is(new HashSet<>(asList(
+                new SimpleAclRule(AclRuleType.ALLOW, topic, "*", AclOperation.READ),
+                new SimpleAclRule(AclRuleType.ALLOW, topic, "*", AclOperation.WRITE),
+                new SimpleAclRule(AclRuleType.ALLOW, consumerGroup, "*", AclOperation.READ)))));
+        assertThat(acls.get("bar"), is(new HashSet<>(asList(
+                new SimpleAclRule(AclRuleType.ALLOW, consumerGroup, "*", AclOperation.READ)))));
+        assertThat(aclOp.getUsernames(acls.keySet()), is(new HashSet<>(asList("foo", "bar"))));
+    }
+
+    @Test
+    public void testReconcileWithSnapshot(VertxTestContext context) throws InterruptedException {
+        SimpleAclAuthorizer mockAuthorizer = mock(SimpleAclAuthorizer.class);
+        SimpleAclOperator aclOp = new SimpleAclOperator(vertx, mockAuthorizer);
+
+        SimpleAclRuleResource resource = new SimpleAclRuleResource("my-topic", SimpleAclRuleResourceType.TOPIC, AclResourcePatternType.LITERAL);
+        SimpleAclRule rule1 = new SimpleAclRule(AclRuleType.ALLOW, resource, "*", AclOperation.READ);
+        SimpleAclRule rule2 = new SimpleAclRule(AclRuleType.ALLOW, resource, "*", AclOperation.WRITE);
+
+        Map<String, Set<SimpleAclRule>> acls = new HashMap<>();
+        acls.put("CN=foo", new HashSet<>(asList(rule1)));
+        acls.put("CN=bar", new HashSet<>(asList(rule1)));
+        UserSnapshot snapshot = new UserSnapshot(emptyMap(), acls);
+
+        Checkpoint async = context.checkpoint();
+        aclOp.reconcile("CN=foo", new HashSet<>(asList(rule1)), snapshot).compose(unchanged -> {
+            context.verify(() -> assertThat(unchanged instanceof ReconcileResult.Noop, is(true)));
+            context.verify(() -> assertThat(snapshot.covers("CN=foo"), is(true)));
+            return aclOp.reconcile("CN=bar", new HashSet<>(asList(rule1, rule2)), snapshot);
+        }).setHandler(context.succeeding(changed -> {
+            context.verify(() -> assertThat(changed instanceof ReconcileResult.Patched, is(true)));
+            context.verify(() -> assertThat(snapshot.covers("CN=bar"), is(false)));
+            // The current rules came from the snapshot
+            verify(mockAuthorizer, never()).getAcls(any(KafkaPrincipal.class));
+            verify(mockAuthorizer).addAcls(any(), any());
+            async.flag();
+        }));
+        if (!context.awaitCompletion(60, TimeUnit.SECONDS)) {
+            context.failNow(new Throwable("Test timeout"));
+        }
+    }
+
     @Test
     public void testInternalCreate(VertxTestContext context) throws InterruptedException {
         SimpleAclAuthorizer mockAuthorizer = mock(SimpleAclAuthorizer.class);
@@ -173,6 +253,74 @@ public class SimpleAclOperatorTest {
         }
     }
 
+    @Test
+    public void testChangesOfUsersAreBatchedByResource(VertxTestContext context) throws InterruptedException {
+        SimpleAclAuthorizer mockAuthorizer = mock(SimpleAclAuthorizer.class);
+        MeterRegistry registry = new SimpleMeterRegistry();
+        SimpleAclOperator aclOp = new SimpleAclOperator(vertx, mockAuthorizer,
+                new AclBatchWriter(vertx, mockAuthorizer, 100, new MicrometerMetricsProvider(registry)));
+
+        when(mockAuthorizer.getAcls(any(KafkaPrincipal.class))).thenReturn(new scala.collection.immutable.HashMap<Resource, scala.collection.immutable.Set<Acl>>());
+        ArgumentCaptor<scala.collection.immutable.Set<Acl>> aclCaptor = ArgumentCaptor.forClass(scala.collection.immutable.Set.class);
+        ArgumentCaptor<Resource> resourceCaptor = ArgumentCaptor.forClass(Resource.class);
+        doNothing().when(mockAuthorizer).addAcls(aclCaptor.capture(), resourceCaptor.capture());
+
+        SimpleAclRuleResource resource = new SimpleAclRuleResource("my-", SimpleAclRuleResourceType.TOPIC, AclResourcePatternType.PREFIX);
+        SimpleAclRule rule = new SimpleAclRule(AclRuleType.ALLOW, resource, "*", AclOperation.READ);
+
+        Checkpoint async = context.checkpoint();
+        CompositeFuture.all(
+                aclOp.reconcile("CN=foo", new HashSet<>(asList(rule))),
+                aclOp.reconcile("CN=bar", new HashSet<>(asList(rule))))
+            .setHandler(context.succeeding(res -> {
+                context.verify(() -> {
+                    assertThat(resourceCaptor.getAllValues(), is(asList(new Resource(Topic$.MODULE$, "my-", PatternType.PREFIXED))));
+                    assertThat(aclCaptor.getValue().size(), is(2));
+                    assertThat(registry.get("strimzi.acl.batch.size").summary().totalAmount(), is(2.0));
+                    assertThat(registry.get("strimzi.acl.batch.writes").counter().count(), is(1.0));
+                });
+                async.flag();
+            }));
+        if (!context.awaitCompletion(60, TimeUnit.SECONDS)) {
+            context.failNow(new Throwable("Test timeout"));
+        }
+    }
+
+    @Test
+    public void testFailedWriteOfABatchOnlyFailsItsOwnCallers(VertxTestContext context) throws InterruptedException {
+        SimpleAclAuthorizer mockAuthorizer = mock(SimpleAclAuthorizer.class);
+        MeterRegistry registry = new SimpleMeterRegistry();
+        AclBatchWriter writer = new AclBatchWriter(vertx, mockAuthorizer, 100, new MicrometerMetricsProvider(registry));
+
+        Resource failing = new Resource(Topic$.MODULE$, "failing", PatternType.LITERAL);
+        Resource succeeding = new Resource(Topic$.MODULE$, "succeeding", PatternType.LITERAL);
+        Acl fooAcl = new Acl(new KafkaPrincipal("User", "CN=foo"), Allow$.MODULE$, "*", Read$.MODULE$);
+        Acl barAcl = new Acl(new KafkaPrincipal("User", "CN=bar"), Allow$.MODULE$, "*", Read$.MODULE$);
+        doThrow(new IllegalStateException("Failed to update ACLs")).when(mockAuthorizer).addAcls(any(), eq(failing));
+
+        Context fooContext = vertx.getOrCreateContext();
+        Context barContext = vertx.getOrCreateContext();
+        Checkpoint async = context.checkpoint(2);
+        fooContext.runOnContext(v -> writer.add(failing, singleton(fooAcl)).setHandler(context.failing(e -> {
+            context.verify(() -> {
+                assertThat(Vertx.currentContext(), is(sameInstance(fooContext)));
+                assertThat(e, instanceOf(IllegalStateException.class));
+                assertThat(registry.get("strimzi.acl.batch.conflicts").counter().count(), is(1.0));
+            });
+            async.flag();
+        })));
+        barContext.runOnContext(v -> writer.add(succeeding, singleton(barAcl)).setHandler(context.succeeding(res -> {
+            context.verify(() -> {
+                assertThat(Vertx.currentContext(), is(sameInstance(barContext)));
+                assertThat(registry.get("strimzi.acl.batch.size").summary().count(), is(1L));
+            });
+            async.flag();
+        })));
+        if (!context.awaitCompletion(60, TimeUnit.SECONDS)) {
+            context.failNow(new Throwable("Test timeout"));
+        }
+    }
+
     @Test
     public void testInternalUpdate(VertxTestContext context) throws InterruptedException {
         SimpleAclAuthorizer mockAuthorizer = mock(SimpleAclAuthorizer.class);